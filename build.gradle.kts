@@ -34,6 +34,25 @@ private val main = sourceSets.getByName("main") {
     java.srcDirs("src/gen-bivar/java")
 }
 
+// The SIMD kernels of the primitive ops are based on the incubating Vector API (opt-in at runtime).
+// They are compiled and tested separately, so that only these source sets see the `jdk.incubator.vector` module.
+private val simd = sourceSets.create("simd") {
+    java.srcDirs("src/simd/java")
+    compileClasspath += main.output + main.compileClasspath
+}
+
+private val simdTest = sourceSets.create("simdTest") {
+    java.srcDirs("src/simdTest/java")
+    compileClasspath += main.output + simd.output
+    runtimeClasspath += main.output + simd.output
+}
+
+configurations {
+    getByName("simdTestImplementation") { extendsFrom(configurations.testImplementation.get()) }
+    getByName("simdTestCompileOnly") { extendsFrom(configurations.testCompileOnly.get()) }
+    getByName("simdTestRuntimeOnly") { extendsFrom(configurations.testRuntimeOnly.get()) }
+}
+
 dependencies {
     compileOnly("org.jetbrains:annotations:24.1.0")
     compileOnly("com.google.errorprone:error_prone_annotations:2.28.0")
@@ -82,14 +101,36 @@ dependencies {
     testImplementation("com.palantir.patches.sourceforge:trove3:3.0.3-p9")
     testImplementation("io.netty:netty-all:4.1.110.Final")
     testImplementation("org.ow2.asm:asm:9.7")
+    testRuntimeOnly(simd.output)
 }
 
 tasks.test {
     useJUnitPlatform()
 }
 
+listOf(simd, simdTest).forEach {
+    tasks.named<JavaCompile>(it.compileJavaTaskName) {
+        options.compilerArgs.addAll(listOf("--add-modules", "jdk.incubator.vector"))
+    }
+}
+
+private val simdTestTask = tasks.register<Test>("simdTest") {
+    description = "Runs the SIMD kernels tests with the Vector API module added."
+    group = "verification"
+    testClassesDirs = simdTest.output.classesDirs
+    classpath = simdTest.runtimeClasspath
+    useJUnitPlatform()
+    jvmArgs("--add-modules", "jdk.incubator.vector")
+    shouldRunAfter(tasks.test)
+}
+
+tasks.check {
+    dependsOn(simdTestTask)
+}
+
 tasks.withType<Jar> {
     from(main.output)
+    from(simd.output)
 
     // See also
     // https://stackoverflow.com/questions/59401271/how-to-exclude-resources-from-the-jar-in-gradle-and-also-run-via-intellij
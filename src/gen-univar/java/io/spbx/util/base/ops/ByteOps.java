@@ -1,6 +1,9 @@
 package io.spbx.util.base.ops;
 
 import javax.annotation.processing.Generated;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import io.spbx.util.func.ByteBinaryOperator;
 import io.spbx.util.func.BytePredicate;
@@ -44,6 +47,9 @@ public class ByteOps {
     public static final BytePredicate BYTE_IS_ASCII_LOWER_LETTER = ByteOps::isAsciiLowerCase;
     public static final BytePredicate BYTE_IS_ASCII_UPPER_LETTER = ByteOps::isAsciiUpperCase;
 
+    private static final VarHandle LONG_VIEW =
+        MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
     @Pure
     public static boolean isAsciiLowerCase(byte val) {
         return 'a' <= val && val <= 'z';
@@ -208,7 +214,18 @@ public class ByteOps {
 
     @Pure
     public static int indexOf(byte[] array, byte val) {
-        return indexOf(array, i -> i == val);
+        return indexOfRange(array, val, 0, array.length);
+    }
+
+    @Pure
+    @AllowPythonIndexing
+    public static int indexOf(byte[] array, byte val, @PyIndex int from, @PyIndex int to, int def) {
+        assert RangeCheck.with(array.length, array).rangeCheck(from, to, BEFORE_TRANSLATION | CLOSE_END_RANGE);
+        assert RangeCheck.with(array.length, array).outOfRangeCheck(def);
+        from = LowLevel.translateIndex(from, array.length);
+        to = LowLevel.translateIndex(to, array.length);
+        int index = indexOfRange(array, val, from, to);
+        return index >= 0 ? index : def;
     }
 
     @Pure
@@ -266,6 +283,183 @@ public class ByteOps {
         return indexOf(array, check) >= 0;
     }
 
+    private static int indexOfRange(byte[] array, byte val, int from, int to) {
+        if (SimdSupport.ENABLED) {
+            return SimdSupport.KERNELS.indexOf(array, val, from, to);
+        }
+        // SWAR: 8 bytes per step, a zero byte in `word ^ pattern` is a match.
+        // The lowest flagged byte is always exact, the false positives may only appear above it.
+        long pattern = 0x0101010101010101L * (val & 0xff);
+        int i = from;
+        for (int bound = to - Long.BYTES; i <= bound; i += Long.BYTES) {
+            long word = (long) LONG_VIEW.get(array, i) ^ pattern;
+            long found = (word - 0x0101010101010101L) & ~word & 0x8080808080808080L;
+            if (found != 0) {
+                return i + (Long.numberOfTrailingZeros(found) >>> 3);
+            }
+        }
+        for (; i < to; i++) {
+            if (array[i] == val) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /* Array comparison */
+
+    /**
+     * Finds the first index where the two {@code byte} ranges differ ignoring the ASCII case.
+     * Follows the contract of {@link Arrays#mismatch(byte[], int, int, byte[], int, int)}: returns the relative
+     * index of the mismatch, the length of the shorter range if it's a proper prefix of the other one, or -1.
+     */
+    @Pure
+    public static int mismatchAsciiIgnoreCase(byte[] a, int aFrom, int aTo, byte[] b, int bFrom, int bTo) {
+        int length = Math.min(aTo - aFrom, bTo - bFrom);
+        int i = 0;
+        for (int bound = length - Long.BYTES; i <= bound; i += Long.BYTES) {
+            long x = (long) LONG_VIEW.get(a, aFrom + i);
+            long y = (long) LONG_VIEW.get(b, bFrom + i);
+            if (x != y && toAsciiLowerCase(x) != toAsciiLowerCase(y)) {
+                break;
+            }
+        }
+        for (; i < length; i++) {
+            if (toAsciiLowerCase(a[aFrom + i]) != toAsciiLowerCase(b[bFrom + i])) {
+                return i;
+            }
+        }
+        return aTo - aFrom == bTo - bFrom ? -1 : length;
+    }
+
+    // Lower-cases all ASCII letters in a word (SWAR). The non-ASCII bytes are not changed.
+    private static long toAsciiLowerCase(long word) {
+        long heptets = word & 0x7f7f7f7f7f7f7f7fL;
+        long upper = ((heptets + 0x3f3f3f3f3f3f3f3fL) ^ (heptets + 0x2525252525252525L)) & ~word & 0x8080808080808080L;
+        return word | (upper >>> 2);  // 0x20 = 'a' - 'A'
+    }
+
+    /* Array math */
+
+    /**
+     * Returns the sum of all values, wrapping around on overflow.
+     */
+    @Pure
+    public static byte sum(byte[] array) {
+        if (SimdSupport.ENABLED) {
+            return SimdSupport.KERNELS.sum(array);
+        }
+        byte sum = 0;
+        for (byte val : array) {
+            sum += val;
+        }
+        return sum;
+    }
+
+    @Pure
+    public static byte min(byte[] array) {
+        assert array.length > 0 : "Empty array doesn't have a min value";
+        if (SimdSupport.ENABLED) {
+            return SimdSupport.KERNELS.min(array);
+        }
+        byte min = array[0];
+        for (int i = 1; i < array.length; i++) {
+            min = (byte) Math.min(min, array[i]);
+        }
+        return min;
+    }
+
+    @Pure
+    public static byte max(byte[] array) {
+        assert array.length > 0 : "Empty array doesn't have a max value";
+        if (SimdSupport.ENABLED) {
+            return SimdSupport.KERNELS.max(array);
+        }
+        byte max = array[0];
+        for (int i = 1; i < array.length; i++) {
+            max = (byte) Math.max(max, array[i]);
+        }
+        return max;
+    }
+
+    @Pure
+    public static byte[] add(byte[] array1, byte[] array2) {
+        assert array1.length == array2.length :
+            "Array length mismatch: %d vs %d".formatted(array1.length, array2.length);
+        byte[] result = new byte[array1.length];
+        if (SimdSupport.ENABLED) {
+            SimdSupport.KERNELS.add(array1, array2, result);
+            return result;
+        }
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (byte) (array1[i] + array2[i]);
+        }
+        return result;
+    }
+
+    @Pure
+    public static byte[] and(byte[] array1, byte[] array2) {
+        assert array1.length == array2.length :
+            "Array length mismatch: %d vs %d".formatted(array1.length, array2.length);
+        byte[] result = new byte[array1.length];
+        if (SimdSupport.ENABLED) {
+            SimdSupport.KERNELS.and(array1, array2, result);
+            return result;
+        }
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (byte) (array1[i] & array2[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the mask of the values equal to {@code val}.
+     */
+    @Pure
+    public static boolean[] eq(byte[] array, byte val) {
+        boolean[] result = new boolean[array.length];
+        if (SimdSupport.ENABLED) {
+            SimdSupport.KERNELS.eq(array, val, result);
+            return result;
+        }
+        for (int i = 0; i < result.length; i++) {
+            result[i] = array[i] == val;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the mask of the values less than {@code val}.
+     */
+    @Pure
+    public static boolean[] lt(byte[] array, byte val) {
+        boolean[] result = new boolean[array.length];
+        if (SimdSupport.ENABLED) {
+            SimdSupport.KERNELS.lt(array, val, result);
+            return result;
+        }
+        for (int i = 0; i < result.length; i++) {
+            result[i] = array[i] < val;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the mask of the values greater than {@code val}.
+     */
+    @Pure
+    public static boolean[] gt(byte[] array, byte val) {
+        boolean[] result = new boolean[array.length];
+        if (SimdSupport.ENABLED) {
+            SimdSupport.KERNELS.gt(array, val, result);
+            return result;
+        }
+        for (int i = 0; i < result.length; i++) {
+            result[i] = array[i] > val;
+        }
+        return result;
+    }
+
     /* Array concatenation */
 
     @Pure
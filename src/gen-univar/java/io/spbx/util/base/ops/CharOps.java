@@ -204,7 +204,18 @@ public class CharOps {
 
     @Pure
     public static int indexOf(char[] array, char val) {
-        return indexOf(array, i -> i == val);
+        return indexOfRange(array, val, 0, array.length);
+    }
+
+    @Pure
+    @AllowPythonIndexing
+    public static int indexOf(char[] array, char val, @PyIndex int from, @PyIndex int to, int def) {
+        assert RangeCheck.with(array.length, array).rangeCheck(from, to, BEFORE_TRANSLATION | CLOSE_END_RANGE);
+        assert RangeCheck.with(array.length, array).outOfRangeCheck(def);
+        from = LowLevel.translateIndex(from, array.length);
+        to = LowLevel.translateIndex(to, array.length);
+        int index = indexOfRange(array, val, from, to);
+        return index >= 0 ? index : def;
     }
 
     @Pure
@@ -262,6 +273,157 @@ public class CharOps {
         return indexOf(array, check) >= 0;
     }
 
+    private static int indexOfRange(char[] array, char val, int from, int to) {
+        if (SimdSupport.ENABLED) {
+            return SimdSupport.KERNELS.indexOf(array, val, from, to);
+        }
+        for (int i = from; i < to; i++) {
+            if (array[i] == val) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /* Array comparison */
+
+    /**
+     * Finds the first index where the two {@code char} ranges differ ignoring the ASCII case.
+     * Follows the contract of {@link Arrays#mismatch(char[], int, int, char[], int, int)}: returns the relative
+     * index of the mismatch, the length of the shorter range if it's a proper prefix of the other one, or -1.
+     */
+    @Pure
+    public static int mismatchAsciiIgnoreCase(char[] a, int aFrom, int aTo, char[] b, int bFrom, int bTo) {
+        int length = Math.min(aTo - aFrom, bTo - bFrom);
+        for (int i = 0; i < length; i++) {
+            if (toAsciiLowerCase(a[aFrom + i]) != toAsciiLowerCase(b[bFrom + i])) {
+                return i;
+            }
+        }
+        return aTo - aFrom == bTo - bFrom ? -1 : length;
+    }
+
+    /* Array math */
+
+    /**
+     * Returns the sum of all values, wrapping around on overflow.
+     */
+    @Pure
+    public static char sum(char[] array) {
+        if (SimdSupport.ENABLED) {
+            return SimdSupport.KERNELS.sum(array);
+        }
+        char sum = 0;
+        for (char val : array) {
+            sum += val;
+        }
+        return sum;
+    }
+
+    @Pure
+    public static char min(char[] array) {
+        assert array.length > 0 : "Empty array doesn't have a min value";
+        if (SimdSupport.ENABLED) {
+            return SimdSupport.KERNELS.min(array);
+        }
+        char min = array[0];
+        for (int i = 1; i < array.length; i++) {
+            min = (char) Math.min(min, array[i]);
+        }
+        return min;
+    }
+
+    @Pure
+    public static char max(char[] array) {
+        assert array.length > 0 : "Empty array doesn't have a max value";
+        if (SimdSupport.ENABLED) {
+            return SimdSupport.KERNELS.max(array);
+        }
+        char max = array[0];
+        for (int i = 1; i < array.length; i++) {
+            max = (char) Math.max(max, array[i]);
+        }
+        return max;
+    }
+
+    @Pure
+    public static char[] add(char[] array1, char[] array2) {
+        assert array1.length == array2.length :
+            "Array length mismatch: %d vs %d".formatted(array1.length, array2.length);
+        char[] result = new char[array1.length];
+        if (SimdSupport.ENABLED) {
+            SimdSupport.KERNELS.add(array1, array2, result);
+            return result;
+        }
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (char) (array1[i] + array2[i]);
+        }
+        return result;
+    }
+
+    @Pure
+    public static char[] and(char[] array1, char[] array2) {
+        assert array1.length == array2.length :
+            "Array length mismatch: %d vs %d".formatted(array1.length, array2.length);
+        char[] result = new char[array1.length];
+        if (SimdSupport.ENABLED) {
+            SimdSupport.KERNELS.and(array1, array2, result);
+            return result;
+        }
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (char) (array1[i] & array2[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the mask of the values equal to {@code val}.
+     */
+    @Pure
+    public static boolean[] eq(char[] array, char val) {
+        boolean[] result = new boolean[array.length];
+        if (SimdSupport.ENABLED) {
+            SimdSupport.KERNELS.eq(array, val, result);
+            return result;
+        }
+        for (int i = 0; i < result.length; i++) {
+            result[i] = array[i] == val;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the mask of the values less than {@code val} (the {@code char}s are unsigned).
+     */
+    @Pure
+    public static boolean[] lt(char[] array, char val) {
+        boolean[] result = new boolean[array.length];
+        if (SimdSupport.ENABLED) {
+            SimdSupport.KERNELS.lt(array, val, result);
+            return result;
+        }
+        for (int i = 0; i < result.length; i++) {
+            result[i] = array[i] < val;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the mask of the values greater than {@code val}.
+     */
+    @Pure
+    public static boolean[] gt(char[] array, char val) {
+        boolean[] result = new boolean[array.length];
+        if (SimdSupport.ENABLED) {
+            SimdSupport.KERNELS.gt(array, val, result);
+            return result;
+        }
+        for (int i = 0; i < result.length; i++) {
+            result[i] = array[i] > val;
+        }
+        return result;
+    }
+
     /* Array concatenation */
 
     @Pure
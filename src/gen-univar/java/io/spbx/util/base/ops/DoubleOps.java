@@ -180,7 +180,18 @@ public class DoubleOps {
 
     @Pure
     public static int indexOf(double[] array, double val) {
-        return indexOf(array, i -> i == val);
+        return indexOfRange(array, val, 0, array.length);
+    }
+
+    @Pure
+    @AllowPythonIndexing
+    public static int indexOf(double[] array, double val, @PyIndex int from, @PyIndex int to, int def) {
+        assert RangeCheck.with(array.length, array).rangeCheck(from, to, BEFORE_TRANSLATION | CLOSE_END_RANGE);
+        assert RangeCheck.with(array.length, array).outOfRangeCheck(def);
+        from = LowLevel.translateIndex(from, array.length);
+        to = LowLevel.translateIndex(to, array.length);
+        int index = indexOfRange(array, val, from, to);
+        return index >= 0 ? index : def;
     }
 
     @Pure
@@ -238,6 +249,124 @@ public class DoubleOps {
         return indexOf(array, check) >= 0;
     }
 
+    private static int indexOfRange(double[] array, double val, int from, int to) {
+        if (SimdSupport.ENABLED) {
+            return SimdSupport.KERNELS.indexOf(array, val, from, to);
+        }
+        for (int i = from; i < to; i++) {
+            if (array[i] == val) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /* Array math */
+
+    /**
+     * Returns the sum of all values, added sequentially (never vectorized to keep the rounding stable).
+     */
+    @Pure
+    public static double sum(double[] array) {
+        double sum = 0;
+        for (double val : array) {
+            sum += val;
+        }
+        return sum;
+    }
+
+    // Same as `Math.min()`: NaN if any value is NaN
+    @Pure
+    public static double min(double[] array) {
+        assert array.length > 0 : "Empty array doesn't have a min value";
+        if (SimdSupport.ENABLED) {
+            return SimdSupport.KERNELS.min(array);
+        }
+        double min = array[0];
+        for (int i = 1; i < array.length; i++) {
+            min = Math.min(min, array[i]);
+        }
+        return min;
+    }
+
+    // Same as `Math.max()`: NaN if any value is NaN
+    @Pure
+    public static double max(double[] array) {
+        assert array.length > 0 : "Empty array doesn't have a max value";
+        if (SimdSupport.ENABLED) {
+            return SimdSupport.KERNELS.max(array);
+        }
+        double max = array[0];
+        for (int i = 1; i < array.length; i++) {
+            max = Math.max(max, array[i]);
+        }
+        return max;
+    }
+
+    @Pure
+    public static double[] add(double[] array1, double[] array2) {
+        assert array1.length == array2.length :
+            "Array length mismatch: %d vs %d".formatted(array1.length, array2.length);
+        double[] result = new double[array1.length];
+        if (SimdSupport.ENABLED) {
+            SimdSupport.KERNELS.add(array1, array2, result);
+            return result;
+        }
+        for (int i = 0; i < result.length; i++) {
+            result[i] = array1[i] + array2[i];
+        }
+        return result;
+    }
+
+    /**
+     * Returns the mask of the values equal to {@code val}, same as the {@code ==} operator:
+     * NaN is not equal to any value and {@code -0.0 == 0.0}.
+     */
+    @Pure
+    public static boolean[] eq(double[] array, double val) {
+        boolean[] result = new boolean[array.length];
+        if (SimdSupport.ENABLED) {
+            SimdSupport.KERNELS.eq(array, val, result);
+            return result;
+        }
+        for (int i = 0; i < result.length; i++) {
+            result[i] = array[i] == val;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the mask of the values less than {@code val}.
+     */
+    @Pure
+    public static boolean[] lt(double[] array, double val) {
+        boolean[] result = new boolean[array.length];
+        if (SimdSupport.ENABLED) {
+            SimdSupport.KERNELS.lt(array, val, result);
+            return result;
+        }
+        for (int i = 0; i < result.length; i++) {
+            result[i] = array[i] < val;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the mask of the values greater than {@code val}.
+     */
+    @Pure
+    public static boolean[] gt(double[] array, double val) {
+        boolean[] result = new boolean[array.length];
+        if (SimdSupport.ENABLED) {
+            SimdSupport.KERNELS.gt(array, val, result);
+            return result;
+        }
+        for (int i = 0; i < result.length; i++) {
+            result[i] = array[i] > val;
+        }
+        return result;
+    }
+
     /* Array concatenation */
 
     @Pure
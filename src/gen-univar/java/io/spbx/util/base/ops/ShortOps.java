@@ -184,7 +184,18 @@ public class ShortOps {
 
     @Pure
     public static int indexOf(short[] array, short val) {
-        return indexOf(array, i -> i == val);
+        return indexOfRange(array, val, 0, array.length);
+    }
+
+    @Pure
+    @AllowPythonIndexing
+    public static int indexOf(short[] array, short val, @PyIndex int from, @PyIndex int to, int def) {
+        assert RangeCheck.with(array.length, array).rangeCheck(from, to, BEFORE_TRANSLATION | CLOSE_END_RANGE);
+        assert RangeCheck.with(array.length, array).outOfRangeCheck(def);
+        from = LowLevel.translateIndex(from, array.length);
+        to = LowLevel.translateIndex(to, array.length);
+        int index = indexOfRange(array, val, from, to);
+        return index >= 0 ? index : def;
     }
 
     @Pure
@@ -242,6 +253,139 @@ public class ShortOps {
         return indexOf(array, check) >= 0;
     }
 
+    private static int indexOfRange(short[] array, short val, int from, int to) {
+        if (SimdSupport.ENABLED) {
+            return SimdSupport.KERNELS.indexOf(array, val, from, to);
+        }
+        for (int i = from; i < to; i++) {
+            if (array[i] == val) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /* Array math */
+
+    /**
+     * Returns the sum of all values, wrapping around on overflow.
+     */
+    @Pure
+    public static short sum(short[] array) {
+        if (SimdSupport.ENABLED) {
+            return SimdSupport.KERNELS.sum(array);
+        }
+        short sum = 0;
+        for (short val : array) {
+            sum += val;
+        }
+        return sum;
+    }
+
+    @Pure
+    public static short min(short[] array) {
+        assert array.length > 0 : "Empty array doesn't have a min value";
+        if (SimdSupport.ENABLED) {
+            return SimdSupport.KERNELS.min(array);
+        }
+        short min = array[0];
+        for (int i = 1; i < array.length; i++) {
+            min = (short) Math.min(min, array[i]);
+        }
+        return min;
+    }
+
+    @Pure
+    public static short max(short[] array) {
+        assert array.length > 0 : "Empty array doesn't have a max value";
+        if (SimdSupport.ENABLED) {
+            return SimdSupport.KERNELS.max(array);
+        }
+        short max = array[0];
+        for (int i = 1; i < array.length; i++) {
+            max = (short) Math.max(max, array[i]);
+        }
+        return max;
+    }
+
+    @Pure
+    public static short[] add(short[] array1, short[] array2) {
+        assert array1.length == array2.length :
+            "Array length mismatch: %d vs %d".formatted(array1.length, array2.length);
+        short[] result = new short[array1.length];
+        if (SimdSupport.ENABLED) {
+            SimdSupport.KERNELS.add(array1, array2, result);
+            return result;
+        }
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (short) (array1[i] + array2[i]);
+        }
+        return result;
+    }
+
+    @Pure
+    public static short[] and(short[] array1, short[] array2) {
+        assert array1.length == array2.length :
+            "Array length mismatch: %d vs %d".formatted(array1.length, array2.length);
+        short[] result = new short[array1.length];
+        if (SimdSupport.ENABLED) {
+            SimdSupport.KERNELS.and(array1, array2, result);
+            return result;
+        }
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (short) (array1[i] & array2[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the mask of the values equal to {@code val}.
+     */
+    @Pure
+    public static boolean[] eq(short[] array, short val) {
+        boolean[] result = new boolean[array.length];
+        if (SimdSupport.ENABLED) {
+            SimdSupport.KERNELS.eq(array, val, result);
+            return result;
+        }
+        for (int i = 0; i < result.length; i++) {
+            result[i] = array[i] == val;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the mask of the values less than {@code val}.
+     */
+    @Pure
+    public static boolean[] lt(short[] array, short val) {
+        boolean[] result = new boolean[array.length];
+        if (SimdSupport.ENABLED) {
+            SimdSupport.KERNELS.lt(array, val, result);
+            return result;
+        }
+        for (int i = 0; i < result.length; i++) {
+            result[i] = array[i] < val;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the mask of the values greater than {@code val}.
+     */
+    @Pure
+    public static boolean[] gt(short[] array, short val) {
+        boolean[] result = new boolean[array.length];
+        if (SimdSupport.ENABLED) {
+            SimdSupport.KERNELS.gt(array, val, result);
+            return result;
+        }
+        for (int i = 0; i < result.length; i++) {
+            result[i] = array[i] > val;
+        }
+        return result;
+    }
+
     /* Array concatenation */
 
     @Pure
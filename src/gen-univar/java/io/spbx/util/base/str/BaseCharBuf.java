@@ -2,6 +2,7 @@ package io.spbx.util.base.str;
 
 import io.spbx.util.base.annotate.AllowPythonIndexing;
 import io.spbx.util.base.annotate.PyIndex;
+import io.spbx.util.base.ops.CharOps;
 import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.processing.Generated;
@@ -205,7 +206,10 @@ public abstract class BaseCharBuf<B extends BaseCharBuf> extends BaseBuf impleme
 
     @AllowPythonIndexing
     public int indexOf(char val, @PyIndex int from, int def) {
-        return this.indexOf(cur -> cur == val, from, def);
+        assert rangeCheck(from, BEFORE_TRANSLATION | CLOSE_END_RANGE);
+        assert outOfRangeCheck(def);
+        int index = CharOps.indexOf(chars, val, start + translateIndex(from), end, -1);
+        return index >= 0 ? index - start : def;
     }
 
     /* Index of: `BaseCharBuf` */
@@ -227,8 +231,17 @@ public abstract class BaseCharBuf<B extends BaseCharBuf> extends BaseBuf impleme
         if (length() < length) {
             return def;
         }
+        if (length == 0) {
+            return translateIndex(from);
+        }
+        // Jump between the occurrences of the first char (the fast single-char search), then verify the rest
+        char first = array.chars[array.start];
         for (int i = start + translateIndex(from), max = end - length + 1; i < max; ++i) {
-            if (Arrays.equals(chars, i, i + length, array.chars, array.start, array.end)) {
+            i = CharOps.indexOf(chars, first, i, max, -1);
+            if (i < 0) {
+                break;
+            }
+            if (Arrays.equals(chars, i + 1, i + length, array.chars, array.start + 1, array.end)) {
                 return i - start;
             }
         }
@@ -551,6 +564,28 @@ public abstract class BaseCharBuf<B extends BaseCharBuf> extends BaseBuf impleme
         return Arrays.equals(chars, start, end, that, 0, that.length);
     }
 
+    /* ASCII case-insensitive comparison */
+
+    public boolean contentEqualsAsciiIgnoreCase(@NotNull B that) {
+        return length() == that.length() &&
+               CharOps.mismatchAsciiIgnoreCase(chars, start, end, that.chars, that.start, that.end) < 0;
+    }
+
+    public boolean contentEqualsAsciiIgnoreCase(char[] that) {
+        return length() == that.length &&
+               CharOps.mismatchAsciiIgnoreCase(chars, start, end, that, 0, that.length) < 0;
+    }
+
+    // Same as `compareTo()`, but compares the ASCII letters ignoring the case
+    public int compareToAsciiIgnoreCase(@NotNull B that) {
+        int index = CharOps.mismatchAsciiIgnoreCase(chars, start, end, that.chars, that.start, that.end);
+        if (index >= 0 && index < length() && index < that.length()) {
+            return Character.compare(CharOps.toAsciiLowerCase(chars[start + index]),
+                                     CharOps.toAsciiLowerCase(that.chars[that.start + index]));
+        }
+        return index < 0 ? 0 : length() - that.length();
+    }
+
     /* Hash code */
 
     // Based on the shift-add-xor class of string hashing functions
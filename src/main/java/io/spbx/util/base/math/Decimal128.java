@@ -0,0 +1,605 @@
+package io.spbx.util.base.math;
+
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.concurrent.Immutable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Represents the fixed-point decimal number as the signed 128-bit unscaled value and the decimal {@code scale}:
+ * {@code unscaledValue / 10^scale}, same as {@link BigDecimal}, e.g. {@code 12.50} is stored as {@code (1250, 2)}.
+ * Designed for the money amounts: the arithmetic works on the primitive {@code long}s and allocates only the result.
+ * <p>
+ * Unlike {@link BigDecimal}, the range is bounded:
+ * <ul>
+ *     <li>the scale is within {@code [0, MAX_SCALE]},</li>
+ *     <li>the unscaled value is within {@code [-Int128.MAX_VALUE, Int128.MAX_VALUE]}, i.e. 38 decimal digits.</li>
+ * </ul>
+ * The operations throw {@link ArithmeticException} when the result doesn't fit rather than wrap around (unlike
+ * {@link Int128}). Same as {@link BigDecimal}, the {@link #equals} takes the scale into account,
+ * i.e. {@code 2.0} is not equal to {@code 2.00} (but {@link #compareTo} returns 0).
+ *
+ * @see BigDecimal
+ * @see Int128
+ */
+@Immutable
+public final class Decimal128 extends Number implements Comparable<Decimal128> {
+    public static final int MAX_SCALE = 38;
+
+    public static final Decimal128 ZERO = new Decimal128(0, 0, 0);
+    public static final Decimal128 ONE = new Decimal128(0, 1, 0);
+
+    // `10^n` for `n in [0, MAX_SCALE]`, all fit into 127 bits
+    private static final long[] TEN_POWERS_HIGH = new long[MAX_SCALE + 1];
+    private static final long[] TEN_POWERS_LOW = new long[MAX_SCALE + 1];
+    static {
+        long high = 0, low = 1;
+        for (int n = 0; n <= MAX_SCALE; n++) {
+            TEN_POWERS_HIGH[n] = high;
+            TEN_POWERS_LOW[n] = low;
+            high = high * 10 + Math.unsignedMultiplyHigh(low, 10);
+            low = low * 10;
+        }
+    }
+    // `Int128.MAX_VALUE / 10`: the largest magnitude that can be multiplied by 10 without overflow
+    private static final long MAX_DIV_10_HIGH = Int128.MAX_VALUE.divide(10).highBits();
+    private static final long MAX_DIV_10_LOW = Int128.MAX_VALUE.divide(10).lowBits();
+
+    // The discarded fraction of the result relative to the half of the last digit, see `round()`
+    private static final int EXACT = 0;
+    private static final int BELOW_HALF = 1;
+    private static final int HALF = 2;
+    private static final int ABOVE_HALF = 3;
+
+    private final long high;  // unscaled value in two's complement, never `Int128.MIN_VALUE`
+    private final long low;
+    private final int scale;
+
+    private Decimal128(long high, long low, int scale) {
+        this.high = high;
+        this.low = low;
+        this.scale = scale;
+    }
+
+    /* Construction */
+
+    public static @NotNull Decimal128 of(long unscaledValue, int scale) {
+        return of(Int128.fastZeroOrMinusOne(unscaledValue), unscaledValue, scale);
+    }
+
+    public static @NotNull Decimal128 of(@NotNull Int128 unscaledValue, int scale) {
+        return of(unscaledValue.highBits(), unscaledValue.lowBits(), scale);
+    }
+
+    private static @NotNull Decimal128 of(long high, long low, int scale) {
+        if (scale < 0 || scale > MAX_SCALE) {
+            throw new ArithmeticException("Decimal128 scale is out of range: " + scale);
+        }
+        if (high == Long.MIN_VALUE && low == 0) {
+            throw new ArithmeticException("Decimal128 unscaled value is out of range: " + Int128.MIN_VALUE);
+        }
+        return new Decimal128(high, low, scale);
+    }
+
+    public static @NotNull Decimal128 from(long value) {
+        return of(value, 0);
+    }
+
+    /**
+     * Converts the {@link BigDecimal} exactly: the negative scale is normalized to zero.
+     *
+     * @throws ArithmeticException if the {@code value} doesn't fit
+     */
+    public static @NotNull Decimal128 from(@NotNull BigDecimal value) {
+        BigDecimal normalized = value.scale() < 0 ? value.setScale(0, RoundingMode.UNNECESSARY) : value;
+        if (normalized.unscaledValue().bitLength() >= Int128.BITS) {
+            throw new ArithmeticException("Decimal128 unscaled value is out of range: " + value);
+        }
+        return of(Int128.from(normalized.unscaledValue()), normalized.scale());
+    }
+
+    /**
+     * Parses the plain decimal string, e.g. {@code "-12.50"}, same as {@link BigDecimal#BigDecimal(String)}
+     * without the exponent. The scale is the number of digits after the decimal point.
+     *
+     * @throws NumberFormatException if the {@code value} is not a valid decimal or doesn't fit
+     */
+    public static @NotNull Decimal128 from(@NotNull CharSequence value) {
+        int length = value.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+')) {
+            negative = value.charAt(0) == '-';
+            i++;
+        }
+
+        long high = 0, low = 0;
+        int scale = -1;
+        int digits = 0;
+        for (; i < length; i++) {
+            char ch = value.charAt(i);
+            if (ch == '.' && scale < 0) {
+                scale = 0;
+                continue;
+            }
+            if (ch < '0' || ch > '9') {
+                throw new NumberFormatException("Invalid Decimal128 string: \"%s\"".formatted(value));
+            }
+            if (Int128.compareUnsigned(high, low, MAX_DIV_10_HIGH, MAX_DIV_10_LOW) > 0) {
+                throw new NumberFormatException("Decimal128 is out of range: \"%s\"".formatted(value));
+            }
+            high = high * 10 + Math.unsignedMultiplyHigh(low, 10);
+            low = low * 10 + (ch - '0');
+            high += Long.compareUnsigned(low, ch - '0') < 0 ? 1 : 0;
+            if (high < 0) {
+                throw new NumberFormatException("Decimal128 is out of range: \"%s\"".formatted(value));
+            }
+            digits++;
+            scale += scale >= 0 ? 1 : 0;
+        }
+        if (digits == 0 || scale > MAX_SCALE) {
+            throw new NumberFormatException("Invalid Decimal128 string: \"%s\"".formatted(value));
+        }
+        return create(negative, high, low, Math.max(scale, 0));
+    }
+
+    // Creates the result from the magnitude `(high, low)` which is known to fit into 127 bits
+    private static @NotNull Decimal128 create(boolean negative, long high, long low, int scale) {
+        return negative ?
+            new Decimal128(low == 0 ? -high : ~high, -low, scale) :
+            new Decimal128(high, low, scale);
+    }
+
+    /* Accessors */
+
+    public @NotNull Int128 unscaledValue() {
+        return Int128.fromBits(high, low);
+    }
+
+    public int scale() {
+        return scale;
+    }
+
+    public int signum() {
+        return high != 0 ? Long.signum(high) : low == 0 ? 0 : 1;
+    }
+
+    public boolean isZero() {
+        return high == 0 && low == 0;
+    }
+
+    public @NotNull BigDecimal toBigDecimal() {
+        return new BigDecimal(unscaledValue().toBigInteger(), scale);
+    }
+
+    /* Comparison */
+
+    @Override
+    public int compareTo(@NotNull Decimal128 that) {
+        int signum = this.signum();
+        int cmp = Integer.compare(signum, that.signum());
+        if (cmp != 0 || signum == 0) {
+            return cmp;
+        }
+        if (this.scale == that.scale) {
+            return Int128.compare(this.high, this.low, that.high, that.low);
+        }
+
+        // Same non-zero sign: compare the magnitudes at the same scale
+        Decimal128 lower = this.scale < that.scale ? this : that;
+        Decimal128 upper = this.scale < that.scale ? that : this;
+        int n = upper.scale - lower.scale;
+        long lh = Int128.absHigh(lower.high, lower.low), ll = Int128.absLow(lower.high, lower.low);
+        long uh = Int128.absHigh(upper.high, upper.low), ul = Int128.absLow(upper.high, upper.low);
+        int magnitudeCmp = multiplyOverflows(lh, ll, TEN_POWERS_HIGH[n], TEN_POWERS_LOW[n]) ?
+            1 :
+            Int128.compareUnsigned(Int128.multiplyHigh(lh, ll, TEN_POWERS_HIGH[n], TEN_POWERS_LOW[n]),
+                                   ll * TEN_POWERS_LOW[n], uh, ul);
+        magnitudeCmp = lower == this ? magnitudeCmp : -magnitudeCmp;
+        return signum > 0 ? magnitudeCmp : -magnitudeCmp;
+    }
+
+    /* Arithmetic */
+
+    public @NotNull Decimal128 negate() {
+        return new Decimal128(low == 0 ? -high : ~high, -low, scale);
+    }
+
+    public @NotNull Decimal128 abs() {
+        return high >= 0 ? this : negate();
+    }
+
+    /**
+     * Returns {@code this + that}, the scale of the result is the larger of the two.
+     */
+    public @NotNull Decimal128 add(@NotNull Decimal128 that) {
+        if (this.scale != that.scale) {
+            return this.scale < that.scale ? this.setScale(that.scale).add(that) : this.add(that.setScale(this.scale));
+        }
+        long sumLow = this.low + that.low;
+        long sumHigh = this.high + that.high + (Long.compareUnsigned(sumLow, this.low) < 0 ? 1 : 0);
+        if (((this.high ^ sumHigh) & (that.high ^ sumHigh)) < 0) {
+            throw new ArithmeticException("Decimal128 overflow: %s + %s".formatted(this, that));
+        }
+        return of(sumHigh, sumLow, scale);
+    }
+
+    /**
+     * Returns {@code this - that}, the scale of the result is the larger of the two.
+     */
+    public @NotNull Decimal128 subtract(@NotNull Decimal128 that) {
+        if (this.scale != that.scale) {
+            return this.scale < that.scale ?
+                this.setScale(that.scale).subtract(that) :
+                this.subtract(that.setScale(this.scale));
+        }
+        long diffLow = this.low - that.low;
+        long diffHigh = this.high - that.high - (Long.compareUnsigned(this.low, that.low) < 0 ? 1 : 0);
+        if (((this.high ^ that.high) & (this.high ^ diffHigh)) < 0) {
+            throw new ArithmeticException("Decimal128 overflow: %s - %s".formatted(this, that));
+        }
+        return of(diffHigh, diffLow, scale);
+    }
+
+    /**
+     * Returns the exact {@code this * that}, the scale of the result is the sum of the two.
+     */
+    public @NotNull Decimal128 multiply(@NotNull Decimal128 that) {
+        return multiply(that, this.scale + that.scale, RoundingMode.UNNECESSARY);
+    }
+
+    /**
+     * Returns {@code this * that} rounded to the {@code scale} using the {@code rounding} mode,
+     * e.g. the amount multiplied by the rate and rounded to cents.
+     * The exact product may exceed 127 bits as long as the rounded result fits.
+     */
+    public @NotNull Decimal128 multiply(@NotNull Decimal128 that, int scale, @NotNull RoundingMode rounding) {
+        long ah = Int128.absHigh(this.high, this.low), al = Int128.absLow(this.high, this.low);
+        long bh = Int128.absHigh(that.high, that.low), bl = Int128.absLow(that.high, that.low);
+        boolean negative = (this.high ^ that.high) < 0;
+        int productScale = this.scale + that.scale;
+        if (!multiplyOverflows(ah, al, bh, bl)) {
+            long productHigh = Int128.multiplyHigh(ah, al, bh, bl);
+            return rescale(negative, productHigh, al * bl, productScale, scale, rounding);
+        }
+
+        // The product doesn't fit, but the result might: `(a * b) / 10^m` via the 256-bit product
+        checkScale(scale);
+        if (scale >= productScale) {
+            throw new ArithmeticException("Decimal128 overflow: %s * %s".formatted(this, that));
+        }
+        int m = productScale - scale;
+        int n = Math.min(m, MAX_SCALE);
+        return multiplyDivideWide(negative, ah, al, bh, bl, TEN_POWERS_HIGH[n], TEN_POWERS_LOW[n], m - n,
+                                  scale, rounding);
+    }
+
+    /**
+     * Returns {@code this / that} rounded to the scale of {@code this} using the {@code rounding} mode.
+     */
+    public @NotNull Decimal128 divide(@NotNull Decimal128 that, @NotNull RoundingMode rounding) {
+        return divide(that, this.scale, rounding);
+    }
+
+    /**
+     * Returns {@code this / that} rounded to the {@code scale} using the {@code rounding} mode.
+     * The intermediate {@code this * 10^n} may exceed 127 bits as long as the rounded result fits.
+     */
+    public @NotNull Decimal128 divide(@NotNull Decimal128 that, int scale, @NotNull RoundingMode rounding) {
+        if (that.isZero()) {
+            throw new ArithmeticException("Division by zero: %s / %s".formatted(this, that));
+        }
+        checkScale(scale);
+        boolean negative = (this.high ^ that.high) < 0;
+        long ah = Int128.absHigh(this.high, this.low), al = Int128.absLow(this.high, this.low);
+        long bh = Int128.absHigh(that.high, that.low), bl = Int128.absLow(that.high, that.low);
+
+        // `this / that` at the `scale` is `(a * 10^n) / b` where `n = scale - this.scale + that.scale`
+        int n = scale - this.scale + that.scale;
+        if (n > MAX_SCALE) {
+            // `a * 10^n = (a * 10^j) * 10^MAX_SCALE`, the first factor must fit into 128 bits for the result to fit
+            int j = n - MAX_SCALE;
+            if (multiplyOverflowsUnsigned(ah, al, TEN_POWERS_HIGH[j], TEN_POWERS_LOW[j])) {
+                throw new ArithmeticException("Decimal128 overflow: %s / %s".formatted(this, that));
+            }
+            long xh = Int128.multiplyHigh(ah, al, TEN_POWERS_HIGH[j], TEN_POWERS_LOW[j]);
+            long xl = al * TEN_POWERS_LOW[j];
+            return multiplyDivideWide(negative, xh, xl, TEN_POWERS_HIGH[MAX_SCALE], TEN_POWERS_LOW[MAX_SCALE],
+                                      bh, bl, 0, scale, rounding);
+        }
+        if (n >= 0) {
+            if (multiplyOverflows(ah, al, TEN_POWERS_HIGH[n], TEN_POWERS_LOW[n])) {
+                return multiplyDivideWide(negative, ah, al, TEN_POWERS_HIGH[n], TEN_POWERS_LOW[n], bh, bl, 0,
+                                          scale, rounding);
+            }
+            long uh = Int128.multiplyHigh(ah, al, TEN_POWERS_HIGH[n], TEN_POWERS_LOW[n]);
+            long ul = al * TEN_POWERS_LOW[n];
+            long qh = Int128.divideUnsignedHigh(uh, bh, bl);
+            long ql = Int128.divideUnsignedLow(uh, ul, bh, bl);
+            long product = ql * bl;
+            long rl = ul - product;
+            long rh = uh - Int128.multiplyHigh(qh, ql, bh, bl) - (Long.compareUnsigned(ul, product) < 0 ? 1 : 0);
+            return round(negative, qh, ql, fraction(rh, rl, bh, bl), scale, rounding);
+        }
+
+        // `a / (b * 10^k)` where `k = -n`: `floor(floor(a / 10^k) / b)` is the same quotient,
+        // the fraction is derived from both remainders: `a = A * 10^k + a0`, `A = q * b + r1`
+        int k = -n;
+        long bigAh = 0, bigAl = 0, a0h = ah, a0l = al;
+        if (k <= MAX_SCALE) {
+            long ph = TEN_POWERS_HIGH[k], pl = TEN_POWERS_LOW[k];
+            bigAh = Int128.divideUnsignedHigh(ah, ph, pl);
+            bigAl = Int128.divideUnsignedLow(ah, al, ph, pl);
+            long product = bigAl * pl;
+            a0l = al - product;
+            a0h = ah - Int128.multiplyHigh(bigAh, bigAl, ph, pl) - (Long.compareUnsigned(al, product) < 0 ? 1 : 0);
+        }
+        long qh = Int128.divideUnsignedHigh(bigAh, bh, bl);
+        long ql = Int128.divideUnsignedLow(bigAh, bigAl, bh, bl);
+        long product = ql * bl;
+        long r1l = bigAl - product;
+        long r1h = bigAh - Int128.multiplyHigh(qh, ql, bh, bl) - (Long.compareUnsigned(bigAl, product) < 0 ? 1 : 0);
+
+        int fraction;
+        if (r1h == 0 && r1l == 0 && a0h == 0 && a0l == 0) {
+            fraction = EXACT;
+        } else {
+            // `2 * r - b * 10^k = 10^k * (2 * r1 - b) + 2 * a0`, where `r1 < b` and `a0 < 10^k`
+            long twiceR1h = (r1h << 1) | (r1l >>> 63), twiceR1l = r1l << 1;
+            int cmp = Int128.compareUnsigned(twiceR1h, twiceR1l, bh, bl);
+            if (cmp > 0) {
+                fraction = ABOVE_HALF;
+            } else if (cmp == 0) {
+                fraction = a0h == 0 && a0l == 0 ? HALF : ABOVE_HALF;
+            } else if (twiceR1l + 1 == bl && twiceR1h == bh) {  // `2 * r1 + 1 == b`, the `+1` can't carry
+                int a0Fraction = k <= MAX_SCALE ? fractionOfPowerOfTen(a0h, a0l, k) : BELOW_HALF;
+                fraction = Math.max(a0Fraction, BELOW_HALF);
+            } else {
+                fraction = BELOW_HALF;
+            }
+        }
+        return round(negative, qh, ql, fraction, scale, rounding);
+    }
+
+    /**
+     * Returns the same value with the new {@code scale}.
+     *
+     * @throws ArithmeticException if the value doesn't fit or the rounding is necessary
+     */
+    public @NotNull Decimal128 setScale(int scale) {
+        return setScale(scale, RoundingMode.UNNECESSARY);
+    }
+
+    /**
+     * Returns the value with the new {@code scale}, rounded using the {@code rounding} mode if the scale decreases.
+     */
+    public @NotNull Decimal128 setScale(int scale, @NotNull RoundingMode rounding) {
+        if (scale == this.scale) {
+            return this;
+        }
+        long mh = Int128.absHigh(high, low), ml = Int128.absLow(high, low);
+        return rescale(high < 0, mh, ml, this.scale, scale, rounding);
+    }
+
+    /* Implementation details */
+
+    // Converts the magnitude `(mh, ml)` at `fromScale` to `toScale`: either exactly or with rounding.
+    private static @NotNull Decimal128 rescale(boolean negative, long mh, long ml, int fromScale, int toScale,
+                                               @NotNull RoundingMode rounding) {
+        checkScale(toScale);
+        if (toScale >= fromScale) {
+            int n = toScale - fromScale;
+            long ph = TEN_POWERS_HIGH[n], pl = TEN_POWERS_LOW[n];
+            if (multiplyOverflows(mh, ml, ph, pl)) {
+                throw new ArithmeticException("Decimal128 overflow: unscaled %s%s * 10^%d"
+                                              .formatted(negative ? "-" : "", UInt128.fromBits(mh, ml), n));
+            }
+            return create(negative, Int128.multiplyHigh(mh, ml, ph, pl), ml * pl, toScale);
+        }
+
+        int n = fromScale - toScale;
+        if (n > MAX_SCALE) {
+            // The magnitude is less than `2^127 < 10^39 / 2`, hence the result is zero plus the fraction
+            return round(negative, 0, 0, mh == 0 && ml == 0 ? EXACT : BELOW_HALF, toScale, rounding);
+        }
+        long ph = TEN_POWERS_HIGH[n], pl = TEN_POWERS_LOW[n];
+        long qh = Int128.divideUnsignedHigh(mh, ph, pl);
+        long ql = Int128.divideUnsignedLow(mh, ml, ph, pl);
+        long product = ql * pl;
+        long rl = ml - product;
+        long rh = mh - Int128.multiplyHigh(qh, ql, ph, pl) - (Long.compareUnsigned(ml, product) < 0 ? 1 : 0);
+        return round(negative, qh, ql, fraction(rh, rl, ph, pl), toScale, rounding);
+    }
+
+    // Applies the `rounding` to the truncated magnitude `(qh, ql)` given the discarded `fraction`
+    private static @NotNull Decimal128 round(boolean negative, long qh, long ql, int fraction, int scale,
+                                             @NotNull RoundingMode rounding) {
+        boolean increment = fraction != EXACT && switch (rounding) {
+            case UP -> true;
+            case DOWN -> false;
+            case CEILING -> !negative;
+            case FLOOR -> negative;
+            case HALF_UP -> fraction >= HALF;
+            case HALF_DOWN -> fraction > HALF;
+            case HALF_EVEN -> fraction > HALF || fraction == HALF && (ql & 1) != 0;
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+        };
+        if (increment) {
+            ql++;
+            qh += ql == 0 ? 1 : 0;
+            if (qh < 0) {
+                throw new ArithmeticException("Decimal128 overflow on rounding");
+            }
+        }
+        return create(negative, qh, ql, scale);
+    }
+
+    // Computes `(x * y) / (d * 10^k)` rounded, where `x` is unsigned 128-bit, `y` and `d` fit into 127 bits.
+    // The 255-bit product is divided by `d` bit by bit, then the (128-bit) quotient by `10^k`.
+    private static @NotNull Decimal128 multiplyDivideWide(boolean negative, long xh, long xl, long yh, long yl,
+                                                          long dh, long dl, int k, int scale,
+                                                          @NotNull RoundingMode rounding) {
+        // `u = (u3, u2, u1, u0) = x * y`, the schoolbook multiplication of the 64-bit limbs
+        long lowLow = xl * yl, lowLowHigh = Math.unsignedMultiplyHigh(xl, yl);
+        long lowHigh = xl * yh, lowHighHigh = Math.unsignedMultiplyHigh(xl, yh);
+        long highLow = xh * yl, highLowHigh = Math.unsignedMultiplyHigh(xh, yl);
+        long highHigh = xh * yh, highHighHigh = Math.unsignedMultiplyHigh(xh, yh);
+        long u0 = lowLow;
+        long u1 = lowLowHigh + lowHigh;
+        long carry = Long.compareUnsigned(u1, lowHigh) < 0 ? 1 : 0;
+        u1 += highLow;
+        carry += Long.compareUnsigned(u1, highLow) < 0 ? 1 : 0;
+        long u2 = lowHighHigh + highLowHigh;
+        long carry2 = Long.compareUnsigned(u2, highLowHigh) < 0 ? 1 : 0;
+        u2 += highHigh;
+        carry2 += Long.compareUnsigned(u2, highHigh) < 0 ? 1 : 0;
+        u2 += carry;
+        carry2 += Long.compareUnsigned(u2, carry) < 0 ? 1 : 0;
+        long u3 = highHighHigh + carry2;
+
+        // The quotient fits into 128 bits iff `(u3, u2) < d`, and into 127 bits iff `u >> 127 < d`
+        boolean overflows = k == 0 ?
+            Int128.compareUnsigned((u3 << 1) | (u2 >>> 63), (u2 << 1) | (u1 >>> 63), dh, dl) >= 0 :
+            Int128.compareUnsigned(u3, u2, dh, dl) >= 0;
+        if (overflows) {
+            throw new ArithmeticException("Decimal128 overflow: the result doesn't fit into 127 bits");
+        }
+
+        // The remainder `r` starts with the top half and stays below `d < 2^127`, so `2 * r` never overflows
+        long rh = u3, rl = u2, qh = 0, ql = 0;
+        for (int i = 127; i >= 0; i--) {
+            long bit = (i >= 64 ? u1 >>> (i - 64) : u0 >>> i) & 1;
+            rh = (rh << 1) | (rl >>> 63);
+            rl = (rl << 1) | bit;
+            qh = (qh << 1) | (ql >>> 63);
+            ql <<= 1;
+            if (Int128.compareUnsigned(rh, rl, dh, dl) >= 0) {
+                rh -= Long.compareUnsigned(rl, dl) < 0 ? dh + 1 : dh;
+                rl -= dl;
+                ql |= 1;
+            }
+        }
+        int fraction = fraction(rh, rl, dh, dl);
+        if (k == 0) {
+            return round(negative, qh, ql, fraction, scale, rounding);
+        }
+
+        // `u / (d * 10^k) = q / 10^k` where `q = u / d`, the remainder of `u / d` only breaks the tie:
+        // `r = r2 * d + r1` is compared with `10^k * d / 2`, which is `(10^k / 2) * d`
+        long ph = TEN_POWERS_HIGH[k], pl = TEN_POWERS_LOW[k];
+        long q2h = Int128.divideUnsignedHigh(qh, ph, pl);
+        long q2l = Int128.divideUnsignedLow(qh, ql, ph, pl);
+        long product = q2l * pl;
+        long r2l = ql - product;
+        long r2h = qh - Int128.multiplyHigh(q2h, q2l, ph, pl) - (Long.compareUnsigned(ql, product) < 0 ? 1 : 0);
+        int fraction2 = fraction(r2h, r2l, ph, pl);
+        if (fraction != EXACT) {
+            fraction2 = fraction2 == EXACT ? BELOW_HALF : fraction2 == HALF ? ABOVE_HALF : fraction2;
+        }
+        return round(negative, q2h, q2l, fraction2, scale, rounding);
+    }
+
+    // Compares the remainder `r` of the division by `d` with `d / 2`, given `r < d`
+    private static int fraction(long rh, long rl, long dh, long dl) {
+        if (rh == 0 && rl == 0) {
+            return EXACT;
+        }
+        long restLow = dl - rl;
+        long restHigh = dh - rh - (Long.compareUnsigned(dl, rl) < 0 ? 1 : 0);
+        int cmp = Int128.compareUnsigned(rh, rl, restHigh, restLow);
+        return cmp < 0 ? BELOW_HALF : cmp == 0 ? HALF : ABOVE_HALF;
+    }
+
+    private static int fractionOfPowerOfTen(long rh, long rl, int n) {
+        return fraction(rh, rl, TEN_POWERS_HIGH[n], TEN_POWERS_LOW[n]);
+    }
+
+    // Returns whether the product of two magnitudes (each fits into 127 bits) doesn't fit into 127 bits
+    private static boolean multiplyOverflows(long ah, long al, long bh, long bl) {
+        if (ah != 0 && bh != 0) {
+            return true;
+        }
+        if (Math.unsignedMultiplyHigh(ah, bl) != 0 || Math.unsignedMultiplyHigh(al, bh) != 0) {
+            return true;
+        }
+        long cross = ah * bl + al * bh;  // at most one of the terms is non-zero
+        long productHigh = Math.unsignedMultiplyHigh(al, bl) + cross;
+        return Long.compareUnsigned(productHigh, cross) < 0 || productHigh < 0;
+    }
+
+    // Returns whether the product of two unsigned 128-bit values doesn't fit into 128 bits
+    private static boolean multiplyOverflowsUnsigned(long ah, long al, long bh, long bl) {
+        if (ah != 0 && bh != 0) {
+            return true;
+        }
+        if (Math.unsignedMultiplyHigh(ah, bl) != 0 || Math.unsignedMultiplyHigh(al, bh) != 0) {
+            return true;
+        }
+        long cross = ah * bl + al * bh;  // at most one of the terms is non-zero
+        return Long.compareUnsigned(Math.unsignedMultiplyHigh(al, bl) + cross, cross) < 0;
+    }
+
+    private static void checkScale(int scale) {
+        if (scale < 0 || scale > MAX_SCALE) {
+            throw new ArithmeticException("Decimal128 scale is out of range: " + scale);
+        }
+    }
+
+    /* `Number` conversions */
+
+    @Override
+    public int intValue() {
+        return (int) longValue();
+    }
+
+    // Returns the low 64 bits of the integer part, same as `BigDecimal.longValue()`
+    @Override
+    public long longValue() {
+        return scale == 0 ? low : setScale(0, RoundingMode.DOWN).low;
+    }
+
+    @Override
+    public float floatValue() {
+        return toBigDecimal().floatValue();
+    }
+
+    @Override
+    public double doubleValue() {
+        return toBigDecimal().doubleValue();
+    }
+
+    /* `Object` methods */
+
+    @Override
+    public boolean equals(Object object) {
+        return object instanceof Decimal128 that && high == that.high && low == that.low && scale == that.scale;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (Long.hashCode(high) ^ Long.hashCode(low)) + scale;
+    }
+
+    /**
+     * Returns the plain string representation without the exponent, same as {@link BigDecimal#toPlainString()}.
+     */
+    @Override
+    public @NotNull String toString() {
+        String digits = Int128.toUnsignedString(Int128.absHigh(high, low), Int128.absLow(high, low), 10, false);
+        if (scale == 0) {
+            return high < 0 ? "-" + digits : digits;
+        }
+        StringBuilder builder = new StringBuilder(digits.length() + scale + 3);
+        if (high < 0) {
+            builder.append('-');
+        }
+        int integerDigits = digits.length() - scale;
+        if (integerDigits > 0) {
+            builder.append(digits, 0, integerDigits).append('.').append(digits, integerDigits, digits.length());
+        } else {
+            builder.append("0.").repeat('0', -integerDigits).append(digits);
+        }
+        return builder.toString();
+    }
+}
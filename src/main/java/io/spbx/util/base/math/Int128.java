@@ -43,6 +43,22 @@ public final class Int128 extends Number implements Comparable<Int128> {
     public static final Comparator<Int128> COMPARATOR = Int128::compare;
     public static final Comparator<Int128> COMPARATOR_UNSIGNED = Int128::compareUnsigned;
 
+    // The largest power of the radix that fits into a `long` and its number of digits, indexed by radix
+    private static final long[] CHUNK_POWERS = new long[Character.MAX_RADIX + 1];
+    private static final int[] CHUNK_DIGITS = new int[Character.MAX_RADIX + 1];
+    static {
+        for (int radix = Character.MIN_RADIX; radix <= Character.MAX_RADIX; radix++) {
+            long power = radix;
+            int digits = 1;
+            while (power <= Long.MAX_VALUE / radix) {
+                power *= radix;
+                digits++;
+            }
+            CHUNK_POWERS[radix] = power;
+            CHUNK_DIGITS[radix] = digits;
+        }
+    }
+
     private final long high;
     private final long low;
 
@@ -171,7 +187,7 @@ public final class Int128 extends Number implements Comparable<Int128> {
         return compare(lhs.high, lhs.low, rhs.high, rhs.low);
     }
 
-    private static int compare(long hi1, long lo1, long hi2, long lo2) {
+    /*package*/ static int compare(long hi1, long lo1, long hi2, long lo2) {
         int cmp = Longs.compare(hi1, hi2);
         return cmp != 0 ? cmp : Long.compareUnsigned(lo1, lo2);
     }
@@ -180,7 +196,7 @@ public final class Int128 extends Number implements Comparable<Int128> {
         return compareUnsigned(lhs.high, lhs.low, rhs.high, rhs.low);
     }
 
-    private static int compareUnsigned(long hi1, long lo1, long hi2, long lo2) {
+    /*package*/ static int compareUnsigned(long hi1, long lo1, long hi2, long lo2) {
         int cmp = Long.compareUnsigned(hi1, hi2);
         return cmp != 0 ? cmp : Long.compareUnsigned(lo1, lo2);
     }
@@ -228,10 +244,6 @@ public final class Int128 extends Number implements Comparable<Int128> {
         return high >= 0 ? this : this.negate();
     }
 
-    private @NotNull Int128 flipSign(boolean flip) {
-        return flip ? this.negate() : this;
-    }
-
     /* `Number` conversions */
 
     @Override
@@ -349,82 +361,119 @@ public final class Int128 extends Number implements Comparable<Int128> {
 
     public @NotNull Int128 divide(@NotNull Int128 that) {
         assert that.high != 0 || that.low != 0 : "Division by zero: %s / 0".formatted(this);
-
-        Int128 a = this.abs();
-        Int128 b = that.abs();
-        boolean sameSign = this.high < 0 == that.high < 0;
-        if (a.high == Long.MIN_VALUE) {
-          return a.subtract(b).divide(b).increment().flipSign(!sameSign);
-        } if (b.high == 0) {
-            return divide64BitUnsigned(a.high, a.low, b.low).flipSign(!sameSign);
-        } else {
-            return divide128BitUnsigned(a.high, a.low, b.high, b.low).flipSign(!sameSign);
-        }
+        return divide(this.high, this.low, that.high, that.low);
     }
 
     public @NotNull Int128 divide(long that) {
-        return divide(Int128.from(that));
+        assert that != 0 : "Division by zero: %s / 0".formatted(this);
+        return divide(this.high, this.low, fastZeroOrMinusOne(that), that);
     }
 
-    private static @NotNull Int128 divide64BitUnsigned(long hi, long lo, long num) {
-        if (num == 1) {
-            return Int128.fromBits(hi, lo);
-        }
-        if (hi == 0) {
-            return Int128.from(Long.divideUnsigned(lo, num));
-        }
-        if (hi < num) {
-            long quot = MathOps.udivide128By64(hi, lo, num);    // Quot fits in u64-bit: can use optimized division
-            return Int128.fromBits(0, quot);
-        }
+    public @NotNull Int128 remainder(@NotNull Int128 that) {
+        assert that.high != 0 || that.low != 0 : "Division by zero: %s %% 0".formatted(this);
+        return remainder(this.high, this.low, that.high, that.low);
+    }
 
-        int n = Long.numberOfLeadingZeros(num) - Long.numberOfLeadingZeros(hi) + 64;    // ~Number of bits in the result
-        while (n >= 0) {
-            Int128 div = Int128.ONE.shiftLeft(n);
-            Int128 multiply = Int128.fromBits(0, num).shiftLeft(n);
-            if (compareUnsigned(hi, lo, multiply.high, multiply.low) >= 0) {
-                Int128 sub = subtract(hi, lo, multiply.high, multiply.low);
-                return divide64BitUnsigned(sub.high, sub.low, num).add(div);
-            }
-            n--;
-        }
+    public @NotNull Int128 remainder(long that) {
+        assert that != 0 : "Division by zero: %s %% 0".formatted(this);
+        return remainder(this.high, this.low, fastZeroOrMinusOne(that), that);
+    }
+
+    /**
+     * Returns an array of two {@code Int128}s containing {@code (this / that)} followed by {@code (this % that)}.
+     * Same as {@link BigInteger#divideAndRemainder}, but divides only once.
+     */
+    public @NotNull Int128 @NotNull[] divideAndRemainder(@NotNull Int128 that) {
+        assert that.high != 0 || that.low != 0 : "Division by zero: %s / 0".formatted(this);
+        return divideAndRemainder(this.high, this.low, that.high, that.low);
+    }
 
-        throw newInternalError("Failed to divide %s / %s", Int128.fromBits(hi, lo), num);
+    public @NotNull Int128 @NotNull[] divideAndRemainder(long that) {
+        assert that != 0 : "Division by zero: %s / 0".formatted(this);
+        return divideAndRemainder(this.high, this.low, fastZeroOrMinusOne(that), that);
     }
 
-    private static @NotNull Int128 divide128BitUnsigned(long hi1, long lo1, long hi2, long lo2) {
-        InternalErrors.failIf(hi2 == 0, "The method must not be called, call divide64BitUnsigned()");
+    // Signed division is done on the magnitudes. Note that the magnitude of `MIN_VALUE` is `MIN_VALUE` itself,
+    // which is exactly `2^127` when treated as unsigned, hence needs no special handling.
+    // The quotient is rounded towards zero, the remainder takes the sign of the dividend (same as `BigInteger`).
 
-        if (Long.compareUnsigned(hi1, hi2) < 0) {
-            return Int128.ZERO;
+    private static @NotNull Int128 divide(long hi1, long lo1, long hi2, long lo2) {
+        long u1 = absHigh(hi1, lo1), u0 = absLow(hi1, lo1);
+        long v1 = absHigh(hi2, lo2), v0 = absLow(hi2, lo2);
+        long qh = divideUnsignedHigh(u1, v1, v0);
+        long ql = divideUnsignedLow(u1, u0, v1, v0);
+        return (hi1 ^ hi2) < 0 ? fromBitsFlipSign(qh, ql) : fromBits(qh, ql);
+    }
+
+    private static @NotNull Int128 remainder(long hi1, long lo1, long hi2, long lo2) {
+        long u1 = absHigh(hi1, lo1), u0 = absLow(hi1, lo1);
+        long v1 = absHigh(hi2, lo2), v0 = absLow(hi2, lo2);
+        long qh = divideUnsignedHigh(u1, v1, v0);
+        long ql = divideUnsignedLow(u1, u0, v1, v0);
+        long rl = u0 - ql * v0;
+        long rh = u1 - multiplyHigh(qh, ql, v1, v0) - (Long.compareUnsigned(u0, ql * v0) < 0 ? 1 : 0);
+        return hi1 < 0 ? fromBitsFlipSign(rh, rl) : fromBits(rh, rl);
+    }
+
+    private static @NotNull Int128 @NotNull[] divideAndRemainder(long hi1, long lo1, long hi2, long lo2) {
+        long u1 = absHigh(hi1, lo1), u0 = absLow(hi1, lo1);
+        long v1 = absHigh(hi2, lo2), v0 = absLow(hi2, lo2);
+        long qh = divideUnsignedHigh(u1, v1, v0);
+        long ql = divideUnsignedLow(u1, u0, v1, v0);
+        long rl = u0 - ql * v0;
+        long rh = u1 - multiplyHigh(qh, ql, v1, v0) - (Long.compareUnsigned(u0, ql * v0) < 0 ? 1 : 0);
+        return new Int128[] {
+            (hi1 ^ hi2) < 0 ? fromBitsFlipSign(qh, ql) : fromBits(qh, ql),
+            hi1 < 0 ? fromBitsFlipSign(rh, rl) : fromBits(rh, rl),
+        };
+    }
+
+    // The high 64 bits of the unsigned quotient `(u1, *) / (v1, v0)`: non-zero only for the 64-bit divisor.
+    /*package*/ static long divideUnsignedHigh(long u1, long v1, long v0) {
+        return v1 == 0 ? Long.divideUnsigned(u1, v0) : 0;
+    }
+
+    // The low 64 bits of the unsigned quotient `(u1, u0) / (v1, v0)`.
+    // Ref: Hacker's Delight, 2nd edition, 9-5 "Doubleword Division from Long Division" (`divlu` based `divdu`).
+    /*package*/ static long divideUnsignedLow(long u1, long u0, long v1, long v0) {
+        if (v1 == 0) {
+            if (u1 == 0) {
+                return Long.divideUnsigned(u0, v0);
+            }
+            // Two-step long division: `u1 % v0 < v0`, so the 128-by-64 division below can't overflow
+            return MathOps.udivide128By64(Long.remainderUnsigned(u1, v0), u0, v0);
         }
-        if (Long.compareUnsigned(hi1, hi2) == 0) {
-            return Long.compareUnsigned(lo1, lo2) < 0 ? Int128.ZERO : Int128.ONE;
+        if (Long.compareUnsigned(u1, v1) < 0) {
+            return 0;
         }
 
-        long div = Long.divideUnsigned(hi1, hi2);
-        while (div > 0) {
-            Int128 multiply = div == 1 ? Int128.fromBits(hi2, lo2) : Int128.multiply(0, div, hi2, lo2);
-            if (compareUnsigned(hi1, lo1, multiply.high, multiply.low) >= 0) {
-                Int128 sub = subtract(hi1, lo1, multiply.high, multiply.low);
-                return divide128BitUnsigned(sub.high, sub.low, hi2, lo2).add(div);
-            }
-            div = div >> 1;
+        // Normalize the divisor so that its most significant bit is set, then estimate the quotient
+        // from the top 64 bits of it. The estimate is either exact or too large by one, see the reference.
+        int n = Long.numberOfLeadingZeros(v1);                              // 0 <= n <= 63
+        long vn = (v1 << n) | (v0 >>> 1 >>> (63 - n));                     // same as `v0 >>> (64 - n)` for `n > 0`
+        long q1 = MathOps.udivide128By64(u1 >>> 1, (u1 << 63) | (u0 >>> 1), vn);    // `u >>> 1` keeps `u1 < vn`
+        long q0 = q1 >>> (63 - n);
+        if (q0 != 0) {
+            q0--;
         }
 
-        throw newInternalError("Failed to divide %s / %s", fromBits(hi1, lo1), fromBits(hi2, lo2));
+        // Now `q0` is either exact or too small by one: check if the remainder `u - q0 * v` is still `>= v`
+        long rl = u0 - q0 * v0;
+        long rh = u1 - multiplyHigh(0, q0, v1, v0) - (Long.compareUnsigned(u0, q0 * v0) < 0 ? 1 : 0);
+        return compareUnsigned(rh, rl, v1, v0) >= 0 ? q0 + 1 : q0;
     }
 
-    public @NotNull Int128 remainder(@NotNull Int128 that) {
-        Int128 quot = this.divide(that);
-        Int128 mult = that.multiply(quot);
-        return this.subtract(mult);
+    // The high 64 bits of the `(qh, ql) * (v1, v0)` product.
+    /*package*/ static long multiplyHigh(long qh, long ql, long v1, long v0) {
+        return Math.unsignedMultiplyHigh(ql, v0) + qh * v0 + ql * v1;
     }
 
-    public @NotNull Int128 remainder(long that) {
-        Int128 quot = this.divide(that);
-        Int128 mult = quot.multiply(that);
-        return this.subtract(mult);
+    /*package*/ static long absHigh(long high, long low) {
+        return high >= 0 ? high : low == 0 ? ~high + 1 : ~high;
+    }
+
+    /*package*/ static long absLow(long high, long low) {
+        return high >= 0 ? low : ~low + 1;
     }
 
     public @NotNull Int128 sqr() {
@@ -541,11 +590,56 @@ public final class Int128 extends Number implements Comparable<Int128> {
 
     @Override
     public @NotNull String toString() {
-        return toBigInteger().toString();
+        return toString(10);
     }
 
+    /**
+     * Returns the string representation in the given {@code radix}, same as {@link BigInteger#toString(int)}.
+     * If the radix is outside the range from {@link Character#MIN_RADIX} to {@link Character#MAX_RADIX} inclusive,
+     * it will default to 10.
+     * <p>
+     * Does not convert to the {@link BigInteger}: the value is split into the chunks of the largest power of
+     * the {@code radix} that fits into a {@code long} (e.g., {@code 10^18} for decimal), each chunk is converted
+     * with the 64-bit arithmetic.
+     */
     public @NotNull String toString(int radix) {
-        return toBigInteger().toString(radix);
+        if (radix < Character.MIN_RADIX || radix > Character.MAX_RADIX) {
+            radix = 10;
+        }
+        if (high == fastZeroOrMinusOne(low)) {
+            return Long.toString(low, radix);
+        }
+        return toUnsignedString(absHigh(high, low), absLow(high, low), radix, high < 0);
+    }
+
+    // Formats the unsigned `(hi, lo)` in the valid `radix`, optionally prefixed with the minus sign.
+    /*package*/ static @NotNull String toUnsignedString(long hi, long lo, int radix, boolean minus) {
+        long chunk = CHUNK_POWERS[radix];
+        int chunkDigits = CHUNK_DIGITS[radix];
+
+        char[] buf = new char[BITS + 1];  // enough for the binary digits and the sign
+        int pos = buf.length;
+        while (hi != 0) {
+            long quotHi = Long.divideUnsigned(hi, chunk);
+            long quotLo = MathOps.udivide128By64(Long.remainderUnsigned(hi, chunk), lo, chunk);
+            long rem = lo - quotLo * chunk;  // `rem < chunk`, hence the low bits are enough
+            for (int i = 0; i < chunkDigits; i++) {
+                buf[--pos] = Character.forDigit((int) (rem % radix), radix);
+                rem /= radix;
+            }
+            hi = quotHi;
+            lo = quotLo;
+        }
+        do {
+            long quot = Long.divideUnsigned(lo, radix);
+            buf[--pos] = Character.forDigit((int) (lo - quot * radix), radix);
+            lo = quot;
+        } while (lo != 0);
+
+        if (minus) {
+            buf[--pos] = '-';
+        }
+        return new String(buf, pos, buf.length - pos);
     }
 
     public @NotNull String toBinaryString() {
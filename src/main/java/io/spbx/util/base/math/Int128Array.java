@@ -0,0 +1,289 @@
+package io.spbx.util.base.math;
+
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+
+/**
+ * A fixed-length array of the {@link Int128} values stored as the primitive {@code (high, low)} pairs of longs,
+ * either on heap (backed by {@code long[]}) or off heap (backed by the direct {@link ByteBuffer}).
+ * Unlike {@code Int128[]}, stores no object headers and pointers, and the bulk operations
+ * ({@link #sum()}, {@link #min()}, {@link #max()}, {@link #sort()}, {@link #binarySearch}) do not allocate.
+ * <p>
+ * The values are ordered as signed, same as {@link Int128#compareTo}.
+ */
+@NotThreadSafe
+public final class Int128Array {
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private final LongBuffer bits;  // `[high_0, low_0, high_1, low_1, ...]`
+    private final int length;
+
+    private Int128Array(@NotNull LongBuffer bits) {
+        assert bits.capacity() % 2 == 0 : "Invalid bits length: " + bits.capacity();
+        this.bits = bits;
+        this.length = bits.capacity() / 2;
+    }
+
+    /* Construction */
+
+    public static @NotNull Int128Array allocate(int length) {
+        return new Int128Array(LongBuffer.allocate(2 * length));
+    }
+
+    public static @NotNull Int128Array allocateDirect(int length) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(length * Int128.BYTES).order(ByteOrder.nativeOrder());
+        return new Int128Array(buffer.asLongBuffer());
+    }
+
+    /**
+     * Wraps the {@code (high, low)} pairs of longs, the changes in the array are visible in the result and vice versa.
+     */
+    public static @NotNull Int128Array wrap(long @NotNull[] bits) {
+        return new Int128Array(LongBuffer.wrap(bits));
+    }
+
+    public static @NotNull Int128Array of(@NotNull Int128 @NotNull ... values) {
+        Int128Array array = allocate(values.length);
+        for (int i = 0; i < values.length; i++) {
+            array.set(i, values[i]);
+        }
+        return array;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public boolean isDirect() {
+        return bits.isDirect();
+    }
+
+    /* Element access */
+
+    public long highBitsAt(int index) {
+        return bits.get(2 * index);
+    }
+
+    public long lowBitsAt(int index) {
+        return bits.get(2 * index + 1);
+    }
+
+    public @NotNull Int128 get(int index) {
+        return Int128.fromBits(highBitsAt(index), lowBitsAt(index));
+    }
+
+    public void getInto(int index, @NotNull MutableInt128 into) {
+        into.setBits(highBitsAt(index), lowBitsAt(index));
+    }
+
+    public void setBits(int index, long highBits, long lowBits) {
+        bits.put(2 * index, highBits);
+        bits.put(2 * index + 1, lowBits);
+    }
+
+    public void set(int index, @NotNull Int128 value) {
+        setBits(index, value.highBits(), value.lowBits());
+    }
+
+    public void set(int index, @NotNull MutableInt128 value) {
+        setBits(index, value.highBits(), value.lowBits());
+    }
+
+    public void set(int index, long value) {
+        setBits(index, Int128.fastZeroOrMinusOne(value), value);
+    }
+
+    /* Bulk operations */
+
+    /**
+     * Returns the sum of all values, wrapping around on overflow (same as {@link Int128#add}).
+     */
+    public @NotNull Int128 sum() {
+        long high = 0, low = 0;
+        for (int i = 0; i < length; i++) {
+            long lo = lowBitsAt(i);
+            long sum = low + lo;
+            high += highBitsAt(i) + (Long.compareUnsigned(sum, low) < 0 ? 1 : 0);
+            low = sum;
+        }
+        return Int128.fromBits(high, low);
+    }
+
+    public @NotNull Int128 min() {
+        assert length > 0 : "Empty array doesn't have a min value";
+        int min = 0;
+        for (int i = 1; i < length; i++) {
+            if (compareAt(i, min) < 0) {
+                min = i;
+            }
+        }
+        return get(min);
+    }
+
+    public @NotNull Int128 max() {
+        assert length > 0 : "Empty array doesn't have a max value";
+        int max = 0;
+        for (int i = 1; i < length; i++) {
+            if (compareAt(i, max) > 0) {
+                max = i;
+            }
+        }
+        return get(max);
+    }
+
+    /**
+     * Sorts the values in place in the ascending order. The sort is not stable, which makes no difference here.
+     * Uses the introsort: the quicksort falling back to the heapsort on the bad pivots, hence {@code O(n log n)}.
+     */
+    public void sort() {
+        int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(length));
+        introSort(0, length - 1, depthLimit);
+    }
+
+    /**
+     * Searches the sorted array for the {@code key}.
+     * Same contract as {@link java.util.Arrays#binarySearch(long[], long)}: returns the index of the key if found,
+     * otherwise {@code (-(insertion point) - 1)}.
+     */
+    public int binarySearch(@NotNull Int128 key) {
+        return binarySearch(key.highBits(), key.lowBits());
+    }
+
+    public int binarySearch(long highBits, long lowBits) {
+        int lo = 0;
+        int hi = length - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = Int128.compare(highBitsAt(mid), lowBitsAt(mid), highBits, lowBits);
+            if (cmp < 0) {
+                lo = mid + 1;
+            } else if (cmp > 0) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(lo + 1);
+    }
+
+    public @NotNull Int128 @NotNull[] toArray() {
+        Int128[] result = new Int128[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = get(i);
+        }
+        return result;
+    }
+
+    /* Sort implementation */
+
+    private void introSort(int from, int to, int depthLimit) {
+        while (to - from >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(from, to);
+                return;
+            }
+            int pivot = partition(from, to);
+            // Recurse into the smaller part to bound the stack depth
+            if (pivot - from < to - pivot) {
+                introSort(from, pivot, depthLimit);
+                from = pivot + 1;
+            } else {
+                introSort(pivot + 1, to, depthLimit);
+                to = pivot;
+            }
+        }
+        insertionSort(from, to);
+    }
+
+    // Hoare partition with the median-of-three pivot: `[from, result]` <= pivot <= `[result + 1, to]`
+    private int partition(int from, int to) {
+        int mid = (from + to) >>> 1;
+        if (compareAt(mid, from) < 0) swap(mid, from);
+        if (compareAt(to, from) < 0) swap(to, from);
+        if (compareAt(to, mid) < 0) swap(to, mid);
+        long pivotHigh = highBitsAt(mid);
+        long pivotLow = lowBitsAt(mid);
+
+        int i = from - 1;
+        int j = to + 1;
+        while (true) {
+            do {
+                i++;
+            } while (Int128.compare(highBitsAt(i), lowBitsAt(i), pivotHigh, pivotLow) < 0);
+            do {
+                j--;
+            } while (Int128.compare(highBitsAt(j), lowBitsAt(j), pivotHigh, pivotLow) > 0);
+            if (i >= j) {
+                return j;
+            }
+            swap(i, j);
+        }
+    }
+
+    private void insertionSort(int from, int to) {
+        for (int i = from + 1; i <= to; i++) {
+            long high = highBitsAt(i);
+            long low = lowBitsAt(i);
+            int j = i - 1;
+            while (j >= from && Int128.compare(highBitsAt(j), lowBitsAt(j), high, low) > 0) {
+                setBits(j + 1, highBitsAt(j), lowBitsAt(j));
+                j--;
+            }
+            setBits(j + 1, high, low);
+        }
+    }
+
+    private void heapSort(int from, int to) {
+        int n = to - from + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(from, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(from, from + end);
+            siftDown(from, 0, end);
+        }
+    }
+
+    private void siftDown(int offset, int root, int n) {
+        while (true) {
+            int child = 2 * root + 1;
+            if (child >= n) {
+                return;
+            }
+            if (child + 1 < n && compareAt(offset + child + 1, offset + child) > 0) {
+                child++;
+            }
+            if (compareAt(offset + root, offset + child) >= 0) {
+                return;
+            }
+            swap(offset + root, offset + child);
+            root = child;
+        }
+    }
+
+    private int compareAt(int i, int j) {
+        return Int128.compare(highBitsAt(i), lowBitsAt(i), highBitsAt(j), lowBitsAt(j));
+    }
+
+    private void swap(int i, int j) {
+        long high = highBitsAt(i);
+        long low = lowBitsAt(i);
+        setBits(i, highBitsAt(j), lowBitsAt(j));
+        setBits(j, high, low);
+    }
+
+    /* `Object` methods */
+
+    @Override
+    public @NotNull String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < length; i++) {
+            builder.append(i > 0 ? ", " : "").append(get(i));
+        }
+        return builder.append(']').toString();
+    }
+}
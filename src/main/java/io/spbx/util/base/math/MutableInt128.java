@@ -0,0 +1,271 @@
+package io.spbx.util.base.math;
+
+import io.spbx.util.base.annotate.CanIgnoreReturnValue;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.math.BigInteger;
+
+/**
+ * A mutable version of the {@link Int128}: the signed 128-bit accumulator which is updated in place.
+ * Follows the same two's complement semantics as the {@link Int128} (e.g., the overflow wraps around),
+ * but does not allocate on the arithmetic operations. Suitable for the hot loops, e.g. summing the counters.
+ * <p>
+ * All update methods return {@code this} to allow chaining.
+ *
+ * @see Int128
+ */
+@NotThreadSafe
+public final class MutableInt128 extends Number implements Comparable<MutableInt128> {
+    private long high;
+    private long low;
+
+    private MutableInt128(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    /* Construction */
+
+    public static @NotNull MutableInt128 zero() {
+        return new MutableInt128(0, 0);
+    }
+
+    public static @NotNull MutableInt128 fromBits(long highBits, long lowBits) {
+        return new MutableInt128(highBits, lowBits);
+    }
+
+    public static @NotNull MutableInt128 of(long value) {
+        return new MutableInt128(Int128.fastZeroOrMinusOne(value), value);
+    }
+
+    public static @NotNull MutableInt128 of(@NotNull Int128 value) {
+        return new MutableInt128(value.highBits(), value.lowBits());
+    }
+
+    public long highBits() {
+        return high;
+    }
+
+    public long lowBits() {
+        return low;
+    }
+
+    public @NotNull Int128 toInt128() {
+        return Int128.fromBits(high, low);
+    }
+
+    public @NotNull BigInteger toBigInteger() {
+        return toInt128().toBigInteger();
+    }
+
+    /* Setters */
+
+    @CanIgnoreReturnValue
+    public @NotNull MutableInt128 setBits(long highBits, long lowBits) {
+        this.high = highBits;
+        this.low = lowBits;
+        return this;
+    }
+
+    @CanIgnoreReturnValue
+    public @NotNull MutableInt128 set(long value) {
+        return setBits(Int128.fastZeroOrMinusOne(value), value);
+    }
+
+    @CanIgnoreReturnValue
+    public @NotNull MutableInt128 set(@NotNull Int128 value) {
+        return setBits(value.highBits(), value.lowBits());
+    }
+
+    @CanIgnoreReturnValue
+    public @NotNull MutableInt128 set(@NotNull MutableInt128 value) {
+        return setBits(value.high, value.low);
+    }
+
+    @CanIgnoreReturnValue
+    public @NotNull MutableInt128 clear() {
+        return setBits(0, 0);
+    }
+
+    /* Arithmetic */
+
+    @CanIgnoreReturnValue
+    public @NotNull MutableInt128 increment() {
+        low++;
+        high += Int128.fastZeroOrOne(low) ^ 1;  // carry iff the `low` rolled over to zero
+        return this;
+    }
+
+    @CanIgnoreReturnValue
+    public @NotNull MutableInt128 decrement() {
+        high -= Int128.fastZeroOrOne(low) ^ 1;  // borrow iff the `low` was zero
+        low--;
+        return this;
+    }
+
+    @CanIgnoreReturnValue
+    public @NotNull MutableInt128 addBits(long highBits, long lowBits) {
+        long sum = low + lowBits;
+        high += highBits + (Long.compareUnsigned(sum, low) < 0 ? 1 : 0);
+        low = sum;
+        return this;
+    }
+
+    @CanIgnoreReturnValue
+    public @NotNull MutableInt128 add(long value) {
+        return addBits(Int128.fastZeroOrMinusOne(value), value);
+    }
+
+    @CanIgnoreReturnValue
+    public @NotNull MutableInt128 add(@NotNull Int128 value) {
+        return addBits(value.highBits(), value.lowBits());
+    }
+
+    @CanIgnoreReturnValue
+    public @NotNull MutableInt128 add(@NotNull MutableInt128 value) {
+        return addBits(value.high, value.low);
+    }
+
+    @CanIgnoreReturnValue
+    public @NotNull MutableInt128 subtractBits(long highBits, long lowBits) {
+        long diff = low - lowBits;
+        high -= highBits + (Long.compareUnsigned(low, lowBits) < 0 ? 1 : 0);
+        low = diff;
+        return this;
+    }
+
+    @CanIgnoreReturnValue
+    public @NotNull MutableInt128 subtract(long value) {
+        return subtractBits(Int128.fastZeroOrMinusOne(value), value);
+    }
+
+    @CanIgnoreReturnValue
+    public @NotNull MutableInt128 subtract(@NotNull Int128 value) {
+        return subtractBits(value.highBits(), value.lowBits());
+    }
+
+    @CanIgnoreReturnValue
+    public @NotNull MutableInt128 subtract(@NotNull MutableInt128 value) {
+        return subtractBits(value.high, value.low);
+    }
+
+    @CanIgnoreReturnValue
+    public @NotNull MutableInt128 multiplyBits(long highBits, long lowBits) {
+        // See `Int128.multiply()`
+        long product = low * lowBits;
+        high = Math.unsignedMultiplyHigh(low, lowBits) + high * lowBits + highBits * low;
+        low = product;
+        return this;
+    }
+
+    @CanIgnoreReturnValue
+    public @NotNull MutableInt128 multiply(long value) {
+        return multiplyBits(Int128.fastZeroOrMinusOne(value), value);
+    }
+
+    @CanIgnoreReturnValue
+    public @NotNull MutableInt128 multiply(@NotNull Int128 value) {
+        return multiplyBits(value.highBits(), value.lowBits());
+    }
+
+    @CanIgnoreReturnValue
+    public @NotNull MutableInt128 multiply(@NotNull MutableInt128 value) {
+        return multiplyBits(value.high, value.low);
+    }
+
+    // Note: `MIN_VALUE.negate() == MIN_VALUE`, same as `Int128`
+    @CanIgnoreReturnValue
+    public @NotNull MutableInt128 negate() {
+        return setBits(low == 0 ? ~high + 1 : ~high, ~low + 1);
+    }
+
+    /* Shifts */
+
+    @CanIgnoreReturnValue
+    public @NotNull MutableInt128 shiftLeft(int len) {
+        if (len < 0) return shiftRight(-len);
+        if (len == 0) return this;
+        return len < 64 ?
+            setBits((high << len) + (low >>> (64 - len)), low << len) :
+            setBits(low << (len - 64), 0);
+    }
+
+    // signed version
+    @CanIgnoreReturnValue
+    public @NotNull MutableInt128 shiftRight(int len) {
+        if (len < 0) return shiftLeft(-len);
+        if (len == 0) return this;
+        return len < 64 ?
+            setBits(high >> len, ((high & ((1L << len) - 1)) << (64 - len)) + (low >>> len)) :
+            setBits(high >> 63, high >> (len - 64));
+    }
+
+    // unsigned version
+    @CanIgnoreReturnValue
+    public @NotNull MutableInt128 shiftRightUnsigned(int len) {
+        if (len < 0) return shiftLeft(-len);
+        if (len == 0) return this;
+        return len < 64 ?
+            setBits(high >>> len, ((high & ((1L << len) - 1)) << (64 - len)) + (low >>> len)) :
+            setBits(0, high >>> (len - 64));
+    }
+
+    /* Sign and comparison */
+
+    public int signum() {
+        return high != 0 ? Long.signum(high) : low == 0 ? 0 : 1;
+    }
+
+    public boolean isZero() {
+        return high == 0 && low == 0;
+    }
+
+    @Override
+    public int compareTo(@NotNull MutableInt128 that) {
+        return Int128.compare(this.high, this.low, that.high, that.low);
+    }
+
+    public int compareTo(@NotNull Int128 that) {
+        return Int128.compare(this.high, this.low, that.highBits(), that.lowBits());
+    }
+
+    /* `Number` conversions */
+
+    @Override
+    public int intValue() {
+        return (int) low;
+    }
+
+    @Override
+    public long longValue() {
+        return low;
+    }
+
+    @Override
+    public float floatValue() {
+        return toInt128().floatValue();
+    }
+
+    @Override
+    public double doubleValue() {
+        return toInt128().doubleValue();
+    }
+
+    /* `Object` methods */
+
+    @Override
+    public boolean equals(Object object) {
+        return this == object || object instanceof MutableInt128 that && high == that.high && low == that.low;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(high) ^ Long.hashCode(low);
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return toInt128().toString();
+    }
+}
@@ -0,0 +1,364 @@
+package io.spbx.util.base.math;
+
+import com.google.common.primitives.Bytes;
+import com.google.common.primitives.Longs;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.concurrent.Immutable;
+import java.math.BigInteger;
+import java.util.Comparator;
+
+/**
+ * Represents the unsigned 128-bit integer, i.e. the value in the range {@code [0, 2^128 - 1]}.
+ * Shares the bit-level representation with the {@link Int128} (same {@link #highBits()} and {@link #lowBits()}),
+ * but interprets the highest bit as the magnitude rather than the sign. The arithmetic wraps around modulo
+ * {@code 2^128}, same as {@link Integer#divideUnsigned} and friends.
+ * <p>
+ * Suitable for the 128-bit hashes and identifiers, e.g. {@link #toHexString()} always returns 32 hex digits.
+ *
+ * @see Int128
+ * @see BigInteger
+ */
+@Immutable
+public final class UInt128 extends Number implements Comparable<UInt128> {
+    public static final int BYTES = Int128.BYTES;
+    public static final int BITS = Int128.BITS;
+
+    public static final UInt128 ZERO = fromBits(0, 0);
+    public static final UInt128 ONE = fromBits(0, 1);
+    public static final UInt128 MAX_VALUE = fromBits(-1, -1);
+
+    public static final Comparator<UInt128> COMPARATOR = UInt128::compare;
+
+    private final long high;
+    private final long low;
+
+    private UInt128(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    /* Construction */
+
+    public static @NotNull UInt128 fromBits(long highBits, long lowBits) {
+        return new UInt128(highBits, lowBits);
+    }
+
+    public static @NotNull UInt128 fromBits(byte @NotNull[] bytes) {
+        assert bytes.length == BYTES : "Invalid byte[] length: expected=%d, actual=%d".formatted(BYTES, bytes.length);
+        long high = Longs.fromBytes(bytes[0], bytes[1], bytes[2], bytes[3], bytes[4], bytes[5], bytes[6], bytes[7]);
+        long low = Longs.fromBytes(bytes[8], bytes[9], bytes[10], bytes[11], bytes[12], bytes[13], bytes[14], bytes[15]);
+        return fromBits(high, low);
+    }
+
+    /**
+     * Returns the value of the {@code value} bits treated as unsigned, e.g. {@code -1} becomes {@code 2^64 - 1}.
+     */
+    public static @NotNull UInt128 fromUnsigned(long value) {
+        return fromBits(0, value);
+    }
+
+    /**
+     * Returns the value of the {@code value} bits treated as unsigned, e.g. {@code -1} becomes {@code 2^128 - 1}.
+     */
+    public static @NotNull UInt128 fromUnsigned(@NotNull Int128 value) {
+        return fromBits(value.highBits(), value.lowBits());
+    }
+
+    public static @NotNull UInt128 from(@NotNull BigInteger value) {
+        assert value.signum() >= 0 && value.bitLength() <= BITS : "Value is out of UInt128 range: " + value;
+        return fromBits(value.shiftRight(Long.SIZE).longValue(), value.longValue());
+    }
+
+    public static @NotNull UInt128 from(@NotNull CharSequence value) {
+        return from(value, 10);
+    }
+
+    /**
+     * Parses the unsigned 128-bit value in the given {@code radix},
+     * same as {@link Long#parseUnsignedLong(String, int)}. Unlike {@link BigInteger}, does not allocate.
+     *
+     * @throws NumberFormatException if the {@code value} is not a valid unsigned number or does not fit into 128 bits
+     */
+    public static @NotNull UInt128 from(@NotNull CharSequence value, int radix) {
+        int length = value.length();
+        int start = length > 0 && value.charAt(0) == '+' ? 1 : 0;
+        if (start == length) {
+            throw new NumberFormatException("Invalid UInt128 string: \"%s\"".formatted(value));
+        }
+
+        long high = 0, low = 0;
+        for (int i = start; i < length; i++) {
+            int digit = Character.digit(value.charAt(i), radix);
+            if (digit < 0) {
+                throw new NumberFormatException("Invalid UInt128 string: \"%s\" radix=%d".formatted(value, radix));
+            }
+            // `(high, low) * radix + digit` must not overflow
+            long highProduct = high * radix;
+            long newHigh = highProduct + Math.unsignedMultiplyHigh(low, radix);
+            long newLow = low * radix + digit;
+            boolean carry = Long.compareUnsigned(newLow, digit) < 0;
+            if (Math.unsignedMultiplyHigh(high, radix) != 0 ||
+                Long.compareUnsigned(newHigh, highProduct) < 0 ||
+                carry && newHigh == -1) {
+                throw new NumberFormatException("UInt128 is out of range: \"%s\" radix=%d".formatted(value, radix));
+            }
+            high = carry ? newHigh + 1 : newHigh;
+            low = newLow;
+        }
+        return fromBits(high, low);
+    }
+
+    public static @NotNull UInt128 fromHex(@NotNull CharSequence value) {
+        int start = value.length() > 2 && value.charAt(0) == '0' && value.charAt(1) == 'x' ? 2 : 0;
+        return from(value.subSequence(start, value.length()), 16);
+    }
+
+    /* Bit-level conversions */
+
+    public long highBits() {
+        return high;
+    }
+
+    public long lowBits() {
+        return low;
+    }
+
+    public byte @NotNull[] toByteArray() {
+        return Bytes.concat(Longs.toByteArray(high), Longs.toByteArray(low));
+    }
+
+    /**
+     * Returns the {@link Int128} with the same bits, i.e. the values starting from {@code 2^127} become negative.
+     */
+    public @NotNull Int128 toInt128Bits() {
+        return Int128.fromBits(high, low);
+    }
+
+    public @NotNull BigInteger toBigInteger() {
+        return new BigInteger(1, toByteArray());
+    }
+
+    /* Comparison */
+
+    @Override
+    public int compareTo(@NotNull UInt128 that) {
+        return Int128.compareUnsigned(this.high, this.low, that.high, that.low);
+    }
+
+    public static int compare(@NotNull UInt128 lhs, @NotNull UInt128 rhs) {
+        return lhs.compareTo(rhs);
+    }
+
+    public static @NotNull UInt128 max(@NotNull UInt128 lhs, @NotNull UInt128 rhs) {
+        return compare(lhs, rhs) > 0 ? lhs : rhs;
+    }
+
+    public static @NotNull UInt128 min(@NotNull UInt128 lhs, @NotNull UInt128 rhs) {
+        return compare(lhs, rhs) < 0 ? lhs : rhs;
+    }
+
+    public boolean isZero() {
+        return high == 0 && low == 0;
+    }
+
+    /* `Number` conversions */
+
+    @Override
+    public int intValue() {
+        return (int) low;
+    }
+
+    @Override
+    public long longValue() {
+        return low;
+    }
+
+    @Override
+    public float floatValue() {
+        return toBigInteger().floatValue();
+    }
+
+    @Override
+    public double doubleValue() {
+        return toBigInteger().doubleValue();
+    }
+
+    public boolean is64BitUnsigned() {
+        return high == 0;
+    }
+
+    /* Math and arithmetic */
+
+    public @NotNull UInt128 increment() {
+        return low == -1 ? fromBits(high + 1, 0) : fromBits(high, low + 1);
+    }
+
+    public @NotNull UInt128 decrement() {
+        return low == 0 ? fromBits(high - 1, -1) : fromBits(high, low - 1);
+    }
+
+    public @NotNull UInt128 add(@NotNull UInt128 that) {
+        return add(that.high, that.low);
+    }
+
+    public @NotNull UInt128 addUnsigned(long value) {
+        return add(0, value);
+    }
+
+    private @NotNull UInt128 add(long high, long low) {
+        long sum = this.low + low;
+        return fromBits(this.high + high + (Long.compareUnsigned(sum, this.low) < 0 ? 1 : 0), sum);
+    }
+
+    public @NotNull UInt128 subtract(@NotNull UInt128 that) {
+        return subtract(that.high, that.low);
+    }
+
+    public @NotNull UInt128 subtractUnsigned(long value) {
+        return subtract(0, value);
+    }
+
+    private @NotNull UInt128 subtract(long high, long low) {
+        return fromBits(this.high - high - (Long.compareUnsigned(this.low, low) < 0 ? 1 : 0), this.low - low);
+    }
+
+    public @NotNull UInt128 multiply(@NotNull UInt128 that) {
+        return fromBits(Int128.multiplyHigh(this.high, this.low, that.high, that.low), this.low * that.low);
+    }
+
+    public @NotNull UInt128 multiplyUnsigned(long value) {
+        return fromBits(Int128.multiplyHigh(this.high, this.low, 0, value), this.low * value);
+    }
+
+    public @NotNull UInt128 divide(@NotNull UInt128 that) {
+        assert !that.isZero() : "Division by zero: %s / 0".formatted(this);
+        return divide(that.high, that.low);
+    }
+
+    public @NotNull UInt128 divideUnsigned(long value) {
+        assert value != 0 : "Division by zero: %s / 0".formatted(this);
+        return divide(0, value);
+    }
+
+    private @NotNull UInt128 divide(long high, long low) {
+        return fromBits(Int128.divideUnsignedHigh(this.high, high, low),
+                        Int128.divideUnsignedLow(this.high, this.low, high, low));
+    }
+
+    public @NotNull UInt128 remainder(@NotNull UInt128 that) {
+        assert !that.isZero() : "Division by zero: %s %% 0".formatted(this);
+        return divideAndRemainder(that.high, that.low)[1];
+    }
+
+    public long remainderUnsigned(long value) {
+        assert value != 0 : "Division by zero: %s %% 0".formatted(this);
+        long rem = Long.remainderUnsigned(high, value);
+        return rem == 0 ?
+            Long.remainderUnsigned(low, value) :
+            low - MathOps.udivide128By64(rem, low, value) * value;  // `u1 % v < v`, so the division can't overflow
+    }
+
+    /**
+     * Returns an array of two {@code UInt128}s containing {@code (this / that)} followed by {@code (this % that)}.
+     */
+    public @NotNull UInt128 @NotNull[] divideAndRemainder(@NotNull UInt128 that) {
+        assert !that.isZero() : "Division by zero: %s / 0".formatted(this);
+        return divideAndRemainder(that.high, that.low);
+    }
+
+    private @NotNull UInt128 @NotNull[] divideAndRemainder(long high, long low) {
+        long qh = Int128.divideUnsignedHigh(this.high, high, low);
+        long ql = Int128.divideUnsignedLow(this.high, this.low, high, low);
+        long product = ql * low;
+        long rl = this.low - product;
+        long borrow = Long.compareUnsigned(this.low, product) < 0 ? 1 : 0;
+        long rh = this.high - Int128.multiplyHigh(qh, ql, high, low) - borrow;
+        return new UInt128[] { fromBits(qh, ql), fromBits(rh, rl) };
+    }
+
+    /* Bitwise operations */
+
+    public @NotNull UInt128 not() {
+        return fromBits(~high, ~low);
+    }
+
+    public @NotNull UInt128 and(@NotNull UInt128 that) {
+        return fromBits(this.high & that.high, this.low & that.low);
+    }
+
+    public @NotNull UInt128 or(@NotNull UInt128 that) {
+        return fromBits(this.high | that.high, this.low | that.low);
+    }
+
+    public @NotNull UInt128 xor(@NotNull UInt128 that) {
+        return fromBits(this.high ^ that.high, this.low ^ that.low);
+    }
+
+    public @NotNull UInt128 shiftLeft(int len) {
+        if (len < 0) return shiftRight(-len);
+        if (len == 0) return this;
+        return len < 64 ?
+            fromBits((high << len) + (low >>> (64 - len)), low << len) :
+            fromBits(low << (len - 64), 0);
+    }
+
+    // Always unsigned
+    public @NotNull UInt128 shiftRight(int len) {
+        if (len < 0) return shiftLeft(-len);
+        if (len == 0) return this;
+        return len < 64 ?
+            fromBits(high >>> len, ((high & ((1L << len) - 1)) << (64 - len)) + (low >>> len)) :
+            fromBits(0, high >>> (len - 64));
+    }
+
+    public int numberOfLeadingZeros() {
+        return high == 0 ? Long.numberOfLeadingZeros(low) + 64 : Long.numberOfLeadingZeros(high);
+    }
+
+    public int numberOfTrailingZeros() {
+        return low == 0 ? Long.numberOfTrailingZeros(high) + 64 : Long.numberOfTrailingZeros(low);
+    }
+
+    public int bitCount() {
+        return Long.bitCount(low) + Long.bitCount(high);
+    }
+
+    /* `Object` methods */
+
+    @Override
+    public boolean equals(Object object) {
+        return object instanceof UInt128 that && high == that.high && low == that.low;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(high) ^ Long.hashCode(low);
+    }
+
+    /* `String` representations */
+
+    @Override
+    public @NotNull String toString() {
+        return toString(10);
+    }
+
+    /**
+     * Returns the string representation in the given {@code radix}, same as {@link BigInteger#toString(int)}.
+     * If the radix is outside the range from {@link Character#MIN_RADIX} to {@link Character#MAX_RADIX} inclusive,
+     * it will default to 10.
+     */
+    public @NotNull String toString(int radix) {
+        if (radix < Character.MIN_RADIX || radix > Character.MAX_RADIX) {
+            radix = 10;
+        }
+        return high == 0 ? Long.toUnsignedString(low, radix) : Int128.toUnsignedString(high, low, radix, false);
+    }
+
+    /**
+     * Returns the 32 hex digits, padded with zeros, e.g. for the hash representation.
+     */
+    public @NotNull String toHexString() {
+        return Int128.fromBits(high, low).toHexString();
+    }
+}
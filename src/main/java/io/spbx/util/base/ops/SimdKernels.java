@@ -0,0 +1,91 @@
+package io.spbx.util.base.ops;
+
+/**
+ * The bulk array kernels of the primitive {@code *Ops} classes which have a SIMD implementation.
+ * The implementation is loaded by {@link SimdSupport} reflectively, so that the library itself
+ * never links the incubating {@code jdk.incubator.vector} module.
+ * <p>
+ * The kernels expect the arguments to be already checked: the range is valid, the arrays have the same length
+ * and are non-empty for {@code min()} and {@code max()}.
+ */
+/*package*/ interface SimdKernels {
+    /* `byte[]` */
+
+    int indexOf(byte[] array, byte val, int from, int to);
+    byte sum(byte[] array);
+    byte min(byte[] array);
+    byte max(byte[] array);
+    void add(byte[] array1, byte[] array2, byte[] result);
+    void and(byte[] array1, byte[] array2, byte[] result);
+    void eq(byte[] array, byte val, boolean[] result);
+    void lt(byte[] array, byte val, boolean[] result);
+    void gt(byte[] array, byte val, boolean[] result);
+
+    /* `short[]` */
+
+    int indexOf(short[] array, short val, int from, int to);
+    short sum(short[] array);
+    short min(short[] array);
+    short max(short[] array);
+    void add(short[] array1, short[] array2, short[] result);
+    void and(short[] array1, short[] array2, short[] result);
+    void eq(short[] array, short val, boolean[] result);
+    void lt(short[] array, short val, boolean[] result);
+    void gt(short[] array, short val, boolean[] result);
+
+    /* `char[]` */
+
+    int indexOf(char[] array, char val, int from, int to);
+    char sum(char[] array);
+    char min(char[] array);
+    char max(char[] array);
+    void add(char[] array1, char[] array2, char[] result);
+    void and(char[] array1, char[] array2, char[] result);
+    void eq(char[] array, char val, boolean[] result);
+    void lt(char[] array, char val, boolean[] result);
+    void gt(char[] array, char val, boolean[] result);
+
+    /* `int[]` */
+
+    int indexOf(int[] array, int val, int from, int to);
+    int sum(int[] array);
+    int min(int[] array);
+    int max(int[] array);
+    void add(int[] array1, int[] array2, int[] result);
+    void and(int[] array1, int[] array2, int[] result);
+    void eq(int[] array, int val, boolean[] result);
+    void lt(int[] array, int val, boolean[] result);
+    void gt(int[] array, int val, boolean[] result);
+
+    /* `long[]` */
+
+    int indexOf(long[] array, long val, int from, int to);
+    long sum(long[] array);
+    long min(long[] array);
+    long max(long[] array);
+    void add(long[] array1, long[] array2, long[] result);
+    void and(long[] array1, long[] array2, long[] result);
+    void eq(long[] array, long val, boolean[] result);
+    void lt(long[] array, long val, boolean[] result);
+    void gt(long[] array, long val, boolean[] result);
+
+    /* `float[]` */
+
+    int indexOf(float[] array, float val, int from, int to);
+    float min(float[] array);
+    float max(float[] array);
+    void add(float[] array1, float[] array2, float[] result);
+    void eq(float[] array, float val, boolean[] result);
+    void lt(float[] array, float val, boolean[] result);
+    void gt(float[] array, float val, boolean[] result);
+
+    /* `double[]` */
+
+    int indexOf(double[] array, double val, int from, int to);
+    double min(double[] array);
+    double max(double[] array);
+    void add(double[] array1, double[] array2, double[] result);
+    void eq(double[] array, double val, boolean[] result);
+    void lt(double[] array, double val, boolean[] result);
+    void gt(double[] array, double val, boolean[] result);
+}
@@ -0,0 +1,50 @@
+package io.spbx.util.base.ops;
+
+import io.spbx.util.base.annotate.Stateless;
+import io.spbx.util.logging.Logger;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Controls the SIMD backend of the bulk array kernels in the primitive {@code *Ops} classes,
+ * e.g. {@link IntOps#indexOf(int[], int)}, {@link IntOps#sum(int[])} or {@link IntOps#add(int[], int[])}.
+ * <p>
+ * The backend is based on the incubating Vector API and is opt-in: it's enabled only if the JVM is started with
+ * {@code --add-modules jdk.incubator.vector -Dio.spbx.util.base.ops.simd=true}. The kernels are compiled separately
+ * (see {@link SimdKernels}) and loaded reflectively, so that otherwise the kernels run the scalar loops
+ * and the {@code jdk.incubator.vector} classes are never linked.
+ * <p>
+ * Both backends produce identical results. The floating point sums are never vectorized,
+ * because the reordered additions would round differently.
+ */
+@Stateless
+public final class SimdSupport {
+    private static final Logger log = Logger.forEnclosingClass();
+
+    public static final String PROPERTY = "io.spbx.util.base.ops.simd";
+
+    private static final String MODULE = "jdk.incubator.vector";
+    private static final String KERNELS_CLASS = "io.spbx.util.base.ops.VectorKernels";
+
+    /*package*/ static final SimdKernels KERNELS = loadKernels();
+    /*package*/ static final boolean ENABLED = KERNELS != null;
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    private static @Nullable SimdKernels loadKernels() {
+        if (!Boolean.getBoolean(PROPERTY)) {
+            return null;
+        }
+        if (ModuleLayer.boot().findModule(MODULE).isEmpty()) {
+            log.warn().log("SIMD kernels are requested, but the `%s` module is not added", MODULE);
+            return null;
+        }
+        try {
+            return (SimdKernels) Class.forName(KERNELS_CLASS).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn().withCause(e).log("Failed to load the SIMD kernels, falling back to the scalar loops");
+            return null;
+        }
+    }
+}
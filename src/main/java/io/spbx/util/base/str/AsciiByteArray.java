@@ -119,8 +119,23 @@ public class AsciiByteArray extends BaseByteBuf<AsciiByteArray> implements CharS
 
     /* Comparison */
 
+    // Same as `CharSequence.compare()`: the bytes are compared as `(char)` values
     public int compareTo(@NotNull CharSequence str) {
-        return CharSequence.compare(this, str);
+        if (str instanceof AsciiByteArray array) {
+            int index = Arrays.mismatch(bytes, start, end, array.bytes, array.start, array.end);
+            if (index >= 0 && index < length() && index < array.length()) {
+                return (char) bytes[start + index] - (char) array.bytes[array.start + index];
+            }
+            return index < 0 ? 0 : length() - array.length();
+        }
+        for (int i = 0, len = Math.min(length(), str.length()); i < len; ++i) {
+            char ch = (char) bytes[start + i];
+            char other = str.charAt(i);
+            if (ch != other) {
+                return ch - other;
+            }
+        }
+        return length() - str.length();
     }
 
     /* To string */
@@ -145,8 +160,11 @@ public class AsciiByteArray extends BaseByteBuf<AsciiByteArray> implements CharS
         if (length() != str.length()) {
             return false;
         }
+        if (str instanceof AsciiByteArray array) {
+            return contentEquals(array);
+        }
         for (int i = 0, len = length(); i < len; ++i) {
-            if (charAt(i) != str.charAt(i)) {
+            if ((char) bytes[start + i] != str.charAt(i)) {
                 return false;
             }
         }
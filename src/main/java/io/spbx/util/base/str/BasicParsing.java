@@ -3,14 +3,27 @@ package io.spbx.util.base.str;
 import io.spbx.util.base.annotate.CheckReturnValue;
 import io.spbx.util.base.annotate.Pure;
 import io.spbx.util.base.annotate.Stateless;
+import io.spbx.util.base.math.Int128;
 import io.spbx.util.func.DoubleSupplier;
 import io.spbx.util.func.IntSupplier;
 import io.spbx.util.func.LongSupplier;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.nio.ByteBuffer;
+import java.util.Objects;
 import java.util.function.Supplier;
 
+/**
+ * Number parsing from {@link CharSequence}s and ASCII/char ranges.
+ * <p>
+ * The {@code int}, {@code long}, {@link Int128}, {@code double} and {@code float} parsers accept {@code byte[]},
+ * {@code char[]} and {@link ByteBuffer} ranges, as well as {@link CharArray} and {@link AsciiByteArray} views,
+ * and read them in place, without intermediate {@link String}s. The {@link ByteBuffer} methods parse
+ * the remaining bytes and don't change the buffer position.
+ * The syntax is controlled by the {@link ParseMode}, {@link ParseMode#STRICT} by default.
+ * The invalid input results in a {@link NumberFormatException}.
+ */
 @Stateless
 @Pure
 @CheckReturnValue
@@ -20,10 +33,24 @@ public class BasicParsing {
     public static final int OCTAL = 8;
     public static final int BINARY = 2;
 
+    public enum ParseMode {
+        /**
+         * The whole range is the number: an optional sign and the digits, for the floating point also the decimal
+         * point and the exponent, or {@code NaN} and {@code Infinity}. Same as {@link Integer#parseInt(String)},
+         * but for the floating point it excludes the type suffixes and hexadecimal of {@link Double#parseDouble}.
+         */
+        STRICT,
+        /**
+         * Same as {@link #STRICT} after the leading and trailing whitespace is trimmed (as {@link String#trim()}).
+         * The floating point additionally accepts the complete {@link Double#parseDouble} syntax.
+         */
+        LENIENT,
+    }
+
     /* Integer */
 
     public static int parseInt(byte @NotNull[] bytes) {
-        return parseInt(bytes, 10);
+        return parseInt(bytes, DECIMAL);
     }
 
     public static int parseInt(byte @NotNull[] bytes, int radix) {
@@ -31,7 +58,36 @@ public class BasicParsing {
     }
 
     public static int parseInt(byte @NotNull[] bytes, int fromIndex, int length, int radix) {
-        return Integer.parseInt(AsciiByteArray.wrap(bytes), fromIndex, length, radix);
+        return parseInt(bytes, fromIndex, length, radix, ParseMode.STRICT);
+    }
+
+    public static int parseInt(byte @NotNull[] bytes, int fromIndex, int length, int radix, @NotNull ParseMode mode) {
+        Objects.checkFromIndexSize(fromIndex, length, bytes.length);
+        return NumberParser.parseInt(bytes, fromIndex, fromIndex + length, radix, mode == ParseMode.LENIENT);
+    }
+
+    public static int parseInt(char @NotNull[] chars, int fromIndex, int length, int radix) {
+        return parseInt(chars, fromIndex, length, radix, ParseMode.STRICT);
+    }
+
+    public static int parseInt(char @NotNull[] chars, int fromIndex, int length, int radix, @NotNull ParseMode mode) {
+        Objects.checkFromIndexSize(fromIndex, length, chars.length);
+        return NumberParser.parseInt(chars, fromIndex, fromIndex + length, radix, mode == ParseMode.LENIENT);
+    }
+
+    public static int parseInt(@NotNull ByteBuffer buffer) {
+        return parseInt(buffer, DECIMAL);
+    }
+
+    public static int parseInt(@NotNull ByteBuffer buffer, int radix) {
+        return parseInt(buffer, radix, ParseMode.STRICT);
+    }
+
+    public static int parseInt(@NotNull ByteBuffer buffer, int radix, @NotNull ParseMode mode) {
+        boolean lenient = mode == ParseMode.LENIENT;
+        return buffer.hasArray() ?
+            NumberParser.parseInt(buffer.array(), arrayFrom(buffer), arrayTo(buffer), radix, lenient) :
+            NumberParser.parseInt(buffer, buffer.position(), buffer.limit(), radix, lenient);
     }
 
     public static int parseInt(@NotNull CharSequence val) {
@@ -39,7 +95,16 @@ public class BasicParsing {
     }
 
     public static int parseInt(@NotNull CharSequence val, int radix) {
-        return Integer.parseInt(val, 0, val.length(), radix);
+        return parseInt(val, radix, ParseMode.STRICT);
+    }
+
+    public static int parseInt(@NotNull CharSequence val, int radix, @NotNull ParseMode mode) {
+        boolean lenient = mode == ParseMode.LENIENT;
+        return switch (val) {
+            case CharArray array -> NumberParser.parseInt(array.chars, array.start, array.end, radix, lenient);
+            case AsciiByteArray array -> NumberParser.parseInt(array.bytes, array.start, array.end, radix, lenient);
+            default -> NumberParser.parseInt(val, 0, val.length(), radix, lenient);
+        };
     }
 
     public static int parseIntSafe(@Nullable CharSequence val) {
@@ -93,7 +158,36 @@ public class BasicParsing {
     }
 
     public static long parseLong(byte @NotNull[] bytes, int fromIndex, int length, int radix) {
-        return Long.parseLong(AsciiByteArray.wrap(bytes), fromIndex, length, radix);
+        return parseLong(bytes, fromIndex, length, radix, ParseMode.STRICT);
+    }
+
+    public static long parseLong(byte @NotNull[] bytes, int fromIndex, int length, int radix, @NotNull ParseMode mode) {
+        Objects.checkFromIndexSize(fromIndex, length, bytes.length);
+        return NumberParser.parseLong(bytes, fromIndex, fromIndex + length, radix, mode == ParseMode.LENIENT);
+    }
+
+    public static long parseLong(char @NotNull[] chars, int fromIndex, int length, int radix) {
+        return parseLong(chars, fromIndex, length, radix, ParseMode.STRICT);
+    }
+
+    public static long parseLong(char @NotNull[] chars, int fromIndex, int length, int radix, @NotNull ParseMode mode) {
+        Objects.checkFromIndexSize(fromIndex, length, chars.length);
+        return NumberParser.parseLong(chars, fromIndex, fromIndex + length, radix, mode == ParseMode.LENIENT);
+    }
+
+    public static long parseLong(@NotNull ByteBuffer buffer) {
+        return parseLong(buffer, DECIMAL);
+    }
+
+    public static long parseLong(@NotNull ByteBuffer buffer, int radix) {
+        return parseLong(buffer, radix, ParseMode.STRICT);
+    }
+
+    public static long parseLong(@NotNull ByteBuffer buffer, int radix, @NotNull ParseMode mode) {
+        boolean lenient = mode == ParseMode.LENIENT;
+        return buffer.hasArray() ?
+            NumberParser.parseLong(buffer.array(), arrayFrom(buffer), arrayTo(buffer), radix, lenient) :
+            NumberParser.parseLong(buffer, buffer.position(), buffer.limit(), radix, lenient);
     }
 
     public static long parseLong(@NotNull CharSequence val) {
@@ -101,7 +195,16 @@ public class BasicParsing {
     }
 
     public static long parseLong(@NotNull CharSequence val, int radix) {
-        return Long.parseLong(val, 0, val.length(), radix);
+        return parseLong(val, radix, ParseMode.STRICT);
+    }
+
+    public static long parseLong(@NotNull CharSequence val, int radix, @NotNull ParseMode mode) {
+        boolean lenient = mode == ParseMode.LENIENT;
+        return switch (val) {
+            case CharArray array -> NumberParser.parseLong(array.chars, array.start, array.end, radix, lenient);
+            case AsciiByteArray array -> NumberParser.parseLong(array.bytes, array.start, array.end, radix, lenient);
+            default -> NumberParser.parseLong(val, 0, val.length(), radix, lenient);
+        };
     }
 
     public static long parseLongSafe(@Nullable CharSequence val) {
@@ -144,6 +247,40 @@ public class BasicParsing {
         return val != null && isNumberFormatExceptionNotThrown(() -> Long.parseLong(val, 0, val.length(), radix));
     }
 
+    /* Int128 */
+
+    public static @NotNull Int128 parseInt128(byte @NotNull[] bytes, int fromIndex, int length, int radix,
+                                              @NotNull ParseMode mode) {
+        Objects.checkFromIndexSize(fromIndex, length, bytes.length);
+        return NumberParser.parseInt128(bytes, fromIndex, fromIndex + length, radix, mode == ParseMode.LENIENT);
+    }
+
+    public static @NotNull Int128 parseInt128(char @NotNull[] chars, int fromIndex, int length, int radix,
+                                              @NotNull ParseMode mode) {
+        Objects.checkFromIndexSize(fromIndex, length, chars.length);
+        return NumberParser.parseInt128(chars, fromIndex, fromIndex + length, radix, mode == ParseMode.LENIENT);
+    }
+
+    public static @NotNull Int128 parseInt128(@NotNull ByteBuffer buffer, int radix, @NotNull ParseMode mode) {
+        boolean lenient = mode == ParseMode.LENIENT;
+        return buffer.hasArray() ?
+            NumberParser.parseInt128(buffer.array(), arrayFrom(buffer), arrayTo(buffer), radix, lenient) :
+            NumberParser.parseInt128(buffer, buffer.position(), buffer.limit(), radix, lenient);
+    }
+
+    public static @NotNull Int128 parseInt128(@NotNull CharSequence val) {
+        return parseInt128(val, DECIMAL, ParseMode.STRICT);
+    }
+
+    public static @NotNull Int128 parseInt128(@NotNull CharSequence val, int radix, @NotNull ParseMode mode) {
+        boolean lenient = mode == ParseMode.LENIENT;
+        return switch (val) {
+            case CharArray array -> NumberParser.parseInt128(array.chars, array.start, array.end, radix, lenient);
+            case AsciiByteArray array -> NumberParser.parseInt128(array.bytes, array.start, array.end, radix, lenient);
+            default -> NumberParser.parseInt128(val, 0, val.length(), radix, lenient);
+        };
+    }
+
     /* Byte */
 
     public static byte parseByteSafe(@Nullable String val, byte def) {
@@ -231,6 +368,40 @@ public class BasicParsing {
 
     /* Double */
 
+    public static double parseDouble(byte @NotNull[] bytes, int fromIndex, int length, @NotNull ParseMode mode) {
+        Objects.checkFromIndexSize(fromIndex, length, bytes.length);
+        return NumberParser.parseDouble(bytes, fromIndex, fromIndex + length, mode == ParseMode.LENIENT);
+    }
+
+    public static double parseDouble(char @NotNull[] chars, int fromIndex, int length, @NotNull ParseMode mode) {
+        Objects.checkFromIndexSize(fromIndex, length, chars.length);
+        return NumberParser.parseDouble(chars, fromIndex, fromIndex + length, mode == ParseMode.LENIENT);
+    }
+
+    public static double parseDouble(@NotNull ByteBuffer buffer) {
+        return parseDouble(buffer, ParseMode.STRICT);
+    }
+
+    public static double parseDouble(@NotNull ByteBuffer buffer, @NotNull ParseMode mode) {
+        boolean lenient = mode == ParseMode.LENIENT;
+        return buffer.hasArray() ?
+            NumberParser.parseDouble(buffer.array(), arrayFrom(buffer), arrayTo(buffer), lenient) :
+            NumberParser.parseDouble(buffer, buffer.position(), buffer.limit(), lenient);
+    }
+
+    public static double parseDouble(@NotNull CharSequence val) {
+        return parseDouble(val, ParseMode.STRICT);
+    }
+
+    public static double parseDouble(@NotNull CharSequence val, @NotNull ParseMode mode) {
+        boolean lenient = mode == ParseMode.LENIENT;
+        return switch (val) {
+            case CharArray array -> NumberParser.parseDouble(array.chars, array.start, array.end, lenient);
+            case AsciiByteArray array -> NumberParser.parseDouble(array.bytes, array.start, array.end, lenient);
+            default -> NumberParser.parseDouble(val, 0, val.length(), lenient);
+        };
+    }
+
     public static double parseDoubleSafe(@Nullable String val, double def) {
         try {
             return val != null ? Double.parseDouble(val) : def;
@@ -249,6 +420,40 @@ public class BasicParsing {
 
     /* Float */
 
+    public static float parseFloat(byte @NotNull[] bytes, int fromIndex, int length, @NotNull ParseMode mode) {
+        Objects.checkFromIndexSize(fromIndex, length, bytes.length);
+        return NumberParser.parseFloat(bytes, fromIndex, fromIndex + length, mode == ParseMode.LENIENT);
+    }
+
+    public static float parseFloat(char @NotNull[] chars, int fromIndex, int length, @NotNull ParseMode mode) {
+        Objects.checkFromIndexSize(fromIndex, length, chars.length);
+        return NumberParser.parseFloat(chars, fromIndex, fromIndex + length, mode == ParseMode.LENIENT);
+    }
+
+    public static float parseFloat(@NotNull ByteBuffer buffer) {
+        return parseFloat(buffer, ParseMode.STRICT);
+    }
+
+    public static float parseFloat(@NotNull ByteBuffer buffer, @NotNull ParseMode mode) {
+        boolean lenient = mode == ParseMode.LENIENT;
+        return buffer.hasArray() ?
+            NumberParser.parseFloat(buffer.array(), arrayFrom(buffer), arrayTo(buffer), lenient) :
+            NumberParser.parseFloat(buffer, buffer.position(), buffer.limit(), lenient);
+    }
+
+    public static float parseFloat(@NotNull CharSequence val) {
+        return parseFloat(val, ParseMode.STRICT);
+    }
+
+    public static float parseFloat(@NotNull CharSequence val, @NotNull ParseMode mode) {
+        boolean lenient = mode == ParseMode.LENIENT;
+        return switch (val) {
+            case CharArray array -> NumberParser.parseFloat(array.chars, array.start, array.end, lenient);
+            case AsciiByteArray array -> NumberParser.parseFloat(array.bytes, array.start, array.end, lenient);
+            default -> NumberParser.parseFloat(val, 0, val.length(), lenient);
+        };
+    }
+
     public static float parseFloatSafe(@Nullable String val, float def) {
         try {
             return val != null ? Float.parseFloat(val) : def;
@@ -267,6 +472,14 @@ public class BasicParsing {
 
     /* Implementation details */
 
+    private static int arrayFrom(@NotNull ByteBuffer buffer) {
+        return buffer.arrayOffset() + buffer.position();
+    }
+
+    private static int arrayTo(@NotNull ByteBuffer buffer) {
+        return buffer.arrayOffset() + buffer.limit();
+    }
+
     private static <T> @Nullable T catchNumberFormatException(@NotNull Supplier<T> supplier, @Nullable T def) {
         try {
             return supplier.get();
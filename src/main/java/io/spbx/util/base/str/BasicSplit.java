@@ -2,12 +2,18 @@ package io.spbx.util.base.str;
 
 import io.spbx.util.collect.stream.BasicStreams;
 import io.spbx.util.collect.stream.ToListApi;
+import io.spbx.util.func.BiIntConsumer;
+import io.spbx.util.func.BiIntFunction;
 import org.intellij.lang.annotations.Language;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.annotation.RegEx;
 import javax.annotation.concurrent.Immutable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntUnaryOperator;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -15,6 +21,15 @@ import java.util.stream.Stream;
 import static io.spbx.util.base.error.BasicExceptions.newInternalError;
 import static io.spbx.util.base.error.BasicExceptions.runOnlyInDev;
 
+/**
+ * Splits the input by a separator.
+ * <p>
+ * The {@code on()} and {@code onRegex()} terminal operations produce the {@link String} tokens.
+ * The zero-copy operations return the views over the input chars or ASCII bytes instead
+ * ({@link CharArray} or {@link AsciiByteArray}), or just the token ranges.
+ * These find the separators directly (without a {@link Pattern}) and
+ * copy the input at most once, if it's not a {@link String}, {@link CharArray} or {@link AsciiByteArray} already.
+ */
 @Immutable
 public class BasicSplit {
     private final CharSequence input;
@@ -85,6 +100,156 @@ public class BasicSplit {
         return ToListApi.of(stream);
     }
 
+    /* Zero-copy split: views */
+
+    public @NotNull ToListApi<CharArray> toViewsOn(char separator) {
+        CharArray array = CharArray.of(input);
+        return toViews(array, indexOf(searchIn(array), separator), 1, array::substring);
+    }
+
+    public @NotNull ToListApi<CharArray> toViewsOn(@NotNull String separator) {
+        CharArray array = CharArray.of(input);
+        return toViews(array, indexOf(searchIn(array), separator), separator.length(), array::substring);
+    }
+
+    public @NotNull ToListApi<AsciiByteArray> toAsciiViewsOn(char separator) {
+        AsciiByteArray array = AsciiByteArray.asAsciiByteArray(input);
+        return toViews(array, indexOf(searchIn(array), separator), 1, array::substring);
+    }
+
+    public @NotNull ToListApi<AsciiByteArray> toAsciiViewsOn(@NotNull String separator) {
+        AsciiByteArray array = AsciiByteArray.asAsciiByteArray(input);
+        return toViews(array, indexOf(searchIn(array), separator), separator.length(), array::substring);
+    }
+
+    private <T> @NotNull ToListApi<T> toViews(@NotNull CharSequence array, @NotNull IntUnaryOperator indexOf,
+                                              int separatorLength, @NotNull BiIntFunction<T> substring) {
+        List<T> views = new ArrayList<>();
+        tokenize(array.length(), indexOf, separatorLength, (start, end) -> views.add(substring.apply(start, end)));
+        return ToListApi.of(views);
+    }
+
+    /* Zero-copy split: reusable view callbacks */
+
+    // Note: the same `MutableCharArray` view is passed to each call and is valid only during the call
+    public void forEachOn(char separator, @NotNull Consumer<? super MutableCharArray> callback) {
+        CharArray array = CharArray.of(input);
+        forEach(array, indexOf(searchIn(array), separator), 1, callback);
+    }
+
+    // Note: the same `MutableCharArray` view is passed to each call and is valid only during the call
+    public void forEachOn(@NotNull String separator, @NotNull Consumer<? super MutableCharArray> callback) {
+        CharArray array = CharArray.of(input);
+        forEach(array, indexOf(searchIn(array), separator), separator.length(), callback);
+    }
+
+    private void forEach(@NotNull CharArray array, @NotNull IntUnaryOperator indexOf, int separatorLength,
+                         @NotNull Consumer<? super MutableCharArray> callback) {
+        MutableCharArray view = MutableCharArray.wrap(array.chars, array.start, array.start);
+        tokenize(array.length(), indexOf, separatorLength, (start, end) -> {
+            view.start = array.start + start;
+            view.end = array.start + end;
+            callback.accept(view);
+        });
+    }
+
+    // Note: the same `AsciiByteArray` view is re-pointed for each call and is valid only during the call
+    public void forEachAsciiOn(char separator, @NotNull Consumer<? super AsciiByteArray> callback) {
+        AsciiByteArray array = AsciiByteArray.asAsciiByteArray(input);
+        forEachAscii(array, indexOf(searchIn(array), separator), 1, callback);
+    }
+
+    // Note: the same `AsciiByteArray` view is re-pointed for each call and is valid only during the call
+    public void forEachAsciiOn(@NotNull String separator, @NotNull Consumer<? super AsciiByteArray> callback) {
+        AsciiByteArray array = AsciiByteArray.asAsciiByteArray(input);
+        forEachAscii(array, indexOf(searchIn(array), separator), separator.length(), callback);
+    }
+
+    private void forEachAscii(@NotNull AsciiByteArray array, @NotNull IntUnaryOperator indexOf, int separatorLength,
+                              @NotNull Consumer<? super AsciiByteArray> callback) {
+        AsciiByteArray view = AsciiByteArray.wrap(array.bytes, array.start, array.start);
+        tokenize(array.length(), indexOf, separatorLength, (start, end) -> {
+            view.start = array.start + start;
+            view.end = array.start + end;
+            callback.accept(view);
+        });
+    }
+
+    /* Zero-copy split: ranges */
+
+    // Calls the `callback` with the `[start, end)` range of each token in the input
+    public void forEachRangeOn(char separator, @NotNull BiIntConsumer callback) {
+        tokenize(input.length(), indexOf(input, separator), 1, callback);
+    }
+
+    // Calls the `callback` with the `[start, end)` range of each token in the input
+    public void forEachRangeOn(@NotNull String separator, @NotNull BiIntConsumer callback) {
+        tokenize(input.length(), indexOf(input, separator), separator.length(), callback);
+    }
+
+    // `String.indexOf()` is an intrinsic, so the copies are searched only if the input isn't a `String`
+    private @NotNull CharSequence searchIn(@NotNull CharSequence copy) {
+        return input instanceof String ? input : copy;
+    }
+
+    // Returns the separator search function, the indexes are relative to the start of `str`
+    private static @NotNull IntUnaryOperator indexOf(@NotNull CharSequence str, char separator) {
+        return switch (str) {
+            case String string -> from -> string.indexOf(separator, from);
+            case AsciiByteArray array -> {
+                assert separator < 0x80 : "Separator is not ASCII: " + separator;
+                yield from -> array.indexOf((byte) separator, from);
+            }
+            default -> {
+                CharArray array = CharArray.of(str);
+                yield from -> array.indexOf(separator, from);
+            }
+        };
+    }
+
+    private static @NotNull IntUnaryOperator indexOf(@NotNull CharSequence str, @NotNull String separator) {
+        assert !separator.isEmpty() : "Separator is empty";
+        return switch (str) {
+            case String string -> from -> string.indexOf(separator, from);
+            case AsciiByteArray array -> {
+                AsciiByteArray sep = AsciiByteArray.of(separator);
+                yield from -> array.indexOf(sep, from);
+            }
+            default -> {
+                CharArray array = CharArray.of(str);
+                CharArray sep = CharArray.of(separator);
+                yield from -> array.indexOf(sep, from);
+            }
+        };
+    }
+
+    // Same semantics as the `Pattern`-based split below, but reports the token ranges without allocations
+    private void tokenize(int length, @NotNull IntUnaryOperator indexOf, int separatorLength,
+                          @NotNull BiIntConsumer callback) {
+        if (exact >= 0) {
+            assert limit < 0 : newInternalError("Both `exact=%s` and `limit=%s` are set: `%s`", exact, limit, input);
+            assert !skipEmpty : newInternalError("Both `exact=%s` and `skipEmpty` are set: `%s`", exact, input);
+        }
+        int maxTokens = limit < 0 ? Integer.MAX_VALUE : skipRestAfterLimit ? limit : limit + 1;
+        int maxPieces = limit < 0 || skipRestAfterLimit ? Integer.MAX_VALUE : limit + 1;
+        int tokens = 0;
+        int pieces = 0;
+        int start = 0;
+        while (tokens < maxTokens) {
+            int next = ++pieces < maxPieces ? indexOf.applyAsInt(start) : -1;
+            int end = next < 0 ? length : next;
+            if (!skipEmpty || start < end) {
+                callback.accept(start, end);
+                tokens++;
+            }
+            if (next < 0) {
+                break;
+            }
+            start = next + separatorLength;
+        }
+        assert exact < 0 || tokens == exact : throwInvalidInput(input, exact);
+    }
+
     private @NotNull Stream<String> splitToStream(@NotNull Pattern pattern, @NotNull Predicate<String> failureDetector) {
         if (exact >= 0) {
             assert exact > 0 : newInternalError("`exact=%s` is negative", exact);
@@ -0,0 +1,442 @@
+package io.spbx.util.base.str;
+
+import io.spbx.util.base.annotate.Stateless;
+import io.spbx.util.base.math.Int128;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Allocation-free number parsing kernels behind {@link BasicParsing}.
+ * <p>
+ * The input is a {@code [from, to)} range of a {@code byte[]} (ASCII), {@code char[]}, {@link ByteBuffer}
+ * (absolute indexes) or any {@link CharSequence}, passed as an {@code Object} {@code source}. The kernels are small
+ * enough to be inlined into the typed {@link BasicParsing} entry points, where the JIT folds the source dispatch.
+ * The only allocations are the exception messages and, for the floating point numbers, the rare fallback
+ * to the JDK parser (see {@link #parseFloating}).
+ */
+@Stateless
+/*package*/ final class NumberParser {
+    /* Integer */
+
+    static int parseInt(@NotNull Object source, int from, int to, int radix, boolean lenient) {
+        checkRadix(radix);
+        if (lenient) {
+            while (from < to && at(source, from) <= ' ') from++;
+            while (to > from && at(source, to - 1) <= ' ') to--;
+        }
+        int i = from;
+        if (i == to) {
+            throw failure(source, from, to);
+        }
+        int first = at(source, i);
+        boolean negative = first == '-';
+        if ((negative || first == '+') && ++i == to) {
+            throw failure(source, from, to);
+        }
+
+        // Accumulating negatively, like `Integer.parseInt()`, covers `Integer.MIN_VALUE` without a special case
+        int limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        int multmin = limit / radix;
+        int result = 0;
+        while (i < to) {
+            int digit = digit(at(source, i++), radix);
+            if (digit < 0 || result < multmin) {
+                throw failure(source, from, to);
+            }
+            result *= radix;
+            if (result < limit + digit) {
+                throw failure(source, from, to);
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /* Long */
+
+    static long parseLong(@NotNull Object source, int from, int to, int radix, boolean lenient) {
+        checkRadix(radix);
+        if (lenient) {
+            while (from < to && at(source, from) <= ' ') from++;
+            while (to > from && at(source, to - 1) <= ' ') to--;
+        }
+        int i = from;
+        if (i == to) {
+            throw failure(source, from, to);
+        }
+        int first = at(source, i);
+        boolean negative = first == '-';
+        if ((negative || first == '+') && ++i == to) {
+            throw failure(source, from, to);
+        }
+
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multmin = limit / radix;
+        long result = 0;
+        while (i < to) {
+            int digit = digit(at(source, i++), radix);
+            if (digit < 0 || result < multmin) {
+                throw failure(source, from, to);
+            }
+            result *= radix;
+            if (result < limit + digit) {
+                throw failure(source, from, to);
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /* Int128 */
+
+    static @NotNull Int128 parseInt128(@NotNull Object source, int from, int to, int radix, boolean lenient) {
+        checkRadix(radix);
+        if (lenient) {
+            while (from < to && at(source, from) <= ' ') from++;
+            while (to > from && at(source, to - 1) <= ' ') to--;
+        }
+        int i = from;
+        if (i == to) {
+            throw failure(source, from, to);
+        }
+        int first = at(source, i);
+        boolean negative = first == '-';
+        if ((negative || first == '+') && ++i == to) {
+            throw failure(source, from, to);
+        }
+
+        // The magnitude is accumulated as an unsigned 128-bit `(high, low)` pair, which must stay within `2^127`
+        long high = 0;
+        long low = 0;
+        while (i < to) {
+            int digit = digit(at(source, i++), radix);
+            if (digit < 0 || Math.unsignedMultiplyHigh(high, radix) != 0) {
+                throw failure(source, from, to);
+            }
+            long highMul = high * radix;
+            long highSum = highMul + Math.unsignedMultiplyHigh(low, radix);
+            if (Long.compareUnsigned(highSum, highMul) < 0) {
+                throw failure(source, from, to);
+            }
+            long lowMul = low * radix;
+            low = lowMul + digit;
+            high = highSum + (Long.compareUnsigned(low, lowMul) < 0 ? 1 : 0);
+            if (Long.compareUnsigned(highSum, Long.MIN_VALUE) > 0 || Long.compareUnsigned(high, Long.MIN_VALUE) > 0) {
+                throw failure(source, from, to);
+            }
+        }
+        if (high == Long.MIN_VALUE && (low != 0 || !negative)) {
+            throw failure(source, from, to);
+        }
+        return negative ? Int128.fromBits(~high + (low == 0 ? 1 : 0), -low) : Int128.fromBits(high, low);
+    }
+
+    /* Floating point */
+
+    static double parseDouble(@NotNull Object source, int from, int to, boolean lenient) {
+        return parseFloating(source, from, to, lenient, false);
+    }
+
+    static float parseFloat(@NotNull Object source, int from, int to, boolean lenient) {
+        return (float) parseFloating(source, from, to, lenient, true);
+    }
+
+    /**
+     * Parses the decimal {@code [+-](digits[.digits] | .digits)[(e|E)[+-]digits]}, {@code NaN} or {@code Infinity}.
+     * <p>
+     * The first 19 significant digits are collected into a 64-bit mantissa {@code w}, so that the value is
+     * {@code w * 10^q}. The exactly representable cases are computed directly (Clinger's fast path),
+     * the rest go through the Eisel-Lemire algorithm, which is correctly rounded for any 64-bit {@code w}.
+     * If more digits were dropped, the result is accepted only if it's the same for {@code w} and {@code w + 1},
+     * otherwise (and for the lenient-only syntax: type suffixes, hexadecimal) the JDK parser takes over.
+     *
+     * @see <a href="https://arxiv.org/abs/2101.11408">Number Parsing at a Gigabyte per Second</a>
+     */
+    private static double parseFloating(@NotNull Object source, int from, int to, boolean lenient, boolean single) {
+        if (lenient) {
+            while (from < to && at(source, from) <= ' ') from++;
+            while (to > from && at(source, to - 1) <= ' ') to--;
+        }
+        int i = from;
+        boolean negative = false;
+        if (i < to && (at(source, i) == '-' || at(source, i) == '+')) {
+            negative = at(source, i++) == '-';
+        }
+        if (i < to && (at(source, i) == 'N' || at(source, i) == 'I')) {
+            String special = at(source, i) == 'N' ? "NaN" : "Infinity";
+            if (regionMatches(source, i, to, special)) {
+                double value = special.length() == 3 ? Double.NaN : Double.POSITIVE_INFINITY;
+                return negative ? -value : value;
+            }
+            return fallback(source, from, to, lenient, single);
+        }
+
+        long w = 0;         // unsigned
+        int digits = 0;     // significant digits in `w`
+        long q = 0;
+        boolean truncated = false;
+        boolean any = false;
+        int ch;
+        while (i < to && (ch = at(source, i) - '0') >= 0 && ch <= 9) {
+            any = true;
+            if (digits < 19) {
+                w = w * 10 + ch;
+                digits += digits > 0 || ch > 0 ? 1 : 0;
+            } else {
+                q++;
+                truncated |= ch != 0;
+            }
+            i++;
+        }
+        if (i < to && at(source, i) == '.') {
+            i++;
+            while (i < to && (ch = at(source, i) - '0') >= 0 && ch <= 9) {
+                any = true;
+                if (digits < 19) {
+                    w = w * 10 + ch;
+                    digits += digits > 0 || ch > 0 ? 1 : 0;
+                    q--;
+                } else {
+                    truncated |= ch != 0;
+                }
+                i++;
+            }
+        }
+        if (!any) {
+            return fallback(source, from, to, lenient, single);
+        }
+        if (i < to && (at(source, i) | 0x20) == 'e') {
+            i++;
+            boolean negativeExp = false;
+            if (i < to && (at(source, i) == '-' || at(source, i) == '+')) {
+                negativeExp = at(source, i++) == '-';
+            }
+            if (i == to) {
+                return fallback(source, from, to, lenient, single);
+            }
+            long exp = 0;
+            while (i < to && (ch = at(source, i) - '0') >= 0 && ch <= 9) {
+                exp = exp < 1_000_000 ? exp * 10 + ch : exp;  // saturates way beyond any finite result
+                i++;
+            }
+            q += negativeExp ? -exp : exp;
+        }
+        if (i != to) {
+            return fallback(source, from, to, lenient, single);
+        }
+
+        double result;
+        if (single) {
+            if (!truncated && -10 <= q && q <= 10 && Long.compareUnsigned(w, 1L << 24) <= 0) {
+                float value = q < 0 ?
+                    (float) w / FLOAT_POWERS_OF_TEN[(int) -q] :
+                    (float) w * FLOAT_POWERS_OF_TEN[(int) q];
+                return negative ? -value : value;
+            }
+            long bits = eiselLemire(q, w, FLOAT);
+            if (truncated && bits != eiselLemire(q, w + 1, FLOAT)) {
+                return jdkParse(source, from, to, true);
+            }
+            result = Float.intBitsToFloat((int) bits);
+        } else {
+            if (!truncated && -22 <= q && q <= 22 && Long.compareUnsigned(w, 1L << 53) <= 0) {
+                double value = q < 0 ?
+                    (double) w / DOUBLE_POWERS_OF_TEN[(int) -q] :
+                    (double) w * DOUBLE_POWERS_OF_TEN[(int) q];
+                return negative ? -value : value;
+            }
+            long bits = eiselLemire(q, w, DOUBLE);
+            if (truncated && bits != eiselLemire(q, w + 1, DOUBLE)) {
+                return jdkParse(source, from, to, false);
+            }
+            result = Double.longBitsToDouble(bits);
+        }
+        return negative ? -result : result;
+    }
+
+    // The syntax outside the strict grammar (type suffixes, hexadecimal) is accepted only in lenient mode
+    private static double fallback(@NotNull Object source, int from, int to, boolean lenient, boolean single) {
+        if (!lenient) {
+            throw failure(source, from, to);
+        }
+        return jdkParse(source, from, to, single);
+    }
+
+    private static double jdkParse(@NotNull Object source, int from, int to, boolean single) {
+        String text = text(source, from, to);
+        return single ? Float.parseFloat(text) : Double.parseDouble(text);
+    }
+
+    /* Eisel-Lemire */
+
+    private static final int SMALLEST_POWER_OF_TEN = -342;
+    private static final int LARGEST_POWER_OF_TEN = 308;
+    private static final long[] POWERS_OF_FIVE = powersOfFive();  // 128-bit truncated `5^q`, (high, low) pairs
+
+    private static final double[] DOUBLE_POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final float[] FLOAT_POWERS_OF_TEN = {
+        1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+
+    private record BinaryFormat(int mantissaBits, int minExponent, int infinitePower,
+                                int minRoundToEven, int maxRoundToEven,
+                                int smallestPowerOfTen, int largestPowerOfTen) {}
+
+    private static final BinaryFormat DOUBLE = new BinaryFormat(52, -1023, 0x7FF, -4, 23, -342, 308);
+    private static final BinaryFormat FLOAT = new BinaryFormat(23, -127, 0xFF, -17, 10, -65, 38);
+
+    /**
+     * Computes the IEEE bits of the positive {@code w * 10^q} in the given {@code format}, correctly rounded
+     * (ties to even) for any unsigned 64-bit {@code w}.
+     */
+    private static long eiselLemire(long q, long w, @NotNull BinaryFormat format) {
+        if (w == 0 || q < format.smallestPowerOfTen) {
+            return 0;
+        }
+        if (q > format.largestPowerOfTen) {
+            return (long) format.infinitePower << format.mantissaBits;
+        }
+        int lz = Long.numberOfLeadingZeros(w);
+        w <<= lz;
+
+        // The high 64 bits of `w * 5^q` approximated with the 128-bit `5^q`: the low half is needed only if
+        // the bits below the target precision are all ones and could carry over
+        int index = 2 * (int) (q - SMALLEST_POWER_OF_TEN);
+        long high = Math.unsignedMultiplyHigh(w, POWERS_OF_FIVE[index]);
+        long low = w * POWERS_OF_FIVE[index];
+        long precisionMask = -1L >>> (format.mantissaBits + 3);
+        if ((high & precisionMask) == precisionMask) {
+            long secondHigh = Math.unsignedMultiplyHigh(w, POWERS_OF_FIVE[index + 1]);
+            low += secondHigh;
+            if (Long.compareUnsigned(secondHigh, low) > 0) {
+                high++;
+            }
+        }
+
+        int upperBit = (int) (high >>> 63);
+        int shift = upperBit + 64 - format.mantissaBits - 3;
+        long mantissa = high >>> shift;
+        int power2 = (int) (((152170 + 65536) * q) >> 16) + 63 + upperBit - lz - format.minExponent;
+        if (power2 <= 0) {
+            // Subnormal
+            if (-power2 + 1 >= 64) {
+                return 0;
+            }
+            mantissa >>>= -power2 + 1;
+            mantissa += mantissa & 1;
+            mantissa >>>= 1;
+            power2 = mantissa < (1L << format.mantissaBits) ? 0 : 1;
+            return mantissa | ((long) power2 << format.mantissaBits);
+        }
+        // Exactly halfway between two floats: round to even instead of up
+        if (Long.compareUnsigned(low, 1) <= 0 && q >= format.minRoundToEven && q <= format.maxRoundToEven &&
+            (mantissa & 3) == 1 && (mantissa << shift) == high) {
+            mantissa &= ~1L;
+        }
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >= (2L << format.mantissaBits)) {
+            mantissa = 1L << format.mantissaBits;
+            power2++;
+        }
+        mantissa &= ~(1L << format.mantissaBits);
+        if (power2 >= format.infinitePower) {
+            return (long) format.infinitePower << format.mantissaBits;
+        }
+        return mantissa | ((long) power2 << format.mantissaBits);
+    }
+
+    private static long @NotNull[] powersOfFive() {
+        long[] powers = new long[2 * (LARGEST_POWER_OF_TEN - SMALLEST_POWER_OF_TEN + 1)];
+        BigInteger five = BigInteger.valueOf(5);
+        for (int q = SMALLEST_POWER_OF_TEN; q <= LARGEST_POWER_OF_TEN; q++) {
+            BigInteger power;
+            if (q >= 0) {
+                power = five.pow(q);
+            } else {
+                // The reciprocal `2^b / 5^-q`, rounded up so that the products are never underestimated
+                BigInteger divisor = five.pow(-q);
+                int z = divisor.bitLength();
+                int b = q >= -27 ? z + 127 : 2 * z + 128;
+                power = BigInteger.ONE.shiftLeft(b).divide(divisor).add(BigInteger.ONE);
+            }
+            int bits = power.bitLength();
+            power = bits < 128 ? power.shiftLeft(128 - bits) : power.shiftRight(bits - 128);
+            int index = 2 * (q - SMALLEST_POWER_OF_TEN);
+            powers[index] = power.shiftRight(64).longValue();
+            powers[index + 1] = power.longValue();
+        }
+        return powers;
+    }
+
+    /* Source access */
+
+    private static final byte[] DIGITS = new byte[128];
+    static {
+        for (int ch = 0; ch < 128; ch++) {
+            DIGITS[ch] = (byte) Character.digit(ch, Character.MAX_RADIX);
+        }
+    }
+
+    private static int digit(int ch, int radix) {
+        int digit = ch < 128 ? DIGITS[ch] : Character.digit(ch, radix);
+        return digit < radix ? digit : -1;
+    }
+
+    private static int at(@NotNull Object source, int index) {
+        if (source instanceof byte[] bytes) {
+            return bytes[index] & 0xff;
+        }
+        if (source instanceof char[] chars) {
+            return chars[index];
+        }
+        if (source instanceof CharSequence str) {
+            return str.charAt(index);
+        }
+        return ((ByteBuffer) source).get(index) & 0xff;
+    }
+
+    private static boolean regionMatches(@NotNull Object source, int from, int to, @NotNull String str) {
+        if (to - from != str.length()) {
+            return false;
+        }
+        for (int i = 0; i < str.length(); i++) {
+            if (at(source, from + i) != str.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static @NotNull String text(@NotNull Object source, int from, int to) {
+        return switch (source) {
+            case byte[] bytes -> new String(bytes, from, to - from, StandardCharsets.ISO_8859_1);
+            case char[] chars -> new String(chars, from, to - from);
+            case CharSequence str -> str.subSequence(from, to).toString();
+            default -> {
+                char[] chars = new char[to - from];
+                for (int i = from; i < to; i++) {
+                    chars[i - from] = (char) at(source, i);
+                }
+                yield new String(chars);
+            }
+        };
+    }
+
+    private static void checkRadix(int radix) {
+        if (radix < Character.MIN_RADIX || radix > Character.MAX_RADIX) {
+            throw new NumberFormatException("Radix %d out of range [%d, %d]".formatted(
+                radix, Character.MIN_RADIX, Character.MAX_RADIX));
+        }
+    }
+
+    private static @NotNull NumberFormatException failure(@NotNull Object source, int from, int to) {
+        return new NumberFormatException("For input string: \"%s\"".formatted(text(source, from, to)));
+    }
+}
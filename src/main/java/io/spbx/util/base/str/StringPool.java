@@ -0,0 +1,148 @@
+package io.spbx.util.base.str;
+
+import io.spbx.util.base.error.BasicExceptions.IllegalArgumentExceptions;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A bounded pool of canonical {@link String}s, which deduplicates the repeated tokens while parsing,
+ * e.g. the header or field names, directly from the {@code char[]} or ASCII {@code byte[]} ranges.
+ * The bytes are decoded as ISO-8859-1, i.e. each byte is a single char.
+ * <p>
+ * The pool is a direct-mapped cache: each string hash maps to a single slot. On a hit, the previously pooled instance
+ * is returned without any allocation. On a miss, a new {@link String} is created and replaces the slot content.
+ * Hence, the pool is <em>lossy</em>: the colliding tokens evict each other, and the same content may occasionally
+ * result in different instances. Unlike {@link String#intern()}, the memory is bounded by the {@code capacity},
+ * no matter how many distinct tokens are seen, so it's safe to use on untrusted input.
+ * <p>
+ * The pool is lock-free: the slots are read and written without synchronization, which is safe since
+ * {@link String}s are immutable. The concurrent misses may race to store their instance, the last write wins.
+ *
+ * @see String#intern()
+ * @see BasicStrings#intern(CharSequence)
+ */
+@ThreadSafe
+public final class StringPool {
+    public static final int DEFAULT_CAPACITY = 1024;
+    private static final int MAX_CAPACITY = 1 << 24;
+
+    private final String[] slots;
+    private final int mask;
+
+    public StringPool(int capacity) {
+        IllegalArgumentExceptions.assure(0 < capacity && capacity <= MAX_CAPACITY,
+                                         "Capacity must be in [1, %s]: %s", MAX_CAPACITY, capacity);
+        int size = Integer.highestOneBit(capacity);
+        size = size < capacity ? size << 1 : size;
+        this.slots = new String[size];
+        this.mask = size - 1;
+    }
+
+    public StringPool() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    public @NotNull String intern(char @NotNull[] chars) {
+        return intern(chars, 0, chars.length);
+    }
+
+    public @NotNull String intern(char @NotNull[] chars, int start, int end) {
+        assert 0 <= start && start <= end && end <= chars.length : "Invalid range [%d, %d)".formatted(start, end);
+        int hash = hashCode(chars, start, end);
+        int slot = spread(hash) & mask;
+        String pooled = slots[slot];
+        if (pooled != null && pooled.hashCode() == hash && contentEquals(pooled, chars, start, end)) {
+            return pooled;
+        }
+        String str = new String(chars, start, end - start);
+        slots[slot] = str;
+        return str;
+    }
+
+    public @NotNull String internAscii(byte @NotNull[] bytes) {
+        return internAscii(bytes, 0, bytes.length);
+    }
+
+    public @NotNull String internAscii(byte @NotNull[] bytes, int start, int end) {
+        assert 0 <= start && start <= end && end <= bytes.length : "Invalid range [%d, %d)".formatted(start, end);
+        int hash = hashCode(bytes, start, end);
+        int slot = spread(hash) & mask;
+        String pooled = slots[slot];
+        if (pooled != null && pooled.hashCode() == hash && contentEquals(pooled, bytes, start, end)) {
+            return pooled;
+        }
+        String str = new String(bytes, start, end - start, StandardCharsets.ISO_8859_1);
+        slots[slot] = str;
+        return str;
+    }
+
+    public @NotNull String intern(@NotNull CharSequence sequence) {
+        String str = sequence.toString();
+        int slot = spread(str.hashCode()) & mask;
+        String pooled = slots[slot];
+        if (pooled != null && pooled.equals(str)) {
+            return pooled;
+        }
+        slots[slot] = str;
+        return str;
+    }
+
+    public void clear() {
+        Arrays.fill(slots, null);
+    }
+
+    /* Implementation details */
+
+    // Same as `String.hashCode()`, which makes the pooled string cached hash a cheap first check
+    private static int hashCode(char[] chars, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        return hash;
+    }
+
+    private static int hashCode(byte[] bytes, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + (bytes[i] & 0xff);
+        }
+        return hash;
+    }
+
+    private static boolean contentEquals(@NotNull String str, char[] chars, int start, int end) {
+        if (str.length() != end - start) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (str.charAt(i - start) != chars[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean contentEquals(@NotNull String str, byte[] bytes, int start, int end) {
+        if (str.length() != end - start) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (str.charAt(i - start) != (bytes[i] & 0xff)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
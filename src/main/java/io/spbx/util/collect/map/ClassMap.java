@@ -32,7 +32,7 @@ public class ClassMap<T> extends AbstractMap<Class<?>, T> implements Map<Class<?
     }
 
     public static <T> @NotNull ClassMap<T> concurrent() {
-        return new ClassMap<>(newConcurrentMap());
+        return new ClassMap<>(new ConcurrentOpenHashTable<>());
     }
 
     public static <T> @NotNull ClassMap<T> immutableOf(@NotNull Map<Class<?>, T> map) {
@@ -0,0 +1,570 @@
+package io.spbx.util.collect.map;
+
+import io.spbx.util.base.annotate.CanIgnoreReturnValue;
+import io.spbx.util.base.error.BasicExceptions.IllegalArgumentExceptions;
+import io.spbx.util.base.error.BasicExceptions.IllegalStateExceptions;
+import io.spbx.util.collect.container.IntSize;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import static io.spbx.util.base.lang.EasyCast.castAny;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link ConcurrentMap} implemented as a set of independent open-addressing hash tables (segments).
+ * <p>
+ * Each segment is a flat power-of-two table (see {@link OpenHashTable}) storing the keys and values interleaved
+ * in a single array. The segment is selected by the high bits of the key hash, the slot - by the low bits.
+ * <ul>
+ *     <li>The writes are serialized per segment via a {@link ReentrantLock}
+ *     (which plays well with virtual threads). Each segment is resized independently.</li>
+ *     <li>The reads never take a lock. The lookups are optimistic and validated via a per-segment
+ *     <em>sequence lock</em>: only the backward-shift deletion, which moves the entries around, bumps the sequence.
+ *     The insertions publish the value before the key, and the resize publishes a new array, hence the readers
+ *     never observe a half-written entry.</li>
+ *     <li>The iterators are weakly consistent: they traverse a snapshot of each segment taken
+ *     at the time the iterator reaches the segment and never throw
+ *     {@link java.util.ConcurrentModificationException}.</li>
+ * </ul>
+ * <p>
+ * Like {@link java.util.concurrent.ConcurrentHashMap}, does not permit {@code null} keys or values.
+ *
+ * @see OpenHashTable
+ * @see java.util.concurrent.ConcurrentHashMap
+ */
+@ThreadSafe
+public class ConcurrentOpenHashTable<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V>, IntSize {
+    public static final double DEFAULT_LOAD_FACTOR = OpenHashTable.DEFAULT_LOAD_FACTOR;
+    public static final int DEFAULT_CONCURRENCY_LEVEL = Runtime.getRuntime().availableProcessors();
+    private static final int DEFAULT_EXPECTED_SIZE = 64;
+    private static final int MAX_SEGMENTS = 1 << 16;
+    private static final int MAX_SEGMENT_CAPACITY = 1 << 29;  // interleaved array length must fit into `int`
+
+    private static final VarHandle ARRAY = MethodHandles.arrayElementVarHandle(Object[].class);
+    private static final VarHandle SEQ;
+    static {
+        try {
+            SEQ = MethodHandles.lookup().findVarHandle(Segment.class, "seq", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Segment[] segments;
+    private final int segmentShift;
+    private final int segmentMask;
+
+    public ConcurrentOpenHashTable(int expectedSize, double loadFactor, int concurrencyLevel) {
+        IllegalArgumentExceptions.assure(expectedSize >= 0, "Expected size must be non-negative: %s", expectedSize);
+        IllegalArgumentExceptions.assure(loadFactor > 0 && loadFactor < 1,
+                                         "Load factor must be in (0, 1): %s", loadFactor);
+        IllegalArgumentExceptions.assure(concurrencyLevel > 0,
+                                         "Concurrency level must be positive: %s", concurrencyLevel);
+        int numSegments = Integer.highestOneBit(Math.min(concurrencyLevel, MAX_SEGMENTS));
+        numSegments = numSegments < concurrencyLevel && numSegments < MAX_SEGMENTS ? numSegments << 1 : numSegments;
+        int segmentCapacity = OpenHashTable.capacityFor((expectedSize + numSegments - 1) / numSegments, loadFactor);
+        IllegalArgumentExceptions.assure(segmentCapacity <= MAX_SEGMENT_CAPACITY,
+                                         "The expected size is too large: %s", expectedSize);
+        this.segments = new Segment[numSegments];
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(numSegments);
+        this.segmentMask = numSegments - 1;
+        for (int i = 0; i < numSegments; i++) {
+            segments[i] = new Segment(segmentCapacity, loadFactor);
+        }
+    }
+
+    public ConcurrentOpenHashTable(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    public ConcurrentOpenHashTable() {
+        this(DEFAULT_EXPECTED_SIZE, DEFAULT_LOAD_FACTOR, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    public ConcurrentOpenHashTable(@NotNull Map<? extends K, ? extends V> map) {
+        this(map.size(), DEFAULT_LOAD_FACTOR, DEFAULT_CONCURRENCY_LEVEL);
+        putEntries(map);
+    }
+
+    @Override
+    public int size() {
+        long total = 0;
+        for (Segment segment : segments) {
+            total += segment.count;
+        }
+        return (int) Math.min(total, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (Segment segment : segments) {
+            if (segment.count > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int segments() {
+        return segments.length;
+    }
+
+    @Override
+    public @Nullable V get(@NotNull Object key) {
+        int hash = OpenHashTable.hash(key);
+        return castAny(segmentFor(hash).get(key, hash));
+    }
+
+    @Override
+    public boolean containsKey(@NotNull Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public boolean containsValue(@NotNull Object value) {
+        requireNonNull(value);
+        for (Segment segment : segments) {
+            Object[] table = segment.snapshot();
+            for (int i = 1; i < table.length; i += 2) {
+                if (table[i] != null && value.equals(table[i])) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    @CanIgnoreReturnValue
+    public @Nullable V put(@NotNull K key, @NotNull V value) {
+        int hash = OpenHashTable.hash(requireNonNull(key));
+        return castAny(segmentFor(hash).put(key, hash, requireNonNull(value), false));
+    }
+
+    @Override
+    @CanIgnoreReturnValue
+    public @Nullable V putIfAbsent(@NotNull K key, @NotNull V value) {
+        int hash = OpenHashTable.hash(requireNonNull(key));
+        return castAny(segmentFor(hash).put(key, hash, requireNonNull(value), true));
+    }
+
+    @Override
+    @CanIgnoreReturnValue
+    public @Nullable V remove(@NotNull Object key) {
+        int hash = OpenHashTable.hash(key);
+        return castAny(segmentFor(hash).remove(key, hash, null));
+    }
+
+    @Override
+    @CanIgnoreReturnValue
+    public boolean remove(@NotNull Object key, @Nullable Object value) {
+        int hash = OpenHashTable.hash(requireNonNull(key));
+        return value != null && segmentFor(hash).remove(key, hash, value) != null;
+    }
+
+    @Override
+    @CanIgnoreReturnValue
+    public @Nullable V replace(@NotNull K key, @NotNull V value) {
+        int hash = OpenHashTable.hash(requireNonNull(key));
+        return castAny(segmentFor(hash).replace(key, hash, null, requireNonNull(value)));
+    }
+
+    @Override
+    @CanIgnoreReturnValue
+    public boolean replace(@NotNull K key, @NotNull V oldValue, @NotNull V newValue) {
+        int hash = OpenHashTable.hash(requireNonNull(key));
+        return segmentFor(hash).replace(key, hash, requireNonNull(oldValue), requireNonNull(newValue)) != null;
+    }
+
+    /**
+     * Unlike the default {@link ConcurrentMap} implementation, the {@code mappingFunction} is invoked at most once
+     * per absent key: the function is called under the segment lock, hence it must be short and must not
+     * modify this map.
+     */
+    @Override
+    public V computeIfAbsent(@NotNull K key, @NotNull Function<? super K, ? extends V> mappingFunction) {
+        int hash = OpenHashTable.hash(requireNonNull(key));
+        Segment segment = segmentFor(hash);
+        Object existing = segment.get(key, hash);
+        return existing != null ?
+            castAny(existing) :
+            castAny(segment.computeIfAbsent(key, hash, castAny(mappingFunction)));
+    }
+
+    @Override
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    @Override
+    public void forEach(@NotNull BiConsumer<? super K, ? super V> action) {
+        for (Segment segment : segments) {
+            Object[] table = segment.snapshot();
+            for (int i = 0; i < table.length; i += 2) {
+                Object key = table[i];
+                if (key != null) {
+                    action.accept(castAny(key), castAny(table[i + 1]));
+                }
+            }
+        }
+    }
+
+    @Override
+    public @NotNull Set<Entry<K, V>> entrySet() {
+        return new EntrySet();
+    }
+
+    /* Implementation details */
+
+    // The bulk insert of the copy constructor, which can't call the overridable `put()`
+    private void putEntries(@NotNull Map<? extends K, ? extends V> map) {
+        for (Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            K key = entry.getKey();
+            int hash = OpenHashTable.hash(requireNonNull(key));
+            segmentFor(hash).put(key, hash, requireNonNull(entry.getValue()), false);
+        }
+    }
+
+    private @NotNull Segment segmentFor(int hash) {
+        return segments[(hash >>> segmentShift) & segmentMask];
+    }
+
+    private static final class Segment extends ReentrantLock {
+        // Interleaved keys and values: [k0, v0, k1, v1, ...]. Never mutated in place after being replaced.
+        private volatile Object[] table;
+        // Sequence lock: odd while the entries are being moved. Accessed via `SEQ`.
+        @SuppressWarnings("unused")
+        private long seq;
+        private volatile int count;
+        private final double loadFactor;
+        private int resizeAt;
+
+        private Segment(int capacity, double loadFactor) {
+            this.loadFactor = loadFactor;
+            this.table = new Object[capacity << 1];
+            this.resizeAt = OpenHashTable.thresholdFor(capacity, loadFactor);
+        }
+
+        private @Nullable Object get(@NotNull Object key, int hash) {
+            while (true) {
+                long stamp = (long) SEQ.getAcquire(this);
+                if ((stamp & 1) == 0) {
+                    Object value = find(table, key, hash);
+                    VarHandle.loadLoadFence();
+                    if ((long) SEQ.getOpaque(this) == stamp) {
+                        return value;
+                    }
+                }
+                Thread.onSpinWait();
+            }
+        }
+
+        private static @Nullable Object find(@NotNull Object[] table, @NotNull Object key, int hash) {
+            int mask = (table.length >> 1) - 1;
+            int slot = hash & mask;
+            for (int probes = 0; probes <= mask; probes++) {
+                Object existing = ARRAY.getAcquire(table, slot << 1);
+                if (existing == null) {
+                    return null;
+                }
+                if (existing == key || existing.equals(key)) {
+                    return ARRAY.getAcquire(table, (slot << 1) + 1);
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+
+        private @NotNull Object[] snapshot() {
+            while (true) {
+                long stamp = (long) SEQ.getAcquire(this);
+                if ((stamp & 1) == 0) {
+                    Object[] copy = table.clone();
+                    VarHandle.loadLoadFence();
+                    if ((long) SEQ.getOpaque(this) == stamp) {
+                        return copy;
+                    }
+                }
+                Thread.onSpinWait();
+            }
+        }
+
+        private @Nullable Object put(@NotNull Object key, int hash, @NotNull Object value, boolean onlyIfAbsent) {
+            lock();
+            try {
+                Object[] table = this.table;
+                int slot = findSlot(table, key, hash);
+                if (slot >= 0) {
+                    Object existing = table[(slot << 1) + 1];
+                    if (!onlyIfAbsent) {
+                        ARRAY.setRelease(table, (slot << 1) + 1, value);
+                    }
+                    return existing;
+                }
+                insert(key, hash, value);
+                return null;
+            } finally {
+                unlock();
+            }
+        }
+
+        private @Nullable Object computeIfAbsent(@NotNull Object key, int hash,
+                                                 @NotNull Function<Object, ?> mappingFunction) {
+            lock();
+            try {
+                Object[] table = this.table;
+                int slot = findSlot(table, key, hash);
+                if (slot >= 0) {
+                    return table[(slot << 1) + 1];
+                }
+                Object value = mappingFunction.apply(key);
+                if (value != null) {
+                    insert(key, hash, value);
+                }
+                return value;
+            } finally {
+                unlock();
+            }
+        }
+
+        private @Nullable Object replace(@NotNull Object key, int hash,
+                                         @Nullable Object expected, @NotNull Object value) {
+            lock();
+            try {
+                Object[] table = this.table;
+                int slot = findSlot(table, key, hash);
+                if (slot < 0) {
+                    return null;
+                }
+                Object existing = table[(slot << 1) + 1];
+                if (expected != null && !expected.equals(existing)) {
+                    return null;
+                }
+                ARRAY.setRelease(table, (slot << 1) + 1, value);
+                return existing;
+            } finally {
+                unlock();
+            }
+        }
+
+        private @Nullable Object remove(@NotNull Object key, int hash, @Nullable Object expected) {
+            lock();
+            try {
+                Object[] table = this.table;
+                int slot = findSlot(table, key, hash);
+                if (slot < 0) {
+                    return null;
+                }
+                Object existing = table[(slot << 1) + 1];
+                if (expected != null && !expected.equals(existing)) {
+                    return null;
+                }
+                removeAt(table, slot);
+                count--;
+                return existing;
+            } finally {
+                unlock();
+            }
+        }
+
+        private void clear() {
+            lock();
+            try {
+                if (count > 0) {
+                    table = new Object[table.length];
+                    count = 0;
+                }
+            } finally {
+                unlock();
+            }
+        }
+
+        // Must be called under lock
+        private void insert(@NotNull Object key, int hash, @NotNull Object value) {
+            Object[] table = this.table;
+            if (count == resizeAt) {
+                table = resize(table);
+            }
+            int mask = (table.length >> 1) - 1;
+            int slot = hash & mask;
+            while (table[slot << 1] != null) {
+                slot = (slot + 1) & mask;
+            }
+            // The value goes first: a reader which sees the key is guaranteed to see the value
+            ARRAY.setRelease(table, (slot << 1) + 1, value);
+            ARRAY.setRelease(table, slot << 1, key);
+            count++;
+        }
+
+        // Must be called under lock. Backward-shift deletion guarded by the sequence lock.
+        private void removeAt(@NotNull Object[] table, int slot) {
+            long stamp = (long) SEQ.getOpaque(this);
+            SEQ.setOpaque(this, stamp + 1);
+            VarHandle.storeStoreFence();
+
+            int mask = (table.length >> 1) - 1;
+            int gap = slot;
+            int next = (gap + 1) & mask;
+            Object key;
+            while ((key = table[next << 1]) != null) {
+                int ideal = OpenHashTable.hash(key) & mask;
+                if (((next - ideal) & mask) >= ((next - gap) & mask)) {
+                    table[gap << 1] = key;
+                    table[(gap << 1) + 1] = table[(next << 1) + 1];
+                    gap = next;
+                }
+                next = (next + 1) & mask;
+            }
+            table[gap << 1] = null;
+            table[(gap << 1) + 1] = null;
+
+            SEQ.setRelease(this, stamp + 2);
+        }
+
+        // Must be called under lock. Builds a new array and publishes it, the old one stays intact for the readers.
+        private @NotNull Object[] resize(@NotNull Object[] table) {
+            int capacity = table.length >> 1;
+            IllegalStateExceptions.failIf(capacity >= MAX_SEGMENT_CAPACITY, "The segment is full: size=%s", count);
+            Object[] newTable = new Object[table.length << 1];
+            int mask = capacity * 2 - 1;
+            for (int i = 0; i < table.length; i += 2) {
+                Object key = table[i];
+                if (key != null) {
+                    int slot = OpenHashTable.hash(key) & mask;
+                    while (newTable[slot << 1] != null) {
+                        slot = (slot + 1) & mask;
+                    }
+                    newTable[slot << 1] = key;
+                    newTable[(slot << 1) + 1] = table[i + 1];
+                }
+            }
+            this.table = newTable;
+            this.resizeAt = OpenHashTable.thresholdFor(capacity * 2, loadFactor);
+            return newTable;
+        }
+
+        // Must be called under lock
+        private static int findSlot(@NotNull Object[] table, @NotNull Object key, int hash) {
+            int mask = (table.length >> 1) - 1;
+            int slot = hash & mask;
+            Object existing;
+            while ((existing = table[slot << 1]) != null) {
+                if (existing == key || existing.equals(key)) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<K, V>> {
+        @Override
+        public int size() {
+            return ConcurrentOpenHashTable.this.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return ConcurrentOpenHashTable.this.isEmpty();
+        }
+
+        @Override
+        public void clear() {
+            ConcurrentOpenHashTable.this.clear();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (o instanceof Map.Entry<?, ?> entry && entry.getKey() != null) {
+                Object value = get(entry.getKey());
+                return value != null && value.equals(entry.getValue());
+            }
+            return false;
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            return o instanceof Map.Entry<?, ?> entry && entry.getKey() != null &&
+                   ConcurrentOpenHashTable.this.remove(entry.getKey(), entry.getValue());
+        }
+
+        @Override
+        public @NotNull Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<K, V>> {
+        private int segmentIndex = 0;
+        private Object[] table = segments[0].snapshot();
+        private int index = 0;
+        private K lastKey = null;
+
+        @Override
+        public boolean hasNext() {
+            while (true) {
+                while (index < table.length) {
+                    if (table[index] != null) {
+                        return true;
+                    }
+                    index += 2;
+                }
+                if (++segmentIndex >= segments.length) {
+                    return false;
+                }
+                table = segments[segmentIndex].snapshot();
+                index = 0;
+            }
+        }
+
+        @Override
+        public @NotNull Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastKey = castAny(table[index]);
+            V value = castAny(table[index + 1]);
+            index += 2;
+            return new WriteThroughEntry(lastKey, value);
+        }
+
+        @Override
+        public void remove() {
+            if (lastKey == null) {
+                throw new IllegalStateException();
+            }
+            ConcurrentOpenHashTable.this.remove(lastKey);
+            lastKey = null;
+        }
+    }
+
+    private final class WriteThroughEntry extends SimpleEntry<K, V> {
+        private WriteThroughEntry(@NotNull K key, @NotNull V value) {
+            super(key, value);
+        }
+
+        @Override
+        public V setValue(@NotNull V value) {
+            V old = super.setValue(requireNonNull(value));
+            put(getKey(), value);
+            return old;
+        }
+    }
+}
@@ -1,47 +1,75 @@
 package io.spbx.util.collect.map;
 
+import io.spbx.util.base.annotate.CanIgnoreReturnValue;
+import io.spbx.util.base.error.BasicExceptions.IllegalArgumentExceptions;
+import io.spbx.util.base.error.BasicExceptions.IllegalStateExceptions;
 import io.spbx.util.collect.container.IntSize;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import static io.spbx.util.base.lang.EasyCast.castAny;
 
 /**
- * Hash table with open addressing.
- *
- * <p>This contains some common methods of Map interface, including size, isEmpty, put, get, remove,
- * containsKey
- *
- * <p>For open addressing hash table, we use 100% of the inner array space, and it is a close
- * hashing. When collision occurs, it has to find an empty position to store the element. Pedro
- * provided few methods to probe a new index. I am not quite familiar with quadratic probing, so the
- * default probing method is linear probing, which means if the index is occupied, it automatically
- * move to the next index.
- *
- * <p>I have improved it by adding resize method. When the space is full, it will automatically
- * expand the capacity for 2 times. Also, when then size is one fourth of the capacity, it will
- * shrink its capacity to half. So we can add elements constantly and use the space efficiently.
+ * A {@link Map} implemented as a flat hash table with open addressing and linear probing.
+ * <p>
+ * The keys and values are stored in two parallel arrays, so there is no per-entry node allocation.
+ * The capacity is always a power of two and the slot index is computed via a bit mask.
+ * The table is resized (doubled) when the size exceeds the configured load factor.
+ * <p>
+ * The removal uses the <em>backward-shift deletion</em>: the entries following the removed one within the same
+ * probe cluster are moved back to fill the gap. Hence, the table never contains tombstones and the probe chains
+ * don't degrade after many removals.
+ * <p>
+ * Permits {@code null} keys and values. Not thread-safe. The iterators are fail-fast.
  *
- * <p>I also added test main method, you can invoke this class to see what is happening during the
- * put and remove methods.
- *
- * @author Pedro Furtado
- * @author River Lin
+ * @see java.util.HashMap
+ * @see java.util.IdentityHashMap
  */
-public class OpenHashTable<K, V> implements IntSize {
-    // Impl Ref:
-    //   https://gist.github.com/RuChuanLin/640626d48dc0df4802c70081400c4677
+public class OpenHashTable<K, V> extends AbstractMap<K, V> implements Map<K, V>, IntSize {
+    public static final double DEFAULT_LOAD_FACTOR = 0.75;
+    private static final int DEFAULT_EXPECTED_SIZE = 8;
+    private static final int MIN_CAPACITY = 4;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final Object NULL_KEY = new Object();
 
-    private HashTableNode<K, V>[] table;
+    private final double loadFactor;
+    private Object[] keys;
+    private Object[] values;
+    private int mask;
     private int size;
+    private int resizeAt;
+    private int modCount;
+
+    public OpenHashTable(int expectedSize, double loadFactor) {
+        IllegalArgumentExceptions.assure(expectedSize >= 0, "Expected size must be non-negative: %s", expectedSize);
+        IllegalArgumentExceptions.assure(loadFactor > 0 && loadFactor < 1,
+                                         "Load factor must be in (0, 1): %s", loadFactor);
+        this.loadFactor = loadFactor;
+        allocate(capacityFor(expectedSize, loadFactor));
+    }
 
-    /** Constructor method. */
-    @SuppressWarnings("unchecked")
-    OpenHashTable(int capacity) {
-        this.size = 0;
-        this.table = new HashTableNode[capacity];
+    public OpenHashTable(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR);
     }
 
     public OpenHashTable() {
-        this(16);
+        this(DEFAULT_EXPECTED_SIZE, DEFAULT_LOAD_FACTOR);
+    }
+
+    public OpenHashTable(@NotNull Map<? extends K, ? extends V> map) {
+        this(map.size(), DEFAULT_LOAD_FACTOR);
+        putEntries(map);
     }
 
     @Override
@@ -49,146 +77,405 @@ public class OpenHashTable<K, V> implements IntSize {
         return size;
     }
 
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
     public int capacity() {
-        return table.length;
+        return keys.length;
     }
 
-    HashTableNode<K, V>[] table() {
-        return table;
+    public double loadFactor() {
+        return loadFactor;
     }
 
-    /**
-     * @param key key
-     * @param value value
-     */
-    public void put(K key, V value) {
-        int hash = hash(key);
-        int index = getIndex(hash);
-        int startIndex = index;
-        HashTableNode<K, V> e;
-        while ((e = table[index]) != null) {
-            if (hash == e.hash && Objects.equals(e.key, key)) {
-                table[index].value = value;
-                return;
-            }
-            index = linearProbing(index);
-            if (index == startIndex) {
-                resize(capacity() * 2);
-                index = getIndex(hash);
-                startIndex = index;
-            }
-        }
-        table[index] = new HashTableNode<>(hash, key, value);
-        size++;
+    @Override
+    public @Nullable V get(Object key) {
+        int slot = findSlot(maskNull(key));
+        return slot >= 0 ? castAny(values[slot]) : null;
     }
 
-    @SuppressWarnings("unchecked")
-    private void resize(int newCapacity) {
-        HashTableNode<K, V>[] oldTab = table;
-        table = new HashTableNode[newCapacity];
-        size = 0;
-        for (HashTableNode<K, V> hashNode : oldTab) {
-            if (hashNode != null) {
-                put(hashNode.key, hashNode.value);
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        int slot = findSlot(maskNull(key));
+        return slot >= 0 ? castAny(values[slot]) : defaultValue;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return findSlot(maskNull(key)) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        Object[] keys = this.keys;
+        Object[] values = this.values;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null && Objects.equals(values[i], value)) {
+                return true;
             }
         }
+        return false;
+    }
+
+    @Override
+    @CanIgnoreReturnValue
+    public @Nullable V put(K key, V value) {
+        return putValue(key, value);
+    }
+
+    @Override
+    public void putAll(@NotNull Map<? extends K, ? extends V> map) {
+        ensureCapacity(size + map.size());
+        super.putAll(map);
+    }
+
+    @Override
+    @CanIgnoreReturnValue
+    public @Nullable V remove(Object key) {
+        int slot = findSlot(maskNull(key));
+        if (slot < 0) {
+            return null;
+        }
+        V old = castAny(values[slot]);
+        removeAt(slot);
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(keys, null);
+            Arrays.fill(values, null);
+            size = 0;
+            modCount++;
+        }
+    }
+
+    @Override
+    public void forEach(@NotNull BiConsumer<? super K, ? super V> action) {
+        Object[] keys = this.keys;
+        Object[] values = this.values;
+        int expectedModCount = modCount;
+        for (int i = 0; i < keys.length; i++) {
+            Object k = keys[i];
+            if (k != null) {
+                action.accept(unmaskNull(k), castAny(values[i]));
+            }
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
     }
 
     /**
-     * Search method.
-     *
-     * <p>Search an element in hash table.
+     * Makes sure the table can hold the {@code expectedSize} entries without resizing.
      */
-    public V get(K key) {
-        int hash = hash(key);
-        HashTableNode<K, V> e;
-        int index = getIndex(hash);
-        int startIndex = index;
-        while ((e = table[index]) != null) {
-            if (hash == e.hash && Objects.equals(e.key, key)) {
-                return table[index].value;
-            }
-            index = linearProbing(index);
-            if (index == startIndex) return null;
+    public void ensureCapacity(int expectedSize) {
+        if (expectedSize > resizeAt) {
+            resize(capacityFor(expectedSize, loadFactor));
         }
+    }
+
+    @Override
+    public @NotNull Set<Entry<K, V>> entrySet() {
+        return new EntrySet();
+    }
+
+    /* Implementation details */
+
+    // The body of `put()`, also used by the copy constructor, which can't call the overridable methods
+    private @Nullable V putValue(K key, V value) {
+        Object k = maskNull(key);
+        Object[] keys = this.keys;
+        int mask = this.mask;
+        int slot = hash(k) & mask;
+        Object existing;
+        while ((existing = keys[slot]) != null) {
+            if (existing == k || existing.equals(k)) {
+                V old = castAny(values[slot]);
+                values[slot] = value;
+                return old;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size == resizeAt) {
+            grow();
+            keys = this.keys;
+            mask = this.mask;
+            slot = hash(k) & mask;
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+        }
+        keys[slot] = k;
+        values[slot] = value;
+        size++;
+        modCount++;
         return null;
     }
 
-    public boolean containsKey(K key) {
-        return get(key) == null;
+    private void putEntries(@NotNull Map<? extends K, ? extends V> map) {
+        for (Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            putValue(entry.getKey(), entry.getValue());
+        }
     }
 
-    /**
-     * Remove method.
-     *
-     * <p>Remove an element from the hash table.
-     */
-    public V remove(K key) {
-        int hash = hash(key);
-        int index = getIndex(hash);
-        int startIndex = index;
-        HashTableNode<K, V> e;
-        V oldVal = null;
-        while ((e = table[index]) != null) {
-            if (hash == e.hash && Objects.equals(e.key, key)) {
-                oldVal = table[index].value;
-                table[index] = null;
-                size--;
+    private int findSlot(@NotNull Object key) {
+        Object[] keys = this.keys;
+        int mask = this.mask;
+        int slot = hash(key) & mask;
+        Object existing;
+        while ((existing = keys[slot]) != null) {
+            if (existing == key || existing.equals(key)) {
+                return slot;
             }
-            index = linearProbing(index);
-            if (index == startIndex) break;
+            slot = (slot + 1) & mask;
         }
-        if (size == capacity() / 4 && capacity() / 2 != 0) {
-            resize(capacity() / 2);
+        return -1;
+    }
+
+    // Backward-shift deletion: moves the following entries of the cluster back so that no tombstone is necessary.
+    private void removeAt(int slot) {
+        Object[] keys = this.keys;
+        Object[] values = this.values;
+        int mask = this.mask;
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        Object k;
+        while ((k = keys[next]) != null) {
+            int ideal = hash(k) & mask;
+            // The entry can be moved to the gap only if its ideal slot is not within (gap, next] cyclically
+            if (((next - ideal) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = k;
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
         }
-        return oldVal;
+        keys[gap] = null;
+        values[gap] = null;
+        size--;
+        modCount++;
+    }
+
+    private void grow() {
+        IllegalStateExceptions.failIf(keys.length == MAX_CAPACITY, "The table is full: size=%s", size);
+        resize(keys.length << 1);
+    }
+
+    private void resize(int newCapacity) {
+        assert newCapacity > size : "New capacity is too small: %d for size %d".formatted(newCapacity, size);
+        Object[] oldKeys = this.keys;
+        Object[] oldValues = this.values;
+        allocate(newCapacity);
+        Object[] keys = this.keys;
+        Object[] values = this.values;
+        int mask = this.mask;
+        for (int i = 0; i < oldKeys.length; i++) {
+            Object k = oldKeys[i];
+            if (k != null) {
+                int slot = hash(k) & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = k;
+                values[slot] = oldValues[i];
+            }
+        }
+        modCount++;
+    }
+
+    private void allocate(int capacity) {
+        assert Integer.bitCount(capacity) == 1 : "Capacity must be a power of two: " + capacity;
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeAt = thresholdFor(capacity, loadFactor);
+    }
+
+    /*package*/ static int capacityFor(int expectedSize, double loadFactor) {
+        long required = (long) Math.ceil(expectedSize / loadFactor);
+        IllegalArgumentExceptions.assure(required <= MAX_CAPACITY,
+                                         "The expected size is too large: %s", expectedSize);
+        int capacity = Integer.highestOneBit((int) Math.max(required, MIN_CAPACITY));
+        return capacity < required ? capacity << 1 : capacity;
+    }
+
+    // At least one slot is always kept empty, which guarantees the probing terminates
+    /*package*/ static int thresholdFor(int capacity, double loadFactor) {
+        return Math.min(capacity - 1, (int) Math.ceil(capacity * loadFactor));
     }
 
-    /** Linear probing. */
-    private int linearProbing(int index) {
-        return (index + 1) % this.capacity();
+    /*package*/ static int hash(@NotNull Object key) {
+        return spread(key.hashCode());
     }
 
-    /** Quadratic probing. */
-    private int quadraticProbing(int index) {
-        return ((index * index) & Integer.MAX_VALUE) % this.capacity();
+    // Fibonacci hashing: spreads the keys with poor lower bits (e.g. small integers or aligned values)
+    /*package*/ static int spread(int hashCode) {
+        int h = hashCode * 0x9E3779B9;
+        return h ^ (h >>> 16);
     }
 
-    /** Double hashing. */
-    private int h_double(int key, int i) {
-        return (this.h_double2(key) + i) % this.capacity();
+    private static @NotNull Object maskNull(@Nullable Object key) {
+        return key == null ? NULL_KEY : key;
     }
 
-    /** Auxiliar hash function to Double hashing made by h_double() method. */
-    private int h_double2(int key) {
-        return (1 + key) % (this.capacity() - 1);
+    private static <K> @Nullable K unmaskNull(@NotNull Object key) {
+        return key == NULL_KEY ? null : castAny(key);
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<K, V>> {
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            OpenHashTable.this.clear();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (o instanceof Map.Entry<?, ?> entry) {
+                int slot = findSlot(maskNull(entry.getKey()));
+                return slot >= 0 && Objects.equals(values[slot], entry.getValue());
+            }
+            return false;
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (o instanceof Map.Entry<?, ?> entry) {
+                int slot = findSlot(maskNull(entry.getKey()));
+                if (slot >= 0 && Objects.equals(values[slot], entry.getValue())) {
+                    removeAt(slot);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public @NotNull Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator();
+        }
     }
 
     /**
-     * We get hashcode of key object, and use & MAX integer to convert negative hash to positive,
-     * which is more cost-efficient than Math.abs(n)
-     *
-     * @param key key
-     * @return the index in the hashNodes array
+     * Iterates the slots starting right after an empty slot. Since no probe cluster can wrap over an empty slot,
+     * the backward shift on {@link #remove()} only moves the not-yet-visited entries back to the current position,
+     * which makes it safe to simply re-visit the current slot.
      */
-    int hash(K key) {
-        return key == null ? 0 : Integer.MAX_VALUE & key.hashCode();
-    }
+    private final class EntryIterator implements Iterator<Entry<K, V>> {
+        private final int start = firstEmptySlot();
+        private int expectedModCount = modCount;
+        private int position = 0;       // the next position to scan (relative to the start)
+        private int lastPosition = -1;  // the position of the last returned entry
 
-    int getIndex(int hash) {
-        return hash % capacity();
+        @Override
+        public boolean hasNext() {
+            Object[] keys = OpenHashTable.this.keys;
+            while (position < keys.length && keys[slotAt(position)] == null) {
+                position++;
+            }
+            return position < keys.length;
+        }
+
+        @Override
+        public @NotNull Entry<K, V> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastPosition = position++;
+            return new SlotEntry(slotAt(lastPosition));
+        }
+
+        @Override
+        public void remove() {
+            if (lastPosition < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            int slot = slotAt(lastPosition);
+            removeAt(slot);
+            expectedModCount = modCount;
+            if (keys[slot] != null) {
+                // An entry has been shifted into the current slot: visit it again
+                position = lastPosition;
+            }
+            lastPosition = -1;
+        }
+
+        private int slotAt(int position) {
+            return (start + 1 + position) & mask;
+        }
+
+        private int firstEmptySlot() {
+            Object[] keys = OpenHashTable.this.keys;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == null) {
+                    return i;
+                }
+            }
+            throw new AssertionError("The table has no empty slots: " + keys.length);
+        }
     }
 
-    /** Element of hash table. */
-    static class HashTableNode<K, V> {
-        final int hash;
-        final K key;
-        V value;
+    private final class SlotEntry implements Entry<K, V> {
+        private final K key;
+        private V value;
+        private final int slot;
+
+        private SlotEntry(int slot) {
+            this.key = unmaskNull(keys[slot]);
+            this.value = castAny(values[slot]);
+            this.slot = slot;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
 
-        HashTableNode(int hash, K key, V value) {
-            this.hash = hash;
-            this.key = key;
+        @Override
+        public V setValue(V value) {
+            V old = this.value;
             this.value = value;
+            if (keys[slot] == maskNull(key)) {
+                values[slot] = value;
+            } else {
+                put(key, value);
+            }
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Map.Entry<?, ?> that &&
+                   Objects.equals(key, that.getKey()) && Objects.equals(value, that.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
         }
     }
 }
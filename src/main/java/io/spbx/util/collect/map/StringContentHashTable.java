@@ -0,0 +1,681 @@
+package io.spbx.util.collect.map;
+
+import io.spbx.util.base.annotate.CanIgnoreReturnValue;
+import io.spbx.util.base.error.BasicExceptions.IllegalArgumentExceptions;
+import io.spbx.util.base.error.BasicExceptions.IllegalStateExceptions;
+import io.spbx.util.base.str.StringPool;
+import io.spbx.util.collect.container.IntSize;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import static io.spbx.util.base.lang.EasyCast.castAny;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link StringContentMap} implemented as a flat hash table with open addressing and linear probing,
+ * which hashes and compares the keys in place, be it a {@link CharSequence}, a {@code char[]} or
+ * an ASCII {@code byte[]} range. The lookups and the value updates of the existing keys never allocate.
+ * <p>
+ * The table doesn't hold on to the key objects. Instead, the key chars are copied into a single contiguous
+ * {@code char[]} <em>arena</em>, and each slot stores the key offset and length in the arena along with
+ * the cached hash. Compared to a {@link java.util.HashMap} of {@link String}s, there are no per-key objects, which
+ * considerably reduces the heap use of the large dictionaries, e.g. the header or field names.
+ * The removed keys leave the garbage in the arena, which is compacted when the arena runs out of space.
+ * <p>
+ * The probing, resizing and the <em>backward-shift deletion</em> are the same as in {@link OpenHashTable}.
+ * The keys are exposed as {@link String}s created on demand by the iterators, optionally deduplicated
+ * via the {@link StringPool}.
+ * <p>
+ * If constructed with {@code ignoreCase}, the keys are compared ASCII case-insensitively.
+ * Does not permit {@code null} keys, permits {@code null} values. Not thread-safe. The iterators are fail-fast.
+ *
+ * @see OpenHashTable
+ * @see StringPool
+ */
+public class StringContentHashTable<V> extends AbstractMap<CharSequence, V> implements StringContentMap<V>, IntSize {
+    public static final double DEFAULT_LOAD_FACTOR = OpenHashTable.DEFAULT_LOAD_FACTOR;
+    private static final int DEFAULT_EXPECTED_SIZE = 8;
+    private static final int MIN_ARENA_CAPACITY = 64;
+    private static final int MAX_ARENA_CAPACITY = Integer.MAX_VALUE - 8;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final long EMPTY = -1L;
+
+    private final double loadFactor;
+    private final boolean ignoreCase;
+    private final @Nullable StringPool keyPool;
+    private long[] keys;        // `(offset << 32) | length` of the key in the arena or `EMPTY`
+    private int[] hashes;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+    private int modCount;
+
+    private char[] arena;
+    private int arenaSize;      // includes the removed keys
+    private int arenaGarbage;   // the chars of the removed keys
+
+    public StringContentHashTable(int expectedSize, double loadFactor, boolean ignoreCase,
+                                  @Nullable StringPool keyPool) {
+        IllegalArgumentExceptions.assure(expectedSize >= 0, "Expected size must be non-negative: %s", expectedSize);
+        IllegalArgumentExceptions.assure(loadFactor > 0 && loadFactor < 1,
+                                         "Load factor must be in (0, 1): %s", loadFactor);
+        this.loadFactor = loadFactor;
+        this.ignoreCase = ignoreCase;
+        this.keyPool = keyPool;
+        this.arena = new char[Math.max(MIN_ARENA_CAPACITY, Math.min(expectedSize, MAX_CAPACITY) * 8)];
+        allocate(OpenHashTable.capacityFor(expectedSize, loadFactor));
+    }
+
+    public StringContentHashTable(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR, false, null);
+    }
+
+    public StringContentHashTable() {
+        this(DEFAULT_EXPECTED_SIZE);
+    }
+
+    public StringContentHashTable(@NotNull Map<? extends CharSequence, ? extends V> map) {
+        this(map.size());
+        putEntries(map);
+    }
+
+    public static <V> @NotNull StringContentHashTable<V> newMap() {
+        return new StringContentHashTable<>();
+    }
+
+    public static <V> @NotNull StringContentHashTable<V> newIgnoreCaseMap() {
+        return new StringContentHashTable<>(DEFAULT_EXPECTED_SIZE, DEFAULT_LOAD_FACTOR, true, null);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int capacity() {
+        return keys.length;
+    }
+
+    public boolean isIgnoreCase() {
+        return ignoreCase;
+    }
+
+    /* Lookups */
+
+    @Override
+    public @Nullable V get(Object key) {
+        return valueAt(slotOf(key));
+    }
+
+    @Override
+    public @Nullable V get(CharSequence key) {
+        return key != null ? valueAt(findSlot(key, 0, key.length())) : null;
+    }
+
+    @Override
+    public @Nullable V get(char[] key) {
+        return key != null ? valueAt(findSlot(key, 0, key.length)) : null;
+    }
+
+    @Override
+    public @Nullable V get(char @NotNull[] key, int start, int end) {
+        assert checkRange(start, end, key.length);
+        return valueAt(findSlot(key, start, end));
+    }
+
+    @Override
+    public @Nullable V getAscii(byte[] key) {
+        return key != null ? valueAt(findSlot(key, 0, key.length)) : null;
+    }
+
+    @Override
+    public @Nullable V getAscii(byte @NotNull[] key, int start, int end) {
+        assert checkRange(start, end, key.length);
+        return valueAt(findSlot(key, start, end));
+    }
+
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        int slot = slotOf(key);
+        return slot >= 0 ? castAny(values[slot]) : defaultValue;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return slotOf(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        long[] keys = this.keys;
+        Object[] values = this.values;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY && Objects.equals(values[i], value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /* Updates */
+
+    @Override
+    @CanIgnoreReturnValue
+    public @Nullable V put(CharSequence key, V value) {
+        requireNonNull(key);
+        return putRange(key, 0, key.length(), value);
+    }
+
+    @Override
+    @CanIgnoreReturnValue
+    public @Nullable V put(char[] key, V value) {
+        requireNonNull(key);
+        return putRange(key, 0, key.length, value);
+    }
+
+    @Override
+    @CanIgnoreReturnValue
+    public @Nullable V put(char @NotNull[] key, int start, int end, V value) {
+        assert checkRange(start, end, key.length);
+        return putRange(key, start, end, value);
+    }
+
+    @Override
+    @CanIgnoreReturnValue
+    public @Nullable V putAscii(byte[] key, V value) {
+        requireNonNull(key);
+        return putRange(key, 0, key.length, value);
+    }
+
+    @Override
+    @CanIgnoreReturnValue
+    public @Nullable V putAscii(byte @NotNull[] key, int start, int end, V value) {
+        assert checkRange(start, end, key.length);
+        return putRange(key, start, end, value);
+    }
+
+    @Override
+    public void putAll(@NotNull Map<? extends CharSequence, ? extends V> map) {
+        ensureCapacity(size + map.size());
+        super.putAll(map);
+    }
+
+    @Override
+    @CanIgnoreReturnValue
+    public @Nullable V remove(Object key) {
+        int slot = slotOf(key);
+        if (slot < 0) {
+            return null;
+        }
+        V old = castAny(values[slot]);
+        removeAt(slot);
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(keys, EMPTY);
+            Arrays.fill(values, null);
+            size = 0;
+            modCount++;
+        }
+        arenaSize = 0;
+        arenaGarbage = 0;
+    }
+
+    @Override
+    public void forEach(@NotNull BiConsumer<? super CharSequence, ? super V> action) {
+        long[] keys = this.keys;
+        Object[] values = this.values;
+        int expectedModCount = modCount;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                action.accept(keyAt(i), castAny(values[i]));
+            }
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Makes sure the table can hold the {@code expectedSize} entries without resizing.
+     */
+    public void ensureCapacity(int expectedSize) {
+        if (expectedSize > resizeAt) {
+            resize(OpenHashTable.capacityFor(expectedSize, loadFactor));
+        }
+    }
+
+    @Override
+    public @NotNull Set<Entry<CharSequence, V>> entrySet() {
+        return new EntrySet();
+    }
+
+    /* Implementation details */
+
+    // The bulk insert of the copy constructor, which can't call the overridable `put()`
+    private void putEntries(@NotNull Map<? extends CharSequence, ? extends V> map) {
+        for (Entry<? extends CharSequence, ? extends V> entry : map.entrySet()) {
+            CharSequence key = requireNonNull(entry.getKey());
+            putRange(key, 0, key.length(), entry.getValue());
+        }
+    }
+
+    // The `source` is a `CharSequence`, `char[]` or an ASCII `byte[]`
+    private int findSlot(@NotNull Object source, int start, int end) {
+        int hash = hash(source, start, end);
+        long[] keys = this.keys;
+        int mask = this.mask;
+        int slot = hash & mask;
+        long key;
+        while ((key = keys[slot]) != EMPTY) {
+            if (hashes[slot] == hash && keyEquals(key, source, start, end)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int slotOf(@Nullable Object key) {
+        return switch (key) {
+            case null -> -1;
+            case CharSequence sequence -> findSlot(sequence, 0, sequence.length());
+            case char[] chars -> findSlot(chars, 0, chars.length);
+            case byte[] bytes -> findSlot(bytes, 0, bytes.length);
+            default -> {
+                String str = key.toString();
+                yield str != null ? findSlot(str, 0, str.length()) : -1;
+            }
+        };
+    }
+
+    private @Nullable V valueAt(int slot) {
+        return slot >= 0 ? castAny(values[slot]) : null;
+    }
+
+    private @Nullable V putRange(@NotNull Object source, int start, int end, V value) {
+        int hash = hash(source, start, end);
+        long[] keys = this.keys;
+        int mask = this.mask;
+        int slot = hash & mask;
+        long key;
+        while ((key = keys[slot]) != EMPTY) {
+            if (hashes[slot] == hash && keyEquals(key, source, start, end)) {
+                V old = castAny(values[slot]);
+                values[slot] = value;
+                return old;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size == resizeAt) {
+            grow();
+            keys = this.keys;
+            mask = this.mask;
+            slot = hash & mask;
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+        }
+        keys[slot] = append(source, start, end);  // may compact the arena, which doesn't move the slots
+        hashes[slot] = hash;
+        values[slot] = value;
+        size++;
+        modCount++;
+        return null;
+    }
+
+    private @NotNull String keyAt(int slot) {
+        long key = keys[slot];
+        int offset = offset(key);
+        return keyPool != null ?
+            keyPool.intern(arena, offset, offset + length(key)) :
+            new String(arena, offset, length(key));
+    }
+
+    // Backward-shift deletion: moves the following entries of the cluster back so that no tombstone is necessary.
+    private void removeAt(int slot) {
+        long[] keys = this.keys;
+        int[] hashes = this.hashes;
+        Object[] values = this.values;
+        int mask = this.mask;
+        arenaGarbage += length(keys[slot]);
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int ideal = hashes[next] & mask;
+            // The entry can be moved to the gap only if its ideal slot is not within (gap, next] cyclically
+            if (((next - ideal) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                hashes[gap] = hashes[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = EMPTY;
+        values[gap] = null;
+        size--;
+        modCount++;
+    }
+
+    private void grow() {
+        IllegalStateExceptions.failIf(keys.length == MAX_CAPACITY, "The table is full: size=%s", size);
+        resize(keys.length << 1);
+    }
+
+    private void resize(int newCapacity) {
+        assert newCapacity > size : "New capacity is too small: %d for size %d".formatted(newCapacity, size);
+        long[] oldKeys = this.keys;
+        int[] oldHashes = this.hashes;
+        Object[] oldValues = this.values;
+        allocate(newCapacity);
+        long[] keys = this.keys;
+        int[] hashes = this.hashes;
+        Object[] values = this.values;
+        int mask = this.mask;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int hash = oldHashes[i];
+                int slot = hash & mask;
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                hashes[slot] = hash;
+                values[slot] = oldValues[i];
+            }
+        }
+        modCount++;
+    }
+
+    private void allocate(int capacity) {
+        assert Integer.bitCount(capacity) == 1 : "Capacity must be a power of two: " + capacity;
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        hashes = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeAt = OpenHashTable.thresholdFor(capacity, loadFactor);
+    }
+
+    /* Arena */
+
+    private long append(@NotNull Object source, int start, int end) {
+        int length = end - start;
+        if (arena.length - arenaSize < length) {
+            rebuildArena(length);
+        }
+        char[] arena = this.arena;
+        int offset = arenaSize;
+        switch (source) {
+            case char[] chars -> System.arraycopy(chars, start, arena, offset, length);
+            case String str -> str.getChars(start, end, arena, offset);
+            case byte[] bytes -> {
+                for (int i = 0; i < length; i++) {
+                    arena[offset + i] = (char) (bytes[start + i] & 0xff);
+                }
+            }
+            default -> {
+                CharSequence sequence = (CharSequence) source;
+                for (int i = 0; i < length; i++) {
+                    arena[offset + i] = sequence.charAt(start + i);
+                }
+            }
+        }
+        arenaSize += length;
+        return ((long) offset << 32) | length;
+    }
+
+    // Copies the live keys into a new arena with enough room for the `extra` chars, which drops the garbage
+    private void rebuildArena(int extra) {
+        long required = (long) arenaSize - arenaGarbage + extra;
+        IllegalStateExceptions.failIf(required > MAX_ARENA_CAPACITY, "The arena is full: %s chars required", required);
+        char[] newArena = new char[(int) Math.min(MAX_ARENA_CAPACITY, Math.max(MIN_ARENA_CAPACITY, 2 * required))];
+        long[] keys = this.keys;
+        int newSize = 0;
+        for (int i = 0; i < keys.length; i++) {
+            long key = keys[i];
+            if (key != EMPTY) {
+                int length = length(key);
+                System.arraycopy(arena, offset(key), newArena, newSize, length);
+                keys[i] = ((long) newSize << 32) | length;
+                newSize += length;
+            }
+        }
+        arena = newArena;
+        arenaSize = newSize;
+        arenaGarbage = 0;
+    }
+
+    private static int offset(long key) {
+        return (int) (key >>> 32);
+    }
+
+    private static int length(long key) {
+        return (int) key;
+    }
+
+    /* Hashing */
+
+    private int hash(@NotNull Object source, int start, int end) {
+        int hash = 0;
+        switch (source) {
+            case char[] chars -> {
+                for (int i = start; i < end; i++) {
+                    hash = 31 * hash + fold(chars[i]);
+                }
+            }
+            case byte[] bytes -> {
+                for (int i = start; i < end; i++) {
+                    hash = 31 * hash + fold(bytes[i] & 0xff);
+                }
+            }
+            default -> {
+                CharSequence sequence = (CharSequence) source;
+                for (int i = start; i < end; i++) {
+                    hash = 31 * hash + fold(sequence.charAt(i));
+                }
+            }
+        }
+        return OpenHashTable.spread(hash);
+    }
+
+    private boolean keyEquals(long key, @NotNull Object source, int start, int end) {
+        int length = length(key);
+        if (length != end - start) {
+            return false;
+        }
+        char[] arena = this.arena;
+        int offset = offset(key);
+        if (!ignoreCase && source instanceof char[] chars) {
+            return Arrays.equals(arena, offset, offset + length, chars, start, end);
+        }
+        for (int i = 0; i < length; i++) {
+            int ch = switch (source) {
+                case char[] chars -> chars[start + i];
+                case byte[] bytes -> bytes[start + i] & 0xff;
+                default -> ((CharSequence) source).charAt(start + i);
+            };
+            if (arena[offset + i] != ch && fold(arena[offset + i]) != fold(ch)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int fold(int ch) {
+        return ignoreCase && ch >= 'A' && ch <= 'Z' ? ch + ('a' - 'A') : ch;
+    }
+
+    private static boolean checkRange(int start, int end, int length) {
+        assert 0 <= start && start <= end && end <= length :
+            "Invalid range [%d, %d) of %d".formatted(start, end, length);
+        return true;
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<CharSequence, V>> {
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            StringContentHashTable.this.clear();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (o instanceof Map.Entry<?, ?> entry) {
+                int slot = slotOf(entry.getKey());
+                return slot >= 0 && Objects.equals(values[slot], entry.getValue());
+            }
+            return false;
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (o instanceof Map.Entry<?, ?> entry) {
+                int slot = slotOf(entry.getKey());
+                if (slot >= 0 && Objects.equals(values[slot], entry.getValue())) {
+                    removeAt(slot);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public @NotNull Iterator<Entry<CharSequence, V>> iterator() {
+            return new EntryIterator();
+        }
+    }
+
+    /**
+     * Iterates the slots starting right after an empty slot, same as the {@link OpenHashTable} iterator,
+     * so that the backward shift on {@link #remove()} only moves the not-yet-visited entries.
+     */
+    private final class EntryIterator implements Iterator<Entry<CharSequence, V>> {
+        private final int start = firstEmptySlot();
+        private int expectedModCount = modCount;
+        private int position = 0;       // the next position to scan (relative to the start)
+        private int lastPosition = -1;  // the position of the last returned entry
+
+        @Override
+        public boolean hasNext() {
+            long[] keys = StringContentHashTable.this.keys;
+            while (position < keys.length && keys[slotAt(position)] == EMPTY) {
+                position++;
+            }
+            return position < keys.length;
+        }
+
+        @Override
+        public @NotNull Entry<CharSequence, V> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastPosition = position++;
+            return new SlotEntry(slotAt(lastPosition));
+        }
+
+        @Override
+        public void remove() {
+            if (lastPosition < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            int slot = slotAt(lastPosition);
+            removeAt(slot);
+            expectedModCount = modCount;
+            if (keys[slot] != EMPTY) {
+                // An entry has been shifted into the current slot: visit it again
+                position = lastPosition;
+            }
+            lastPosition = -1;
+        }
+
+        private int slotAt(int position) {
+            return (start + 1 + position) & mask;
+        }
+
+        private int firstEmptySlot() {
+            long[] keys = StringContentHashTable.this.keys;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == EMPTY) {
+                    return i;
+                }
+            }
+            throw new AssertionError("The table has no empty slots: " + keys.length);
+        }
+    }
+
+    private final class SlotEntry implements Entry<CharSequence, V> {
+        private final String key;
+        private V value;
+
+        private SlotEntry(int slot) {
+            this.key = keyAt(slot);
+            this.value = castAny(values[slot]);
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            V old = this.value;
+            this.value = value;
+            put(key, value);  // never allocates, since the key is present
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Map.Entry<?, ?> that &&
+                   Objects.equals(key, that.getKey()) && Objects.equals(value, that.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+}
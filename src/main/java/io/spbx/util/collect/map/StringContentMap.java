@@ -2,8 +2,10 @@ package io.spbx.util.collect.map;
 
 import io.spbx.util.base.str.BasicStrings;
 import io.spbx.util.base.str.CharArray;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 /**
@@ -28,6 +30,7 @@ import java.util.Map;
  * The implementation may or may not permit {@code null} keys or values,
  * in addition support case ignore/insensitivity, {@code intern} stored keys or do other optimizations.
  *
+ * @see StringContentHashTable
  * @see String#contentEquals(CharSequence)
  * @see String#equalsIgnoreCase(String)
  * @see String#intern()
@@ -41,18 +44,34 @@ public interface StringContentMap<V> extends Map<CharSequence, V> {
         return get((Object) key);
     }
 
+    default @Nullable V get(char @NotNull[] key, int start, int end) {
+        return get(CharArray.wrap(key, start, end));
+    }
+
     default @Nullable V getAscii(byte[] key) {
         return get(toCharSequence(key));
     }
 
+    default @Nullable V getAscii(byte @NotNull[] key, int start, int end) {
+        return get(new String(key, start, end - start, StandardCharsets.US_ASCII));
+    }
+
     default @Nullable V put(char[] key, V value) {
         return put(BasicStrings.intern(toCharSequence(key)), value);
     }
 
+    default @Nullable V put(char @NotNull[] key, int start, int end, V value) {
+        return put(BasicStrings.intern(new String(key, start, end - start)), value);
+    }
+
     default @Nullable V putAscii(byte[] key, V value) {
         return put(BasicStrings.intern(toCharSequence(key)), value);
     }
 
+    default @Nullable V putAscii(byte @NotNull[] key, int start, int end, V value) {
+        return put(BasicStrings.intern(new String(key, start, end - start, StandardCharsets.US_ASCII)), value);
+    }
+
     default V getOrDefault(CharSequence key, V defaultValue) {
         return Map.super.getOrDefault(key, defaultValue);
     }
@@ -1,36 +1,129 @@
 package io.spbx.util.collect.pool;
 
 import com.google.common.collect.ImmutableList;
+import io.spbx.util.base.annotate.MustBeClosed;
+import io.spbx.util.base.error.BasicExceptions.IllegalArgumentExceptions;
 import io.spbx.util.base.error.BasicExceptions.IllegalStateExceptions;
-import io.spbx.util.base.lang.BasicNulls;
+import io.spbx.util.base.error.Unchecked;
+import io.spbx.util.base.ops.IntOps;
 import io.spbx.util.collect.iter.BasicIterables;
 import io.spbx.util.collect.map.BasicMaps;
-import io.spbx.util.collect.stream.Streamer;
 import io.spbx.util.logging.Logger;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.VisibleForTesting;
 
 import javax.annotation.concurrent.ThreadSafe;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
 import java.time.Instant;
-import java.util.ConcurrentModificationException;
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.NoSuchElementException;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static io.spbx.util.base.error.BasicExceptions.newIllegalStateException;
+import static io.spbx.util.base.lang.EasyCast.castAny;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A pool of objects which are taken and returned back, and may expire along the way (e.g. API keys or credentials).
+ * <p>
+ * The objects are checked out in a round-robin rotation. The pool is lock-free:
+ * <ul>
+ *     <li>The objects are stored in a fixed ring, the state of each slot (free, taken or expired)
+ *     is an atomic {@code int} updated via CAS.</li>
+ *     <li>The number of working and available objects is tracked in a single atomic counter,
+ *     so that {@link #available()}, {@link #taken()} and {@link #hasAvailable()} are {@code O(1)}.</li>
+ *     <li>The {@link #nextAvailable()} first reserves an available unit in the counter and then claims the next free
+ *     slot following the rotation cursor. The claim is {@code O(1)} expected when a fair share of the objects
+ *     is free, and bounded by the pool size otherwise.</li>
+ *     <li>The {@link #returnBack} is {@code O(1)}.</li>
+ * </ul>
+ * <p>
+ * Besides the non-blocking {@link #nextAvailable()}, which fails immediately when all objects are taken,
+ * the pool supports waiting checkouts: {@link #nextAvailable(Duration)}, {@link #nextAvailableAsync()} and
+ * {@link #lease()}. The waiters are served in FIFO order: a returned object is handed over directly
+ * to the oldest waiter, and a new checkout does not overtake the queued waiters.
+ * The waiting threads are parked, which works well with virtual threads.
+ * When the last working object expires, all waiters fail with {@link IllegalStateException}.
+ * <p>
+ * Each object may be put on a cooldown when returned back, i.e. becomes available only after a certain moment:
+ * <ul>
+ *     <li>The pool-wide {@code cooldown} rate-limits every object: a working object is available again
+ *     only after the {@code cooldown} since it has been returned back.</li>
+ *     <li>An object returned back with the known {@link ExpirationInfo#refresh()}, which either expired or has
+ *     no calls left, is resurrected automatically at the refresh moment.</li>
+ * </ul>
+ * The cooling objects are kept in a min-heap ordered by the deadline, so that the soonest-ready object
+ * is promoted first without scanning the pool. The due objects are promoted by the checkouts and by a timer armed
+ * for the earliest deadline, so that the waiters are served even if nobody else calls the pool.
+ * The cooling objects count as {@link #working()}, but not as available or taken, and are not listed by
+ * {@link #allWorking()}. When no object is cooling down, the checkout costs a single extra volatile read.
+ * <p>
+ * The pool events can be observed via the opt-in {@link PoolListener}, see {@link PoolMetrics}.
+ */
 @ThreadSafe
 public class ExpirablePool<T> {
     private static final Logger log = Logger.forEnclosingClass();
 
-    private final Map<T, ObjectData> working;
-    private final Map<T, ObjectData> expired;
-    private Iterator<Map.Entry<T, ObjectData>> rotation;
+    private static final int FREE = 0;
+    private static final int TAKEN = 1;
+    private static final int EXPIRED = 2;
+    private static final int COOLING = 3;
+    private static final int RETURNING = 4;     // claimed by the returning thread, counts as taken
+    private static final long NO_DEADLINE = Long.MAX_VALUE >>> 1;
+
+    private final Object[] objects;
+    private final HashMap<T, Integer> index;       // read-only after construction
+    private final ObjectData[] data;
+    private final AtomicIntegerArray states;
+    private final AtomicInteger cursor = new AtomicInteger();
+    private final AtomicLong counters;              // working in the high half, available in the low half
+    private final ConcurrentLinkedQueue<CompletableFuture<T>> waiters = new ConcurrentLinkedQueue<>();
+
+    private final long cooldownNanos;
+    private final AtomicInteger cooling = new AtomicInteger();
+    private final ReentrantLock cooldownLock = new ReentrantLock();
+    private final CooldownHeap cooldowns;           // guarded by the lock
+    private volatile long nextDeadline;             // written under the lock
+    private boolean timerArmed;                     // guarded by the lock
+    private long timerDeadline;                     // guarded by the lock
+
+    private volatile @Nullable PoolListener<T> listener;
+
+    public ExpirablePool(@NotNull Iterable<T> objects, @NotNull Duration cooldown) {
+        IllegalArgumentExceptions.assure(!cooldown.isNegative(), "Cooldown must not be negative: %s", cooldown);
+        ArrayList<T> unique = new ArrayList<>(BasicIterables.sizeOf(objects, 16));
+        this.index = BasicMaps.newMutableMap(BasicIterables.sizeOf(objects, 16));
+        for (T object : objects) {
+            if (index.putIfAbsent(object, unique.size()) == null) {
+                unique.add(object);
+            }
+        }
+        this.objects = unique.toArray();
+        this.data = new ObjectData[this.objects.length];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = ObjectData.newCleanData();
+        }
+        this.states = new AtomicIntegerArray(this.objects.length);
+        this.counters = new AtomicLong(pack(this.objects.length, this.objects.length));
+        this.cooldownNanos = cooldown.toNanos();
+        this.cooldowns = new CooldownHeap(this.objects.length);
+        this.nextDeadline = System.nanoTime() + NO_DEADLINE;
+    }
 
     public ExpirablePool(@NotNull Iterable<T> objects) {
-        this.working = Streamer.of(objects).zipRight(ObjectData::newCleanData).toOrderedMap();
-        this.expired = BasicMaps.newMutableMap(BasicIterables.sizeOf(objects, 16));
-        this.rotation = this.working.entrySet().iterator();
+        this(objects, Duration.ZERO);
     }
 
     public static <T> @NotNull ExpirablePool<T> of(@NotNull Iterable<T> objects) {
@@ -41,53 +134,153 @@ public class ExpirablePool<T> {
         return new ExpirablePool<>(ImmutableList.copyOf(objects));
     }
 
-    public synchronized int total() {
-        return working.size() + expired.size();
+    public int total() {
+        return objects.length;
     }
 
-    public synchronized int working() {
-        return working.size();
+    public int working() {
+        return workingOf(counters.get());
     }
 
-    public synchronized int taken() {
-        return (int) working.values().stream().filter(ObjectData::isTaken).count();
+    public int taken() {
+        long counters = this.counters.get();
+        return workingOf(counters) - availableOf(counters) - cooling.get();
     }
 
-    public synchronized int available() {
-        return (int) working.values().stream().filter(ObjectData::isFree).count();
+    /**
+     * Returns the number of objects cooling down, i.e. rate-limited or waiting for the refresh.
+     * These objects count as working.
+     */
+    public int cooling() {
+        return cooling.get();
     }
 
-    public synchronized boolean hasWorking() {
-        return !working.isEmpty();
+    public int available() {
+        return availableOf(counters.get());
     }
 
-    public synchronized boolean hasAvailable() {
-        return working.values().stream().anyMatch(ObjectData::isFree);
+    public boolean hasWorking() {
+        return working() > 0;
     }
 
-    public synchronized @NotNull List<T> allWorking() {
-        return ImmutableList.copyOf(working.keySet());
+    public boolean hasAvailable() {
+        return available() > 0;
+    }
+
+    /**
+     * Returns the number of waiters queued for an available object. Takes {@code O(waiters)} time.
+     */
+    public int waiting() {
+        return waiters.size();
+    }
+
+    /**
+     * Returns the working objects which are either available or taken. The cooling objects are not included,
+     * even though {@link #working()} counts them, because they can't be checked out until the cooldown is over
+     * (in particular, the expired ones waiting for the refresh).
+     */
+    public @NotNull List<T> allWorking() {
+        return allInState(TAKEN, RETURNING, FREE);
     }
 
     @VisibleForTesting
-    synchronized @NotNull List<T> allAvailable() {
-        return working.entrySet().stream().filter(entry -> entry.getValue().isFree()).map(Map.Entry::getKey).toList();
+    @NotNull List<T> allAvailable() {
+        return allInState(FREE, FREE, FREE);
     }
 
-    public synchronized @NotNull T nextAvailable() {
-        IllegalStateExceptions.assure(hasWorking(), "No more working objects in the pool:", this);
-        try {
-            while (rotation.hasNext()) {
-                Map.Entry<T, ObjectData> entry = rotation.next();
-                if (entry.getValue().isFree()) {
-                    entry.getValue().take();
-                    return entry.getKey();
+    /*package*/ @NotNull List<T> allObjects() {
+        return allInState(FREE, TAKEN, RETURNING, EXPIRED, COOLING);
+    }
+
+    /**
+     * Sets the listener of the pool events or removes it if {@code null}. No events are tracked by default.
+     */
+    public void setListener(@Nullable PoolListener<T> listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Returns the next available object or throws {@link IllegalStateException} if all working objects are taken
+     * or there are no working objects left. Never blocks.
+     * Also fails if there are queued waiters, since the object just returned back belongs to the oldest waiter.
+     */
+    public @NotNull T nextAvailable() {
+        PoolListener<T> listener = this.listener;
+        long start = listener != null ? System.nanoTime() : 0;
+        promoteDue();
+        IllegalStateExceptions.failIf(!waiters.isEmpty(), "All objects in the pool are awaited: %s", this);
+        reserveAvailable();
+        return checkedOut(claimFree(), listener, start);
+    }
+
+    /**
+     * Returns the next available object, waiting up to the {@code timeout} if necessary.
+     * Returns {@code null} if the timeout elapsed before an object became available.
+     * Throws {@link IllegalStateException} if there are no working objects left.
+     */
+    public @Nullable T nextAvailable(@NotNull Duration timeout) throws InterruptedException {
+        return await(nextAvailableAsync(), timeout.toNanos());
+    }
+
+    /**
+     * Returns the future of the next available object. The future is completed immediately if there is an available
+     * object and no other waiters, otherwise the future is queued and completed as soon as an object is returned back.
+     * The future fails with {@link IllegalStateException} if there are no working objects left.
+     * Cancelling the future removes it from the queue.
+     */
+    public @NotNull CompletableFuture<T> nextAvailableAsync() {
+        PoolListener<T> listener = this.listener;
+        long start = listener != null ? System.nanoTime() : 0;
+        promoteDue();
+        if (waiters.isEmpty() && tryReserveAvailable()) {
+            return CompletableFuture.completedFuture(checkedOut(claimFree(), listener, start));
+        }
+        if (!hasWorking()) {
+            return CompletableFuture.failedFuture(newNoWorkingObjectsException());
+        }
+        CompletableFuture<T> future = new CompletableFuture<>();
+        waiters.add(future);
+        future.whenComplete((object, error) -> {
+            if (future.isCancelled()) {
+                waiters.remove(future);
+            }
+            if (listener != null) {
+                long waited = System.nanoTime() - start;
+                if (object != null) {
+                    listener.onCheckout(object, waited, true);
+                } else {
+                    listener.onWaitAbandoned(waited);
                 }
             }
-            IllegalStateExceptions.assure(hasAvailable(), "All working objects in the pool are taken:", this);
-        } catch (NoSuchElementException | ConcurrentModificationException ignore) {}
-        rotation = working.entrySet().iterator();
-        return nextAvailable();
+        });
+        handOverToWaiters();
+        return future;
+    }
+
+    /**
+     * Waits for the next available object and returns it as a {@link Lease}, which returns the object back
+     * into the pool on {@link Lease#close()}.
+     * <p>
+     * Usage:
+     * <pre>
+     *     try (Lease&lt;Key&gt; lease = pool.lease()) {
+     *         call(lease.get());
+     *     }
+     * </pre>
+     */
+    @MustBeClosed
+    public @NotNull Lease<T> lease() throws InterruptedException {
+        return new Lease<>(this, requireNonNull(await(nextAvailableAsync(), Long.MAX_VALUE)));
+    }
+
+    /**
+     * Same as {@link #lease()}, but waits up to the {@code timeout}.
+     * Returns {@code null} if the timeout elapsed before an object became available.
+     */
+    @MustBeClosed
+    public @Nullable Lease<T> lease(@NotNull Duration timeout) throws InterruptedException {
+        T object = nextAvailable(timeout);
+        return object != null ? new Lease<>(this, object) : null;
     }
 
     public void returnBackSuccess(@NotNull T object, @NotNull ExpirationInfo info) {
@@ -106,58 +299,294 @@ public class ExpirablePool<T> {
         returnBack(object, Status.EXPIRED, NO_INFO);
     }
 
-    public synchronized void returnBack(@NotNull T object, @NotNull Status status, @NotNull ExpirationInfo info) {
-        ObjectData data = working.get(object);
-        if (data == null) {
-            log.warn().log("Object expired concurrently: %s", object);
+    public void returnBack(@NotNull T object, @NotNull Status status, @NotNull ExpirationInfo info) {
+        Integer index = this.index.get(object);
+        if (index == null) {
+            log.warn().log("Object does not belong to the pool: %s", object);
+            return;
+        }
+        int i = index;
+        // The return is claimed first, so that a double or concurrent return doesn't affect the object data
+        if (!states.compareAndSet(i, TAKEN, RETURNING)) {
+            log.warn().log("Object expired or returned back concurrently: %s", object);
             return;
         }
 
-        data.free();
-        data.updateFrom(status, info);
-        if (status == Status.EXPIRED) {
-            working.remove(object);
-            ObjectData existing = expired.put(object, data);
-            assert existing == null : "Object data collision for object: " + object;
+        data[i].updateFrom(status, info);
+        PoolListener<T> listener = this.listener;
+        if (listener != null) {
+            listener.onReturn(object, status, info, data[i].resetHeldNanos());
+        }
+        long cooldown = cooldownNanosFor(status, info);
+        if (cooldown >= 0) {
+            coolDown(i, cooldown);
+            return;
         }
+        boolean expired = status == Status.EXPIRED;
+        // The slot state goes first: the number of free slots is never less than the available counter
+        states.set(i, expired ? EXPIRED : FREE);
+        counters.addAndGet(expired ? -pack(1, 0) : 1);
+        handOverToWaiters();
     }
 
-    public synchronized @NotNull ObjectStats getStats(@NotNull T object) {
-        return BasicNulls.firstNonNull(working.get(object), () -> expired.get(object)).toStats();
+    public @NotNull ObjectStats getStats(@NotNull T object) {
+        int i = indexOf(object);
+        int state = states.get(i);
+        return data[i].toStats(state == TAKEN || state == RETURNING);
     }
 
-    static class ObjectData {
-        private Status status = Status.WORKING;
-        private ExpirationInfo info = NO_INFO;
-        private int callsInThisSession = 0;
-        private long lastCallMillis = 0;
-        private boolean taken = false;
+    /* Implementation details */
 
-        public static @NotNull ObjectData newCleanData() {
-            return new ObjectData();
+    // Returns the cooldown of the returned object in nanos or -1 if the object is not cooling down.
+    private long cooldownNanosFor(@NotNull Status status, @NotNull ExpirationInfo info) {
+        if (isWaitingForRefresh(status, info)) {
+            assert info.refresh() != null;
+            return Math.max(0, Duration.between(Instant.now(), info.refresh()).toNanos());
+        }
+        return status == Status.WORKING && cooldownNanos > 0 ? cooldownNanos : -1;
+    }
+
+    private static boolean isWaitingForRefresh(@NotNull Status status, @NotNull ExpirationInfo info) {
+        return info.refresh() != null && (status == Status.EXPIRED || info.callsLeft() == 0);
+    }
+
+    private void coolDown(int i, long cooldownNanos) {
+        // The counter goes first: the number of cooling objects is never more than the number of the COOLING slots
+        // plus the returning ones, hence the taken() is never negative
+        cooling.incrementAndGet();
+        states.set(i, COOLING);
+        PoolListener<T> listener = this.listener;
+        if (listener != null) {
+            listener.onCooldown(castAny(objects[i]), cooldownNanos);
+        }
+        cooldownLock.lock();
+        try {
+            long now = System.nanoTime();
+            cooldowns.add(i, now + cooldownNanos);
+            promoteDueLocked(now);
+        } finally {
+            cooldownLock.unlock();
+        }
+        handOverToWaiters();
+    }
+
+    // Promotes the objects whose cooldown is over. Never blocks: skips if another thread holds the lock,
+    // the armed timer guarantees the promotion in this case.
+    private void promoteDue() {
+        if (cooling.get() == 0 || System.nanoTime() - nextDeadline < 0 || !cooldownLock.tryLock()) {
+            return;
+        }
+        try {
+            promoteDueLocked(System.nanoTime());
+        } finally {
+            cooldownLock.unlock();
+        }
+        handOverToWaiters();
+    }
+
+    private void onTimer(long deadline) {
+        cooldownLock.lock();
+        try {
+            if (timerArmed && timerDeadline == deadline) {
+                timerArmed = false;
+            }
+            promoteDueLocked(System.nanoTime());
+        } finally {
+            cooldownLock.unlock();
+        }
+        handOverToWaiters();
+    }
+
+    private void promoteDueLocked(long now) {
+        assert cooldownLock.isHeldByCurrentThread() : "Cooldown lock is not held";
+        while (!cooldowns.isEmpty() && now - cooldowns.peekDeadline() >= 0) {
+            int i = cooldowns.poll();
+            data[i].reviveIfRefreshed();
+            cooling.decrementAndGet();
+            states.set(i, FREE);
+            counters.incrementAndGet();
+        }
+        if (cooldowns.isEmpty()) {
+            nextDeadline = now + NO_DEADLINE;
+            return;
+        }
+        long deadline = cooldowns.peekDeadline();
+        nextDeadline = deadline;
+        if (!timerArmed || deadline - timerDeadline < 0) {
+            timerArmed = true;
+            timerDeadline = deadline;
+            scheduleTimer(this, deadline, deadline - now);
+        }
+    }
+
+    private static void scheduleTimer(@NotNull ExpirablePool<?> pool, long deadline, long delayNanos) {
+        CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS).execute(new CooldownTimer(pool, deadline));
+    }
+
+    // Reserves one available unit, i.e. guarantees that there exists a free slot for this caller to claim.
+    private void reserveAvailable() {
+        while (true) {
+            long counters = this.counters.get();
+            IllegalStateExceptions.assure(workingOf(counters) > 0, "No more working objects in the pool: %s", this);
+            IllegalStateExceptions.assure(availableOf(counters) > 0, "All objects in the pool are taken: %s", this);
+            if (this.counters.compareAndSet(counters, counters - 1)) {
+                return;
+            }
+            contended();
+        }
+    }
+
+    private boolean tryReserveAvailable() {
+        while (true) {
+            long counters = this.counters.get();
+            if (availableOf(counters) == 0) {
+                return false;
+            }
+            if (this.counters.compareAndSet(counters, counters - 1)) {
+                return true;
+            }
+            contended();
+        }
+    }
+
+    // Hands the available objects over to the waiters in FIFO order.
+    // Both the waiter and the returning thread call this after publishing their side (the queued future or
+    // the freed slot), hence at least one of them observes the other and no wake-up is lost.
+    private void handOverToWaiters() {
+        while (!waiters.isEmpty()) {
+            if (!hasWorking()) {
+                failAllWaiters();
+                return;
+            }
+            if (!tryReserveAvailable()) {
+                return;
+            }
+            CompletableFuture<T> waiter = waiters.poll();
+            if (waiter == null) {
+                counters.incrementAndGet();  // undo the reservation and re-check the queue
+                continue;
+            }
+            int i = claimFree();
+            if (listener != null) {
+                data[i].checkedOutAt(System.nanoTime());
+            }
+            if (!waiter.complete(castAny(objects[i]))) {
+                releaseUnused(i);  // the waiter has been cancelled or timed out
+            }
+        }
+    }
+
+    private @Nullable T await(@NotNull CompletableFuture<T> future, long timeoutNanos) throws InterruptedException {
+        try {
+            return future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return future.cancel(false) ? null : await(future, 0);  // completed concurrently
+        } catch (InterruptedException e) {
+            if (!future.cancel(false) && !future.isCompletedExceptionally()) {
+                releaseUnused(index.get(future.join()));  // handed over concurrently, but never used
+                handOverToWaiters();
+            }
+            throw e;
+        } catch (ExecutionException e) {
+            return Unchecked.throwAny(e.getCause());
+        }
+    }
+
+    // Frees the slot handed over to a waiter which gave up, without counting it as a call.
+    private void releaseUnused(int i) {
+        data[i].resetHeldNanos();
+        states.set(i, FREE);
+        counters.incrementAndGet();
+    }
+
+    private @NotNull IllegalStateException newNoWorkingObjectsException() {
+        return newIllegalStateException("No more working objects in the pool: %s", this);
+    }
+
+    private void failAllWaiters() {
+        CompletableFuture<T> waiter;
+        while ((waiter = waiters.poll()) != null) {
+            waiter.completeExceptionally(newNoWorkingObjectsException());
         }
+    }
 
-        public boolean isWorking() {
-            return status == Status.WORKING;
+    // Claims the next free slot in the rotation. Must be called only after a successful reservation.
+    private int claimFree() {
+        int n = objects.length;
+        while (true) {
+            int i = Math.floorMod(cursor.getAndIncrement(), n);
+            if (states.get(i) == FREE) {
+                if (states.compareAndSet(i, FREE, TAKEN)) {
+                    return i;
+                }
+                contended();
+            }
         }
+    }
 
-        public boolean isTaken() {
-            return taken;
+    private @NotNull T checkedOut(int i, @Nullable PoolListener<T> listener, long start) {
+        T object = castAny(objects[i]);
+        if (listener != null) {
+            long now = System.nanoTime();
+            data[i].checkedOutAt(now);
+            listener.onCheckout(object, now - start, false);
         }
+        return object;
+    }
 
-        public boolean isFree() {
-            return !taken;
+    private void contended() {
+        PoolListener<T> listener = this.listener;
+        if (listener != null) {
+            listener.onContention();
         }
+    }
+
+    private int indexOf(@NotNull T object) {
+        Integer i = index.get(object);
+        IllegalArgumentExceptions.assure(i != null, "Object does not belong to the pool: %s", object);
+        return i;
+    }
 
-        public void take() {
-            assert isFree() : "Already taken: " + this;
-            assert isWorking() : "Object expired: " + this;
-            taken = true;
+    private @NotNull List<T> allInState(int @NotNull ... accepted) {
+        ImmutableList.Builder<T> builder = ImmutableList.builder();
+        for (int i = 0; i < objects.length; i++) {
+            if (IntOps.contains(accepted, states.get(i))) {
+                T object = castAny(objects[i]);
+                builder.add(object);
+            }
         }
+        return builder.build();
+    }
 
-        public void free() {
-            assert isTaken() : "Already free: " + this;
-            taken = false;
+    private static long pack(int working, int available) {
+        return ((long) working << 32) | available;
+    }
+
+    private static int workingOf(long counters) {
+        return (int) (counters >>> 32);
+    }
+
+    private static int availableOf(long counters) {
+        return (int) counters;
+    }
+
+    @Override
+    public String toString() {
+        long counters = this.counters.get();
+        return "ExpirablePool{total=%d, working=%d, available=%d, cooling=%d}"
+            .formatted(objects.length, workingOf(counters), availableOf(counters), cooling.get());
+    }
+
+    // Updated only by the holder of the object, published via the state update.
+    static class ObjectData {
+        private volatile Status status = Status.WORKING;
+        private volatile ExpirationInfo info = NO_INFO;
+        private volatile int callsInThisSession = 0;
+        private volatile long lastCallMillis = 0;
+        private volatile long checkoutNanos = 0;     // tracked only if there is a listener
+
+        public static @NotNull ObjectData newCleanData() {
+            return new ObjectData();
         }
 
         public void updateFrom(@NotNull Status status, @NotNull ExpirationInfo info) {
@@ -167,14 +596,158 @@ public class ExpirablePool<T> {
             this.lastCallMillis = System.currentTimeMillis();
         }
 
-        public @NotNull ObjectStats toStats() {
+        public void checkedOutAt(long nanos) {
+            this.checkoutNanos = nanos;
+        }
+
+        // Returns -1 if the checkout time is unknown, e.g. the listener has been set after the checkout.
+        public long resetHeldNanos() {
+            long checkoutNanos = this.checkoutNanos;
+            this.checkoutNanos = 0;
+            return checkoutNanos != 0 ? System.nanoTime() - checkoutNanos : -1;
+        }
+
+        // Starts a new session once the refresh moment has come.
+        public void reviveIfRefreshed() {
+            if (isWaitingForRefresh(status, info)) {
+                this.status = Status.WORKING;
+                this.info = NO_INFO;
+                this.callsInThisSession = 0;
+            }
+        }
+
+        public @NotNull ObjectStats toStats(boolean taken) {
             return new ObjectStats(status, info, callsInThisSession, lastCallMillis, taken);
         }
 
         @Override
         public String toString() {
-            return "ObjectData{status=%s, info=%s, callsInThisSession=%d, lastCallMillis=%d, taken=%s}"
-                .formatted(status, info, callsInThisSession, lastCallMillis, taken);
+            return "ObjectData{status=%s, info=%s, callsInThisSession=%d, lastCallMillis=%d}"
+                .formatted(status, info, callsInThisSession, lastCallMillis);
+        }
+    }
+
+    // The timer task holds the pool weakly: the refresh deadline can be far away, and the pending task
+    // must not keep an abandoned pool alive until then
+    /*package*/ static final class CooldownTimer implements Runnable {
+        /*package*/ final WeakReference<ExpirablePool<?>> pool;
+        /*package*/ final long deadline;
+
+        CooldownTimer(@NotNull ExpirablePool<?> pool, long deadline) {
+            this.pool = new WeakReference<>(pool);
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void run() {
+            ExpirablePool<?> target = pool.get();
+            if (target != null) {
+                target.onTimer(deadline);
+            }
+        }
+    }
+
+    // A binary min-heap of the slot indices ordered by the cooldown deadline (in nanos). Not thread-safe.
+    // Each slot is added at most once, because it stays in the COOLING state until polled.
+    private static final class CooldownHeap {
+        private final int[] heap;
+        private final long[] deadlines;  // indexed by slot
+        private int size;
+
+        CooldownHeap(int capacity) {
+            this.heap = new int[capacity];
+            this.deadlines = new long[capacity];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        long peekDeadline() {
+            return deadlines[heap[0]];
+        }
+
+        void add(int slot, long deadline) {
+            deadlines[slot] = deadline;
+            int k = size++;
+            while (k > 0) {
+                int parent = (k - 1) >>> 1;
+                if (!isEarlier(slot, heap[parent])) {
+                    break;
+                }
+                heap[k] = heap[parent];
+                k = parent;
+            }
+            heap[k] = slot;
+        }
+
+        int poll() {
+            int result = heap[0];
+            int last = heap[--size];
+            int k = 0;
+            int half = size >>> 1;
+            while (k < half) {
+                int child = 2 * k + 1;
+                if (child + 1 < size && isEarlier(heap[child + 1], heap[child])) {
+                    child++;
+                }
+                if (!isEarlier(heap[child], last)) {
+                    break;
+                }
+                heap[k] = heap[child];
+                k = child;
+            }
+            heap[k] = last;
+            return result;
+        }
+
+        private boolean isEarlier(int slot1, int slot2) {
+            return deadlines[slot1] - deadlines[slot2] < 0;
+        }
+    }
+
+    /**
+     * An object checked out from the pool, which is returned back on {@link #close()}.
+     * By default, the object is returned back as working, unless {@link #expire} or {@link #returnBack}
+     * has been called before.
+     */
+    public static final class Lease<T> implements AutoCloseable {
+        private final ExpirablePool<T> pool;
+        private final T object;
+        private final AtomicBoolean returned = new AtomicBoolean();
+
+        private Lease(@NotNull ExpirablePool<T> pool, @NotNull T object) {
+            this.pool = pool;
+            this.object = object;
+        }
+
+        public @NotNull T get() {
+            IllegalStateExceptions.failIf(returned.get(), "The object has already been returned back: %s", object);
+            return object;
+        }
+
+        public void returnBack(@NotNull Status status, @NotNull ExpirationInfo info) {
+            if (returned.compareAndSet(false, true)) {
+                pool.returnBack(object, status, info);
+            }
+        }
+
+        public void expire(@NotNull ExpirationInfo info) {
+            returnBack(Status.EXPIRED, info);
+        }
+
+        public void expire() {
+            returnBack(Status.EXPIRED, NO_INFO);
+        }
+
+        @Override
+        public void close() {
+            returnBack(Status.WORKING, NO_INFO);
+        }
+
+        @Override
+        public String toString() {
+            return "Lease{object=%s, returned=%s}".formatted(object, returned.get());
         }
     }
 
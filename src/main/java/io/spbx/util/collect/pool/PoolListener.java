@@ -0,0 +1,44 @@
+package io.spbx.util.collect.pool;
+
+import io.spbx.util.collect.pool.ExpirablePool.ExpirationInfo;
+import io.spbx.util.collect.pool.ExpirablePool.Status;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Receives the events of the {@link ExpirablePool}.
+ * <p>
+ * The callbacks are invoked synchronously by the threads calling the pool (or completing the waiters),
+ * hence the implementation must be thread-safe, fast and must not call the pool back.
+ *
+ * @see ExpirablePool#setListener
+ * @see PoolMetrics
+ */
+public interface PoolListener<T> {
+    /**
+     * Called when the {@code object} is checked out. The {@code latencyNanos} is the time since the checkout request,
+     * including the time in the waiting queue if {@code waited}.
+     */
+    default void onCheckout(@NotNull T object, long latencyNanos, boolean waited) {}
+
+    /**
+     * Called when the {@code object} is returned back. The {@code heldNanos} is the time since the checkout
+     * or {@code -1} if unknown (e.g. the object has been checked out before the listener was set).
+     * Not called for the rejected returns, e.g. a double return or an object which doesn't belong to the pool.
+     */
+    default void onReturn(@NotNull T object, @NotNull Status status, @NotNull ExpirationInfo info, long heldNanos) {}
+
+    /**
+     * Called when the returned {@code object} is put on a cooldown.
+     */
+    default void onCooldown(@NotNull T object, long cooldownNanos) {}
+
+    /**
+     * Called when the waiter gave up (timed out, cancelled or interrupted) or failed because no working objects left.
+     */
+    default void onWaitAbandoned(long waitedNanos) {}
+
+    /**
+     * Called when a checkout lost a CAS race to another thread and had to retry.
+     */
+    default void onContention() {}
+}
@@ -0,0 +1,300 @@
+package io.spbx.util.collect.pool;
+
+import com.google.common.collect.ImmutableMap;
+import io.spbx.util.base.error.BasicExceptions.IllegalArgumentExceptions;
+import io.spbx.util.collect.pool.ExpirablePool.ExpirationInfo;
+import io.spbx.util.collect.pool.ExpirablePool.Status;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+import static io.spbx.util.collect.pool.ExpirablePool.NO_INFO;
+
+/**
+ * Collects the health metrics of the {@link ExpirablePool}:
+ * <ul>
+ *     <li>checkout latency, wait time and hold time histograms;</li>
+ *     <li>utilization, i.e. the share of the time the objects have been taken;</li>
+ *     <li>the number of checkouts, expirations and the latest {@link ExpirationInfo} per object;</li>
+ *     <li>the contention counter, i.e. the number of lost CAS races.</li>
+ * </ul>
+ * All counters are striped {@link LongAdder}s, the per-object counters are pre-allocated on attach,
+ * so the metrics add no locks to the pool.
+ * <p>
+ * Usage:
+ * <pre>
+ *     PoolMetrics&lt;Key&gt; metrics = PoolMetrics.attachTo(pool);
+ *     ...
+ *     metrics.forEachObject((key, stats) -> export(key, stats.expirations(), stats.lastInfo()));
+ * </pre>
+ */
+@ThreadSafe
+public class PoolMetrics<T> implements PoolListener<T> {
+    private final ExpirablePool<T> pool;
+    private final long startNanos = System.nanoTime();
+    private final Histogram checkoutLatency = new Histogram();
+    private final Histogram waitTime = new Histogram();
+    private final Histogram holdTime = new Histogram();
+    private final LongAdder busyNanos = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder cooldowns = new LongAdder();
+    private final LongAdder abandoned = new LongAdder();
+    private final LongAdder contention = new LongAdder();
+    private final ImmutableMap<T, ObjectCounters> perObject;  // read-only after construction
+
+    public PoolMetrics(@NotNull ExpirablePool<T> pool) {
+        this.pool = pool;
+        ImmutableMap.Builder<T, ObjectCounters> builder = ImmutableMap.builder();
+        for (T object : pool.allObjects()) {
+            builder.put(object, new ObjectCounters());
+        }
+        this.perObject = builder.build();
+    }
+
+    /**
+     * Creates the metrics and sets them as the listener of the {@code pool}.
+     */
+    public static <T> @NotNull PoolMetrics<T> attachTo(@NotNull ExpirablePool<T> pool) {
+        PoolMetrics<T> metrics = new PoolMetrics<>(pool);
+        pool.setListener(metrics);
+        return metrics;
+    }
+
+    /* Events */
+
+    @Override
+    public void onCheckout(@NotNull T object, long latencyNanos, boolean waited) {
+        checkoutLatency.record(latencyNanos);
+        if (waited) {
+            waitTime.record(latencyNanos);
+        }
+        counters(object).checkouts.increment();
+    }
+
+    @Override
+    public void onReturn(@NotNull T object, @NotNull Status status, @NotNull ExpirationInfo info, long heldNanos) {
+        if (heldNanos >= 0) {
+            holdTime.record(heldNanos);
+            busyNanos.add(heldNanos);
+        }
+        ObjectCounters counters = counters(object);
+        counters.lastInfo = info;
+        if (status == Status.EXPIRED) {
+            expirations.increment();
+            counters.expirations.increment();
+        }
+    }
+
+    @Override
+    public void onCooldown(@NotNull T object, long cooldownNanos) {
+        cooldowns.increment();
+    }
+
+    @Override
+    public void onWaitAbandoned(long waitedNanos) {
+        abandoned.increment();
+    }
+
+    @Override
+    public void onContention() {
+        contention.increment();
+    }
+
+    /* Metrics */
+
+    /**
+     * The time from the checkout request until the object is obtained, including the waits.
+     */
+    public @NotNull Histogram checkoutLatency() {
+        return checkoutLatency;
+    }
+
+    /**
+     * The time the waiters spent in the queue (only the waits which obtained an object).
+     */
+    public @NotNull Histogram waitTime() {
+        return waitTime;
+    }
+
+    /**
+     * The time the objects are held, from the checkout until the return.
+     */
+    public @NotNull Histogram holdTime() {
+        return holdTime;
+    }
+
+    public long checkouts() {
+        return checkoutLatency.count();
+    }
+
+    public long expirations() {
+        return expirations.sum();
+    }
+
+    public long cooldowns() {
+        return cooldowns.sum();
+    }
+
+    public long abandonedWaits() {
+        return abandoned.sum();
+    }
+
+    public long contention() {
+        return contention.sum();
+    }
+
+    /**
+     * Returns the share of the time the objects of the pool have been taken since the metrics were created,
+     * a number between 0 and 1. Only the returned objects are accounted for.
+     */
+    public double utilization() {
+        long elapsed = System.nanoTime() - startNanos;
+        int total = pool.total();
+        return elapsed > 0 && total > 0 ? Math.min(1.0, (double) busyNanos.sum() / elapsed / total) : 0;
+    }
+
+    /**
+     * Returns the current share of the working objects which are taken, a number between 0 and 1.
+     */
+    public double currentUtilization() {
+        int working = pool.working();
+        return working > 0 ? (double) pool.taken() / working : 0;
+    }
+
+    /**
+     * Returns the snapshot of the counters of the {@code object}.
+     * Throws {@link IllegalArgumentException} if the object does not belong to the pool.
+     */
+    public @NotNull ObjectSnapshot objectStats(@NotNull T object) {
+        return counters(object).toSnapshot();
+    }
+
+    /**
+     * Iterates over the snapshots of the counters of all objects in the pool, including the expired ones.
+     */
+    public void forEachObject(@NotNull BiConsumer<T, ObjectSnapshot> consumer) {
+        for (Map.Entry<T, ObjectCounters> entry : perObject.entrySet()) {
+            consumer.accept(entry.getKey(), entry.getValue().toSnapshot());
+        }
+    }
+
+    private @NotNull ObjectCounters counters(@NotNull T object) {
+        ObjectCounters counters = perObject.get(object);
+        IllegalArgumentExceptions.assure(counters != null, "Object does not belong to the pool: %s", object);
+        return counters;
+    }
+
+    @Override
+    public String toString() {
+        return ("PoolMetrics{checkouts=%d, expirations=%d, cooldowns=%d, abandonedWaits=%d, contention=%d, " +
+                "utilization=%.3f, checkoutLatency=%s, waitTime=%s, holdTime=%s}")
+            .formatted(checkouts(), expirations(), cooldowns(), abandonedWaits(), contention(), utilization(),
+                       checkoutLatency, waitTime, holdTime);
+    }
+
+    private static final class ObjectCounters {
+        private final LongAdder checkouts = new LongAdder();
+        private final LongAdder expirations = new LongAdder();
+        private volatile ExpirationInfo lastInfo = NO_INFO;
+
+        @NotNull ObjectSnapshot toSnapshot() {
+            return new ObjectSnapshot(checkouts.sum(), expirations.sum(), lastInfo);
+        }
+    }
+
+    public record ObjectSnapshot(long checkouts, long expirations, @NotNull ExpirationInfo lastInfo) {
+        /**
+         * Returns the share of the checkouts of this object which ended up expired.
+         */
+        public double expirationRate() {
+            return checkouts > 0 ? (double) expirations / checkouts : 0;
+        }
+    }
+
+    /**
+     * A lock-free histogram of the durations in nanos with the power-of-two buckets.
+     * The percentiles are approximate: reported as the upper bound of the bucket.
+     */
+    @ThreadSafe
+    public static final class Histogram {
+        private static final int BUCKETS = 64;
+
+        private final LongAdder[] buckets = new LongAdder[BUCKETS];
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        public Histogram() {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        public void record(long nanos) {
+            long value = Math.max(0, nanos);
+            buckets[bucketOf(value)].increment();
+            count.increment();
+            total.add(value);
+            max.accumulate(value);
+        }
+
+        public long count() {
+            return count.sum();
+        }
+
+        public long totalNanos() {
+            return total.sum();
+        }
+
+        public long maxNanos() {
+            return max.get();
+        }
+
+        public double meanNanos() {
+            long count = count();
+            return count > 0 ? (double) totalNanos() / count : 0;
+        }
+
+        /**
+         * Returns the approximate {@code quantile} (between 0 and 1) of the recorded durations in nanos,
+         * i.e. the upper bound of the bucket containing it, or 0 if nothing has been recorded.
+         */
+        public long percentileNanos(double quantile) {
+            IllegalArgumentExceptions.assure(0 <= quantile && quantile <= 1, "Invalid quantile: %s", quantile);
+            long[] counts = new long[BUCKETS];
+            long count = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets[i].sum();
+                count += counts[i];
+            }
+            long rank = (long) Math.ceil(quantile * count);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank && counts[i] > 0) {
+                    return Math.min(upperBoundOf(i), maxNanos());
+                }
+            }
+            return 0;
+        }
+
+        // Bucket 0 holds 0, bucket i > 0 holds [2^(i-1), 2^i - 1]
+        /*package*/ static int bucketOf(long value) {
+            return 64 - Long.numberOfLeadingZeros(value);
+        }
+
+        private static long upperBoundOf(int bucket) {
+            return bucket == 0 ? 0 : (1L << bucket) - 1;
+        }
+
+        @Override
+        public String toString() {
+            return "{count=%d, mean=%.0f, p50=%d, p99=%d, max=%d}"
+                .formatted(count(), meanNanos(), percentileNanos(0.5), percentileNanos(0.99), maxNanos());
+        }
+    }
+}
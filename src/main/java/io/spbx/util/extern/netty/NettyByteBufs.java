@@ -7,7 +7,10 @@ import io.spbx.util.base.annotate.CheckReturnValue;
 import io.spbx.util.base.annotate.Pure;
 import io.spbx.util.base.annotate.Stateless;
 import io.spbx.util.base.str.BasicParsing;
+import io.spbx.util.base.str.BasicParsing.ParseMode;
 import io.spbx.util.classpath.RuntimeRequirement;
+import io.spbx.util.io.SegmentedOutputStream;
+import io.spbx.util.text.FastFormat;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -59,9 +62,12 @@ public class NettyByteBufs {
 
     public static int parseInt(@NotNull ByteBuf content, int radix) {
         if (content.hasArray()) {
-            return BasicParsing.parseInt(content.array(), content.readerIndex(), content.readableBytes(), radix);
+            int offset = content.arrayOffset() + content.readerIndex();
+            return BasicParsing.parseInt(content.array(), offset, content.readableBytes(), radix);
+        } else if (content.nioBufferCount() == 1) {
+            return BasicParsing.parseInt(content.nioBuffer(), radix);
         } else {
-            return Integer.parseInt(content.toString(StandardCharsets.US_ASCII));
+            return BasicParsing.parseInt(content.toString(StandardCharsets.US_ASCII), radix);
         }
     }
 
@@ -79,9 +85,12 @@ public class NettyByteBufs {
 
     public static long parseLong(@NotNull ByteBuf content, int radix) {
         if (content.hasArray()) {
-            return BasicParsing.parseLong(content.array(), content.readerIndex(), content.readableBytes(), radix);
+            int offset = content.arrayOffset() + content.readerIndex();
+            return BasicParsing.parseLong(content.array(), offset, content.readableBytes(), radix);
+        } else if (content.nioBufferCount() == 1) {
+            return BasicParsing.parseLong(content.nioBuffer(), radix);
         } else {
-            return Long.parseLong(content.toString(StandardCharsets.US_ASCII));
+            return BasicParsing.parseLong(content.toString(StandardCharsets.US_ASCII), radix);
         }
     }
 
@@ -97,6 +106,25 @@ public class NettyByteBufs {
         }
     }
 
+    public static double parseDouble(@NotNull ByteBuf content) {
+        if (content.hasArray()) {
+            int offset = content.arrayOffset() + content.readerIndex();
+            return BasicParsing.parseDouble(content.array(), offset, content.readableBytes(), ParseMode.STRICT);
+        } else if (content.nioBufferCount() == 1) {
+            return BasicParsing.parseDouble(content.nioBuffer());
+        } else {
+            return BasicParsing.parseDouble(content.toString(StandardCharsets.US_ASCII));
+        }
+    }
+
+    public static double parseDoubleSafe(@NotNull ByteBuf content, double defaultValue) {
+        try {
+            return parseDouble(content);
+        } catch (NumberFormatException ignore) {
+            return defaultValue;
+        }
+    }
+
     public static void writeIntString(int value, @NotNull ByteBuf dest) {
         dest.writeCharSequence(String.valueOf(value), StandardCharsets.US_ASCII);
     }
@@ -105,6 +133,31 @@ public class NettyByteBufs {
         dest.writeCharSequence(String.valueOf(value), StandardCharsets.US_ASCII);
     }
 
+    /**
+     * Writes the {@code format} result with the {@code arg} to the {@code dest} in UTF-8.
+     * The primitive arguments are written as ASCII digits directly.
+     */
+    public static void writeFormatted(@NotNull ByteBuf dest, @NotNull FastFormat format, @Nullable Object arg) {
+        format.formatTo(new ByteBufAppendable(dest), arg);
+    }
+
+    public static void writeFormatted(@NotNull ByteBuf dest, @NotNull FastFormat format, long arg) {
+        format.formatTo(new ByteBufAppendable(dest), arg);
+    }
+
+    public static void writeFormatted(@NotNull ByteBuf dest, @NotNull FastFormat format, boolean arg) {
+        format.formatTo(new ByteBufAppendable(dest), arg);
+    }
+
+    public static void writeFormatted(@NotNull ByteBuf dest, @NotNull FastFormat format, long first, long second) {
+        format.formatTo(new ByteBufAppendable(dest), first, second);
+    }
+
+    public static void writeFormattedAll(@NotNull ByteBuf dest, @NotNull FastFormat format,
+                                         @Nullable Object @NotNull... args) {
+        format.formatAllTo(new ByteBufAppendable(dest), args);
+    }
+
     public static @Nullable ByteBuf wrapNullable(@Nullable ByteBuffer buffer) {
         return buffer != null ? Unpooled.wrappedBuffer(buffer) : null;
     }
@@ -112,4 +165,29 @@ public class NettyByteBufs {
     public static @Nullable ByteBuf wrapNullable(byte @Nullable[] bytes) {
         return bytes != null ? Unpooled.wrappedBuffer(bytes) : null;
     }
+
+    /**
+     * Wraps the {@code output} segments into a composite {@link ByteBuf} without copying.
+     * The result shares the memory with the {@code output}, so the {@code output} must not be reset or closed
+     * (i.e. its segments returned to the pool) until the result is fully written or released.
+     */
+    public static @NotNull ByteBuf wrapSegments(@NotNull SegmentedOutputStream output) {
+        return Unpooled.wrappedBuffer(output.segments());
+    }
+
+    // Encodes the char sequences in UTF-8, the single chars are expected to be ASCII (e.g. digits)
+    private record ByteBufAppendable(@NotNull ByteBuf dest) implements Appendable {
+        @Override public @NotNull Appendable append(@NotNull CharSequence csq) {
+            dest.writeCharSequence(csq, StandardCharsets.UTF_8);
+            return this;
+        }
+        @Override public @NotNull Appendable append(@NotNull CharSequence csq, int start, int end) {
+            return append(csq.subSequence(start, end));
+        }
+        @Override public @NotNull Appendable append(char c) {
+            assert c < 0x80 : "Not an ASCII char: " + c;
+            dest.writeByte(c);
+            return this;
+        }
+    }
 }
@@ -0,0 +1,112 @@
+package io.spbx.util.io;
+
+import io.spbx.util.base.error.BasicExceptions.IllegalArgumentExceptions;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded pool of the fixed-size {@link ByteBuffer} segments, either heap or direct.
+ * Used by the {@link SegmentedOutputStream} to avoid allocating (and zeroing) the new buffers for each output.
+ * <p>
+ * The pooled segments are kept in the striped slots (picked by the thread id), so that the threads rarely contend.
+ * The pool is lock-free: {@link #acquire()} takes any segment from the stripe or allocates a new one,
+ * {@link #release(ByteBuffer)} puts the segment to a free slot in the stripe or drops it to the GC.
+ * Hence, the pool never holds more than {@code maxPooled} segments (rounded up to fill the stripes),
+ * no matter how many are acquired at once.
+ */
+@ThreadSafe
+public final class SegmentPool {
+    public static final int DEFAULT_SEGMENT_SIZE = 16 << 10;
+    public static final int DEFAULT_MAX_POOLED = 256;
+    public static final int MIN_SEGMENT_SIZE = 4;  // fits any UTF-8 encoded char
+
+    private final int segmentSize;
+    private final boolean direct;
+    private final AtomicReferenceArray<ByteBuffer> slots;
+    private final int stripeMask;
+    private final int stripeSize;
+
+    private SegmentPool(int segmentSize, int maxPooled, int stripes, boolean direct) {
+        IllegalArgumentExceptions.assure(segmentSize >= MIN_SEGMENT_SIZE,
+                                         "Segment size must be at least %s: %s", MIN_SEGMENT_SIZE, segmentSize);
+        IllegalArgumentExceptions.assure(maxPooled >= 0, "Max pooled must not be negative: %s", maxPooled);
+        IllegalArgumentExceptions.assure(stripes > 0, "Stripes must be positive: %s", stripes);
+        int numStripes = Math.max(Integer.highestOneBit(stripes - 1) << 1, 1);  // next power of two
+        this.segmentSize = segmentSize;
+        this.direct = direct;
+        this.stripeMask = numStripes - 1;
+        this.stripeSize = (maxPooled + numStripes - 1) / numStripes;
+        this.slots = new AtomicReferenceArray<>(numStripes * stripeSize);
+    }
+
+    public static @NotNull SegmentPool heap(int segmentSize, int maxPooled) {
+        return new SegmentPool(segmentSize, maxPooled, defaultStripes(), false);
+    }
+
+    public static @NotNull SegmentPool heap() {
+        return heap(DEFAULT_SEGMENT_SIZE, DEFAULT_MAX_POOLED);
+    }
+
+    public static @NotNull SegmentPool direct(int segmentSize, int maxPooled) {
+        return new SegmentPool(segmentSize, maxPooled, defaultStripes(), true);
+    }
+
+    public static @NotNull SegmentPool direct() {
+        return direct(DEFAULT_SEGMENT_SIZE, DEFAULT_MAX_POOLED);
+    }
+
+    public int segmentSize() {
+        return segmentSize;
+    }
+
+    public boolean isDirect() {
+        return direct;
+    }
+
+    /**
+     * Returns a cleared segment of {@link #segmentSize()} capacity: either a pooled one or newly allocated.
+     * The content of the pooled segment is not zeroed.
+     */
+    public @NotNull ByteBuffer acquire() {
+        int start = (probe() & stripeMask) * stripeSize;
+        for (int i = start; i < start + stripeSize; i++) {
+            if (slots.get(i) != null) {
+                ByteBuffer segment = slots.getAndSet(i, null);
+                if (segment != null) {
+                    return segment.clear();
+                }
+            }
+        }
+        return direct ? ByteBuffer.allocateDirect(segmentSize) : ByteBuffer.allocate(segmentSize);
+    }
+
+    /**
+     * Returns the {@code segment} acquired from this pool back for reuse.
+     * The caller must not access the {@code segment} (or any of its views) after the release.
+     */
+    public void release(@NotNull ByteBuffer segment) {
+        assert segment.capacity() == segmentSize && segment.isDirect() == direct :
+            "The segment is not from this pool: " + segment;
+        int start = (probe() & stripeMask) * stripeSize;
+        for (int i = start; i < start + stripeSize; i++) {
+            if (slots.get(i) == null && slots.compareAndSet(i, null, segment)) {
+                return;
+            }
+        }
+    }
+
+    /* Implementation details */
+
+    private static int probe() {
+        long id = Thread.currentThread().threadId();
+        int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int defaultStripes() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+}
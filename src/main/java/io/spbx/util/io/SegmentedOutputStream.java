@@ -0,0 +1,280 @@
+package io.spbx.util.io;
+
+import io.spbx.util.base.error.BasicExceptions.IllegalStateExceptions;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An {@link OutputStream} builder which stores the content in the fixed-size segments taken from a {@link SegmentPool}.
+ * <p>
+ * Unlike {@link java.io.ByteArrayOutputStream}, the growth never reallocates or copies the written bytes:
+ * the new segment is appended once the last one is full. The content is drained without copying too:
+ * via the gathering write to a {@link WritableByteChannel}, or by wrapping the {@link #segments()} views
+ * (e.g. into a composite Netty {@code ByteBuf}).
+ * <p>
+ * The chars are appended in UTF-8 (see {@link Appendable}). A surrogate pair may be appended char by char:
+ * the high surrogate is held back until the next char arrives. The unpaired surrogates are written as {@code '?'},
+ * including the pending high surrogate followed by a byte write or a read of the content (e.g. {@link #size()}).
+ * A multibyte char is never split between the segments, so a segment may have a few unused bytes at the end.
+ * <p>
+ * The segments are returned to the pool on {@link #reset()} or {@link #close()}, after which the views
+ * returned by {@link #segments()} must not be used. The instance is not thread-safe.
+ */
+public class SegmentedOutputStream extends OutputStream implements Appendable {
+    private final SegmentPool pool;
+    private ByteBuffer[] segments = new ByteBuffer[4];
+    private int count = 0;
+    private ByteBuffer current = null;  // the last of `segments` or null
+    private long size = 0;
+    private char highSurrogate = 0;     // the pending first half of a surrogate pair or zero
+
+    public SegmentedOutputStream(@NotNull SegmentPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Returns the total number of bytes written.
+     */
+    public long size() {
+        flushHighSurrogate();
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /* Write */
+
+    @Override public void write(int b) {
+        flushHighSurrogate();
+        putByte(b);
+    }
+
+    @Override public void write(byte @NotNull[] bytes) {
+        write(bytes, 0, bytes.length);
+    }
+
+    @Override public void write(byte @NotNull[] bytes, int off, int len) {
+        Objects.checkFromIndexSize(off, len, bytes.length);
+        flushHighSurrogate();
+        while (len > 0) {
+            ByteBuffer segment = ensureRemaining();
+            int chunk = Math.min(len, segment.remaining());
+            segment.put(bytes, off, chunk);
+            off += chunk;
+            len -= chunk;
+            size += chunk;
+        }
+    }
+
+    /**
+     * Writes all remaining bytes of the {@code src} buffer, advancing its position to the limit.
+     */
+    public void write(@NotNull ByteBuffer src) {
+        flushHighSurrogate();
+        while (src.hasRemaining()) {
+            ByteBuffer segment = ensureRemaining();
+            int chunk = Math.min(src.remaining(), segment.remaining());
+            segment.put(segment.position(), src, src.position(), chunk);
+            segment.position(segment.position() + chunk);
+            src.position(src.position() + chunk);
+            size += chunk;
+        }
+    }
+
+    /**
+     * Writes the {@code chars} as single bytes, i.e. each char must be in ISO-8859-1 (most commonly ASCII).
+     */
+    public void writeAscii(@NotNull CharSequence chars) {
+        flushHighSurrogate();
+        for (int i = 0, length = chars.length(); i < length; ) {
+            ByteBuffer segment = ensureRemaining();
+            int chunk = Math.min(length - i, segment.remaining());
+            for (int end = i + chunk; i < end; i++) {
+                char c = chars.charAt(i);
+                assert c <= 0xff : "Not a single byte char: " + c;
+                segment.put((byte) c);
+            }
+            size += chunk;
+        }
+    }
+
+    /* Appendable */
+
+    @Override public @NotNull SegmentedOutputStream append(@NotNull CharSequence csq) {
+        return append(csq, 0, csq.length());
+    }
+
+    @Override public @NotNull SegmentedOutputStream append(@NotNull CharSequence csq, int start, int end) {
+        Objects.checkFromToIndex(start, end, csq.length());
+        for (int i = start; i < end; i++) {
+            appendChar(csq.charAt(i));
+        }
+        return this;
+    }
+
+    @Override public @NotNull SegmentedOutputStream append(char c) {
+        appendChar(c);
+        return this;
+    }
+
+    /* Drain */
+
+    /**
+     * Returns the views of the written content, one per segment, in order.
+     * Each view is a duplicate positioned at zero with the limit at the end of the written bytes,
+     * so that changing the views position does not affect this output.
+     */
+    public @NotNull ByteBuffer @NotNull[] segments() {
+        flushHighSurrogate();
+        ByteBuffer[] views = new ByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            views[i] = segments[i].duplicate().flip();
+        }
+        return views;
+    }
+
+    /**
+     * Writes the whole content to the {@code channel}, using a single gathering write if supported.
+     * Blocks until all bytes are written, hence the {@code channel} is expected to be in blocking mode.
+     */
+    public void writeTo(@NotNull WritableByteChannel channel) throws IOException {
+        ByteBuffer[] views = segments();
+        if (channel instanceof GatheringByteChannel gathering) {
+            int offset = 0;
+            while (offset < views.length) {
+                gathering.write(views, offset, views.length - offset);
+                while (offset < views.length && !views[offset].hasRemaining()) {
+                    offset++;
+                }
+            }
+        } else {
+            for (ByteBuffer view : views) {
+                while (view.hasRemaining()) {
+                    channel.write(view);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the whole content to the {@code output}. The heap segments are written without copying.
+     */
+    public void writeTo(@NotNull OutputStream output) throws IOException {
+        flushHighSurrogate();
+        if (pool.isDirect()) {
+            writeTo(Channels.newChannel(output));
+        } else {
+            for (int i = 0; i < count; i++) {
+                ByteBuffer segment = segments[i];
+                output.write(segment.array(), segment.arrayOffset(), segment.position());
+            }
+        }
+    }
+
+    public byte @NotNull[] toByteArray() {
+        flushHighSurrogate();
+        IllegalStateExceptions.failIf(size > Integer.MAX_VALUE - 8, "The content is too large for an array: %s", size);
+        byte[] bytes = new byte[(int) size];
+        int offset = 0;
+        for (int i = 0; i < count; i++) {
+            ByteBuffer segment = segments[i];
+            int length = segment.position();
+            segment.get(0, bytes, offset, length);
+            offset += length;
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns all segments to the pool and discards the content. The output can be reused afterwards.
+     */
+    public void reset() {
+        for (int i = 0; i < count; i++) {
+            pool.release(segments[i]);
+            segments[i] = null;
+        }
+        count = 0;
+        current = null;
+        size = 0;
+        highSurrogate = 0;
+    }
+
+    @Override public void close() {
+        reset();
+    }
+
+    /* Implementation details */
+
+    private @NotNull ByteBuffer ensureRemaining() {
+        return current != null && current.hasRemaining() ? current : nextSegment();
+    }
+
+    private @NotNull ByteBuffer nextSegment() {
+        if (count == segments.length) {
+            segments = Arrays.copyOf(segments, 2 * count);
+        }
+        current = pool.acquire();
+        segments[count++] = current;
+        return current;
+    }
+
+    // Encodes the char in UTF-8. The high surrogate is held until the next char, so that the pair can be appended
+    // char by char. The unpaired surrogates are written as '?', same as `String.getBytes()` does.
+    private void appendChar(char c) {
+        if (highSurrogate != 0) {
+            char high = highSurrogate;
+            highSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                writeUtf8(Character.toCodePoint(high, c));
+                return;
+            }
+            putByte('?');
+        }
+        if (c < 0x80) {
+            putByte(c);
+        } else if (Character.isHighSurrogate(c)) {
+            highSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            putByte('?');
+        } else {
+            writeUtf8(c);
+        }
+    }
+
+    private void flushHighSurrogate() {
+        if (highSurrogate != 0) {
+            highSurrogate = 0;
+            putByte('?');
+        }
+    }
+
+    private void putByte(int b) {
+        ensureRemaining().put((byte) b);
+        size++;
+    }
+
+    private void writeUtf8(int codePoint) {
+        int length = codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+        ByteBuffer segment = current != null && current.remaining() >= length ? current : nextSegment();
+        switch (length) {
+            case 2 -> segment.put((byte) (0xc0 | codePoint >> 6));
+            case 3 -> segment.put((byte) (0xe0 | codePoint >> 12))
+                             .put((byte) (0x80 | (codePoint >> 6) & 0x3f));
+            default -> segment.put((byte) (0xf0 | codePoint >> 18))
+                              .put((byte) (0x80 | (codePoint >> 12) & 0x3f))
+                              .put((byte) (0x80 | (codePoint >> 6) & 0x3f));
+        }
+        segment.put((byte) (0x80 | codePoint & 0x3f));
+        size += length;
+    }
+}
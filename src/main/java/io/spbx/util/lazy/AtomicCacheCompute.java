@@ -4,14 +4,22 @@ import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.concurrent.ThreadSafe;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 
+import static java.util.Objects.requireNonNull;
+
 /**
  * An implementation of {@link CacheCompute} using an {@link AtomicReference}.
+ * <p>
+ * The computation is single-flight: under contention, only one thread calls the supplier, the rest wait for
+ * the computed value. If the supplier throws, the next waiting thread retries. Once computed, the reads are
+ * plain acquire-reads.
  */
 @ThreadSafe
 public class AtomicCacheCompute<T> implements CacheCompute<T> {
     protected final AtomicReference<T> ref = new AtomicReference<>(null);
+    private final ReentrantLock computeLock = new ReentrantLock();
 
     public static <T> @NotNull CacheCompute<T> createEmpty() {
         return new AtomicCacheCompute<>();
@@ -19,17 +27,21 @@ public class AtomicCacheCompute<T> implements CacheCompute<T> {
 
     @Override
     public @NotNull T getOrCompute(@NotNull Supplier<T> supplier) {
-        return setIfAbsent(ref, supplier);
+        T value = ref.getAcquire();
+        return value != null ? value : computeSingleFlight(supplier);
     }
 
-    private static <T> @NotNull T setIfAbsent(@NotNull AtomicReference<T> reference, @NotNull Supplier<T> supplier) {
-        T value = reference.get();
-        if (value == null) {
-            value = supplier.get();
-            if (!reference.compareAndSet(null, value)) {
-                return reference.get();
+    private @NotNull T computeSingleFlight(@NotNull Supplier<T> supplier) {
+        computeLock.lock();
+        try {
+            T value = ref.get();
+            if (value == null) {
+                value = requireNonNull(supplier.get());
+                ref.set(value);
             }
+            return value;
+        } finally {
+            computeLock.unlock();
         }
-        return value;
     }
 }
@@ -5,16 +5,22 @@ import org.jetbrains.annotations.Nullable;
 
 import javax.annotation.concurrent.ThreadSafe;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 
 import static java.util.Objects.requireNonNull;
 
 /**
  * An implementation of {@link LazyInit} using an {@link AtomicReference}.
+ * <p>
+ * The {@link #initializeIfNotYet} is single-flight: under contention, only one thread calls the supplier,
+ * the rest wait until the value is published. If the supplier throws, the next waiting thread retries.
+ * Once initialized, the reads are plain acquire-reads.
  */
 @ThreadSafe
 public class AtomicLazyInit<T> implements LazyInit<T> {
     protected final AtomicReference<T> ref;
+    private final ReentrantLock initLock = new ReentrantLock();
 
     protected AtomicLazyInit(@Nullable T initValue) {
         ref = new AtomicReference<>(initValue);
@@ -26,7 +32,7 @@ public class AtomicLazyInit<T> implements LazyInit<T> {
 
     @Override
     public boolean isInitialized() {
-        return ref.get() != null;
+        return ref.getAcquire() != null;
     }
 
     @Override
@@ -45,11 +51,26 @@ public class AtomicLazyInit<T> implements LazyInit<T> {
 
     @Override
     public @NotNull T initializeIfNotYet(@NotNull Supplier<T> valueSupplier) {
-        return ref.updateAndGet(current -> current != null ? current : valueSupplier.get());
+        T value = ref.getAcquire();
+        return value != null ? value : initializeSingleFlight(valueSupplier);
     }
 
     @Override
     public @NotNull T getOrDie() {
-        return requireNonNull(ref.get());
+        return requireNonNull(ref.getAcquire());
+    }
+
+    private @NotNull T initializeSingleFlight(@NotNull Supplier<T> valueSupplier) {
+        initLock.lock();
+        try {
+            T current = ref.get();
+            if (current != null) {
+                return current;
+            }
+            T value = requireNonNull(valueSupplier.get());
+            return ref.compareAndSet(null, value) ? value : ref.get();  // may race with `initializeOrDie()`
+        } finally {
+            initLock.unlock();
+        }
     }
 }
@@ -0,0 +1,482 @@
+package io.spbx.util.lazy;
+
+import io.spbx.util.base.annotate.CanIgnoreReturnValue;
+import io.spbx.util.base.error.BasicExceptions.IllegalArgumentExceptions;
+import io.spbx.util.base.error.BasicExceptions.IllegalStateExceptions;
+import io.spbx.util.collect.container.IntSize;
+import io.spbx.util.func.ThrowSupplier;
+import io.spbx.util.logging.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import static io.spbx.util.base.lang.EasyCast.castAny;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A keyed version of the {@link CacheCompute}: remembers the computed non-null values per key.
+ * <p>
+ * Supports the optional bounds:
+ * <ul>
+ *     <li>{@code expireAfterWrite}: the entry is dropped and recomputed on access after the time-to-live.</li>
+ *     <li>{@code refreshAfterWrite}: the entry older than this is returned as is, while the value is recomputed
+ *     in the background (on a virtual thread by default). Should be shorter than the time-to-live.</li>
+ *     <li>{@code maximumSize}: the entries over the limit are evicted using the CLOCK (second chance) policy,
+ *     i.e. the entry which has not been accessed since the previous pass of the clock hand is evicted.</li>
+ * </ul>
+ * The computation is single-flight per key: the concurrent callers wait for the value computed by one thread,
+ * on the per-entry lock. If the supplier throws, nothing is cached and the next caller retries. The supplier
+ * must not access its own key: such a recursive computation fails with {@link IllegalStateException}.
+ * A background refresh never overwrites the value stored via {@link #put} or the removed entry.
+ * <p>
+ * The cache hits do not allocate or lock: just the hash map lookup, the expiration check and the reference bit.
+ * Only the evictions are guarded by the single lock. The maximum size is approximate: the entries being computed
+ * are not accounted for until they are ready.
+ * <p>
+ * Usage:
+ * <pre>
+ *     ComputeCache&lt;String, Pattern&gt; cache = ComputeCache.&lt;String, Pattern&gt;builder()
+ *         .maximumSize(1000)
+ *         .expireAfterWrite(Duration.ofMinutes(10))
+ *         .build();
+ *     Pattern pattern = cache.getOrCompute(regex, () -> Pattern.compile(regex));
+ * </pre>
+ *
+ * @see CacheCompute
+ */
+@ThreadSafe
+public class ComputeCache<K, V> implements IntSize {
+    private static final Logger log = Logger.forEnclosingClass();
+    private static final long NEVER = Long.MAX_VALUE;
+    private static final Executor VIRTUAL_THREAD_EXECUTOR = task -> Thread.ofVirtual().start(task);
+
+    private static final VarHandle REFRESHING;
+    static {
+        try {
+            REFRESHING = MethodHandles.lookup().findVarHandle(Entry.class, "refreshing", boolean.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final ConcurrentHashMap<K, Entry<K, V>> map = new ConcurrentHashMap<>();
+    private final long expireNanos;
+    private final long refreshNanos;
+    private final boolean timed;
+    private final LongSupplier nanoClock;
+    private final Executor refreshExecutor;
+
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final Entry<K, V> @Nullable[] ring;  // null if unbounded, guarded by the eviction lock
+    private int ringSize;                       // guarded by the eviction lock
+    private int hand;                           // guarded by the eviction lock
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    private ComputeCache(@NotNull Builder<K, V> builder) {
+        this.expireNanos = builder.expireNanos;
+        this.refreshNanos = builder.refreshNanos;
+        this.timed = expireNanos != NEVER || refreshNanos != NEVER;
+        this.nanoClock = builder.nanoClock;
+        this.refreshExecutor = builder.refreshExecutor;
+        this.ring = builder.maximumSize > 0 ? castAny(new Entry<?, ?>[builder.maximumSize]) : null;
+    }
+
+    public static <K, V> @NotNull Builder<K, V> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Returns the number of the cached entries, including the ones being computed.
+     */
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * Returns the cached value for the {@code key}. On a miss, gets the value from the {@code supplier}
+     * (only one of the concurrent callers does) and remembers it.
+     */
+    public @NotNull V getOrCompute(@NotNull K key, @NotNull Supplier<V> supplier) {
+        V value = lookup(key);
+        return value != null ? value : load(key, supplier::get);
+    }
+
+    /**
+     * Same as {@link #getOrCompute(Object, Supplier)}, but allows the {@code supplier} to throw.
+     * The exception is propagated to the callers and nothing is cached.
+     */
+    public <E extends Throwable> @NotNull V getOrComputeThrow(@NotNull K key,
+                                                             @NotNull ThrowSupplier<V, E> supplier) throws E {
+        V value = lookup(key);
+        return value != null ? value : load(key, supplier);
+    }
+
+    /**
+     * Returns the cached value for the {@code key} or null if there is none (or it is still being computed).
+     */
+    public @Nullable V getIfPresent(@NotNull K key) {
+        V value = lookup(key);
+        if (value == null) {
+            misses.increment();
+        }
+        return value;
+    }
+
+    /**
+     * Stores the {@code value} for the {@code key}, replacing the existing one.
+     * The stored value is not refreshed in the background.
+     */
+    public void put(@NotNull K key, @NotNull V value) {
+        while (true) {
+            Entry<K, V> entry = map.get(key);
+            if (entry == null) {
+                Entry<K, V> created = new Entry<>(key);
+                created.writeNanos = now();
+                created.value = value;
+                if (map.putIfAbsent(key, created) == null) {
+                    admit(created);
+                    return;
+                }
+            } else if (entry.value == null) {
+                awaitLoad(entry);
+            } else if (!entry.dead) {
+                entry.lock();  // excludes the concurrent refresh from publishing its value
+                try {
+                    if (!entry.dead) {
+                        entry.loader = null;
+                        entry.writeNanos = now();
+                        entry.value = value;
+                        return;
+                    }
+                } finally {
+                    entry.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the cached value for the {@code key}.
+     */
+    public void invalidate(@NotNull K key) {
+        Entry<K, V> entry = map.remove(key);
+        if (entry != null) {
+            entry.dead = true;
+        }
+    }
+
+    /**
+     * Removes all cached values.
+     */
+    public void invalidateAll() {
+        evictionLock.lock();
+        try {
+            for (Entry<K, V> entry : map.values()) {
+                entry.dead = true;
+            }
+            map.clear();
+            if (ring != null) {
+                Arrays.fill(ring, null);
+                ringSize = 0;
+                hand = 0;
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Removes the expired entries. Takes {@code O(size)} time.
+     * Usually unnecessary: the expired entries are removed on access or by the size-based eviction,
+     * but the unbounded cache may keep the expired entries which are never accessed again.
+     */
+    public void cleanUp() {
+        if (expireNanos != NEVER) {
+            long now = now();
+            for (Entry<K, V> entry : map.values()) {
+                if (entry.value != null && isExpired(entry, now)) {
+                    expire(entry);
+                }
+            }
+        }
+    }
+
+    public @NotNull Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), expirations.sum(), refreshes.sum(), failures.sum());
+    }
+
+    @Override
+    public String toString() {
+        return "ComputeCache{size=%d, stats=%s}".formatted(size(), stats());
+    }
+
+    /* Implementation details */
+
+    // The hit path: no allocations or locks
+    private @Nullable V lookup(@NotNull K key) {
+        Entry<K, V> entry = map.get(key);
+        if (entry == null) {
+            return null;
+        }
+        V value = entry.value;
+        if (value == null) {
+            return null;  // being computed, the load waits for it
+        }
+        if (timed) {
+            long now = now();
+            if (isExpired(entry, now)) {
+                expire(entry);
+                return null;
+            }
+            if (now - entry.writeNanos >= refreshNanos) {
+                scheduleRefresh(entry);
+            }
+        }
+        if (!entry.referenced) {
+            entry.referenced = true;  // avoid the unnecessary writes to the shared cache line
+        }
+        hits.increment();
+        return value;
+    }
+
+    private <E extends Throwable> @NotNull V load(@NotNull K key, @NotNull ThrowSupplier<V, E> loader) throws E {
+        misses.increment();
+        while (true) {
+            Entry<K, V> entry = map.get(key);
+            if (entry == null) {
+                Entry<K, V> created = new Entry<>(key);
+                created.lock();  // locked before published
+                entry = map.putIfAbsent(key, created);
+                if (entry == null) {
+                    return loadInto(created, loader);
+                }
+                created.unlock();
+            }
+            V value = entry.value;
+            if (value == null) {
+                awaitLoad(entry);  // then either has the value or has been removed on failure
+            } else if (isExpired(entry, now())) {
+                expire(entry);
+            } else {
+                return value;
+            }
+        }
+    }
+
+    private <E extends Throwable> @NotNull V loadInto(@NotNull Entry<K, V> entry,
+                                                      @NotNull ThrowSupplier<V, E> loader) throws E {
+        assert entry.isHeldByCurrentThread() : "Entry lock is not held";
+        try {
+            V value = requireNonNull(loader.get(), "Supplier returned null");
+            entry.loader = loader;
+            entry.writeNanos = now();
+            entry.value = value;
+            admit(entry);
+            return value;
+        } catch (Throwable throwable) {
+            map.remove(entry.key, entry);
+            entry.dead = true;
+            failures.increment();
+            throw throwable;
+        } finally {
+            entry.unlock();
+        }
+    }
+
+    private static void awaitLoad(@NotNull Entry<?, ?> entry) {
+        // The lock is reentrant, so the supplier accessing its own key would not wait, but spin forever
+        IllegalStateExceptions.failIf(entry.isHeldByCurrentThread(), "Recursive computation of the key: %s", entry.key);
+        entry.lock();
+        entry.unlock();
+    }
+
+    private void scheduleRefresh(@NotNull Entry<K, V> entry) {
+        ThrowSupplier<V, ?> loader = entry.loader;
+        if (loader != null && REFRESHING.compareAndSet(entry, false, true)) {
+            try {
+                refreshExecutor.execute(() -> refresh(entry, loader));
+            } catch (RejectedExecutionException e) {
+                log.warn().withCause(e).log("Failed to schedule the refresh of the cache entry: %s", entry.key);
+                entry.refreshing = false;
+            }
+        }
+    }
+
+    private void refresh(@NotNull Entry<K, V> entry, @NotNull ThrowSupplier<V, ?> loader) {
+        try {
+            V value = requireNonNull(loader.get(), "Supplier returned null");
+            entry.lock();
+            try {
+                // The entry may have been replaced via `put()` or removed while refreshing: the value is stale then
+                if (!entry.dead && entry.loader == loader) {
+                    entry.writeNanos = now();
+                    entry.value = value;
+                    refreshes.increment();
+                }
+            } finally {
+                entry.unlock();
+            }
+        } catch (Throwable throwable) {
+            log.warn().withCause(throwable).log("Failed to refresh the cache entry: %s", entry.key);
+            failures.increment();
+        } finally {
+            entry.refreshing = false;
+        }
+    }
+
+    // Adds the ready entry to the clock, evicting the victim if the clock is full
+    private void admit(@NotNull Entry<K, V> entry) {
+        if (ring == null) {
+            return;
+        }
+        evictionLock.lock();
+        try {
+            if (entry.dead) {
+                return;
+            }
+            if (ringSize < ring.length) {
+                ring[ringSize++] = entry;
+                return;
+            }
+            long now = expireNanos != NEVER ? now() : 0;
+            while (true) {
+                Entry<K, V> candidate = ring[hand];
+                if (candidate.dead) {
+                    break;
+                }
+                if (expireNanos != NEVER && isExpired(candidate, now)) {
+                    expire(candidate);
+                    break;
+                }
+                if (!candidate.referenced) {
+                    evict(candidate);
+                    break;
+                }
+                candidate.referenced = false;  // the second chance
+                hand = (hand + 1) % ring.length;
+            }
+            ring[hand] = entry;
+            hand = (hand + 1) % ring.length;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void evict(@NotNull Entry<K, V> entry) {
+        if (map.remove(entry.key, entry)) {
+            evictions.increment();
+        }
+        entry.dead = true;
+    }
+
+    private void expire(@NotNull Entry<K, V> entry) {
+        if (map.remove(entry.key, entry)) {
+            expirations.increment();
+        }
+        entry.dead = true;
+    }
+
+    private boolean isExpired(@NotNull Entry<K, V> entry, long now) {
+        return now - entry.writeNanos >= expireNanos;
+    }
+
+    private long now() {
+        return timed ? nanoClock.getAsLong() : 0;
+    }
+
+    // The lock is held while the value is being computed
+    private static final class Entry<K, V> extends ReentrantLock {
+        private final K key;
+        private volatile @Nullable V value;                  // null while being computed
+        private volatile long writeNanos;
+        private volatile @Nullable ThrowSupplier<V, ?> loader;  // null if the value has been put directly
+        private volatile boolean refreshing;
+        private volatile boolean dead;                        // removed from the map
+        private boolean referenced;                           // the CLOCK bit, racy by design
+
+        Entry(@NotNull K key) {
+            this.key = key;
+        }
+    }
+
+    public record Stats(long hits, long misses, long evictions, long expirations, long refreshes, long failures) {
+        /**
+         * Returns the share of the lookups which found the value, a number between 0 and 1.
+         */
+        public double hitRate() {
+            long requests = hits + misses;
+            return requests > 0 ? (double) hits / requests : 0;
+        }
+    }
+
+    @CanIgnoreReturnValue
+    public static final class Builder<K, V> {
+        private int maximumSize = -1;
+        private long expireNanos = NEVER;
+        private long refreshNanos = NEVER;
+        private LongSupplier nanoClock = System::nanoTime;
+        private Executor refreshExecutor = VIRTUAL_THREAD_EXECUTOR;
+
+        private Builder() {
+        }
+
+        public @NotNull Builder<K, V> maximumSize(int maximumSize) {
+            IllegalArgumentExceptions.assure(maximumSize > 0, "Maximum size must be positive: %s", maximumSize);
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        public @NotNull Builder<K, V> expireAfterWrite(@NotNull Duration ttl) {
+            IllegalArgumentExceptions.assure(ttl.isPositive(), "Time-to-live must be positive: %s", ttl);
+            this.expireNanos = ttl.toNanos();
+            return this;
+        }
+
+        public @NotNull Builder<K, V> refreshAfterWrite(@NotNull Duration refresh) {
+            IllegalArgumentExceptions.assure(refresh.isPositive(), "Refresh interval must be positive: %s", refresh);
+            this.refreshNanos = refresh.toNanos();
+            return this;
+        }
+
+        /**
+         * Sets the time source in nanos, {@link System#nanoTime()} by default.
+         */
+        public @NotNull Builder<K, V> nanoClock(@NotNull LongSupplier nanoClock) {
+            this.nanoClock = nanoClock;
+            return this;
+        }
+
+        /**
+         * Sets the executor for the background refreshes, a new virtual thread per refresh by default.
+         */
+        public @NotNull Builder<K, V> refreshExecutor(@NotNull Executor refreshExecutor) {
+            this.refreshExecutor = refreshExecutor;
+            return this;
+        }
+
+        public @NotNull ComputeCache<K, V> build() {
+            IllegalArgumentExceptions.assure(refreshNanos == NEVER || refreshNanos < expireNanos,
+                                             "Refresh interval must be shorter than the time-to-live");
+            return new ComputeCache<>(this);
+        }
+    }
+}
@@ -0,0 +1,497 @@
+package io.spbx.util.text;
+
+import com.google.common.collect.ImmutableList;
+import io.spbx.util.base.error.Unchecked;
+import io.spbx.util.base.str.CharArray;
+import io.spbx.util.base.str.MutableCharArray;
+import io.spbx.util.logging.Logger;
+import io.spbx.util.io.ByteBufferInputStream;
+import io.spbx.util.text.TextExtractor.Action;
+import io.spbx.util.text.TextExtractor.ExtractCallback;
+import io.spbx.util.text.TextExtractor.Extracted;
+import io.spbx.util.text.TextExtractor.ExtractedMap;
+import io.spbx.util.text.TextExtractor.MatchAction;
+import io.spbx.util.text.TextExtractor.MoveTo;
+import io.spbx.util.text.TextExtractor.RegionMatchCapture;
+import io.spbx.util.text.TextExtractor.RegionMoveTo;
+import io.spbx.util.text.TextExtractor.RepeatAction;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.concurrent.Immutable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+
+/**
+ * The compiled version of the {@link TextExtractor} which produces the same results as
+ * {@link TextExtractor#extract}, but does not copy the input and scans it in a single forward pass.
+ * <p>
+ * All literal marks of the actions are merged into one Aho-Corasick automaton. The action program runs
+ * on top of the scan: each action waits for the next occurrence of its mark after the current position,
+ * so that the next action continues the scan where the previous one has stopped. Unlike the repeated
+ * {@code indexOf()} calls, the scan is linear regardless of the marks.
+ * <p>
+ * Only the forward literal actions are compiled: {@link TextExtractor#skipTo(CharSequence)},
+ * {@link TextExtractor#captureBetween} with the default moves and {@link TextExtractor#repeat} of those.
+ * The program is compiled up to the first action which is not, the rest of the actions are interpreted
+ * over the copy of the remaining input. If an action fails to find its mark, the scan is restarted
+ * from the current position for the next action, as the interpreter does.
+ * <p>
+ * Since the scan never goes back beyond the current position, the compiled extractor can also consume
+ * the input incrementally from a {@link Reader}, an {@link InputStream} or the {@link ByteBuffer} chunks.
+ */
+@Immutable
+public class CompiledTextExtractor {
+    private static final Logger log = Logger.forEnclosingClass();
+    private static final int MAX_MARKS = Long.SIZE;
+    private static final int DEFAULT_WINDOW_SIZE = 8192;
+
+    private final ImmutableList<Step> program;
+    private final ImmutableList<Action> interpreted;
+    private final Automaton automaton;
+
+    /*package*/ CompiledTextExtractor(@NotNull ImmutableList<Action> actions) {
+        LinkedHashMap<String, Integer> marks = new LinkedHashMap<>();
+        ImmutableList.Builder<Step> program = ImmutableList.builder();
+        int compiled = 0;
+        for (Action action : actions) {
+            Step step = compileStep(action, marks);
+            if (step == null) {
+                break;
+            }
+            program.add(step);
+            compiled++;
+        }
+        this.program = program.build();
+        this.interpreted = actions.subList(compiled, actions.size());
+        this.automaton = new Automaton(marks.keySet().toArray(String[]::new));
+    }
+
+    /**
+     * Returns the number of the top-level actions which are compiled, the rest are interpreted.
+     */
+    public int compiledActions() {
+        return program.size();
+    }
+
+    public @NotNull ExtractedMap extract(@NotNull CharSequence text) {
+        ExtractedMap result = new ExtractedMap();
+        run(new TextInput(text), result::put);
+        return result;
+    }
+
+    /**
+     * Extracts from the {@code reader} incrementally, passing each {@link Extracted} value to the {@code consumer}
+     * as soon as it is captured. Unlike {@link #extract(CharSequence)}, the whole input is never in memory:
+     * the window keeps only the chars after the position of the last completed action, i.e. the pending
+     * capture. The window grows if the next mark is further than its size.
+     * <p>
+     * The actions which are not compiled (see {@link #compiledActions()}) need the rest of the input,
+     * so it is read into memory once the compiled actions are done.
+     * The {@code reader} is not closed.
+     */
+    public void extract(@NotNull Reader reader, @NotNull BiConsumer<String, Extracted> consumer) {
+        run(new ReaderInput(reader, DEFAULT_WINDOW_SIZE),
+            (name, captured, converted) -> consumer.accept(name, new Extracted(captured, converted)));
+    }
+
+    /**
+     * Extracts from the {@code stream} decoded via the {@code charset} incrementally.
+     * See {@link #extract(Reader, BiConsumer)}.
+     */
+    public void extract(@NotNull InputStream stream, @NotNull Charset charset,
+                        @NotNull BiConsumer<String, Extracted> consumer) {
+        extract(new InputStreamReader(stream, charset), consumer);
+    }
+
+    /**
+     * Extracts from the sequence of the {@code chunks} decoded via the {@code charset} incrementally.
+     * The chunks are consumed one by one, the multibyte chars may span the chunks.
+     * See {@link #extract(Reader, BiConsumer)}.
+     */
+    public void extract(@NotNull Iterable<ByteBuffer> chunks, @NotNull Charset charset,
+                        @NotNull BiConsumer<String, Extracted> consumer) {
+        Iterator<ByteBuffer> iterator = chunks.iterator();
+        InputStream stream = new SequenceInputStream(new Enumeration<>() {
+            @Override public boolean hasMoreElements() {
+                return iterator.hasNext();
+            }
+            @Override public InputStream nextElement() {
+                return new ByteBufferInputStream(iterator.next());
+            }
+        });
+        extract(stream, charset, consumer);
+    }
+
+    private void run(@NotNull Input input, @NotNull ExtractCallback callback) {
+        Run run = new Run(input, callback);
+        for (Step step : program) {
+            step.run(run, step.action().name());
+        }
+        if (!interpreted.isEmpty()) {
+            MutableCharArray array = input.remaining(run.cursor);
+            for (Action action : interpreted) {
+                action.apply(array, callback);
+            }
+        }
+    }
+
+    /* Compilation */
+
+    private static @Nullable Step compileStep(@NotNull Action action, @NotNull LinkedHashMap<String, Integer> marks) {
+        if (action instanceof RepeatAction repeat) {
+            ImmutableList.Builder<Step> body = ImmutableList.builder();
+            for (Action nested : repeat.nestedActions()) {
+                Step step = compileStep(nested, marks);
+                if (step == null) {
+                    return null;
+                }
+                body.add(step);
+            }
+            return new RepeatStep(repeat, body.build());
+        }
+        CharArray[] literals = action.literalMarks();
+        if (literals == null || !hasRoomFor(marks, literals)) {
+            return null;
+        }
+        if (action instanceof MatchAction skip && skip.moveTo.get() == MoveTo.EXCLUDE_MATCH) {
+            return new SkipStep(skip, markOf(literals[0], marks), literals[0].length());
+        }
+        if (action instanceof RegionMatchCapture capture && capture.moveTo.get() == RegionMoveTo.AFTER_END_MATCH) {
+            return new CaptureStep(capture,
+                                   markOf(literals[0], marks), literals[0].length(),
+                                   markOf(literals[1], marks), literals[1].length());
+        }
+        return null;
+    }
+
+    private static boolean hasRoomFor(@NotNull LinkedHashMap<String, Integer> marks, @NotNull CharArray[] literals) {
+        long newMarks = Arrays.stream(literals)
+            .map(CharArray::toString)
+            .distinct()
+            .filter(literal -> !marks.containsKey(literal))
+            .count();
+        return marks.size() + newMarks <= MAX_MARKS;
+    }
+
+    private static int markOf(@NotNull CharArray literal, @NotNull LinkedHashMap<String, Integer> marks) {
+        return marks.computeIfAbsent(literal.toString(), k -> marks.size());
+    }
+
+    /* Execution */
+
+    private final class Run {
+        private final Input input;
+        private final ExtractCallback callback;
+        private int cursor = 0;     // the start of the remaining input
+        private int scanPos = 0;    // the scan has consumed `input[0, scanPos)`, never behind the cursor
+        private int state = Automaton.ROOT;
+
+        Run(@NotNull Input input, @NotNull ExtractCallback callback) {
+            this.input = input;
+            this.callback = callback;
+        }
+
+        // Returns the start of the first occurrence of the `mark` at or after the `from`, or -1 if not found.
+        // Expects the scan to be at `from`: after the previous match or restarted.
+        int find(int mark, int length, int from) {
+            assert scanPos == from : "Scan is not at the position: %d vs %d".formatted(scanPos, from);
+            if (length == 0) {
+                return from;
+            }
+            long bit = 1L << mark;
+            int pos = scanPos;
+            int state = this.state;
+            do {
+                int limit = input.limit;
+                while (pos < limit) {
+                    state = automaton.next(state, input.charAt(pos++));
+                    if ((automaton.outputs[state] & bit) != 0 && pos - length >= from) {
+                        this.scanPos = pos;
+                        this.state = state;
+                        return pos - length;
+                    }
+                }
+            } while (input.fill());
+            restart();  // not found: the next search starts from the cursor again
+            return -1;
+        }
+
+        void moveTo(int cursor) {
+            this.cursor = cursor;
+            input.release(cursor);
+        }
+
+        void restart() {
+            scanPos = cursor;
+            state = Automaton.ROOT;
+        }
+    }
+
+    /* Inputs */
+
+    private abstract static class Input {
+        protected int limit;  // the end of the available chars
+
+        abstract char charAt(int pos);
+
+        // Makes more chars available, returns false at the end of the input
+        abstract boolean fill();
+
+        // The chars before `pos` are not needed anymore
+        abstract void release(int pos);
+
+        // The stable copy or view, not affected by the further reads
+        abstract @NotNull CharArray substring(int start, int end);
+
+        abstract @NotNull MutableCharArray remaining(int from);
+    }
+
+    private static final class TextInput extends Input {
+        private final CharSequence text;
+
+        TextInput(@NotNull CharSequence text) {
+            this.text = text;
+            this.limit = text.length();
+        }
+
+        @Override char charAt(int pos) {
+            return text.charAt(pos);
+        }
+
+        @Override boolean fill() {
+            return false;
+        }
+
+        @Override void release(int pos) {}
+
+        @Override @NotNull CharArray substring(int start, int end) {
+            return text instanceof CharArray array ?
+                array.substring(start, end) :
+                CharArray.of(text.subSequence(start, end));
+        }
+
+        @Override @NotNull MutableCharArray remaining(int from) {
+            MutableCharArray array = MutableCharArray.of(text);
+            array.sliceFromInPlace(from);
+            return array;
+        }
+    }
+
+    private static final class ReaderInput extends Input {
+        private final Reader reader;
+        private char[] buffer;
+        private int base = 0;       // the position of `buffer[0]`
+        private int released = 0;   // the chars before are not needed
+        private boolean eof = false;
+
+        ReaderInput(@NotNull Reader reader, int windowSize) {
+            this.reader = reader;
+            this.buffer = new char[windowSize];
+        }
+
+        @Override char charAt(int pos) {
+            return buffer[pos - base];
+        }
+
+        @Override boolean fill() {
+            if (eof) {
+                return false;
+            }
+            if (limit - base == buffer.length) {
+                int keep = limit - released;
+                char[] target = keep > buffer.length / 2 ? new char[buffer.length * 2] : buffer;
+                System.arraycopy(buffer, released - base, target, 0, keep);
+                buffer = target;
+                base = released;
+            }
+            try {
+                int read = reader.read(buffer, limit - base, buffer.length - (limit - base));
+                if (read < 0) {
+                    eof = true;
+                    return false;
+                }
+                limit += read;
+                return true;
+            } catch (IOException e) {
+                return Unchecked.rethrow(e);
+            }
+        }
+
+        @Override void release(int pos) {
+            released = pos;
+        }
+
+        @Override @NotNull CharArray substring(int start, int end) {
+            return CharArray.wrap(Arrays.copyOfRange(buffer, start - base, end - base));
+        }
+
+        @Override @NotNull MutableCharArray remaining(int from) {
+            released = from;
+            while (fill()) {
+                // read the rest
+            }
+            return MutableCharArray.wrap(buffer, from - base, limit - base);
+        }
+    }
+
+    private interface Step {
+        @NotNull Action action();
+        void run(@NotNull Run run, @NotNull String name);
+    }
+
+    private record SkipStep(@NotNull MatchAction action, int mark, int length) implements Step {
+        @Override public void run(@NotNull Run run, @NotNull String name) {
+            action.checkIsInitializedOrDie();
+            int i = run.find(mark, length, run.cursor);
+            if (i < 0) {
+                action.assure(false, run.callback, "mark not found `%s`", action.literalMarks()[0]);
+                return;
+            }
+            run.moveTo(i + length);
+        }
+    }
+
+    private record CaptureStep(@NotNull RegionMatchCapture action,
+                               int startMark, int startLength, int endMark, int endLength) implements Step {
+        @Override public void run(@NotNull Run run, @NotNull String name) {
+            action.checkIsInitializedOrDie();
+            int i = run.find(startMark, startLength, run.cursor);
+            if (i < 0) {
+                action.assure(false, run.callback, "start mark not found `%s`", action.literalMarks()[0]);
+                return;
+            }
+            int j = run.find(endMark, endLength, i + startLength);
+            if (j < 0) {
+                action.assure(false, run.callback, "end mark not found `%s`", action.literalMarks()[1]);
+                return;
+            }
+            run.moveTo(j + endLength);
+            action.onCaptured(name, run.input.substring(i + startLength, j), run.callback);
+        }
+    }
+
+    private record RepeatStep(@NotNull RepeatAction action, @NotNull ImmutableList<Step> body) implements Step {
+        @Override public void run(@NotNull Run run, @NotNull String name) {
+            int maxIterations = action.maxIterationsOrUnlimited();
+            for (int iteration = 0; iteration < maxIterations; iteration++) {
+                int start = run.cursor;
+                for (Step step : body) {
+                    step.run(run, "%s:%s".formatted(step.action().name(), iteration));
+                }
+                if (run.cursor == start) {
+                    log.debug().log("Actions are stuck at the same position %s after %s iterations", start, iteration);
+                    return;
+                }
+            }
+            action.applyFallback(run.callback,
+                                 () -> "Repeat has not completed after %s iterations".formatted(maxIterations));
+        }
+    }
+
+    /**
+     * The Aho-Corasick automaton over the marks, with the complete transition table (DFA).
+     * The chars are mapped to the classes first: the distinct chars of the marks and one class for the rest.
+     * The {@code outputs} hold the bitmask of the marks ending at each state, including the suffixes.
+     */
+    private static final class Automaton {
+        private static final int ROOT = 0;
+
+        private final int[] asciiClasses = new int[128];
+        private final char[] otherChars;       // sorted non-ASCII chars of the marks
+        private final int classes;
+        private final int[] transitions;      // `[state * classes + class]`
+        private final long[] outputs;
+
+        Automaton(@NotNull String @NotNull[] marks) {
+            TreeSet<Character> chars = new TreeSet<>();
+            for (String mark : marks) {
+                mark.chars().forEach(ch -> chars.add((char) ch));
+            }
+            int nextClass = 1;  // class 0 is for the chars not in the marks
+            List<Character> others = new ArrayList<>();
+            for (char ch : chars) {
+                if (ch < 128) {
+                    asciiClasses[ch] = nextClass++;
+                } else {
+                    others.add(ch);
+                }
+            }
+            otherChars = new char[others.size()];
+            for (int i = 0; i < otherChars.length; i++) {
+                otherChars[i] = others.get(i);
+            }
+            classes = nextClass + otherChars.length;
+
+            // The trie
+            int maxStates = 1 + Arrays.stream(marks).mapToInt(String::length).sum();
+            int[] trie = new int[maxStates * classes];
+            long[] out = new long[maxStates];
+            int states = 1;
+            for (int mark = 0; mark < marks.length; mark++) {
+                int state = ROOT;
+                for (int i = 0; i < marks[mark].length(); i++) {
+                    int index = state * classes + classOf(marks[mark].charAt(i));
+                    if (trie[index] == 0) {
+                        trie[index] = states++;
+                    }
+                    state = trie[index];
+                }
+                out[state] |= 1L << mark;
+            }
+
+            // The failure links folded into the transitions, breadth-first
+            int[] fail = new int[states];
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            for (int c = 0; c < classes; c++) {
+                int child = trie[c];
+                if (child != 0) {
+                    fail[child] = ROOT;
+                    queue.add(child);
+                }
+            }
+            while (!queue.isEmpty()) {
+                int state = queue.poll();
+                out[state] |= out[fail[state]];
+                for (int c = 0; c < classes; c++) {
+                    int index = state * classes + c;
+                    int child = trie[index];
+                    if (child != 0) {
+                        fail[child] = trie[fail[state] * classes + c];
+                        queue.add(child);
+                    } else {
+                        trie[index] = trie[fail[state] * classes + c];
+                    }
+                }
+            }
+            transitions = Arrays.copyOf(trie, states * classes);
+            outputs = Arrays.copyOf(out, states);
+        }
+
+        int next(int state, char ch) {
+            return transitions[state * classes + classOf(ch)];
+        }
+
+        private int classOf(char ch) {
+            if (ch < 128) {
+                return asciiClasses[ch];
+            }
+            int i = Arrays.binarySearch(otherChars, ch);
+            return i >= 0 ? classes - otherChars.length + i : 0;
+        }
+    }
+}
@@ -1,42 +1,302 @@
 package io.spbx.util.text;
 
+import io.spbx.util.base.annotate.CanIgnoreReturnValue;
 import io.spbx.util.base.annotate.CheckReturnValue;
 import io.spbx.util.base.annotate.Pure;
+import io.spbx.util.base.error.Unchecked;
+import io.spbx.util.base.str.MutableCharArray;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.annotation.concurrent.Immutable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
 
+/**
+ * A fast formatter supporting only the {@code %s} specifiers.
+ * <p>
+ * The pattern is compiled once on construction into the literal segments between the {@code %s} slots,
+ * so that formatting does not scan the pattern. Besides the {@link String} results, the instance can
+ * {@code formatTo} a {@link StringBuilder}, an {@link Appendable} or a reusable {@link MutableCharArray} buffer.
+ * The primitive arguments are written as digits directly, without boxing or intermediate strings.
+ * <p>
+ * The argument binding:
+ * <ul>
+ *     <li>a single argument is substituted into all slots (like {@link String#replace});</li>
+ *     <li>multiple arguments fill the slots in order, the extra arguments are ignored,
+ *     the slots without an argument are kept as {@code %s}.</li>
+ * </ul>
+ * The multiple arguments go through the separately named {@code formattedAll} and {@code formatAllTo} methods,
+ * so that a single {@code null} or array argument always binds to the single argument overload,
+ * rather than being spread over the slots as a varargs array.
+ */
 @Immutable
 @Pure
 @CheckReturnValue
 public class FastFormat {
+    private static final String SLOT = "%s";
+
     private final String pattern;
+    private final String[] literals;  // the pattern split by the slots, hence one more than the slots
+    private final int literalsLength;
 
     public FastFormat(@NotNull String pattern) {
         this.pattern = pattern;
+        this.literals = compile(pattern);
+        this.literalsLength = pattern.length() - SLOT.length() * (literals.length - 1);
     }
 
     public static @NotNull FastFormat ff(@NotNull String pattern) {
         return new FastFormat(pattern);
     }
 
+    public @NotNull String pattern() {
+        return pattern;
+    }
+
+    /**
+     * Returns the number of {@code %s} slots in the pattern.
+     */
+    public int slots() {
+        return literals.length - 1;
+    }
+
+    /* Formatting into a `String` */
+
     public @NotNull String formatted(@Nullable Object arg) {
-        return format(pattern, arg);
+        return literals.length == 1 ? pattern : formatTo(newBuilder(), arg).toString();
     }
 
     public @NotNull String formatted(int arg) {
-        return format(pattern, arg);
+        return literals.length == 1 ? pattern : formatTo(newBuilder(), arg).toString();
     }
 
     public @NotNull String formatted(long arg) {
-        return format(pattern, arg);
+        return literals.length == 1 ? pattern : formatTo(newBuilder(), arg).toString();
     }
 
     public @NotNull String formatted(boolean arg) {
-        return format(pattern, arg);
+        return literals.length == 1 ? pattern : formatTo(newBuilder(), arg).toString();
+    }
+
+    public @NotNull String formattedAll(@Nullable Object @NotNull... args) {
+        return literals.length == 1 ? pattern : formatAllTo(newBuilder(), args).toString();
+    }
+
+    private @NotNull StringBuilder newBuilder() {
+        return new StringBuilder(literalsLength + 16 * slots());
+    }
+
+    /* Formatting into a `StringBuilder` */
+
+    @CanIgnoreReturnValue
+    public @NotNull StringBuilder formatTo(@NotNull StringBuilder builder, @Nullable Object arg) {
+        String str = String.valueOf(arg);
+        builder.append(literals[0]);
+        for (int i = 1; i < literals.length; i++) {
+            builder.append(str).append(literals[i]);
+        }
+        return builder;
+    }
+
+    @CanIgnoreReturnValue
+    public @NotNull StringBuilder formatTo(@NotNull StringBuilder builder, long arg) {
+        builder.append(literals[0]);
+        for (int i = 1; i < literals.length; i++) {
+            builder.append(arg).append(literals[i]);
+        }
+        return builder;
+    }
+
+    @CanIgnoreReturnValue
+    public @NotNull StringBuilder formatTo(@NotNull StringBuilder builder, boolean arg) {
+        builder.append(literals[0]);
+        for (int i = 1; i < literals.length; i++) {
+            builder.append(arg).append(literals[i]);
+        }
+        return builder;
+    }
+
+    @CanIgnoreReturnValue
+    public @NotNull StringBuilder formatTo(@NotNull StringBuilder builder, long first, long second) {
+        builder.append(literals[0]);
+        for (int i = 1; i < literals.length; i++) {
+            switch (i) {
+                case 1 -> builder.append(first);
+                case 2 -> builder.append(second);
+                default -> builder.append(SLOT);
+            }
+            builder.append(literals[i]);
+        }
+        return builder;
+    }
+
+    @CanIgnoreReturnValue
+    public @NotNull StringBuilder formatAllTo(@NotNull StringBuilder builder, @Nullable Object @NotNull... args) {
+        builder.append(literals[0]);
+        for (int i = 1; i < literals.length; i++) {
+            if (i <= args.length) {
+                builder.append(args[i - 1]);
+            } else {
+                builder.append(SLOT);
+            }
+            builder.append(literals[i]);
+        }
+        return builder;
+    }
+
+    /* Formatting into an `Appendable` */
+
+    @CanIgnoreReturnValue
+    public <A extends Appendable> @NotNull A formatTo(@NotNull A out, @Nullable Object arg)
+            throws UncheckedIOException {
+        try {
+            String str = String.valueOf(arg);
+            out.append(literals[0]);
+            for (int i = 1; i < literals.length; i++) {
+                out.append(str).append(literals[i]);
+            }
+            return out;
+        } catch (IOException e) {
+            return Unchecked.rethrow(e);
+        }
+    }
+
+    @CanIgnoreReturnValue
+    public <A extends Appendable> @NotNull A formatTo(@NotNull A out, long arg) throws UncheckedIOException {
+        try {
+            out.append(literals[0]);
+            for (int i = 1; i < literals.length; i++) {
+                appendDecimal(out, arg);
+                out.append(literals[i]);
+            }
+            return out;
+        } catch (IOException e) {
+            return Unchecked.rethrow(e);
+        }
+    }
+
+    @CanIgnoreReturnValue
+    public <A extends Appendable> @NotNull A formatTo(@NotNull A out, boolean arg) throws UncheckedIOException {
+        return formatTo(out, (Object) (arg ? "true" : "false"));
+    }
+
+    @CanIgnoreReturnValue
+    public <A extends Appendable> @NotNull A formatTo(@NotNull A out, long first, long second)
+            throws UncheckedIOException {
+        try {
+            out.append(literals[0]);
+            for (int i = 1; i < literals.length; i++) {
+                switch (i) {
+                    case 1 -> appendDecimal(out, first);
+                    case 2 -> appendDecimal(out, second);
+                    default -> out.append(SLOT);
+                }
+                out.append(literals[i]);
+            }
+            return out;
+        } catch (IOException e) {
+            return Unchecked.rethrow(e);
+        }
+    }
+
+    @CanIgnoreReturnValue
+    public <A extends Appendable> @NotNull A formatAllTo(@NotNull A out, @Nullable Object @NotNull... args)
+            throws UncheckedIOException {
+        try {
+            out.append(literals[0]);
+            for (int i = 1; i < literals.length; i++) {
+                out.append(i <= args.length ? String.valueOf(args[i - 1]) : SLOT);
+                out.append(literals[i]);
+            }
+            return out;
+        } catch (IOException e) {
+            return Unchecked.rethrow(e);
+        }
+    }
+
+    /* Formatting into a `MutableCharArray` */
+
+    // The `target` is reused as a buffer: the result is written from its start up to the end of the underlying array
+    // and the `target` is sliced to the result. Throws `BufferOverflowException` if the array is too small.
+
+    @CanIgnoreReturnValue
+    public @NotNull MutableCharArray formatTo(@NotNull MutableCharArray target, @Nullable Object arg) {
+        return sliceWritten(target, formatTo(openForWrite(target), arg));
+    }
+
+    @CanIgnoreReturnValue
+    public @NotNull MutableCharArray formatTo(@NotNull MutableCharArray target, long arg) {
+        return sliceWritten(target, formatTo(openForWrite(target), arg));
+    }
+
+    @CanIgnoreReturnValue
+    public @NotNull MutableCharArray formatTo(@NotNull MutableCharArray target, boolean arg) {
+        return sliceWritten(target, formatTo(openForWrite(target), arg));
+    }
+
+    @CanIgnoreReturnValue
+    public @NotNull MutableCharArray formatTo(@NotNull MutableCharArray target, long first, long second) {
+        return sliceWritten(target, formatTo(openForWrite(target), first, second));
     }
 
+    @CanIgnoreReturnValue
+    public @NotNull MutableCharArray formatAllTo(@NotNull MutableCharArray target, @Nullable Object @NotNull... args) {
+        return sliceWritten(target, formatAllTo(openForWrite(target), args));
+    }
+
+    private static @NotNull CharBuffer openForWrite(@NotNull MutableCharArray target) {
+        target.resetEnd();
+        return target.asNioBuffer();
+    }
+
+    private static @NotNull MutableCharArray sliceWritten(@NotNull MutableCharArray target,
+                                                          @NotNull CharBuffer buffer) {
+        target.sliceUntilInPlace(buffer.position() - target.start());
+        return target;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+
+    /* Implementation details */
+
+    private static @NotNull String @NotNull[] compile(@NotNull String pattern) {
+        ArrayList<String> literals = new ArrayList<>();
+        int prevStart = 0;
+        int newStart;
+        while ((newStart = pattern.indexOf(SLOT, prevStart)) != -1) {
+            literals.add(pattern.substring(prevStart, newStart));
+            prevStart = newStart + SLOT.length();
+        }
+        literals.add(pattern.substring(prevStart));
+        return literals.toArray(String[]::new);
+    }
+
+    // Writes the decimal digits from the most significant one, without the intermediate string.
+    // Works with the negative value to cover `Long.MIN_VALUE`.
+    /*package*/ static void appendDecimal(@NotNull Appendable out, long value) throws IOException {
+        long negative = value;
+        if (value < 0) {
+            out.append('-');
+        } else {
+            negative = -value;
+        }
+        long power = 1;
+        while (negative / power <= -10) {
+            power *= 10;
+        }
+        for (; power > 0; power /= 10) {
+            out.append((char) ('0' - (negative / power) % 10));
+        }
+    }
+
+    /* Static one-off formatting */
+
     public static @NotNull String format(@NotNull String pattern, @Nullable Object arg) {
         return pattern.replace("%s", String.valueOf(arg));
     }
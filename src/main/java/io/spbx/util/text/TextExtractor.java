@@ -15,8 +15,13 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.annotation.concurrent.Immutable;
+import java.io.Reader;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.ObjIntConsumer;
@@ -76,22 +81,65 @@ public class TextExtractor {
         return result;
     }
 
+    /**
+     * Compiles the actions into a single forward pass over the input, see {@link CompiledTextExtractor}.
+     */
+    public @NotNull CompiledTextExtractor compile() {
+        return new CompiledTextExtractor(actions);
+    }
+
+    /**
+     * Extracts from the {@code reader} incrementally with the bounded memory,
+     * see {@link CompiledTextExtractor#extract(Reader, BiConsumer)}.
+     */
+    public void extract(@NotNull Reader reader, @NotNull BiConsumer<String, Extracted> consumer) {
+        compile().extract(reader, consumer);
+    }
+
+    /**
+     * Extracts from each of the {@code documents} in parallel on the virtual threads, one worker per core.
+     * See {@link TextExtractorBatch} for the consumer contract.
+     */
+    public @NotNull TextExtractorBatch.Stats extractAll(
+            @NotNull Stream<? extends CharSequence> documents,
+            @NotNull BiConsumer<? super CharSequence, ExtractedMap> consumer) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            int parallelism = Runtime.getRuntime().availableProcessors();
+            return new TextExtractorBatch(actions).run(documents.iterator(), executor, parallelism, consumer);
+        }
+    }
+
+    /**
+     * Extracts from each of the {@code documents} in parallel on the {@code executor} with {@code parallelism}
+     * workers. See {@link TextExtractorBatch} for the consumer contract.
+     */
+    public @NotNull TextExtractorBatch.Stats extractAll(
+            @NotNull Iterable<? extends CharSequence> documents,
+            @NotNull Executor executor,
+            int parallelism,
+            @NotNull BiConsumer<? super CharSequence, ExtractedMap> consumer) {
+        return new TextExtractorBatch(actions).run(documents.iterator(), executor, parallelism, consumer);
+    }
+
     /* Actions */
 
     public static @NotNull MatchAction skipTo(@NotNull CharSequence mark) {
         CharArray mark_arr = CharArray.asCharArray(mark);
         return new MatchAction(mark) {
-            @Override void applyTo(@NotNull MutableCharArray array) {
-                int i = assureNonNegative(array.indexOf(mark_arr), "mark not found `%s`", mark);
+            @Override void applyTo(@NotNull MutableCharArray array, @NotNull ExtractCallback callback) {
+                int i = assureNonNegative(array.indexOf(mark_arr), callback, "mark not found `%s`", mark);
                 moveTo.get().moveForward(array, i, i + mark_arr.length());
             }
+            @Override @NotNull CharArray @Nullable[] literalMarks() {
+                return new CharArray[] { mark_arr };
+            }
         };
     }
 
     public static @NotNull MatchAction skipTo(@NotNull Pattern pattern) {
         return new MatchAction(pattern.pattern()) {
-            @Override void applyTo(@NotNull MutableCharArray array) {
-                Matcher matcher = assureNonNull(array.indexOf(pattern), "pattern not found `%s`", pattern);
+            @Override void applyTo(@NotNull MutableCharArray array, @NotNull ExtractCallback callback) {
+                Matcher matcher = assureNonNull(array.indexOf(pattern), callback, "pattern not found `%s`", pattern);
                 if (matcher != null) {
                     moveTo.get().moveForward(array, matcher.start(), matcher.end());
                 }
@@ -102,8 +150,8 @@ public class TextExtractor {
     public static @NotNull MatchAction skipBackwardTo(@NotNull CharSequence mark) {
         CharArray mark_arr = CharArray.asCharArray(mark);
         return new MatchAction(mark) {
-            @Override void applyTo(@NotNull MutableCharArray array) {
-                int i = assureNonNegative(array.lastIndexOf(mark_arr), "backward mark not found `%s`", mark);
+            @Override void applyTo(@NotNull MutableCharArray array, @NotNull ExtractCallback callback) {
+                int i = assureNonNegative(array.lastIndexOf(mark_arr), callback, "backward mark not found `%s`", mark);
                 moveTo.get().moveBack(array, i + mark_arr.length(), i);
             }
         };
@@ -113,9 +161,9 @@ public class TextExtractor {
         CharArray start_arr = CharArray.asCharArray(start);
         CharArray end_arr = CharArray.asCharArray(end);
         return new IntoRegionAction(start) {
-            @Override void applyTo(@NotNull MutableCharArray array) {
-                int i = assureNonNegative(array.indexOf(start_arr), "start mark not found `%s`", start);
-                int j = assureNonNegative(array.lastIndexOf(end_arr), "end mark not found `%s`", end);
+            @Override void applyTo(@NotNull MutableCharArray array, @NotNull ExtractCallback callback) {
+                int i = assureNonNegative(array.indexOf(start_arr), callback, "start mark not found `%s`", start);
+                int j = assureNonNegative(array.lastIndexOf(end_arr), callback, "end mark not found `%s`", end);
                 moveTo.get().moveInto(array, i, i + start_arr.length(), j, j + end_arr.length());
             }
         };
@@ -123,11 +171,12 @@ public class TextExtractor {
 
     public static @NotNull RegexMatchAction narrowDownTo(@NotNull Pattern pattern) {
         return new RegexMatchAction(pattern.pattern()) {
-            @Override void applyTo(@NotNull MutableCharArray array) {
-                Matcher matcher = assureNonNull(array.indexOf(pattern), "pattern not found `%s`", pattern);
+            @Override void applyTo(@NotNull MutableCharArray array, @NotNull ExtractCallback callback) {
+                Matcher matcher = assureNonNull(array.indexOf(pattern), callback, "pattern not found `%s`", pattern);
                 if (matcher != null) {
                     int group = this.group.get();
-                    assure(matcher.groupCount() >= group, "pattern `%s` doesn't have group %d", pattern, group);
+                    assure(matcher.groupCount() >= group, callback,
+                           "pattern `%s` doesn't have group %d", pattern, group);
                     moveTo.get().moveInto(array, matcher.start(), matcher.start(group), matcher.end(group), matcher.end());
                 }
             }
@@ -138,9 +187,10 @@ public class TextExtractor {
         CharArray start_arr = CharArray.asCharArray(start);
         CharArray end_arr = CharArray.asCharArray(end);
         return new RegionMatchCapture(start) {
-            @Override @Nullable CharArray captureFrom(@NotNull MutableCharArray array) {
-                int i = assureNonNegative(array.indexOf(start_arr), "start mark not found `%s`", start);
-                int j = i < 0 ? -1 : assureNonNegative(array.indexOf(end_arr, i + start_arr.length()),
+            @Override @Nullable CharArray captureFrom(@NotNull MutableCharArray array,
+                                                      @NotNull ExtractCallback callback) {
+                int i = assureNonNegative(array.indexOf(start_arr), callback, "start mark not found `%s`", start);
+                int j = i < 0 ? -1 : assureNonNegative(array.indexOf(end_arr, i + start_arr.length()), callback,
                                                        "end mark not found `%s`", end);
                 if (i >= 0 && j >= 0) {
                     CharArray result = array.substring(i + start_arr.length(), j);
@@ -149,17 +199,22 @@ public class TextExtractor {
                 }
                 return null;
             }
+            @Override @NotNull CharArray @Nullable[] literalMarks() {
+                return new CharArray[] { start_arr, end_arr };
+            }
         };
     }
 
     public static @NotNull MatchMultiCapture capturePattern(@NotNull Pattern pattern) {
         return new MatchMultiCapture(pattern.pattern()) {
-            @Override void captureFrom(@NotNull MutableCharArray array, @NotNull Consumer<CharArray> callback) {
-                Matcher matcher = assureNonNull(array.indexOf(pattern), "pattern not found `%s`", pattern);
+            @Override void captureFrom(@NotNull MutableCharArray array,
+                                       @NotNull ExtractCallback callback,
+                                       @NotNull Consumer<CharArray> results) {
+                Matcher matcher = assureNonNull(array.indexOf(pattern), callback, "pattern not found `%s`", pattern);
                 if (matcher != null) {
                     for (int i = 0; i <= matcher.groupCount(); i++) {
                         CharArray result = array.substring(matcher.start(i), matcher.end(i));
-                        callback.accept(result);
+                        results.accept(result);
                     }
                     moveTo.get().moveForward(array, matcher.start(), matcher.end());
                 }
@@ -178,7 +233,7 @@ public class TextExtractor {
                 Stream.of(actions).forEach(Action::sealIfNotYet);
             }
             @Override void applyTo(@NotNull String ignore, @NotNull MutableCharArray array, @NotNull ExtractCallback callback) {
-                int maxIterations = this.maxIterations.get() >= 0 ? this.maxIterations.get() : Integer.MAX_VALUE;
+                int maxIterations = maxIterationsOrUnlimited();
                 for (int iteration = 0; iteration < maxIterations; iteration++) {
                     int start = array.start();
                     int end = array.end();
@@ -191,7 +246,10 @@ public class TextExtractor {
                         return;
                     }
                 }
-                applyFallback(() -> "Repeat has not completed after %s iterations".formatted(maxIterations));
+                applyFallback(callback, () -> "Repeat has not completed after %s iterations".formatted(maxIterations));
+            }
+            @Override @NotNull Action @NotNull[] nestedActions() {
+                return actions;
             }
         };
     }
@@ -261,23 +319,32 @@ public class TextExtractor {
 
         abstract void applyTo(@NotNull String name, @NotNull MutableCharArray array, @NotNull ExtractCallback callback);
 
-        int assureNonNegative(int value, @NotNull String message, @Nullable Object @NotNull ... args) {
-            assure(value >= 0, message, args);
+        // The marks if the action only searches for the literal marks forward, hence can be compiled
+        @NotNull CharArray @Nullable[] literalMarks() {
+            return null;
+        }
+
+        int assureNonNegative(int value, @NotNull ExtractCallback callback,
+                              @NotNull String message, @Nullable Object @NotNull ... args) {
+            assure(value >= 0, callback, message, args);
             return value;
         }
 
-        <R> R assureNonNull(@Nullable R value, @NotNull String message, @Nullable Object @NotNull ... args) {
-            assure(value != null, message, args);
+        <R> R assureNonNull(@Nullable R value, @NotNull ExtractCallback callback,
+                            @NotNull String message, @Nullable Object @NotNull ... args) {
+            assure(value != null, callback, message, args);
             return value;
         }
 
-        void assure(boolean condition, @NotNull String message, @Nullable Object @NotNull ... args) {
+        void assure(boolean condition, @NotNull ExtractCallback callback,
+                    @NotNull String message, @Nullable Object @NotNull ... args) {
             if (!condition) {
-                applyFallback(() -> message.formatted(args));
+                applyFallback(callback, () -> message.formatted(args));
             }
         }
 
-        void applyFallback(@NotNull Supplier<String> message) {
+        void applyFallback(@NotNull ExtractCallback callback, @NotNull Supplier<String> message) {
+            callback.onFallback(name(), fallback.get());
             switch (fallback.get()) {
                 case IGNORE -> {}
                 case LOG_DEBUG -> log.debug().log(message.get());
@@ -334,9 +401,9 @@ public class TextExtractor {
 
         @Override void applyTo(@NotNull String name, @NotNull MutableCharArray array, @NotNull ExtractCallback callback) {
             checkIsInitializedOrDie();
-            applyTo(array);
+            applyTo(array, callback);
         }
-        abstract void applyTo(@NotNull MutableCharArray array);
+        abstract void applyTo(@NotNull MutableCharArray array, @NotNull ExtractCallback callback);
     }
 
     public static abstract @Immutable class MatchAction extends NonCaptureAction<MatchAction, MoveTo> {
@@ -408,16 +475,20 @@ public class TextExtractor {
 
         @Override void applyTo(@NotNull String name, @NotNull MutableCharArray array, @NotNull ExtractCallback callback) {
             checkIsInitializedOrDie();
-            CharArray captured = captureFrom(array);
+            CharArray captured = captureFrom(array, callback);
             if (captured != null) {
-                CharArray sanitized = sanitize(captured);
-                Object value = convert(sanitized);
-                consumer.get().accept(sanitized);
-                callback.onCapture(name, sanitized, value);
+                onCaptured(name, captured, callback);
             }
         }
 
-        abstract @Nullable CharArray captureFrom(@NotNull MutableCharArray array);
+        void onCaptured(@NotNull String name, @NotNull CharArray captured, @NotNull ExtractCallback callback) {
+            CharArray sanitized = sanitize(captured);
+            Object value = convert(sanitized);
+            consumer.get().accept(sanitized);
+            callback.onCapture(name, sanitized, value);
+        }
+
+        abstract @Nullable CharArray captureFrom(@NotNull MutableCharArray array, @NotNull ExtractCallback callback);
     }
 
     public static abstract @Immutable class MatchCapture extends Capture<MatchCapture, MoveTo> {
@@ -476,7 +547,7 @@ public class TextExtractor {
 
         @Override void applyTo(@NotNull String name, @NotNull MutableCharArray array, @NotNull ExtractCallback callback) {
             checkIsInitializedOrDie();
-            captureFrom(array, new Consumer<>() {
+            captureFrom(array, callback, new Consumer<>() {
                 private int count = 0;
                 @Override public void accept(@NotNull CharArray captured) {
                     CharArray sanitized = sanitize(captured);
@@ -488,7 +559,9 @@ public class TextExtractor {
             });
         }
 
-        abstract void captureFrom(@NotNull MutableCharArray array, @NotNull Consumer<CharArray> callback);
+        abstract void captureFrom(@NotNull MutableCharArray array,
+                                  @NotNull ExtractCallback callback,
+                                  @NotNull Consumer<CharArray> results);
     }
 
     public static abstract @Immutable class MatchMultiCapture extends MultiCapture<MatchMultiCapture, MoveTo> {
@@ -515,10 +588,21 @@ public class TextExtractor {
             this.maxIterations.sealIfNotYet(iterations);
             return this;
         }
+
+        int maxIterationsOrUnlimited() {
+            return this.maxIterations.get() >= 0 ? this.maxIterations.get() : Integer.MAX_VALUE;
+        }
+
+        @NotNull Action @NotNull[] nestedActions() {
+            return new Action[0];
+        }
     }
 
     interface ExtractCallback {
         void onCapture(@NotNull String actionName, @NotNull CharArray captured, @Nullable Object converted);
+
+        // Called when the action fails, before the `fallback` is applied (i.e. before the throw for `THROW`)
+        default void onFallback(@NotNull String actionName, @NotNull Fallback fallback) {}
     }
 
     public enum Fallback {
@@ -647,6 +731,10 @@ public class TextExtractor {
             return map;
         }
 
+        void clear() {
+            map.clear();
+        }
+
         @Override public String toString() {
             return map.toString();
         }
@@ -0,0 +1,217 @@
+package io.spbx.util.text;
+
+import com.google.common.collect.ImmutableList;
+import io.spbx.util.base.error.BasicExceptions.IllegalArgumentExceptions;
+import io.spbx.util.base.str.CharArray;
+import io.spbx.util.base.str.MutableCharArray;
+import io.spbx.util.text.TextExtractor.Action;
+import io.spbx.util.text.TextExtractor.ExtractCallback;
+import io.spbx.util.text.TextExtractor.ExtractedMap;
+import io.spbx.util.text.TextExtractor.Fallback;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * Runs the same {@link TextExtractor} over many documents in parallel.
+ * <p>
+ * The documents are pulled by the fixed number of the workers, each worker owns the scratch buffer for the chars
+ * and the {@link ExtractedMap} which are reused from document to document. Hence, the map passed to the consumer,
+ * as well as the captured {@link CharArray}s in it, are valid only until the consumer returns. The consumer is
+ * called concurrently from the workers.
+ * <p>
+ * The top-level actions are timed and their fallbacks are counted, see {@link Stats}. When the action fails with
+ * the {@link Fallback#THROW}, the rest of the document is skipped and the document counts as failed.
+ * Any other exception stops the batch and is rethrown to the caller.
+ */
+@ThreadSafe
+public class TextExtractorBatch {
+    private final ImmutableList<Action> actions;
+
+    /*package*/ TextExtractorBatch(@NotNull ImmutableList<Action> actions) {
+        this.actions = actions;
+    }
+
+    public @NotNull Stats run(@NotNull Iterator<? extends CharSequence> documents,
+                              @NotNull Executor executor,
+                              int parallelism,
+                              @NotNull BiConsumer<? super CharSequence, ExtractedMap> consumer) {
+        IllegalArgumentExceptions.assure(parallelism > 0, "Parallelism must be positive: %s", parallelism);
+        Source source = new Source(documents);
+        List<Worker> workers = new ArrayList<>(parallelism);
+        List<CompletableFuture<Void>> futures = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            Worker worker = new Worker(source, consumer);
+            workers.add(worker);
+            futures.add(CompletableFuture.runAsync(worker, executor));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            source.stop();
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+        }
+        return Stats.merge(actions, workers);
+    }
+
+    private static final class Source extends ReentrantLock {
+        private final Iterator<? extends CharSequence> iterator;
+        private volatile boolean stopped = false;
+
+        Source(@NotNull Iterator<? extends CharSequence> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Nullable CharSequence next() {
+            lock();
+            try {
+                return !stopped && iterator.hasNext() ? iterator.next() : null;
+            } finally {
+                unlock();
+            }
+        }
+
+        void stop() {
+            stopped = true;
+        }
+    }
+
+    private final class Worker implements Runnable, ExtractCallback {
+        private final Source source;
+        private final BiConsumer<? super CharSequence, ExtractedMap> consumer;
+        private final ExtractedMap result = new ExtractedMap();
+        private final long[] nanos = new long[actions.size()];
+        private final long[] fallbacks = new long[actions.size()];
+        private final long[] aborts = new long[actions.size()];
+        private int current = 0;            // the index of the running action
+        private boolean aborted = false;    // whether the running action has thrown via the `THROW` fallback
+        private char[] scratch = new char[1024];
+        private long documents = 0;
+
+        Worker(@NotNull Source source, @NotNull BiConsumer<? super CharSequence, ExtractedMap> consumer) {
+            this.source = source;
+            this.consumer = consumer;
+        }
+
+        @Override public void run() {
+            try {
+                CharSequence document;
+                while ((document = source.next()) != null) {
+                    process(document);
+                    documents++;
+                }
+            } catch (RuntimeException e) {
+                source.stop();
+                throw e;
+            }
+        }
+
+        @Override public void onCapture(@NotNull String actionName,
+                                        @NotNull CharArray captured,
+                                        @Nullable Object converted) {
+            result.put(actionName, captured, converted);
+        }
+
+        @Override public void onFallback(@NotNull String actionName, @NotNull Fallback fallback) {
+            fallbacks[current]++;
+            aborted = fallback == Fallback.THROW;
+        }
+
+        private void process(@NotNull CharSequence document) {
+            MutableCharArray array = copyToScratch(document);
+            result.clear();
+            for (int i = 0; i < actions.size(); i++) {
+                current = i;
+                aborted = false;
+                long start = System.nanoTime();
+                try {
+                    actions.get(i).apply(array, this);
+                } catch (RuntimeException e) {
+                    if (!aborted) {
+                        throw e;
+                    }
+                    aborts[i]++;
+                    return;
+                } finally {
+                    nanos[i] += System.nanoTime() - start;
+                }
+            }
+            consumer.accept(document, result);
+        }
+
+        private @NotNull MutableCharArray copyToScratch(@NotNull CharSequence document) {
+            int length = document.length();
+            if (scratch.length < length) {
+                scratch = new char[Math.max(length, scratch.length * 2)];
+            }
+            if (document instanceof String string) {
+                string.getChars(0, length, scratch, 0);
+            } else {
+                for (int i = 0; i < length; i++) {
+                    scratch[i] = document.charAt(i);
+                }
+            }
+            return MutableCharArray.wrap(scratch, 0, length);
+        }
+    }
+
+    /**
+     * The totals of the batch run.
+     *
+     * @param documents the number of documents processed, including failed
+     * @param failedDocuments the number of documents aborted by the {@link Fallback#THROW} fallback
+     * @param actions the totals per top-level action, in the order of the actions
+     */
+    public record Stats(long documents, long failedDocuments, @NotNull ImmutableList<ActionStats> actions) {
+        private static @NotNull Stats merge(@NotNull List<Action> actions, @NotNull List<Worker> workers) {
+            long documents = 0;
+            long failed = 0;
+            long[] calls = new long[actions.size()];
+            long[] nanos = new long[actions.size()];
+            long[] fallbacks = new long[actions.size()];
+            long[] aborts = new long[actions.size()];
+            for (Worker worker : workers) {
+                documents += worker.documents;
+                for (int i = 0; i < actions.size(); i++) {
+                    nanos[i] += worker.nanos[i];
+                    fallbacks[i] += worker.fallbacks[i];
+                    aborts[i] += worker.aborts[i];
+                    failed += worker.aborts[i];
+                }
+            }
+            ImmutableList.Builder<ActionStats> builder = ImmutableList.builder();
+            long reached = documents;
+            for (int i = 0; i < actions.size(); i++) {
+                calls[i] = reached;
+                reached -= aborts[i];
+                builder.add(new ActionStats(actions.get(i).name(), calls[i], nanos[i], fallbacks[i], aborts[i]));
+            }
+            return new Stats(documents, failed, builder.build());
+        }
+    }
+
+    /**
+     * The totals of a single top-level action.
+     * The fallbacks of the nested actions (e.g. in {@link TextExtractor#repeat}) count towards the top-level one.
+     *
+     * @param name the action name
+     * @param calls the number of documents the action was applied to
+     * @param nanos the total time spent in the action
+     * @param fallbacks the number of failures handled by the fallback, of any kind
+     * @param aborts the number of documents aborted by the {@link Fallback#THROW} fallback
+     */
+    public record ActionStats(@NotNull String name, long calls, long nanos, long fallbacks, long aborts) {
+        public double averageNanos() {
+            return calls > 0 ? (double) nanos / calls : 0;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package io.spbx.util.time;
+
+import io.spbx.util.base.error.BasicExceptions.IllegalArgumentExceptions;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongPredicate;
+
+/**
+ * A thread-safe {@link RealTimeLog} for counting the events from many threads.
+ * <p>
+ * The appends go to the striped buffers (picked by the thread id), so that the writers rarely contend.
+ * The full buffers are merged into the compressed {@link RealTimeLog8} layout.
+ * <p>
+ * The timestamps coming from different threads are not necessarily ordered. The merge keeps the values
+ * within the {@code tolerance} of the newest seen value pending (the watermark), sorts them and appends
+ * to the compressed log only the values below the watermark. Hence the values arriving at most {@code tolerance}
+ * late are stored exactly, the later ones are clamped up to the last stored value.
+ * <p>
+ * The queries drain all buffers before counting, so every append completed before the query
+ * is counted: {@link #countGreaterThan} and {@link #countInRange} are linearizable, with the values
+ * precise within the {@code tolerance}. The queries and iteration are more expensive than the appends:
+ * they lock every stripe in turn and run the predicate under the merge lock.
+ */
+@ThreadSafe
+public class ConcurrentRealTimeLog implements RealTimeLog {
+    private static final int DEFAULT_STRIPE_CAPACITY = 64;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final long tolerance;
+    private final ReentrantLock mergeLock = new ReentrantLock();
+    private final RealTimeLog8 log;             // guarded by the merge lock
+    private long[] pending = new long[16];      // guarded by the merge lock, sorted after each merge
+    private int pendingSize;                    // guarded by the merge lock
+    private long lastStored = 0;                // guarded by the merge lock
+
+    private ConcurrentRealTimeLog(@NotNull RealTimeLog8 log, int stripes, int stripeCapacity, long tolerance) {
+        IllegalArgumentExceptions.assure(stripes > 0, "Stripes must be positive: %s", stripes);
+        IllegalArgumentExceptions.assure(stripeCapacity > 0, "Stripe capacity must be positive: %s", stripeCapacity);
+        IllegalArgumentExceptions.assure(tolerance >= 0, "Tolerance must not be negative: %s", tolerance);
+        int numStripes = Integer.highestOneBit(stripes - 1) << 1;  // next power of two
+        this.stripes = new Stripe[Math.max(numStripes, 1)];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new Stripe(stripeCapacity);
+        }
+        this.stripeMask = this.stripes.length - 1;
+        this.tolerance = tolerance;
+        this.log = log;
+    }
+
+    /**
+     * Allocates the log with the given number of {@code stripes} (rounded up to a power of two),
+     * the {@code blockSize} of the underlying {@link RealTimeLog8} and the allowed lateness {@code tolerance}
+     * (in the units of the values).
+     */
+    public static @NotNull ConcurrentRealTimeLog allocate(int stripes, int blockSize, long tolerance) {
+        RealTimeLog8 log = RealTimeLog8.allocate(blockSize);
+        return new ConcurrentRealTimeLog(log, stripes, DEFAULT_STRIPE_CAPACITY, tolerance);
+    }
+
+    public static @NotNull ConcurrentRealTimeLog allocate(long tolerance) {
+        RealTimeLog8 log = RealTimeLog8.allocate();
+        return new ConcurrentRealTimeLog(log, defaultStripes(), DEFAULT_STRIPE_CAPACITY, tolerance);
+    }
+
+    public int stripes() {
+        return stripes.length;
+    }
+
+    public long tolerance() {
+        return tolerance;
+    }
+
+    @Override
+    public int size() {
+        drainAll();
+        mergeLock.lock();
+        try {
+            return log.size() + pendingSize;
+        } finally {
+            mergeLock.unlock();
+        }
+    }
+
+    @Override
+    public void append(long value) {
+        assert value >= 0 : "Value must be non-negative: " + value;
+        Stripe stripe = stripes[probe() & stripeMask];
+        stripe.lock();
+        try {
+            stripe.buffer[stripe.size++] = value;
+            if (stripe.size == stripe.buffer.length) {
+                drain(stripe);
+            }
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    @Override
+    public <P extends LongPredicate> @NotNull P iterate(@NotNull P predicate) {
+        drainAll();
+        mergeLock.lock();
+        try {
+            var tracking = new LongPredicate() {
+                boolean stopped = false;
+                @Override public boolean test(long value) {
+                    stopped = !predicate.test(value);
+                    return !stopped;
+                }
+            };
+            log.iterate(tracking);
+            for (int i = 0; i < pendingSize && !tracking.stopped; i++) {
+                tracking.stopped = !predicate.test(pending[i]);
+            }
+            return predicate;
+        } finally {
+            mergeLock.unlock();
+        }
+    }
+
+    @Override
+    public <P extends LongPredicate> @NotNull P reverseIterate(@NotNull P predicate) {
+        drainAll();
+        mergeLock.lock();
+        try {
+            for (int i = pendingSize - 1; i >= 0; i--) {
+                if (!predicate.test(pending[i])) {
+                    return predicate;
+                }
+            }
+            return log.reverseIterate(predicate);
+        } finally {
+            mergeLock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrentRealTimeLog: " + toArrayList();
+    }
+
+    /* Implementation details */
+
+    // Lock order: stripe, then merge.
+    private void drainAll() {
+        for (Stripe stripe : stripes) {
+            stripe.lock();
+            try {
+                if (stripe.size > 0) {
+                    drain(stripe);
+                }
+            } finally {
+                stripe.unlock();
+            }
+        }
+    }
+
+    private void drain(@NotNull Stripe stripe) {
+        assert stripe.isHeldByCurrentThread() : "Stripe lock is not held";
+        mergeLock.lock();
+        try {
+            merge(stripe.buffer, stripe.size);
+            stripe.size = 0;
+        } finally {
+            mergeLock.unlock();
+        }
+    }
+
+    private void merge(long[] batch, int batchSize) {
+        if (pendingSize + batchSize > pending.length) {
+            pending = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingSize + batchSize));
+        }
+        System.arraycopy(batch, 0, pending, pendingSize, batchSize);
+        pendingSize += batchSize;
+        Arrays.sort(pending, 0, pendingSize);
+
+        long watermark = pending[pendingSize - 1] - tolerance;
+        int stored = 0;
+        while (stored < pendingSize && pending[stored] <= watermark) {
+            lastStored = Math.max(lastStored, pending[stored]);  // too late values are clamped
+            log.append(lastStored);
+            stored++;
+        }
+        System.arraycopy(pending, stored, pending, 0, pendingSize - stored);
+        pendingSize -= stored;
+    }
+
+    private static int probe() {
+        long id = Thread.currentThread().threadId();
+        int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int defaultStripes() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    private static final class Stripe extends ReentrantLock {
+        private final long[] buffer;  // guarded by the lock
+        private int size;             // guarded by the lock
+
+        Stripe(int capacity) {
+            this.buffer = new long[capacity];
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package io.spbx.util.time;
+
+import io.spbx.util.base.error.BasicExceptions.IllegalArgumentExceptions;
+import io.spbx.util.base.error.Unchecked;
+import io.spbx.util.io.UncheckedClosable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.VisibleForTesting;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.LongPredicate;
+import java.util.zip.CRC32C;
+
+import static io.spbx.util.base.error.BasicExceptions.newInternalError;
+import static io.spbx.util.base.error.BasicExceptions.newUncheckedIOException;
+
+/**
+ * Stores the {@link RealTimeLog} in a memory-mapped file, so that the log survives the restarts.
+ * <p>
+ * Uses the same delta-encoding as {@link RealTimeLog8}: the values are split into the blocks of {@code blockSize},
+ * each block stores the 32-bit span value and the 8-bit differences from it. The only difference is that
+ * the span is stored right before its block, so the file grows as a single region:
+ * <pre>
+ *     [preamble: magic, version, block size] [header slot 0] [header slot 1]
+ *     [span 0][block 0 diffs] [span 1][block 1 diffs] ...
+ * </pre>
+ * Supports only unsigned 32-bit timestamp values, i.e. longs in range {@code [0, 2^32 - 1]}.
+ * <p>
+ * Crash-safety: each {@link #append} writes the data first and then commits the new size into the header.
+ * The header is written into two alternating slots, each protected by a CRC32C checksum and a sequence number.
+ * On open, the valid slot with the latest sequence wins, so a torn header write rolls the log back to the previous
+ * append rather than corrupting it. The data beyond the committed position is ignored.
+ * The writes go to the OS page cache, i.e. survive the process crash. Call {@link #force()} to survive the OS crash.
+ * <p>
+ * Opening is {@code O(1)}: only the header is read, the data is paged in lazily by the queries.
+ * <p>
+ * Not thread-safe.
+ */
+public class MappedRealTimeLog implements RealTimeLog, UncheckedClosable {
+    private static final int DEFAULT_BLOCK_SIZE = 8;
+    private static final long MAX_UINT32 = (1L << 32) - 1;
+
+    private static final int MAGIC = 0x52544c38;  // "RTL8"
+    private static final int VERSION = 1;
+    private static final int PREAMBLE_SIZE = 16;  // magic, version, block size, reserved
+    private static final int SLOT_SIZE = 24;      // sequence, size, pos, checksum
+    @VisibleForTesting static final int HEADER_SIZE = 64;
+    private static final int INITIAL_BLOCKS = 64;
+
+    private final FileChannel channel;
+    private final int blockSize;
+    private final int blockLog2;
+    private final int blockMask;
+    private final int blockStride;
+    private final CRC32C crc = new CRC32C();
+    private final ByteBuffer scratch = ByteBuffer.allocate(SLOT_SIZE);
+    private MappedByteBuffer buffer;
+    private int capacityBlocks;
+    private long spanValue;
+    private long sequence;
+    private int pos;
+    private int size;
+
+    private MappedRealTimeLog(@NotNull FileChannel channel, int blockSize) {
+        assert blockSize > 0 && blockSize <= 128 : "Invalid block size: " + blockSize;
+        assert Integer.bitCount(blockSize) == 1 : "Not a power of 2: " + blockSize;
+        this.channel = channel;
+        this.blockSize = blockSize;
+        this.blockLog2 = 31 - Integer.numberOfLeadingZeros(blockSize);
+        this.blockMask = blockSize - 1;
+        this.blockStride = Integer.BYTES + blockSize;
+        this.spanValue = -1;
+        assert this.blockSize == 1 << this.blockLog2 : newInternalError("Invalid block size: " + blockSize);
+    }
+
+    /**
+     * Opens the log stored in the {@code path} or creates a new one with the {@code blockSize} if the file is empty
+     * or does not exist. Throws {@link IllegalArgumentException} if the existing log has a different block size
+     * and {@link UncheckedIOException} if the file is not a valid log.
+     */
+    public static @NotNull MappedRealTimeLog open(@NotNull Path path, int blockSize) throws UncheckedIOException {
+        IllegalArgumentExceptions.assure(blockSize > 0 && blockSize <= 128 && Integer.bitCount(blockSize) == 1,
+                                         "Block size must be a power of 2 in [1, 128]: %s", blockSize);
+        try {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                                                   StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                if (channel.size() == 0) {
+                    MappedRealTimeLog log = new MappedRealTimeLog(channel, blockSize);
+                    log.initialize();
+                    return log;
+                }
+                int storedBlockSize = readPreamble(channel, path);
+                IllegalArgumentExceptions.assure(storedBlockSize == blockSize,
+                                                 "The log %s has a different block size: %s", path, storedBlockSize);
+                MappedRealTimeLog log = new MappedRealTimeLog(channel, storedBlockSize);
+                log.load(path);
+                return log;
+            } catch (RuntimeException | IOException e) {
+                channel.close();
+                throw e;
+            }
+        } catch (IOException e) {
+            return Unchecked.rethrow(e);
+        }
+    }
+
+    /**
+     * Opens the log stored in the {@code path} with any block size or creates a new one with the default block size.
+     */
+    public static @NotNull MappedRealTimeLog open(@NotNull Path path) throws UncheckedIOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                                                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            int blockSize = channel.size() == 0 ? DEFAULT_BLOCK_SIZE : readPreamble(channel, path);
+            return open(path, blockSize);
+        } catch (IOException e) {
+            return Unchecked.rethrow(e);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public int blockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Returns the size of the file in bytes, including the pre-allocated space.
+     */
+    public long fileSize() {
+        return HEADER_SIZE + (long) capacityBlocks * blockStride;
+    }
+
+    @Override
+    public void append(long value) {
+        assert value >= 0 : "Value must be non-negative: " + value;
+        assert value <= MAX_UINT32 : "Value is too large: " + value;
+        append((int) value);
+    }
+
+    public void append(int unsignedIntValue) {
+        long value = Integer.toUnsignedLong(unsignedIntValue);
+
+        if (spanValue == -1) {
+            startBlock(0, unsignedIntValue, value);
+        } else {
+            long diff = value - spanValue;
+            assert diff >= 0 : "Values may only go forward: current-span=%s, value=%s".formatted(spanValue, value);
+
+            if (diff >= 255 || (pos & blockMask) == 0) {
+                int next = nextBlockStart(pos - 1);
+                for (int i = pos; i < next; i++) {
+                    buffer.put(byteOffset(i), (byte) -1);
+                }
+                startBlock(next, unsignedIntValue, value);
+            } else {
+                buffer.put(byteOffset(pos), (byte) diff);
+                pos++;
+            }
+        }
+
+        size++;
+        commit();
+    }
+
+    @Override
+    public <P extends LongPredicate> @NotNull P iterate(@NotNull P predicate) {
+        long span = -1;
+        for (int i = 0; i < pos; i++) {
+            if ((i & blockMask) == 0) {
+                span = Integer.toUnsignedLong(buffer.getInt(blockOffset(i >> blockLog2)));
+            }
+            byte stored = buffer.get(byteOffset(i));
+            if (stored != -1 && !predicate.test(span + Byte.toUnsignedInt(stored))) {
+                return predicate;
+            }
+        }
+        return predicate;
+    }
+
+    @Override
+    public <P extends LongPredicate> @NotNull P reverseIterate(@NotNull P predicate) {
+        long span = spanValue;
+        for (int i = pos - 1; i >= 0; i--) {
+            byte stored = buffer.get(byteOffset(i));
+            if (stored != -1 && !predicate.test(span + Byte.toUnsignedInt(stored))) {
+                return predicate;
+            }
+            if ((i & blockMask) == 0 && i > 0) {
+                span = Integer.toUnsignedLong(buffer.getInt(blockOffset((i >> blockLog2) - 1)));
+            }
+        }
+        return predicate;
+    }
+
+    /**
+     * Flushes the changes to the storage device.
+     */
+    public void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws UncheckedIOException {
+        try {
+            force();
+            channel.close();
+        } catch (IOException e) {
+            Unchecked.rethrow(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MappedRealTimeLog: " + toArrayList();
+    }
+
+    /* Implementation details */
+
+    private void startBlock(int blockStart, int unsignedIntValue, long value) {
+        int block = blockStart >> blockLog2;
+        ensureCapacity(block);
+        buffer.putInt(blockOffset(block), unsignedIntValue);
+        buffer.put(byteOffset(blockStart), (byte) 0);  // the file may contain the garbage of a crashed append
+        spanValue = value;
+        pos = blockStart + 1;
+    }
+
+    private void initialize() throws IOException {
+        map(INITIAL_BLOCKS);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(8, blockSize);
+        commit();
+        commit();  // both slots are valid
+    }
+
+    private void load(@NotNull Path path) throws IOException {
+        long fileSize = channel.size();
+        long blocks = (fileSize - HEADER_SIZE) / blockStride;
+        if (fileSize < HEADER_SIZE || blocks > maxBlocks()) {
+            throw newUncheckedIOException("Invalid log file size: %s", path);
+        }
+        map(Math.max((int) blocks, 1));
+
+        long seq0 = readSlot(0), seq1 = readSlot(1);
+        if (seq0 < 0 && seq1 < 0) {
+            throw newUncheckedIOException("The log header is corrupted: %s", path);
+        }
+        int slot = seq0 > seq1 ? 0 : 1;
+        int offset = slotOffset(slot);
+        sequence = buffer.getLong(offset);
+        size = buffer.getInt(offset + 8);
+        pos = buffer.getInt(offset + 12);
+        if (size < 0 || size > pos || pos > capacityBlocks * blockSize) {
+            throw newUncheckedIOException("The log header is inconsistent: %s", path);
+        }
+        spanValue = pos > 0 ? Integer.toUnsignedLong(buffer.getInt(blockOffset((pos - 1) >> blockLog2))) : -1;
+    }
+
+    private static int readPreamble(@NotNull FileChannel channel, @NotNull Path path) throws IOException {
+        long size = Math.min(channel.size(), PREAMBLE_SIZE);
+        MappedByteBuffer preamble = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        preamble.order(ByteOrder.LITTLE_ENDIAN);
+        if (preamble.limit() < PREAMBLE_SIZE || preamble.getInt(0) != MAGIC) {
+            throw newUncheckedIOException("Not a real-time log file: %s", path);
+        }
+        if (preamble.getInt(4) != VERSION) {
+            throw newUncheckedIOException("Unsupported real-time log version: %s", preamble.getInt(4));
+        }
+        return preamble.getInt(8);
+    }
+
+    // Returns the sequence number of the slot or -1 if the checksum does not match
+    private long readSlot(int slot) {
+        int offset = slotOffset(slot);
+        long seq = buffer.getLong(offset);
+        int size = buffer.getInt(offset + 8);
+        int pos = buffer.getInt(offset + 12);
+        return buffer.getLong(offset + 16) == checksum(seq, size, pos) ? seq : -1;
+    }
+
+    private void commit() {
+        sequence++;
+        int offset = slotOffset((int) (sequence & 1));
+        buffer.putLong(offset, sequence);
+        buffer.putInt(offset + 8, size);
+        buffer.putInt(offset + 12, pos);
+        buffer.putLong(offset + 16, checksum(sequence, size, pos));
+    }
+
+    private long checksum(long seq, int size, int pos) {
+        scratch.clear().putLong(seq).putInt(size).putInt(pos).flip();
+        crc.reset();
+        crc.update(scratch);
+        return crc.getValue() | ((long) MAGIC << 32);  // an all-zero slot is never valid
+    }
+
+    private void ensureCapacity(int block) {
+        if (block >= capacityBlocks) {
+            IllegalArgumentExceptions.assure(block < maxBlocks(), "The log is too large: %s blocks", block);
+            try {
+                map((int) Math.min((long) capacityBlocks * 2, maxBlocks()));
+            } catch (IOException e) {
+                Unchecked.rethrow(e);
+            }
+        }
+    }
+
+    private void map(int blocks) throws IOException {
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) blocks * blockStride);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        capacityBlocks = blocks;
+    }
+
+    private int maxBlocks() {
+        return (Integer.MAX_VALUE - HEADER_SIZE) / blockStride;
+    }
+
+    private int blockOffset(int block) {
+        return HEADER_SIZE + block * blockStride;
+    }
+
+    private int byteOffset(int pos) {
+        return blockOffset(pos >> blockLog2) + Integer.BYTES + (pos & blockMask);
+    }
+
+    private static int slotOffset(int slot) {
+        return PREAMBLE_SIZE + slot * SLOT_SIZE;
+    }
+
+    @VisibleForTesting
+    int nextBlockStart(int pos) {
+        return blockSize + ((pos >> blockLog2) << blockLog2);
+    }
+}
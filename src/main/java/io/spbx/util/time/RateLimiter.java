@@ -0,0 +1,239 @@
+package io.spbx.util.time;
+
+import io.spbx.util.base.error.BasicExceptions.IllegalArgumentExceptions;
+import io.spbx.util.collect.container.IntSize;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.VisibleForTesting;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * A keyed sliding-window rate limiter: allows at most {@code limit} acquires per key within any {@code window}.
+ * <p>
+ * Each key is mapped to a compact {@link RealTimeLog8} of the acquire timestamps, measured in the ticks of
+ * the {@code resolution} since the limiter creation. The tick values fit in 32 bits, so the limiter covers
+ * {@code 2^32} ticks, e.g. 497 days at the {@code 10ms} resolution.
+ * <ul>
+ *     <li>{@link #tryAcquire} counts the timestamps in the window from the end of the log,
+ *     i.e. takes {@code O(limit)} time at most, and appends the new one.</li>
+ *     <li>The log of a key is truncated to the timestamps in the window once it grows twice the {@code limit},
+ *     so the memory per key is bounded by {@code O(limit)}.</li>
+ *     <li>The idle keys, i.e. with no timestamps in the window, are evicted by an incremental sweep:
+ *     every {@code 64}-th acquire checks the next {@code 128} keys, resuming where the previous step stopped.
+ *     Hence the sweep keeps up with the new keys, while no acquire pays more than a bounded step.</li>
+ * </ul>
+ * The keys are independent: the acquires of different keys never contend, except for the hash map updates.
+ * Each key log is guarded by its own lock.
+ */
+@ThreadSafe
+public class RateLimiter<K> implements IntSize {
+    private static final int BLOCK_SIZE = 4;
+    private static final long MAX_TICKS = (1L << 32) - 1;
+    private static final int SWEEP_PERIOD = 64;    // acquires between the sweep steps
+    private static final int SWEEP_BATCH = 128;    // keys checked per sweep step, i.e. 2 per acquire on average
+
+    private final int limit;
+    private final long windowTicks;
+    private final long resolutionMillis;
+    private final LongSupplier millisClock;
+    private final long startMillis;
+    private final ConcurrentHashMap<K, KeyLog> logs = new ConcurrentHashMap<>();
+    private final AtomicInteger acquiresSinceSweep = new AtomicInteger();
+    private final ReentrantLock sweepLock = new ReentrantLock();
+    private Iterator<Map.Entry<K, KeyLog>> sweepCursor = null;   // guarded by the sweep lock
+
+    /**
+     * Creates the rate limiter with the {@code limit} per {@code window} and the timestamp {@code resolution},
+     * reading the time in millis from the {@code millisClock}.
+     */
+    public RateLimiter(int limit, @NotNull Duration window, @NotNull Duration resolution,
+                       @NotNull LongSupplier millisClock) {
+        IllegalArgumentExceptions.assure(limit > 0, "Limit must be positive: %s", limit);
+        IllegalArgumentExceptions.assure(resolution.toMillis() > 0, "Resolution must be at least 1ms: %s", resolution);
+        IllegalArgumentExceptions.assure(window.compareTo(resolution) >= 0,
+                                         "Window %s must not be less than resolution %s", window, resolution);
+        this.limit = limit;
+        this.resolutionMillis = resolution.toMillis();
+        this.windowTicks = window.toMillis() / resolutionMillis;
+        this.millisClock = millisClock;
+        this.startMillis = millisClock.getAsLong();
+    }
+
+    /**
+     * Creates the rate limiter with the {@code limit} per {@code window}, with the resolution of 1% of the window
+     * (but at least 1ms), using the system clock.
+     */
+    public static <K> @NotNull RateLimiter<K> of(int limit, @NotNull Duration window) {
+        Duration resolution = Duration.ofMillis(Math.max(1, window.toMillis() / 100));
+        return new RateLimiter<>(limit, window, resolution, System::currentTimeMillis);
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    /**
+     * Returns the number of tracked keys.
+     */
+    @Override
+    public int size() {
+        return logs.size();
+    }
+
+    /**
+     * Acquires a permit for the {@code key} if fewer than {@code limit} permits have been acquired
+     * within the last window. Returns whether the permit has been acquired.
+     */
+    public boolean tryAcquire(@NotNull K key) {
+        long now = nowTicks();
+        maybeSweep(now);
+        while (true) {
+            KeyLog log = logs.computeIfAbsent(key, k -> new KeyLog());
+            log.lock();
+            try {
+                if (log.evicted) {
+                    continue;  // evicted concurrently, the next iteration creates a new one
+                }
+                return log.tryAcquire(now, windowStart(now), limit);
+            } finally {
+                log.unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of the permits acquired for the {@code key} within the last window.
+     */
+    public int acquired(@NotNull K key) {
+        KeyLog log = logs.get(key);
+        if (log == null) {
+            return 0;
+        }
+        long now = nowTicks();
+        log.lock();
+        try {
+            return log.countAfter(windowStart(now));
+        } finally {
+            log.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of the permits left for the {@code key} within the current window.
+     */
+    public int available(@NotNull K key) {
+        return Math.max(0, limit - acquired(key));
+    }
+
+    /**
+     * Removes the keys which have no permits acquired within the last window. Takes {@code O(keys)} time.
+     * Returns the number of evicted keys.
+     */
+    public int evictIdle() {
+        long windowStart = windowStart(nowTicks());
+        int evicted = 0;
+        for (Map.Entry<K, KeyLog> entry : logs.entrySet()) {
+            if (tryEvict(entry.getKey(), entry.getValue(), windowStart)) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    // Runs a sweep step once in the `SWEEP_PERIOD` acquires. Never blocks: skips if another thread is sweeping.
+    private void maybeSweep(long now) {
+        if (acquiresSinceSweep.incrementAndGet() >= SWEEP_PERIOD && sweepLock.tryLock()) {
+            try {
+                acquiresSinceSweep.set(0);
+                sweepStep(windowStart(now));
+            } finally {
+                sweepLock.unlock();
+            }
+        }
+    }
+
+    // Checks the next `SWEEP_BATCH` keys (at most each key once), the cursor wraps around at the end of the map
+    private void sweepStep(long windowStart) {
+        assert sweepLock.isHeldByCurrentThread() : "Sweep lock is not held";
+        for (int i = 0, batch = Math.min(SWEEP_BATCH, logs.size()); i < batch; i++) {
+            if (sweepCursor == null || !sweepCursor.hasNext()) {
+                sweepCursor = logs.entrySet().iterator();
+                if (!sweepCursor.hasNext()) {
+                    return;
+                }
+            }
+            Map.Entry<K, KeyLog> entry = sweepCursor.next();
+            tryEvict(entry.getKey(), entry.getValue(), windowStart);
+        }
+    }
+
+    private boolean tryEvict(@NotNull K key, @NotNull KeyLog log, long windowStart) {
+        log.lock();
+        try {
+            if (log.isIdle(windowStart) && logs.remove(key, log)) {
+                log.evicted = true;
+                return true;
+            }
+            return false;
+        } finally {
+            log.unlock();
+        }
+    }
+
+    private long nowTicks() {
+        long ticks = Math.max(0, millisClock.getAsLong() - startMillis) / resolutionMillis;
+        assert ticks <= MAX_TICKS : "The time is out of the limiter range: " + ticks;
+        return ticks;
+    }
+
+    // The earliest tick within the window ending at `now` (inclusive)
+    private long windowStart(long now) {
+        return Math.max(0, now - windowTicks + 1);
+    }
+
+    @VisibleForTesting
+    int logSize(@NotNull K key) {
+        KeyLog log = logs.get(key);
+        return log != null ? log.log.size() : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "RateLimiter{limit=%d, windowTicks=%d, resolutionMillis=%d, keys=%d}"
+            .formatted(limit, windowTicks, resolutionMillis, logs.size());
+    }
+
+    // Guarded by its own lock
+    private static final class KeyLog extends ReentrantLock {
+        private final RealTimeLog8 log = RealTimeLog8.allocate(BLOCK_SIZE);
+        private long last = -1;
+        private boolean evicted = false;
+
+        boolean tryAcquire(long now, long windowStart, int limit) {
+            if (countAfter(windowStart) >= limit) {
+                return false;
+            }
+            if (log.size() >= 2 * limit) {
+                log.truncateBefore(windowStart);
+            }
+            last = Math.max(last, now);  // the clock may go backwards
+            log.append(last);
+            return true;
+        }
+
+        int countAfter(long windowStart) {
+            return last < windowStart ? 0 : log.countGreaterThan(windowStart);
+        }
+
+        boolean isIdle(long windowStart) {
+            return last < windowStart;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package io.spbx.util.time;
 
+import io.spbx.util.base.annotate.CanIgnoreReturnValue;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.VisibleForTesting;
 
@@ -35,6 +36,10 @@ import static io.spbx.util.base.error.BasicExceptions.newInternalError;
  *         {@code 144 Kb} (or {@code 1.5} bytes per value)
  *     </li>
  * </ul>
+ * <p>
+ * The log grows unbounded unless truncated: {@link #truncateBefore} drops the whole blocks preceding
+ * the given timestamp and shrinks the arrays. With the {@code retention} set on allocation, the log compacts itself
+ * before growing, i.e. keeps the memory bounded by the values within the retention from the latest one.
  */
 public class RealTimeLog8 implements RealTimeLog {
     private static final int DEFAULT_BLOCK_SIZE = 8;
@@ -43,6 +48,7 @@ public class RealTimeLog8 implements RealTimeLog {
     private final int blockSize;
     private final int blockLog2;
     private final int blockMask;
+    private final long retention;
     private byte[] history;
     private int[] spans;
     private long spanValue;
@@ -50,12 +56,13 @@ public class RealTimeLog8 implements RealTimeLog {
     private int spanIndex;
     private int size;
 
-    private RealTimeLog8(int blockSize) {
+    private RealTimeLog8(int blockSize, long retention) {
         assert blockSize > 0 : "Must be positive: " + blockSize;
         assert isPowerOfTwo(blockSize) : "Not a power of 2: " + blockSize;
         this.blockSize = blockSize;
         this.blockLog2 = 31 - Integer.numberOfLeadingZeros(blockSize);
         this.blockMask = blockSize - 1;
+        this.retention = retention;
         this.history = new byte[blockSize * 2];
         this.spans = new int[8];
         this.spanValue = -1;
@@ -66,7 +73,16 @@ public class RealTimeLog8 implements RealTimeLog {
     }
 
     public static @NotNull RealTimeLog8 allocate(int blockSize) {
-        return new RealTimeLog8(blockSize);
+        return new RealTimeLog8(blockSize, -1);
+    }
+
+    /**
+     * Allocates the log which keeps only the values within the {@code retention} from the latest appended value
+     * (at least), dropping the older blocks when the log is about to grow.
+     */
+    public static @NotNull RealTimeLog8 allocate(int blockSize, long retention) {
+        assert retention >= 0 : "Retention must be non-negative: " + retention;
+        return new RealTimeLog8(blockSize, retention);
     }
 
     public static @NotNull RealTimeLog8 allocate() {
@@ -147,11 +163,77 @@ public class RealTimeLog8 implements RealTimeLog {
         return predicate;
     }
 
+    /**
+     * Drops the whole blocks which contain only the values less than {@code timestamp}
+     * and shrinks the arrays if they are mostly empty. The values less than {@code timestamp} in the remaining blocks
+     * are kept, hence the queries for the values at or after the {@code timestamp} are not affected.
+     * The latest block is never dropped. Returns the number of dropped values.
+     */
+    @CanIgnoreReturnValue
+    public int truncateBefore(long timestamp) {
+        if (spanIndex <= 0) {
+            return 0;
+        }
+        // Block j has the values not greater than spans[j + 1], find the first block which may have larger ones
+        int lo = 0, hi = spanIndex;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (Integer.toUnsignedLong(spans[mid + 1]) < timestamp) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        int blocks = lo < spanIndex && blockMax(lo) < timestamp ? lo + 1 : lo;
+        if (blocks == 0) {
+            return 0;
+        }
+
+        int shift = blocks << blockLog2;
+        int dropped = 0;
+        for (int i = 0; i < shift; i++) {
+            if (history[i] != -1) {
+                dropped++;
+            }
+        }
+        int end = Math.min(pos, history.length);  // `pos` may point past the end right before the growth
+        System.arraycopy(history, shift, history, 0, end - shift);
+        Arrays.fill(history, end - shift, end, (byte) 0);  // the block starts rely on the zeros
+        System.arraycopy(spans, blocks, spans, 0, spanIndex + 1 - blocks);
+        pos -= shift;
+        spanIndex -= blocks;
+        size -= dropped;
+        shrinkIfNecessary();
+        return dropped;
+    }
+
     @Override
     public String toString() {
         return "RealTimeLog8: " + toArrayList();
     }
 
+    private long blockMax(int block) {
+        int start = block << blockLog2;
+        for (int i = start + blockMask; i >= start; i--) {
+            if (history[i] != -1) {
+                return Integer.toUnsignedLong(spans[block]) + Byte.toUnsignedInt(history[i]);
+            }
+        }
+        throw newInternalError("Empty block: " + block);
+    }
+
+    private void shrinkIfNecessary() {
+        int minHistory = blockSize * 2;
+        if (history.length > minHistory && history.length >= 4 * pos) {
+            int length = Math.max(minHistory, nextBlockStart(2 * pos - 1));
+            history = Arrays.copyOf(history, length);
+        }
+        int minSpans = 8;
+        if (spans.length > minSpans && spans.length >= 4 * (spanIndex + 1)) {
+            spans = Arrays.copyOf(spans, Math.max(minSpans, 2 * (spanIndex + 1)));
+        }
+    }
+
     private int fillUpBlock() {
         int nextPos = nextBlockStart(pos - 1);
         Arrays.fill(history, pos, nextPos, (byte) -1);
@@ -169,6 +251,9 @@ public class RealTimeLog8 implements RealTimeLog {
     }
 
     private void growHistoryIfNecessary() {
+        if (pos >= history.length && retention >= 0) {
+            truncateBefore(spanValue - retention);
+        }
         if (pos >= history.length) {
             history = Arrays.copyOf(history, history.length * 2);
         }
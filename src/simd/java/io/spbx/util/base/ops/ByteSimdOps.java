@@ -0,0 +1,126 @@
+package io.spbx.util.base.ops;
+
+import io.spbx.util.base.annotate.Stateless;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD kernels for {@code byte[]} based on the Vector API, the backend of the {@link ByteOps} bulk operations.
+ * Called via {@link VectorKernels} only if {@link SimdSupport#isEnabled()}, otherwise the class can't be loaded.
+ */
+@Stateless
+/*package*/ final class ByteSimdOps {
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    /*package*/ static int indexOf(byte[] array, byte val, int from, int to) {
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            VectorMask<Byte> mask = ByteVector.fromArray(SPECIES, array, i).eq(val);
+            if (mask.anyTrue()) {
+                return i + mask.firstTrue();
+            }
+        }
+        for (; i < to; i++) {
+            if (array[i] == val) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /*package*/ static byte sum(byte[] array) {
+        ByteVector acc = ByteVector.zero(SPECIES);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            acc = acc.add(ByteVector.fromArray(SPECIES, array, i));
+        }
+        byte sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < array.length; i++) {
+            sum += array[i];
+        }
+        return sum;
+    }
+
+    /*package*/ static byte min(byte[] array) {
+        ByteVector acc = ByteVector.broadcast(SPECIES, array[0]);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            acc = acc.min(ByteVector.fromArray(SPECIES, array, i));
+        }
+        byte min = acc.reduceLanes(VectorOperators.MIN);
+        for (; i < array.length; i++) {
+            min = (byte) Math.min(min, array[i]);
+        }
+        return min;
+    }
+
+    /*package*/ static byte max(byte[] array) {
+        ByteVector acc = ByteVector.broadcast(SPECIES, array[0]);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            acc = acc.max(ByteVector.fromArray(SPECIES, array, i));
+        }
+        byte max = acc.reduceLanes(VectorOperators.MAX);
+        for (; i < array.length; i++) {
+            max = (byte) Math.max(max, array[i]);
+        }
+        return max;
+    }
+
+    /*package*/ static void add(byte[] array1, byte[] array2, byte[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(result.length); i < bound; i += SPECIES.length()) {
+            ByteVector vector1 = ByteVector.fromArray(SPECIES, array1, i);
+            ByteVector vector2 = ByteVector.fromArray(SPECIES, array2, i);
+            vector1.add(vector2).intoArray(result, i);
+        }
+        for (; i < result.length; i++) {
+            result[i] = (byte) (array1[i] + array2[i]);
+        }
+    }
+
+    /*package*/ static void and(byte[] array1, byte[] array2, byte[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(result.length); i < bound; i += SPECIES.length()) {
+            ByteVector vector1 = ByteVector.fromArray(SPECIES, array1, i);
+            ByteVector vector2 = ByteVector.fromArray(SPECIES, array2, i);
+            vector1.and(vector2).intoArray(result, i);
+        }
+        for (; i < result.length; i++) {
+            result[i] = (byte) (array1[i] & array2[i]);
+        }
+    }
+
+    /*package*/ static void eq(byte[] array, byte val, boolean[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            ByteVector.fromArray(SPECIES, array, i).compare(VectorOperators.EQ, val).intoArray(result, i);
+        }
+        for (; i < array.length; i++) {
+            result[i] = array[i] == val;
+        }
+    }
+
+    /*package*/ static void lt(byte[] array, byte val, boolean[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            ByteVector.fromArray(SPECIES, array, i).compare(VectorOperators.LT, val).intoArray(result, i);
+        }
+        for (; i < array.length; i++) {
+            result[i] = array[i] < val;
+        }
+    }
+
+    /*package*/ static void gt(byte[] array, byte val, boolean[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            ByteVector.fromArray(SPECIES, array, i).compare(VectorOperators.GT, val).intoArray(result, i);
+        }
+        for (; i < array.length; i++) {
+            result[i] = array[i] > val;
+        }
+    }
+}
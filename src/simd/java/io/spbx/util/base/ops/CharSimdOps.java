@@ -0,0 +1,131 @@
+package io.spbx.util.base.ops;
+
+import io.spbx.util.base.annotate.Stateless;
+
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD kernels for {@code char[]} based on the Vector API, the backend of the {@link CharOps} bulk operations.
+ * Called via {@link VectorKernels} only if {@link SimdSupport#isEnabled()}, otherwise the class can't be loaded.
+ * <p>
+ * The {@code char}s are processed as the {@code short} lanes, the unsigned order is achieved by flipping the sign bit.
+ */
+@Stateless
+/*package*/ final class CharSimdOps {
+    private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+
+    /*package*/ static int indexOf(char[] array, char val, int from, int to) {
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            VectorMask<Short> mask = ShortVector.fromCharArray(SPECIES, array, i).eq((short) val);
+            if (mask.anyTrue()) {
+                return i + mask.firstTrue();
+            }
+        }
+        for (; i < to; i++) {
+            if (array[i] == val) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /*package*/ static char sum(char[] array) {
+        ShortVector acc = ShortVector.zero(SPECIES);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            acc = acc.add(ShortVector.fromCharArray(SPECIES, array, i));
+        }
+        char sum = (char) acc.reduceLanes(VectorOperators.ADD);
+        for (; i < array.length; i++) {
+            sum += array[i];
+        }
+        return sum;
+    }
+
+    /*package*/ static char min(char[] array) {
+        ShortVector acc = ShortVector.broadcast(SPECIES, (short) (array[0] ^ Short.MIN_VALUE));
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            acc = acc.min(ShortVector.fromCharArray(SPECIES, array, i).lanewise(VectorOperators.XOR, Short.MIN_VALUE));
+        }
+        char min = (char) (acc.reduceLanes(VectorOperators.MIN) ^ Short.MIN_VALUE);
+        for (; i < array.length; i++) {
+            min = (char) Math.min(min, array[i]);
+        }
+        return min;
+    }
+
+    /*package*/ static char max(char[] array) {
+        ShortVector acc = ShortVector.broadcast(SPECIES, (short) (array[0] ^ Short.MIN_VALUE));
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            acc = acc.max(ShortVector.fromCharArray(SPECIES, array, i).lanewise(VectorOperators.XOR, Short.MIN_VALUE));
+        }
+        char max = (char) (acc.reduceLanes(VectorOperators.MAX) ^ Short.MIN_VALUE);
+        for (; i < array.length; i++) {
+            max = (char) Math.max(max, array[i]);
+        }
+        return max;
+    }
+
+    /*package*/ static void add(char[] array1, char[] array2, char[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(result.length); i < bound; i += SPECIES.length()) {
+            ShortVector vector1 = ShortVector.fromCharArray(SPECIES, array1, i);
+            ShortVector vector2 = ShortVector.fromCharArray(SPECIES, array2, i);
+            vector1.add(vector2).intoCharArray(result, i);
+        }
+        for (; i < result.length; i++) {
+            result[i] = (char) (array1[i] + array2[i]);
+        }
+    }
+
+    /*package*/ static void and(char[] array1, char[] array2, char[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(result.length); i < bound; i += SPECIES.length()) {
+            ShortVector vector1 = ShortVector.fromCharArray(SPECIES, array1, i);
+            ShortVector vector2 = ShortVector.fromCharArray(SPECIES, array2, i);
+            vector1.and(vector2).intoCharArray(result, i);
+        }
+        for (; i < result.length; i++) {
+            result[i] = (char) (array1[i] & array2[i]);
+        }
+    }
+
+    /*package*/ static void eq(char[] array, char val, boolean[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            ShortVector vector = ShortVector.fromCharArray(SPECIES, array, i);
+            vector.compare(VectorOperators.EQ, (short) val).intoArray(result, i);
+        }
+        for (; i < array.length; i++) {
+            result[i] = array[i] == val;
+        }
+    }
+
+    /*package*/ static void lt(char[] array, char val, boolean[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            ShortVector vector = ShortVector.fromCharArray(SPECIES, array, i);
+            vector.compare(VectorOperators.UNSIGNED_LT, (short) val).intoArray(result, i);
+        }
+        for (; i < array.length; i++) {
+            result[i] = array[i] < val;
+        }
+    }
+
+    /*package*/ static void gt(char[] array, char val, boolean[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            ShortVector vector = ShortVector.fromCharArray(SPECIES, array, i);
+            vector.compare(VectorOperators.UNSIGNED_GT, (short) val).intoArray(result, i);
+        }
+        for (; i < array.length; i++) {
+            result[i] = array[i] > val;
+        }
+    }
+}
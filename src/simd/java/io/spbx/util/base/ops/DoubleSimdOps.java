@@ -0,0 +1,101 @@
+package io.spbx.util.base.ops;
+
+import io.spbx.util.base.annotate.Stateless;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD kernels for {@code double[]} based on the Vector API, the backend of the {@link DoubleOps} bulk operations.
+ * Called via {@link VectorKernels} only if {@link SimdSupport#isEnabled()}, otherwise the class can't be loaded.
+ */
+@Stateless
+/*package*/ final class DoubleSimdOps {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    /*package*/ static int indexOf(double[] array, double val, int from, int to) {
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            VectorMask<Double> mask = DoubleVector.fromArray(SPECIES, array, i).eq(val);
+            if (mask.anyTrue()) {
+                return i + mask.firstTrue();
+            }
+        }
+        for (; i < to; i++) {
+            if (array[i] == val) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /*package*/ static double min(double[] array) {
+        DoubleVector acc = DoubleVector.broadcast(SPECIES, array[0]);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            acc = acc.min(DoubleVector.fromArray(SPECIES, array, i));
+        }
+        double min = acc.reduceLanes(VectorOperators.MIN);
+        for (; i < array.length; i++) {
+            min = Math.min(min, array[i]);
+        }
+        return min;
+    }
+
+    /*package*/ static double max(double[] array) {
+        DoubleVector acc = DoubleVector.broadcast(SPECIES, array[0]);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            acc = acc.max(DoubleVector.fromArray(SPECIES, array, i));
+        }
+        double max = acc.reduceLanes(VectorOperators.MAX);
+        for (; i < array.length; i++) {
+            max = Math.max(max, array[i]);
+        }
+        return max;
+    }
+
+    /*package*/ static void add(double[] array1, double[] array2, double[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(result.length); i < bound; i += SPECIES.length()) {
+            DoubleVector vector1 = DoubleVector.fromArray(SPECIES, array1, i);
+            DoubleVector vector2 = DoubleVector.fromArray(SPECIES, array2, i);
+            vector1.add(vector2).intoArray(result, i);
+        }
+        for (; i < result.length; i++) {
+            result[i] = array1[i] + array2[i];
+        }
+    }
+
+    /*package*/ static void eq(double[] array, double val, boolean[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, array, i).compare(VectorOperators.EQ, val).intoArray(result, i);
+        }
+        for (; i < array.length; i++) {
+            result[i] = array[i] == val;
+        }
+    }
+
+    /*package*/ static void lt(double[] array, double val, boolean[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, array, i).compare(VectorOperators.LT, val).intoArray(result, i);
+        }
+        for (; i < array.length; i++) {
+            result[i] = array[i] < val;
+        }
+    }
+
+    /*package*/ static void gt(double[] array, double val, boolean[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, array, i).compare(VectorOperators.GT, val).intoArray(result, i);
+        }
+        for (; i < array.length; i++) {
+            result[i] = array[i] > val;
+        }
+    }
+}
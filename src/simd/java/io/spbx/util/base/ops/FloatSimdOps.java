@@ -0,0 +1,101 @@
+package io.spbx.util.base.ops;
+
+import io.spbx.util.base.annotate.Stateless;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD kernels for {@code float[]} based on the Vector API, the backend of the {@link FloatOps} bulk operations.
+ * Called via {@link VectorKernels} only if {@link SimdSupport#isEnabled()}, otherwise the class can't be loaded.
+ */
+@Stateless
+/*package*/ final class FloatSimdOps {
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    /*package*/ static int indexOf(float[] array, float val, int from, int to) {
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            VectorMask<Float> mask = FloatVector.fromArray(SPECIES, array, i).eq(val);
+            if (mask.anyTrue()) {
+                return i + mask.firstTrue();
+            }
+        }
+        for (; i < to; i++) {
+            if (array[i] == val) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /*package*/ static float min(float[] array) {
+        FloatVector acc = FloatVector.broadcast(SPECIES, array[0]);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            acc = acc.min(FloatVector.fromArray(SPECIES, array, i));
+        }
+        float min = acc.reduceLanes(VectorOperators.MIN);
+        for (; i < array.length; i++) {
+            min = Math.min(min, array[i]);
+        }
+        return min;
+    }
+
+    /*package*/ static float max(float[] array) {
+        FloatVector acc = FloatVector.broadcast(SPECIES, array[0]);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            acc = acc.max(FloatVector.fromArray(SPECIES, array, i));
+        }
+        float max = acc.reduceLanes(VectorOperators.MAX);
+        for (; i < array.length; i++) {
+            max = Math.max(max, array[i]);
+        }
+        return max;
+    }
+
+    /*package*/ static void add(float[] array1, float[] array2, float[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(result.length); i < bound; i += SPECIES.length()) {
+            FloatVector vector1 = FloatVector.fromArray(SPECIES, array1, i);
+            FloatVector vector2 = FloatVector.fromArray(SPECIES, array2, i);
+            vector1.add(vector2).intoArray(result, i);
+        }
+        for (; i < result.length; i++) {
+            result[i] = array1[i] + array2[i];
+        }
+    }
+
+    /*package*/ static void eq(float[] array, float val, boolean[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            FloatVector.fromArray(SPECIES, array, i).compare(VectorOperators.EQ, val).intoArray(result, i);
+        }
+        for (; i < array.length; i++) {
+            result[i] = array[i] == val;
+        }
+    }
+
+    /*package*/ static void lt(float[] array, float val, boolean[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            FloatVector.fromArray(SPECIES, array, i).compare(VectorOperators.LT, val).intoArray(result, i);
+        }
+        for (; i < array.length; i++) {
+            result[i] = array[i] < val;
+        }
+    }
+
+    /*package*/ static void gt(float[] array, float val, boolean[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            FloatVector.fromArray(SPECIES, array, i).compare(VectorOperators.GT, val).intoArray(result, i);
+        }
+        for (; i < array.length; i++) {
+            result[i] = array[i] > val;
+        }
+    }
+}
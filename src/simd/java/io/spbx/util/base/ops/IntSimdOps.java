@@ -0,0 +1,126 @@
+package io.spbx.util.base.ops;
+
+import io.spbx.util.base.annotate.Stateless;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD kernels for {@code int[]} based on the Vector API, the backend of the {@link IntOps} bulk operations.
+ * Called via {@link VectorKernels} only if {@link SimdSupport#isEnabled()}, otherwise the class can't be loaded.
+ */
+@Stateless
+/*package*/ final class IntSimdOps {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    /*package*/ static int indexOf(int[] array, int val, int from, int to) {
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            VectorMask<Integer> mask = IntVector.fromArray(SPECIES, array, i).eq(val);
+            if (mask.anyTrue()) {
+                return i + mask.firstTrue();
+            }
+        }
+        for (; i < to; i++) {
+            if (array[i] == val) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /*package*/ static int sum(int[] array) {
+        IntVector acc = IntVector.zero(SPECIES);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            acc = acc.add(IntVector.fromArray(SPECIES, array, i));
+        }
+        int sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < array.length; i++) {
+            sum += array[i];
+        }
+        return sum;
+    }
+
+    /*package*/ static int min(int[] array) {
+        IntVector acc = IntVector.broadcast(SPECIES, array[0]);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            acc = acc.min(IntVector.fromArray(SPECIES, array, i));
+        }
+        int min = acc.reduceLanes(VectorOperators.MIN);
+        for (; i < array.length; i++) {
+            min = Math.min(min, array[i]);
+        }
+        return min;
+    }
+
+    /*package*/ static int max(int[] array) {
+        IntVector acc = IntVector.broadcast(SPECIES, array[0]);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            acc = acc.max(IntVector.fromArray(SPECIES, array, i));
+        }
+        int max = acc.reduceLanes(VectorOperators.MAX);
+        for (; i < array.length; i++) {
+            max = Math.max(max, array[i]);
+        }
+        return max;
+    }
+
+    /*package*/ static void add(int[] array1, int[] array2, int[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(result.length); i < bound; i += SPECIES.length()) {
+            IntVector vector1 = IntVector.fromArray(SPECIES, array1, i);
+            IntVector vector2 = IntVector.fromArray(SPECIES, array2, i);
+            vector1.add(vector2).intoArray(result, i);
+        }
+        for (; i < result.length; i++) {
+            result[i] = array1[i] + array2[i];
+        }
+    }
+
+    /*package*/ static void and(int[] array1, int[] array2, int[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(result.length); i < bound; i += SPECIES.length()) {
+            IntVector vector1 = IntVector.fromArray(SPECIES, array1, i);
+            IntVector vector2 = IntVector.fromArray(SPECIES, array2, i);
+            vector1.and(vector2).intoArray(result, i);
+        }
+        for (; i < result.length; i++) {
+            result[i] = array1[i] & array2[i];
+        }
+    }
+
+    /*package*/ static void eq(int[] array, int val, boolean[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            IntVector.fromArray(SPECIES, array, i).compare(VectorOperators.EQ, val).intoArray(result, i);
+        }
+        for (; i < array.length; i++) {
+            result[i] = array[i] == val;
+        }
+    }
+
+    /*package*/ static void lt(int[] array, int val, boolean[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            IntVector.fromArray(SPECIES, array, i).compare(VectorOperators.LT, val).intoArray(result, i);
+        }
+        for (; i < array.length; i++) {
+            result[i] = array[i] < val;
+        }
+    }
+
+    /*package*/ static void gt(int[] array, int val, boolean[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            IntVector.fromArray(SPECIES, array, i).compare(VectorOperators.GT, val).intoArray(result, i);
+        }
+        for (; i < array.length; i++) {
+            result[i] = array[i] > val;
+        }
+    }
+}
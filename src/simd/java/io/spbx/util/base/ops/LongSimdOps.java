@@ -0,0 +1,126 @@
+package io.spbx.util.base.ops;
+
+import io.spbx.util.base.annotate.Stateless;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD kernels for {@code long[]} based on the Vector API, the backend of the {@link LongOps} bulk operations.
+ * Called via {@link VectorKernels} only if {@link SimdSupport#isEnabled()}, otherwise the class can't be loaded.
+ */
+@Stateless
+/*package*/ final class LongSimdOps {
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    /*package*/ static int indexOf(long[] array, long val, int from, int to) {
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            VectorMask<Long> mask = LongVector.fromArray(SPECIES, array, i).eq(val);
+            if (mask.anyTrue()) {
+                return i + mask.firstTrue();
+            }
+        }
+        for (; i < to; i++) {
+            if (array[i] == val) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /*package*/ static long sum(long[] array) {
+        LongVector acc = LongVector.zero(SPECIES);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            acc = acc.add(LongVector.fromArray(SPECIES, array, i));
+        }
+        long sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < array.length; i++) {
+            sum += array[i];
+        }
+        return sum;
+    }
+
+    /*package*/ static long min(long[] array) {
+        LongVector acc = LongVector.broadcast(SPECIES, array[0]);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            acc = acc.min(LongVector.fromArray(SPECIES, array, i));
+        }
+        long min = acc.reduceLanes(VectorOperators.MIN);
+        for (; i < array.length; i++) {
+            min = Math.min(min, array[i]);
+        }
+        return min;
+    }
+
+    /*package*/ static long max(long[] array) {
+        LongVector acc = LongVector.broadcast(SPECIES, array[0]);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            acc = acc.max(LongVector.fromArray(SPECIES, array, i));
+        }
+        long max = acc.reduceLanes(VectorOperators.MAX);
+        for (; i < array.length; i++) {
+            max = Math.max(max, array[i]);
+        }
+        return max;
+    }
+
+    /*package*/ static void add(long[] array1, long[] array2, long[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(result.length); i < bound; i += SPECIES.length()) {
+            LongVector vector1 = LongVector.fromArray(SPECIES, array1, i);
+            LongVector vector2 = LongVector.fromArray(SPECIES, array2, i);
+            vector1.add(vector2).intoArray(result, i);
+        }
+        for (; i < result.length; i++) {
+            result[i] = array1[i] + array2[i];
+        }
+    }
+
+    /*package*/ static void and(long[] array1, long[] array2, long[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(result.length); i < bound; i += SPECIES.length()) {
+            LongVector vector1 = LongVector.fromArray(SPECIES, array1, i);
+            LongVector vector2 = LongVector.fromArray(SPECIES, array2, i);
+            vector1.and(vector2).intoArray(result, i);
+        }
+        for (; i < result.length; i++) {
+            result[i] = array1[i] & array2[i];
+        }
+    }
+
+    /*package*/ static void eq(long[] array, long val, boolean[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            LongVector.fromArray(SPECIES, array, i).compare(VectorOperators.EQ, val).intoArray(result, i);
+        }
+        for (; i < array.length; i++) {
+            result[i] = array[i] == val;
+        }
+    }
+
+    /*package*/ static void lt(long[] array, long val, boolean[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            LongVector.fromArray(SPECIES, array, i).compare(VectorOperators.LT, val).intoArray(result, i);
+        }
+        for (; i < array.length; i++) {
+            result[i] = array[i] < val;
+        }
+    }
+
+    /*package*/ static void gt(long[] array, long val, boolean[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            LongVector.fromArray(SPECIES, array, i).compare(VectorOperators.GT, val).intoArray(result, i);
+        }
+        for (; i < array.length; i++) {
+            result[i] = array[i] > val;
+        }
+    }
+}
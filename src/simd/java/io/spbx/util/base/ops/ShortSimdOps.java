@@ -0,0 +1,126 @@
+package io.spbx.util.base.ops;
+
+import io.spbx.util.base.annotate.Stateless;
+
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD kernels for {@code short[]} based on the Vector API, the backend of the {@link ShortOps} bulk operations.
+ * Called via {@link VectorKernels} only if {@link SimdSupport#isEnabled()}, otherwise the class can't be loaded.
+ */
+@Stateless
+/*package*/ final class ShortSimdOps {
+    private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+
+    /*package*/ static int indexOf(short[] array, short val, int from, int to) {
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            VectorMask<Short> mask = ShortVector.fromArray(SPECIES, array, i).eq(val);
+            if (mask.anyTrue()) {
+                return i + mask.firstTrue();
+            }
+        }
+        for (; i < to; i++) {
+            if (array[i] == val) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /*package*/ static short sum(short[] array) {
+        ShortVector acc = ShortVector.zero(SPECIES);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            acc = acc.add(ShortVector.fromArray(SPECIES, array, i));
+        }
+        short sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < array.length; i++) {
+            sum += array[i];
+        }
+        return sum;
+    }
+
+    /*package*/ static short min(short[] array) {
+        ShortVector acc = ShortVector.broadcast(SPECIES, array[0]);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            acc = acc.min(ShortVector.fromArray(SPECIES, array, i));
+        }
+        short min = acc.reduceLanes(VectorOperators.MIN);
+        for (; i < array.length; i++) {
+            min = (short) Math.min(min, array[i]);
+        }
+        return min;
+    }
+
+    /*package*/ static short max(short[] array) {
+        ShortVector acc = ShortVector.broadcast(SPECIES, array[0]);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            acc = acc.max(ShortVector.fromArray(SPECIES, array, i));
+        }
+        short max = acc.reduceLanes(VectorOperators.MAX);
+        for (; i < array.length; i++) {
+            max = (short) Math.max(max, array[i]);
+        }
+        return max;
+    }
+
+    /*package*/ static void add(short[] array1, short[] array2, short[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(result.length); i < bound; i += SPECIES.length()) {
+            ShortVector vector1 = ShortVector.fromArray(SPECIES, array1, i);
+            ShortVector vector2 = ShortVector.fromArray(SPECIES, array2, i);
+            vector1.add(vector2).intoArray(result, i);
+        }
+        for (; i < result.length; i++) {
+            result[i] = (short) (array1[i] + array2[i]);
+        }
+    }
+
+    /*package*/ static void and(short[] array1, short[] array2, short[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(result.length); i < bound; i += SPECIES.length()) {
+            ShortVector vector1 = ShortVector.fromArray(SPECIES, array1, i);
+            ShortVector vector2 = ShortVector.fromArray(SPECIES, array2, i);
+            vector1.and(vector2).intoArray(result, i);
+        }
+        for (; i < result.length; i++) {
+            result[i] = (short) (array1[i] & array2[i]);
+        }
+    }
+
+    /*package*/ static void eq(short[] array, short val, boolean[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            ShortVector.fromArray(SPECIES, array, i).compare(VectorOperators.EQ, val).intoArray(result, i);
+        }
+        for (; i < array.length; i++) {
+            result[i] = array[i] == val;
+        }
+    }
+
+    /*package*/ static void lt(short[] array, short val, boolean[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            ShortVector.fromArray(SPECIES, array, i).compare(VectorOperators.LT, val).intoArray(result, i);
+        }
+        for (; i < array.length; i++) {
+            result[i] = array[i] < val;
+        }
+    }
+
+    /*package*/ static void gt(short[] array, short val, boolean[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(array.length); i < bound; i += SPECIES.length()) {
+            ShortVector.fromArray(SPECIES, array, i).compare(VectorOperators.GT, val).intoArray(result, i);
+        }
+        for (; i < array.length; i++) {
+            result[i] = array[i] > val;
+        }
+    }
+}
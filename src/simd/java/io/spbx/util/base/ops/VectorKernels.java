@@ -0,0 +1,260 @@
+package io.spbx.util.base.ops;
+
+import io.spbx.util.base.annotate.Stateless;
+
+/**
+ * The {@link SimdKernels} based on the Vector API, delegates to the {@code *SimdOps} of each type.
+ * Instantiated by {@link SimdSupport} reflectively.
+ */
+@Stateless
+/*package*/ final class VectorKernels implements SimdKernels {
+    /* `byte[]` */
+
+    @Override public int indexOf(byte[] array, byte val, int from, int to) {
+        return ByteSimdOps.indexOf(array, val, from, to);
+    }
+
+    @Override public byte sum(byte[] array) {
+        return ByteSimdOps.sum(array);
+    }
+
+    @Override public byte min(byte[] array) {
+        return ByteSimdOps.min(array);
+    }
+
+    @Override public byte max(byte[] array) {
+        return ByteSimdOps.max(array);
+    }
+
+    @Override public void add(byte[] array1, byte[] array2, byte[] result) {
+        ByteSimdOps.add(array1, array2, result);
+    }
+
+    @Override public void and(byte[] array1, byte[] array2, byte[] result) {
+        ByteSimdOps.and(array1, array2, result);
+    }
+
+    @Override public void eq(byte[] array, byte val, boolean[] result) {
+        ByteSimdOps.eq(array, val, result);
+    }
+
+    @Override public void lt(byte[] array, byte val, boolean[] result) {
+        ByteSimdOps.lt(array, val, result);
+    }
+
+    @Override public void gt(byte[] array, byte val, boolean[] result) {
+        ByteSimdOps.gt(array, val, result);
+    }
+
+    /* `short[]` */
+
+    @Override public int indexOf(short[] array, short val, int from, int to) {
+        return ShortSimdOps.indexOf(array, val, from, to);
+    }
+
+    @Override public short sum(short[] array) {
+        return ShortSimdOps.sum(array);
+    }
+
+    @Override public short min(short[] array) {
+        return ShortSimdOps.min(array);
+    }
+
+    @Override public short max(short[] array) {
+        return ShortSimdOps.max(array);
+    }
+
+    @Override public void add(short[] array1, short[] array2, short[] result) {
+        ShortSimdOps.add(array1, array2, result);
+    }
+
+    @Override public void and(short[] array1, short[] array2, short[] result) {
+        ShortSimdOps.and(array1, array2, result);
+    }
+
+    @Override public void eq(short[] array, short val, boolean[] result) {
+        ShortSimdOps.eq(array, val, result);
+    }
+
+    @Override public void lt(short[] array, short val, boolean[] result) {
+        ShortSimdOps.lt(array, val, result);
+    }
+
+    @Override public void gt(short[] array, short val, boolean[] result) {
+        ShortSimdOps.gt(array, val, result);
+    }
+
+    /* `char[]` */
+
+    @Override public int indexOf(char[] array, char val, int from, int to) {
+        return CharSimdOps.indexOf(array, val, from, to);
+    }
+
+    @Override public char sum(char[] array) {
+        return CharSimdOps.sum(array);
+    }
+
+    @Override public char min(char[] array) {
+        return CharSimdOps.min(array);
+    }
+
+    @Override public char max(char[] array) {
+        return CharSimdOps.max(array);
+    }
+
+    @Override public void add(char[] array1, char[] array2, char[] result) {
+        CharSimdOps.add(array1, array2, result);
+    }
+
+    @Override public void and(char[] array1, char[] array2, char[] result) {
+        CharSimdOps.and(array1, array2, result);
+    }
+
+    @Override public void eq(char[] array, char val, boolean[] result) {
+        CharSimdOps.eq(array, val, result);
+    }
+
+    @Override public void lt(char[] array, char val, boolean[] result) {
+        CharSimdOps.lt(array, val, result);
+    }
+
+    @Override public void gt(char[] array, char val, boolean[] result) {
+        CharSimdOps.gt(array, val, result);
+    }
+
+    /* `int[]` */
+
+    @Override public int indexOf(int[] array, int val, int from, int to) {
+        return IntSimdOps.indexOf(array, val, from, to);
+    }
+
+    @Override public int sum(int[] array) {
+        return IntSimdOps.sum(array);
+    }
+
+    @Override public int min(int[] array) {
+        return IntSimdOps.min(array);
+    }
+
+    @Override public int max(int[] array) {
+        return IntSimdOps.max(array);
+    }
+
+    @Override public void add(int[] array1, int[] array2, int[] result) {
+        IntSimdOps.add(array1, array2, result);
+    }
+
+    @Override public void and(int[] array1, int[] array2, int[] result) {
+        IntSimdOps.and(array1, array2, result);
+    }
+
+    @Override public void eq(int[] array, int val, boolean[] result) {
+        IntSimdOps.eq(array, val, result);
+    }
+
+    @Override public void lt(int[] array, int val, boolean[] result) {
+        IntSimdOps.lt(array, val, result);
+    }
+
+    @Override public void gt(int[] array, int val, boolean[] result) {
+        IntSimdOps.gt(array, val, result);
+    }
+
+    /* `long[]` */
+
+    @Override public int indexOf(long[] array, long val, int from, int to) {
+        return LongSimdOps.indexOf(array, val, from, to);
+    }
+
+    @Override public long sum(long[] array) {
+        return LongSimdOps.sum(array);
+    }
+
+    @Override public long min(long[] array) {
+        return LongSimdOps.min(array);
+    }
+
+    @Override public long max(long[] array) {
+        return LongSimdOps.max(array);
+    }
+
+    @Override public void add(long[] array1, long[] array2, long[] result) {
+        LongSimdOps.add(array1, array2, result);
+    }
+
+    @Override public void and(long[] array1, long[] array2, long[] result) {
+        LongSimdOps.and(array1, array2, result);
+    }
+
+    @Override public void eq(long[] array, long val, boolean[] result) {
+        LongSimdOps.eq(array, val, result);
+    }
+
+    @Override public void lt(long[] array, long val, boolean[] result) {
+        LongSimdOps.lt(array, val, result);
+    }
+
+    @Override public void gt(long[] array, long val, boolean[] result) {
+        LongSimdOps.gt(array, val, result);
+    }
+
+    /* `float[]` */
+
+    @Override public int indexOf(float[] array, float val, int from, int to) {
+        return FloatSimdOps.indexOf(array, val, from, to);
+    }
+
+    @Override public float min(float[] array) {
+        return FloatSimdOps.min(array);
+    }
+
+    @Override public float max(float[] array) {
+        return FloatSimdOps.max(array);
+    }
+
+    @Override public void add(float[] array1, float[] array2, float[] result) {
+        FloatSimdOps.add(array1, array2, result);
+    }
+
+    @Override public void eq(float[] array, float val, boolean[] result) {
+        FloatSimdOps.eq(array, val, result);
+    }
+
+    @Override public void lt(float[] array, float val, boolean[] result) {
+        FloatSimdOps.lt(array, val, result);
+    }
+
+    @Override public void gt(float[] array, float val, boolean[] result) {
+        FloatSimdOps.gt(array, val, result);
+    }
+
+    /* `double[]` */
+
+    @Override public int indexOf(double[] array, double val, int from, int to) {
+        return DoubleSimdOps.indexOf(array, val, from, to);
+    }
+
+    @Override public double min(double[] array) {
+        return DoubleSimdOps.min(array);
+    }
+
+    @Override public double max(double[] array) {
+        return DoubleSimdOps.max(array);
+    }
+
+    @Override public void add(double[] array1, double[] array2, double[] result) {
+        DoubleSimdOps.add(array1, array2, result);
+    }
+
+    @Override public void eq(double[] array, double val, boolean[] result) {
+        DoubleSimdOps.eq(array, val, result);
+    }
+
+    @Override public void lt(double[] array, double val, boolean[] result) {
+        DoubleSimdOps.lt(array, val, result);
+    }
+
+    @Override public void gt(double[] array, double val, boolean[] result) {
+        DoubleSimdOps.gt(array, val, result);
+    }
+}
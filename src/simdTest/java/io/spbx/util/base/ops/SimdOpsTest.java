@@ -0,0 +1,228 @@
+package io.spbx.util.base.ops;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static com.google.common.truth.Truth.assertThat;
+
+/**
+ * Verifies the SIMD kernels against the scalar loops of the {@code *Ops} classes
+ * (which are used here, because {@link SimdSupport} is disabled without the opt-in property).
+ * Runs in the {@code simdTest} task, which adds the {@code jdk.incubator.vector} module.
+ */
+@Tag("fast")
+public class SimdOpsTest {
+    private static final int[] LENGTHS = { 0, 1, 2, 3, 7, 8, 15, 16, 17, 31, 32, 33, 63, 64, 65, 100, 257, 1000 };
+
+    @Test
+    public void byte_kernels() {
+        Random random = new Random(0);
+        for (int length : LENGTHS) {
+            byte[] array1 = new byte[length];
+            byte[] array2 = new byte[length];
+            random.nextBytes(array1);
+            random.nextBytes(array2);
+            for (byte val : new byte[] { 0, 1, -1, Byte.MIN_VALUE, Byte.MAX_VALUE }) {
+                assertThat(ByteSimdOps.indexOf(array1, val, 0, length)).isEqualTo(ByteOps.indexOf(array1, val));
+                boolean[] mask = new boolean[length];
+                ByteSimdOps.eq(array1, val, mask);
+                assertThat(mask).isEqualTo(ByteOps.eq(array1, val));
+                ByteSimdOps.lt(array1, val, mask);
+                assertThat(mask).isEqualTo(ByteOps.lt(array1, val));
+                ByteSimdOps.gt(array1, val, mask);
+                assertThat(mask).isEqualTo(ByteOps.gt(array1, val));
+            }
+            assertThat(ByteSimdOps.sum(array1)).isEqualTo(ByteOps.sum(array1));
+            if (length > 0) {
+                assertThat(ByteSimdOps.min(array1)).isEqualTo(ByteOps.min(array1));
+                assertThat(ByteSimdOps.max(array1)).isEqualTo(ByteOps.max(array1));
+            }
+            byte[] result = new byte[length];
+            ByteSimdOps.add(array1, array2, result);
+            assertThat(result).isEqualTo(ByteOps.add(array1, array2));
+            ByteSimdOps.and(array1, array2, result);
+            assertThat(result).isEqualTo(ByteOps.and(array1, array2));
+        }
+    }
+
+    @Test
+    public void short_kernels() {
+        Random random = new Random(0);
+        for (int length : LENGTHS) {
+            short[] array1 = ShortOps.fill(length, i -> (short) random.nextInt());
+            short[] array2 = ShortOps.fill(length, i -> (short) random.nextInt());
+            for (short val : new short[] { 0, 1, -1, Short.MIN_VALUE, length > 0 ? array1[length / 2] : 0 }) {
+                assertThat(ShortSimdOps.indexOf(array1, val, 0, length)).isEqualTo(ShortOps.indexOf(array1, val));
+                boolean[] mask = new boolean[length];
+                ShortSimdOps.eq(array1, val, mask);
+                assertThat(mask).isEqualTo(ShortOps.eq(array1, val));
+                ShortSimdOps.lt(array1, val, mask);
+                assertThat(mask).isEqualTo(ShortOps.lt(array1, val));
+                ShortSimdOps.gt(array1, val, mask);
+                assertThat(mask).isEqualTo(ShortOps.gt(array1, val));
+            }
+            assertThat(ShortSimdOps.sum(array1)).isEqualTo(ShortOps.sum(array1));
+            if (length > 0) {
+                assertThat(ShortSimdOps.min(array1)).isEqualTo(ShortOps.min(array1));
+                assertThat(ShortSimdOps.max(array1)).isEqualTo(ShortOps.max(array1));
+            }
+            short[] result = new short[length];
+            ShortSimdOps.add(array1, array2, result);
+            assertThat(result).isEqualTo(ShortOps.add(array1, array2));
+            ShortSimdOps.and(array1, array2, result);
+            assertThat(result).isEqualTo(ShortOps.and(array1, array2));
+        }
+    }
+
+    @Test
+    public void char_kernels_unsigned() {
+        Random random = new Random(0);
+        for (int length : LENGTHS) {
+            char[] array1 = CharOps.fill(length, i -> (char) random.nextInt());
+            char[] array2 = CharOps.fill(length, i -> (char) random.nextInt());
+            for (char val : new char[] { 0, 1, 0x7fff, 0x8000, 0xffff, length > 0 ? array1[length / 2] : 0 }) {
+                assertThat(CharSimdOps.indexOf(array1, val, 0, length)).isEqualTo(CharOps.indexOf(array1, val));
+                boolean[] mask = new boolean[length];
+                CharSimdOps.eq(array1, val, mask);
+                assertThat(mask).isEqualTo(CharOps.eq(array1, val));
+                CharSimdOps.lt(array1, val, mask);
+                assertThat(mask).isEqualTo(CharOps.lt(array1, val));
+                CharSimdOps.gt(array1, val, mask);
+                assertThat(mask).isEqualTo(CharOps.gt(array1, val));
+            }
+            assertThat(CharSimdOps.sum(array1)).isEqualTo(CharOps.sum(array1));
+            if (length > 0) {
+                assertThat(CharSimdOps.min(array1)).isEqualTo(CharOps.min(array1));
+                assertThat(CharSimdOps.max(array1)).isEqualTo(CharOps.max(array1));
+            }
+            char[] result = new char[length];
+            CharSimdOps.add(array1, array2, result);
+            assertThat(result).isEqualTo(CharOps.add(array1, array2));
+            CharSimdOps.and(array1, array2, result);
+            assertThat(result).isEqualTo(CharOps.and(array1, array2));
+        }
+    }
+
+    @Test
+    public void int_kernels() {
+        Random random = new Random(0);
+        for (int length : LENGTHS) {
+            int[] array1 = IntOps.fill(length, i -> random.nextInt());
+            int[] array2 = IntOps.fill(length, i -> random.nextInt(100));
+            for (int val : new int[] { 0, 1, -1, Integer.MIN_VALUE, length > 0 ? array1[length - 1] : 0 }) {
+                assertThat(IntSimdOps.indexOf(array1, val, 0, length)).isEqualTo(IntOps.indexOf(array1, val));
+                assertThat(IntSimdOps.indexOf(array2, val, 0, length)).isEqualTo(IntOps.indexOf(array2, val));
+                boolean[] mask = new boolean[length];
+                IntSimdOps.eq(array1, val, mask);
+                assertThat(mask).isEqualTo(IntOps.eq(array1, val));
+                IntSimdOps.lt(array1, val, mask);
+                assertThat(mask).isEqualTo(IntOps.lt(array1, val));
+                IntSimdOps.gt(array1, val, mask);
+                assertThat(mask).isEqualTo(IntOps.gt(array1, val));
+            }
+            assertThat(IntSimdOps.sum(array1)).isEqualTo(IntOps.sum(array1));
+            if (length > 0) {
+                assertThat(IntSimdOps.min(array1)).isEqualTo(IntOps.min(array1));
+                assertThat(IntSimdOps.max(array1)).isEqualTo(IntOps.max(array1));
+            }
+            int[] result = new int[length];
+            IntSimdOps.add(array1, array2, result);
+            assertThat(result).isEqualTo(IntOps.add(array1, array2));
+            IntSimdOps.and(array1, array2, result);
+            assertThat(result).isEqualTo(IntOps.and(array1, array2));
+        }
+    }
+
+    @Test
+    public void long_kernels() {
+        Random random = new Random(0);
+        for (int length : LENGTHS) {
+            long[] array1 = LongOps.fill(length, i -> random.nextLong());
+            long[] array2 = LongOps.fill(length, i -> random.nextInt(100));
+            for (long val : new long[] { 0, 1, -1, Long.MIN_VALUE, length > 0 ? array1[length - 1] : 0 }) {
+                assertThat(LongSimdOps.indexOf(array1, val, 0, length)).isEqualTo(LongOps.indexOf(array1, val));
+                assertThat(LongSimdOps.indexOf(array2, val, 0, length)).isEqualTo(LongOps.indexOf(array2, val));
+                boolean[] mask = new boolean[length];
+                LongSimdOps.eq(array1, val, mask);
+                assertThat(mask).isEqualTo(LongOps.eq(array1, val));
+                LongSimdOps.lt(array1, val, mask);
+                assertThat(mask).isEqualTo(LongOps.lt(array1, val));
+                LongSimdOps.gt(array1, val, mask);
+                assertThat(mask).isEqualTo(LongOps.gt(array1, val));
+            }
+            assertThat(LongSimdOps.sum(array1)).isEqualTo(LongOps.sum(array1));
+            if (length > 0) {
+                assertThat(LongSimdOps.min(array1)).isEqualTo(LongOps.min(array1));
+                assertThat(LongSimdOps.max(array1)).isEqualTo(LongOps.max(array1));
+            }
+            long[] result = new long[length];
+            LongSimdOps.add(array1, array2, result);
+            assertThat(result).isEqualTo(LongOps.add(array1, array2));
+            LongSimdOps.and(array1, array2, result);
+            assertThat(result).isEqualTo(LongOps.and(array1, array2));
+        }
+    }
+
+    @Test
+    public void float_kernels_special_values() {
+        Random random = new Random(0);
+        float[] specials = { 0.0f, -0.0f, Float.NaN, Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY };
+        for (int length : LENGTHS) {
+            float[] array1 = FloatOps.fill(length, i -> random.nextFloat() - 0.5f);
+            float[] array2 = FloatOps.fill(length, i -> random.nextInt(8) == 0 ? specials[i % 5] : random.nextFloat());
+            for (float val : new float[] { 0.0f, -0.0f, Float.NaN, length > 0 ? array1[length - 1] : 1 }) {
+                assertThat(FloatSimdOps.indexOf(array1, val, 0, length)).isEqualTo(FloatOps.indexOf(array1, val));
+                assertThat(FloatSimdOps.indexOf(array2, val, 0, length)).isEqualTo(FloatOps.indexOf(array2, val));
+                boolean[] mask = new boolean[length];
+                FloatSimdOps.eq(array2, val, mask);
+                assertThat(mask).isEqualTo(FloatOps.eq(array2, val));
+                FloatSimdOps.lt(array2, val, mask);
+                assertThat(mask).isEqualTo(FloatOps.lt(array2, val));
+                FloatSimdOps.gt(array2, val, mask);
+                assertThat(mask).isEqualTo(FloatOps.gt(array2, val));
+            }
+            if (length > 0) {
+                assertThat(FloatSimdOps.min(array1)).isEqualTo(FloatOps.min(array1));
+                assertThat(FloatSimdOps.max(array1)).isEqualTo(FloatOps.max(array1));
+                assertThat(FloatSimdOps.min(array2)).isEqualTo(FloatOps.min(array2));
+                assertThat(FloatSimdOps.max(array2)).isEqualTo(FloatOps.max(array2));
+            }
+            float[] result = new float[length];
+            FloatSimdOps.add(array1, array2, result);
+            assertThat(result).isEqualTo(FloatOps.add(array1, array2));
+        }
+    }
+
+    @Test
+    public void double_kernels_special_values() {
+        Random random = new Random(0);
+        double[] specials = { 0.0, -0.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY };
+        for (int length : LENGTHS) {
+            double[] array1 = DoubleOps.fill(length, i -> random.nextDouble() - 0.5);
+            double[] array2 = DoubleOps.fill(length, i -> random.nextInt(8) == 0 ? specials[i % 5] :
+                                                                                 random.nextDouble());
+            for (double val : new double[] { 0.0, -0.0, Double.NaN, length > 0 ? array1[length - 1] : 1 }) {
+                assertThat(DoubleSimdOps.indexOf(array1, val, 0, length)).isEqualTo(DoubleOps.indexOf(array1, val));
+                assertThat(DoubleSimdOps.indexOf(array2, val, 0, length)).isEqualTo(DoubleOps.indexOf(array2, val));
+                boolean[] mask = new boolean[length];
+                DoubleSimdOps.eq(array2, val, mask);
+                assertThat(mask).isEqualTo(DoubleOps.eq(array2, val));
+                DoubleSimdOps.lt(array2, val, mask);
+                assertThat(mask).isEqualTo(DoubleOps.lt(array2, val));
+                DoubleSimdOps.gt(array2, val, mask);
+                assertThat(mask).isEqualTo(DoubleOps.gt(array2, val));
+            }
+            if (length > 0) {
+                assertThat(DoubleSimdOps.min(array1)).isEqualTo(DoubleOps.min(array1));
+                assertThat(DoubleSimdOps.max(array1)).isEqualTo(DoubleOps.max(array1));
+                assertThat(DoubleSimdOps.min(array2)).isEqualTo(DoubleOps.min(array2));
+                assertThat(DoubleSimdOps.max(array2)).isEqualTo(DoubleOps.max(array2));
+            }
+            double[] result = new double[length];
+            DoubleSimdOps.add(array1, array2, result);
+            assertThat(result).isEqualTo(DoubleOps.add(array1, array2));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package io.spbx.util.base.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares {@link Decimal128} with {@link BigDecimal} on the typical ledger operations:
+ * summing the amounts, applying the rate with rounding to cents, splitting the amount, formatting and parsing.
+ */
+@Fork(value = 1, warmups = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+public class Decimal128JmhBenchmark {
+    private static final int N = 2000;
+    private static final Random RAND = new Random(42);
+    // Amounts in cents up to 10^9 dollars
+    private static final List<String> STRINGS = IntStream.range(0, N)
+        .mapToObj(i -> BigDecimal.valueOf(RAND.nextLong(-100_000_000_000L, 100_000_000_000L), 2).toPlainString())
+        .toList();
+    private static final List<Decimal128> AMOUNTS_128 = STRINGS.stream().map(Decimal128::from).toList();
+    private static final List<BigDecimal> AMOUNTS_BIG = STRINGS.stream().map(BigDecimal::new).toList();
+    private static final Decimal128 RATE_128 = Decimal128.from("1.0825");
+    private static final BigDecimal RATE_BIG = new BigDecimal("1.0825");
+    private static final Decimal128 PARTS_128 = Decimal128.from(3);
+    private static final BigDecimal PARTS_BIG = BigDecimal.valueOf(3);
+
+    @Benchmark
+    public Decimal128 sum_Decimal128() {
+        Decimal128 sum = Decimal128.ZERO;
+        for (Decimal128 amount : AMOUNTS_128)
+            sum = sum.add(amount);
+        return sum;
+    }
+
+    @Benchmark
+    public BigDecimal sum_BigDecimal() {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (BigDecimal amount : AMOUNTS_BIG)
+            sum = sum.add(amount);
+        return sum;
+    }
+
+    @Benchmark
+    public void multiply_rate_Decimal128(Blackhole blackhole) {
+        for (Decimal128 amount : AMOUNTS_128)
+            blackhole.consume(amount.multiply(RATE_128, 2, RoundingMode.HALF_EVEN));
+    }
+
+    @Benchmark
+    public void multiply_rate_BigDecimal(Blackhole blackhole) {
+        for (BigDecimal amount : AMOUNTS_BIG)
+            blackhole.consume(amount.multiply(RATE_BIG).setScale(2, RoundingMode.HALF_EVEN));
+    }
+
+    @Benchmark
+    public void divide_split_Decimal128(Blackhole blackhole) {
+        for (Decimal128 amount : AMOUNTS_128)
+            blackhole.consume(amount.divide(PARTS_128, RoundingMode.HALF_EVEN));
+    }
+
+    @Benchmark
+    public void divide_split_BigDecimal(Blackhole blackhole) {
+        for (BigDecimal amount : AMOUNTS_BIG)
+            blackhole.consume(amount.divide(PARTS_BIG, RoundingMode.HALF_EVEN));
+    }
+
+    @Benchmark
+    public void compare_Decimal128(Blackhole blackhole) {
+        for (Decimal128 amount : AMOUNTS_128)
+            blackhole.consume(amount.compareTo(RATE_128));
+    }
+
+    @Benchmark
+    public void compare_BigDecimal(Blackhole blackhole) {
+        for (BigDecimal amount : AMOUNTS_BIG)
+            blackhole.consume(amount.compareTo(RATE_BIG));
+    }
+
+    @Benchmark
+    public void toString_Decimal128(Blackhole blackhole) {
+        for (Decimal128 amount : AMOUNTS_128)
+            blackhole.consume(amount.toString());
+    }
+
+    @Benchmark
+    public void toString_BigDecimal(Blackhole blackhole) {
+        for (BigDecimal amount : AMOUNTS_BIG)
+            blackhole.consume(amount.toPlainString());
+    }
+
+    @Benchmark
+    public void parse_Decimal128(Blackhole blackhole) {
+        for (String str : STRINGS)
+            blackhole.consume(Decimal128.from(str));
+    }
+
+    @Benchmark
+    public void parse_BigDecimal(Blackhole blackhole) {
+        for (String str : STRINGS)
+            blackhole.consume(new BigDecimal(str));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        System.setProperty("jmh.separateClasspathJAR", "true");
+        Options options = new OptionsBuilder().include(Decimal128JmhBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,240 @@
+package io.spbx.util.base.math;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spbx.util.testing.TestingBigIntegers.INT128_MAX;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Tag("fast")
+public class Decimal128Test {
+    private static final int ITERATIONS = 5000;
+
+    @Test
+    public void parse_and_to_string() {
+        for (String str : new String[] {
+            "0", "-0", "1", "-1", "12.50", "-12.50", "0.005", "-0.005", ".5", "1.", "+3.14",
+            "0.00000000000000000000000000000000000001", INT128_MAX.toString(), "-" + INT128_MAX,
+            "1701411834604692317316873037.15884105727", "-0.17014118346046923173168730371588410572",
+        }) {
+            Decimal128 decimal = Decimal128.from(str);
+            BigDecimal expected = new BigDecimal(str);
+            assertThat(decimal.toBigDecimal()).isEqualTo(expected);
+            assertThat(decimal.toString()).isEqualTo(expected.toPlainString());
+            assertThat(Decimal128.from(expected)).isEqualTo(decimal);
+        }
+    }
+
+    @Test
+    public void parse_invalid() {
+        for (String str : new String[] { "", "-", ".", "1.2.3", "1e5", "12a", "--1", "1-",
+                                         INT128_MAX.add(BigInteger.ONE).toString(),
+                                         "0.000000000000000000000000000000000000001" }) {
+            assertThrows(NumberFormatException.class, () -> Decimal128.from(str), str);
+        }
+        assertThrows(ArithmeticException.class, () -> Decimal128.of(Int128.MIN_VALUE, 0));
+        assertThrows(ArithmeticException.class, () -> Decimal128.of(1, -1));
+        assertThrows(ArithmeticException.class, () -> Decimal128.of(1, Decimal128.MAX_SCALE + 1));
+    }
+
+    @Test
+    public void add_subtract_same_as_big_decimal() {
+        Random random = new Random(0);
+        for (int i = 0; i < ITERATIONS; i++) {
+            Decimal128 a = random(random, 100, 20);
+            Decimal128 b = random(random, 100, 20);
+            assertSame(() -> a.toBigDecimal().add(b.toBigDecimal()), () -> a.add(b));
+            assertSame(() -> a.toBigDecimal().subtract(b.toBigDecimal()), () -> a.subtract(b));
+        }
+    }
+
+    @Test
+    public void add_subtract_overflow() {
+        Decimal128 max = Decimal128.of(Int128.MAX_VALUE, 2);
+        assertThrows(ArithmeticException.class, () -> max.add(Decimal128.of(1, 2)));
+        assertThrows(ArithmeticException.class, () -> max.negate().subtract(Decimal128.of(1, 2)));
+        assertThrows(ArithmeticException.class, () -> max.add(Decimal128.of(1, 3)));
+        assertThat(max.add(max.negate())).isEqualTo(Decimal128.of(0, 2));
+    }
+
+    @Test
+    public void multiply_same_as_big_decimal() {
+        Random random = new Random(0);
+        for (int i = 0; i < ITERATIONS; i++) {
+            Decimal128 a = random(random, 60, 12);
+            Decimal128 b = random(random, 60, 12);
+            int scale = random.nextInt(13);
+            assertSame(() -> a.toBigDecimal().multiply(b.toBigDecimal()), () -> a.multiply(b));
+            for (RoundingMode mode : RoundingMode.values()) {
+                assertSame(() -> a.toBigDecimal().multiply(b.toBigDecimal()).setScale(scale, mode),
+                           () -> a.multiply(b, scale, mode));
+            }
+        }
+        assertThrows(ArithmeticException.class, () -> Decimal128.of(Int128.MAX_VALUE, 0).multiply(Decimal128.of(2, 0)));
+    }
+
+    @Test
+    public void divide_same_as_big_decimal() {
+        Random random = new Random(0);
+        for (int i = 0; i < ITERATIONS; i++) {
+            Decimal128 a = random(random, 40, 12);
+            Decimal128 b = random(random, 40, 12);
+            if (b.isZero()) {
+                continue;
+            }
+            int scale = random.nextInt(13);
+            for (RoundingMode mode : RoundingMode.values()) {
+                assertSame(() -> a.toBigDecimal().divide(b.toBigDecimal(), scale, mode),
+                           () -> a.divide(b, scale, mode));
+                assertSame(() -> a.toBigDecimal().divide(b.toBigDecimal(), mode), () -> a.divide(b, mode));
+            }
+        }
+        assertThrows(ArithmeticException.class, () -> Decimal128.ONE.divide(Decimal128.ZERO, RoundingMode.HALF_UP));
+    }
+
+    @Test
+    public void multiply_divide_wide_intermediate() {
+        // The intermediate `a * b` or `a * 10^n` exceeds 127 bits, while the result fits
+        assertThat(Decimal128.from("593062821969.7620843258")
+                       .divide(Decimal128.from("4.88886119394208834"), 16, RoundingMode.HALF_UP))
+            .isEqualTo(Decimal128.from("121308991694.1477576767000166"));
+        assertThat(Decimal128.from("-66593062806.4289541786")
+                       .divide(Decimal128.from("92.23372036854775807"), 14, RoundingMode.DOWN))
+            .isEqualTo(Decimal128.from("-722003433.67193914958612"));
+        assertThat(Decimal128.from("-3200.510096788607205029")
+                       .multiply(Decimal128.from("922337.2036854775806"), 1, RoundingMode.FLOOR))
+            .isEqualTo(Decimal128.from("-2951949533.1"));
+        Decimal128 a = Decimal128.from("-66593062806.4289541786");
+        Decimal128 b = Decimal128.from("92.23372036854775807");
+        for (RoundingMode mode : RoundingMode.values()) {
+            assertSame(() -> a.toBigDecimal().divide(b.toBigDecimal(), 14, mode), () -> a.divide(b, 14, mode));
+            assertSame(() -> a.toBigDecimal().multiply(b.toBigDecimal()).setScale(1, mode),
+                       () -> a.multiply(b, 1, mode));
+        }
+        Decimal128 one = Decimal128.of(Int128.from(BigInteger.TEN.pow(38)), 38);
+        assertThat(Decimal128.ONE.divide(one, 1, RoundingMode.UNNECESSARY)).isEqualTo(Decimal128.of(10, 1));
+        Decimal128 almostTwo = Decimal128.of(Int128.MAX_VALUE, 38);
+        assertSame(() -> almostTwo.toBigDecimal().multiply(almostTwo.toBigDecimal()).setScale(0, RoundingMode.HALF_UP),
+                   () -> almostTwo.multiply(almostTwo, 0, RoundingMode.HALF_UP));
+    }
+
+    @Test
+    public void multiply_divide_wide_same_as_big_decimal() {
+        Random random = new Random(0);
+        for (int i = 0; i < ITERATIONS; i++) {
+            Decimal128 a = random(random, 1 + random.nextInt(126), Decimal128.MAX_SCALE);
+            Decimal128 b = random(random, 1 + random.nextInt(126), Decimal128.MAX_SCALE);
+            int scale = random.nextInt(Decimal128.MAX_SCALE + 1);
+            for (RoundingMode mode : RoundingMode.values()) {
+                assertSame(() -> a.toBigDecimal().multiply(b.toBigDecimal()).setScale(scale, mode),
+                           () -> a.multiply(b, scale, mode));
+                if (!b.isZero()) {
+                    assertSame(() -> a.toBigDecimal().divide(b.toBigDecimal(), scale, mode),
+                               () -> a.divide(b, scale, mode));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void multiply_divide_wide_boundaries() {
+        Decimal128 max = Decimal128.of(Int128.MAX_VALUE, 0);
+        assertThat(max.multiply(Decimal128.of(10, 1), 0, RoundingMode.DOWN)).isEqualTo(max);
+        assertThat(max.negate().multiply(Decimal128.of(10, 1), 0, RoundingMode.DOWN)).isEqualTo(max.negate());
+        assertThrows(ArithmeticException.class, () -> max.multiply(Decimal128.of(11, 1), 0, RoundingMode.DOWN));
+        assertThrows(ArithmeticException.class, () -> max.multiply(Decimal128.of(10, 1), 1, RoundingMode.DOWN));
+
+        assertThat(max.divide(Decimal128.of(10, 1), 0, RoundingMode.UNNECESSARY)).isEqualTo(max);
+        assertThat(max.divide(max, 38, RoundingMode.UNNECESSARY))
+            .isEqualTo(Decimal128.of(Int128.from(BigInteger.TEN.pow(38)), 38));
+        assertThrows(ArithmeticException.class, () -> max.divide(Decimal128.of(9, 1), 0, RoundingMode.DOWN));
+        assertThrows(ArithmeticException.class, () -> max.divide(Decimal128.of(1, 38), 1, RoundingMode.DOWN));
+    }
+
+    @Test
+    public void divide_rounding_ties() {
+        // 5 / 2 = 2.5, 7 / 2 = 3.5, with the small and large scales of the dividend
+        for (String dividend : new String[] { "5", "-5", "7", "-7", "0.000000000000000000000000000005", "7.5" }) {
+            for (String divisor : new String[] { "2", "-2", "0.2", "20000000000000000000000000" }) {
+                Decimal128 a = Decimal128.from(dividend);
+                Decimal128 b = Decimal128.from(divisor);
+                for (RoundingMode mode : RoundingMode.values()) {
+                    for (int scale : new int[] { 0, 1, 5, 30 }) {
+                        assertSame(() -> a.toBigDecimal().divide(b.toBigDecimal(), scale, mode),
+                                   () -> a.divide(b, scale, mode));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void set_scale_same_as_big_decimal() {
+        Random random = new Random(0);
+        for (int i = 0; i < ITERATIONS; i++) {
+            Decimal128 a = random(random, 120, Decimal128.MAX_SCALE);
+            int scale = random.nextInt(Decimal128.MAX_SCALE + 1);
+            for (RoundingMode mode : RoundingMode.values()) {
+                assertSame(() -> a.toBigDecimal().setScale(scale, mode), () -> a.setScale(scale, mode));
+            }
+        }
+    }
+
+    @Test
+    public void compare_and_equals() {
+        Random random = new Random(0);
+        for (int i = 0; i < ITERATIONS; i++) {
+            Decimal128 a = random(random, 1 + random.nextInt(120), Decimal128.MAX_SCALE);
+            Decimal128 b = random.nextInt(4) == 0 ?
+                a.setScale(Math.min(a.scale() + 1, Decimal128.MAX_SCALE)) :
+                random(random, 1 + random.nextInt(126), Decimal128.MAX_SCALE);
+            int expected = a.toBigDecimal().compareTo(b.toBigDecimal());
+            assertThat(Integer.signum(a.compareTo(b))).isEqualTo(expected);
+            assertThat(Integer.signum(b.compareTo(a))).isEqualTo(-expected);
+            assertThat(a.equals(b)).isEqualTo(a.toBigDecimal().equals(b.toBigDecimal()));
+        }
+        assertThat(Decimal128.from("2.0")).isNotEqualTo(Decimal128.from("2.00"));
+        assertThat(Decimal128.from("2.0").compareTo(Decimal128.from("2.00"))).isEqualTo(0);
+    }
+
+    @Test
+    public void number_conversions() {
+        Decimal128 decimal = Decimal128.from("-1234.5678");
+        assertThat(decimal.longValue()).isEqualTo(-1234);
+        assertThat(decimal.intValue()).isEqualTo(-1234);
+        assertThat(decimal.doubleValue()).isEqualTo(-1234.5678);
+        assertThat(decimal.unscaledValue()).isEqualTo(Int128.from(-12345678));
+        assertThat(decimal.scale()).isEqualTo(4);
+        assertThat(decimal.signum()).isEqualTo(-1);
+        assertThat(decimal.abs()).isEqualTo(Decimal128.from("1234.5678"));
+    }
+
+    private static void assertSame(@NotNull Supplier<BigDecimal> expected, @NotNull Supplier<Decimal128> actual) {
+        BigDecimal result;
+        try {
+            result = expected.get();
+        } catch (ArithmeticException e) {
+            assertThrows(ArithmeticException.class, actual::get);
+            return;
+        }
+        if (result.unscaledValue().bitLength() >= Int128.BITS || result.scale() > Decimal128.MAX_SCALE) {
+            assertThrows(ArithmeticException.class, actual::get);
+        } else {
+            assertThat(actual.get().toBigDecimal()).isEqualTo(result);
+        }
+    }
+
+    private static @NotNull Decimal128 random(@NotNull Random random, int maxBits, int maxScale) {
+        BigInteger unscaled = new BigInteger(random.nextInt(maxBits + 1), random);
+        return Decimal128.from(new BigDecimal(random.nextBoolean() ? unscaled : unscaled.negate(),
+                                              random.nextInt(maxScale + 1)));
+    }
+}
@@ -0,0 +1,125 @@
+package io.spbx.util.base.math;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spbx.util.testing.TestingBigIntegers.$0;
+import static io.spbx.util.testing.TestingBigIntegers.RANGE_INT128;
+
+@Tag("fast")
+public class Int128ArrayTest {
+    private static final IntFunction<Int128Array> HEAP = Int128Array::allocate;
+    private static final IntFunction<Int128Array> DIRECT = Int128Array::allocateDirect;
+
+    @Test
+    public void get_set() {
+        for (IntFunction<Int128Array> allocator : Arrays.asList(HEAP, DIRECT)) {
+            Int128Array array = allocator.apply(4);
+            array.set(0, Int128.MAX_VALUE);
+            array.set(1, -1);
+            array.setBits(2, 1, 2);
+            array.set(3, MutableInt128.of(Int128.MIN_VALUE));
+
+            assertThat(array.length()).isEqualTo(4);
+            assertThat(array.toArray()).asList()
+                .containsExactly(Int128.MAX_VALUE, Int128.from(-1), Int128.fromBits(1, 2), Int128.MIN_VALUE).inOrder();
+            assertThat(array.highBitsAt(2)).isEqualTo(1);
+            assertThat(array.lowBitsAt(2)).isEqualTo(2);
+
+            MutableInt128 into = MutableInt128.zero();
+            array.getInto(1, into);
+            assertThat(into.toInt128()).isEqualTo(Int128.from(-1));
+        }
+        assertThat(Int128Array.allocate(1).isDirect()).isFalse();
+        assertThat(Int128Array.allocateDirect(1).isDirect()).isTrue();
+    }
+
+    @Test
+    public void wrap_shares_bits() {
+        long[] bits = { 0, 1, -1, -1 };
+        Int128Array array = Int128Array.wrap(bits);
+        assertThat(array.toArray()).asList().containsExactly(Int128.ONE, Int128.from(-1)).inOrder();
+        array.set(0, 5);
+        assertThat(bits).asList().containsExactly(0L, 5L, -1L, -1L).inOrder();
+    }
+
+    @Test
+    public void sum_min_max() {
+        for (IntFunction<Int128Array> allocator : Arrays.asList(HEAP, DIRECT)) {
+            for (int length : new int[] { 1, 2, 10, 1000 }) {
+                Int128[] values = randomValues(length, length);
+                Int128Array array = fill(allocator.apply(length), values);
+
+                BigInteger expectedSum = Arrays.stream(values).map(Int128::toBigInteger).reduce($0, BigInteger::add);
+                assertThat(array.sum().toBigInteger()).isEqualTo(RANGE_INT128.fitIn(expectedSum));
+                assertThat(array.min()).isEqualTo(Arrays.stream(values).min(Comparator.naturalOrder()).orElseThrow());
+                assertThat(array.max()).isEqualTo(Arrays.stream(values).max(Comparator.naturalOrder()).orElseThrow());
+            }
+        }
+        assertThat(Int128Array.allocate(0).sum()).isEqualTo(Int128.ZERO);
+    }
+
+    @Test
+    public void sort_and_binary_search() {
+        for (IntFunction<Int128Array> allocator : Arrays.asList(HEAP, DIRECT)) {
+            for (int length : new int[] { 0, 1, 2, 3, 15, 16, 17, 100, 5000 }) {
+                Int128[] values = randomValues(length, 31L * length);
+                Int128Array array = fill(allocator.apply(length), values);
+                array.sort();
+                Arrays.sort(values);
+                assertThat(array.toArray()).isEqualTo(values);
+
+                for (Int128 value : values) {
+                    assertThat(array.get(array.binarySearch(value))).isEqualTo(value);
+                }
+                assertThat(array.binarySearch(Int128.MIN_VALUE.increment()))
+                    .isEqualTo(Arrays.binarySearch(values, Int128.MIN_VALUE.increment()));
+                assertThat(array.binarySearch(Int128.fromBits(0, 3)))
+                    .isEqualTo(Arrays.binarySearch(values, Int128.fromBits(0, 3)));
+            }
+        }
+    }
+
+    @Test
+    public void sort_duplicates_and_sorted() {
+        Int128[] values = new Int128[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Int128.from(i % 7 - 3);
+        }
+        Int128Array array = fill(Int128Array.allocate(values.length), values);
+        array.sort();
+        Arrays.sort(values);
+        assertThat(array.toArray()).isEqualTo(values);
+
+        array.sort();  // already sorted
+        assertThat(array.toArray()).isEqualTo(values);
+    }
+
+    private static @NotNull Int128Array fill(@NotNull Int128Array array, @NotNull Int128 @NotNull[] values) {
+        for (int i = 0; i < values.length; i++) {
+            array.set(i, values[i]);
+        }
+        return array;
+    }
+
+    private static @NotNull Int128 @NotNull[] randomValues(int length, long seed) {
+        Random random = new Random(seed);
+        Int128[] values = new Int128[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = switch (random.nextInt(4)) {
+                case 0 -> Int128.from(random.nextLong());
+                case 1 -> Int128.from(random.nextInt(10) - 5);
+                default -> Int128.fromBits(random.nextLong(), random.nextLong());
+            };
+        }
+        return values;
+    }
+}
@@ -19,6 +19,7 @@ import java.util.List;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 import static io.spbx.util.testing.TestingBasics.longStreamOf;
 
@@ -35,6 +36,8 @@ public class Int128JmhBenchmark {
     private static final List<Int128> DOUBLES_128 = longStreamOf(LONGS).mapToObj(v -> Int128.fromBits(v, ~v)).toList();
     private static final List<BigInteger> BIGS_64 = DOUBLES_64.stream().map(Int128::toBigInteger).toList();
     private static final List<BigInteger> BIGS_128 = DOUBLES_128.stream().map(Int128::toBigInteger).toList();
+    private static final Int128Array ARRAY_128 = Int128Array.of(DOUBLES_128.toArray(Int128[]::new));
+    private static final long[] BITS_128 = longStreamOf(LONGS).flatMap(v -> LongStream.of(v, ~v)).toArray();
 
     @Benchmark
     public void add_64_Int128(Blackhole blackhole) {
@@ -176,6 +179,146 @@ public class Int128JmhBenchmark {
                 blackhole.consume(x.remainder(y));
     }
 
+    @Benchmark
+    public void divideAndRemainder_64_Int128(Blackhole blackhole) {
+        for (Int128 x : DOUBLES_128)
+            for (Int128 y : DOUBLES_64)
+                blackhole.consume(x.divideAndRemainder(y));
+    }
+
+    @Benchmark
+    public void divideAndRemainder_128_Int128(Blackhole blackhole) {
+        for (Int128 x : DOUBLES_128)
+            for (Int128 y : DOUBLES_128)
+                blackhole.consume(x.divideAndRemainder(y));
+    }
+
+    @Benchmark
+    public void divideAndRemainder_64_BigInteger(Blackhole blackhole) {
+        for (BigInteger x : BIGS_128)
+            for (BigInteger y : BIGS_64)
+                blackhole.consume(x.divideAndRemainder(y));
+    }
+
+    @Benchmark
+    public void divideAndRemainder_128_BigInteger(Blackhole blackhole) {
+        for (BigInteger x : BIGS_128)
+            for (BigInteger y : BIGS_128)
+                blackhole.consume(x.divideAndRemainder(y));
+    }
+
+    @Benchmark
+    public void toString_Int128(Blackhole blackhole) {
+        for (Int128 x : DOUBLES_128)
+            blackhole.consume(x.toString());
+    }
+
+    @Benchmark
+    public void toString_BigInteger(Blackhole blackhole) {
+        for (BigInteger x : BIGS_128)
+            blackhole.consume(x.toString());
+    }
+
+    @Benchmark
+    public void toString_hex_Int128(Blackhole blackhole) {
+        for (Int128 x : DOUBLES_128)
+            blackhole.consume(x.toString(16));
+    }
+
+    @Benchmark
+    public void toString_hex_BigInteger(Blackhole blackhole) {
+        for (BigInteger x : BIGS_128)
+            blackhole.consume(x.toString(16));
+    }
+
+    @Benchmark
+    public void sum_Int128(Blackhole blackhole) {
+        Int128 sum = Int128.ZERO;
+        for (Int128 x : DOUBLES_128)
+            for (Int128 y : DOUBLES_64)
+                sum = sum.add(x).add(y);
+        blackhole.consume(sum);
+    }
+
+    @Benchmark
+    public void sum_MutableInt128(Blackhole blackhole) {
+        MutableInt128 sum = MutableInt128.zero();
+        for (Int128 x : DOUBLES_128)
+            for (Int128 y : DOUBLES_64)
+                sum.add(x).add(y);
+        blackhole.consume(sum);
+    }
+
+    @Benchmark
+    public void sum_BigInteger(Blackhole blackhole) {
+        BigInteger sum = BigInteger.ZERO;
+        for (BigInteger x : BIGS_128)
+            for (BigInteger y : BIGS_64)
+                sum = sum.add(x).add(y);
+        blackhole.consume(sum);
+    }
+
+    @Benchmark
+    public void multiply_accumulate_Int128(Blackhole blackhole) {
+        Int128 sum = Int128.ZERO;
+        for (Int128 x : DOUBLES_128)
+            for (Int128 y : DOUBLES_64)
+                sum = sum.add(x.multiply(y));
+        blackhole.consume(sum);
+    }
+
+    @Benchmark
+    public void multiply_accumulate_MutableInt128(Blackhole blackhole) {
+        MutableInt128 sum = MutableInt128.zero();
+        MutableInt128 product = MutableInt128.zero();
+        for (Int128 x : DOUBLES_128)
+            for (Int128 y : DOUBLES_64)
+                sum.add(product.set(x).multiply(y));
+        blackhole.consume(sum);
+    }
+
+    @Benchmark
+    public void array_sum_Int128Array(Blackhole blackhole) {
+        blackhole.consume(ARRAY_128.sum());
+    }
+
+    @Benchmark
+    public void array_sum_Int128List(Blackhole blackhole) {
+        Int128 sum = Int128.ZERO;
+        for (Int128 x : DOUBLES_128)
+            sum = sum.add(x);
+        blackhole.consume(sum);
+    }
+
+    @Benchmark
+    public void array_sum_BigIntegerList(Blackhole blackhole) {
+        BigInteger sum = BigInteger.ZERO;
+        for (BigInteger x : BIGS_128)
+            sum = sum.add(x);
+        blackhole.consume(sum);
+    }
+
+    @Benchmark
+    public void array_sort_Int128Array(Blackhole blackhole) {
+        Int128Array array = Int128Array.wrap(BITS_128.clone());
+        array.sort();
+        blackhole.consume(array);
+    }
+
+    @Benchmark
+    public void array_sort_Int128List(Blackhole blackhole) {
+        Int128[] array = DOUBLES_128.toArray(Int128[]::new);
+        Arrays.sort(array);
+        blackhole.consume(array);
+    }
+
+    @Benchmark
+    public void array_sort_BigIntegerList(Blackhole blackhole) {
+        BigInteger[] array = BIGS_128.toArray(BigInteger[]::new);
+        Arrays.sort(array);
+        blackhole.consume(array);
+    }
+
     public static void main(String[] args) throws RunnerException {
         System.out.println(Arrays.toString(LONGS));
         System.setProperty("jmh.separateClasspathJAR", "true");
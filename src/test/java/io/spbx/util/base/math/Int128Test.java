@@ -17,6 +17,7 @@ import org.junit.jupiter.params.provider.ValueSource;
 import java.math.BigInteger;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.IntStream;
@@ -574,6 +575,57 @@ public class Int128Test {
         REMAINDER_LONG.assertMatchAll(BIG_INTEGERS, EDGE_CASE_LONGS);
     }
 
+    /** {@link Int128#divideAndRemainder(Int128)}, {@link Int128#divideAndRemainder(long)} **/
+
+    @Test
+    public void divideAndRemainder_ultimate() {
+        for (BigInteger a : BIG_INTEGERS) {
+            for (BigInteger b : BIG_INTEGERS) {
+                if (b.signum() != 0) {
+                    assertDivideAndRemainder(a, b);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void divideAndRemainder_random() {
+        Random random = new Random(0);
+        for (int i = 0; i < 20_000; i++) {
+            BigInteger a = RANGE_INT128.fitIn(new BigInteger(1 + random.nextInt(128), random));
+            BigInteger b = RANGE_INT128.fitIn(new BigInteger(1 + random.nextInt(128), random));
+            a = random.nextBoolean() ? a : a.negate();
+            b = random.nextBoolean() ? b : b.negate();
+            if (b.signum() != 0) {
+                assertDivideAndRemainder(a, b);
+            }
+        }
+    }
+
+    @Test
+    public void divideAndRemainder_min_value() {
+        assertThat(Int128.MIN_VALUE.divideAndRemainder(-1)).asList().containsExactly(Int128.MIN_VALUE, Int128.ZERO);
+        assertThat(Int128.MIN_VALUE.divideAndRemainder(Int128.MIN_VALUE)).asList()
+            .containsExactly(Int128.ONE, Int128.ZERO);
+        assertThat(Int128.MAX_VALUE.divideAndRemainder(Int128.MIN_VALUE)).asList()
+            .containsExactly(Int128.ZERO, Int128.MAX_VALUE);
+    }
+
+    private static void assertDivideAndRemainder(@NotNull BigInteger a, @NotNull BigInteger b) {
+        BigInteger[] expected = a.divideAndRemainder(b);
+        Int128[] actual = Int128.from(a).divideAndRemainder(Int128.from(b));
+        assertThat(actual[0].toBigInteger()).isEqualTo(RANGE_INT128.fitIn(expected[0]));
+        assertThat(actual[1].toBigInteger()).isEqualTo(expected[1]);
+        assertThat(Int128.from(a).divide(Int128.from(b))).isEqualTo(actual[0]);
+        assertThat(Int128.from(a).remainder(Int128.from(b))).isEqualTo(actual[1]);
+        if (Int128.from(b).is64Bit()) {
+            long l = b.longValue();
+            assertThat(Int128.from(a).divideAndRemainder(l)).isEqualTo(actual);
+            assertThat(Int128.from(a).divide(l)).isEqualTo(actual[0]);
+            assertThat(Int128.from(a).remainder(l)).isEqualTo(actual[1]);
+        }
+    }
+
     /** {@link Int128#negate()}, {@link Int128#and}, {@link Int128#andNot}, {@link Int128#or}, {@link Int128#xor} **/
 
     private static final UnOpTester<Int128, BigInteger> NEGATE = test(Int128::negate, BigInteger::negate);
@@ -1109,6 +1161,9 @@ public class Int128Test {
         assertThat(value.toString(2)).isEqualTo(bigInteger.toString(2));
         assertThat(value.toString(8)).isEqualTo(bigInteger.toString(8));
         assertThat(value.toString(16)).isEqualTo(bigInteger.toString(16));
+        for (int radix = Character.MIN_RADIX - 1; radix <= Character.MAX_RADIX + 1; radix++) {
+            assertThat(value.toString(radix)).isEqualTo(bigInteger.toString(radix));
+        }
 
         if (bigInteger.compareTo($0) >= 0) {
             assertThat(value.toBinaryString()).isEqualTo(Strings.padStart(bigInteger.toString(2), 128, '0'));
@@ -0,0 +1,130 @@
+package io.spbx.util.base.math;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spbx.util.testing.TestingBigIntegers.*;
+
+@Tag("fast")
+public class MutableInt128Test {
+    private static final List<Int128> VALUES = values();
+
+    @Test
+    public void construction() {
+        assertThat(MutableInt128.zero().toInt128()).isEqualTo(Int128.ZERO);
+        assertThat(MutableInt128.of(-1).toInt128()).isEqualTo(Int128.from(-1));
+        assertThat(MutableInt128.of(Long.MIN_VALUE).toBigInteger()).isEqualTo(INT64_MIN);
+        assertThat(MutableInt128.of(Int128.MAX_VALUE).toBigInteger()).isEqualTo(INT128_MAX);
+        assertThat(MutableInt128.fromBits(1, 2).toInt128()).isEqualTo(Int128.fromBits(1, 2));
+        assertThat(MutableInt128.of(Int128.MIN_VALUE).toString()).isEqualTo(INT128_MIN.toString());
+    }
+
+    @Test
+    public void increment_decrement() {
+        for (Int128 value : VALUES) {
+            assertThat(MutableInt128.of(value).increment().toInt128()).isEqualTo(value.increment());
+            assertThat(MutableInt128.of(value).decrement().toInt128()).isEqualTo(value.decrement());
+        }
+    }
+
+    @Test
+    public void add_subtract_multiply() {
+        assertBinaryOp(MutableInt128::add, Int128::add);
+        assertBinaryOp(MutableInt128::subtract, Int128::subtract);
+        assertBinaryOp(MutableInt128::multiply, Int128::multiply);
+    }
+
+    @Test
+    public void add_subtract_multiply_long() {
+        for (Int128 lhs : VALUES) {
+            for (Int128 rhs : VALUES) {
+                long value = rhs.longValue();
+                assertThat(MutableInt128.of(lhs).add(value).toInt128()).isEqualTo(lhs.add(value));
+                assertThat(MutableInt128.of(lhs).subtract(value).toInt128()).isEqualTo(lhs.subtract(value));
+                assertThat(MutableInt128.of(lhs).multiply(value).toInt128()).isEqualTo(lhs.multiply(value));
+            }
+        }
+    }
+
+    @Test
+    public void accumulate_same_as_big_integer() {
+        MutableInt128 sum = MutableInt128.zero();
+        MutableInt128 product = MutableInt128.of(1);
+        BigInteger expectedSum = $0;
+        BigInteger expectedProduct = $1;
+        for (Int128 value : VALUES) {
+            sum.add(value);
+            product.multiply(value.isZero() ? Int128.ONE : value);
+            expectedSum = RANGE_INT128.fitIn(expectedSum.add(value.toBigInteger()));
+            expectedProduct = RANGE_INT128.fitIn(expectedProduct.multiply(value.isZero() ? $1 : value.toBigInteger()));
+        }
+        assertThat(sum.toBigInteger()).isEqualTo(expectedSum);
+        assertThat(product.toBigInteger()).isEqualTo(expectedProduct);
+    }
+
+    @Test
+    public void negate() {
+        for (Int128 value : VALUES) {
+            assertThat(MutableInt128.of(value).negate().toInt128()).isEqualTo(value.negate());
+        }
+    }
+
+    @Test
+    public void shifts() {
+        for (Int128 value : VALUES) {
+            for (int len = -127; len < 128; len++) {
+                assertThat(MutableInt128.of(value).shiftLeft(len).toInt128()).isEqualTo(value.shiftLeft(len));
+                assertThat(MutableInt128.of(value).shiftRight(len).toInt128()).isEqualTo(value.shiftRight(len));
+                assertThat(MutableInt128.of(value).shiftRightUnsigned(len).toInt128())
+                    .isEqualTo(value.shiftRightUnsigned(len));
+            }
+        }
+    }
+
+    @Test
+    public void compare_and_equals() {
+        for (Int128 lhs : VALUES) {
+            for (Int128 rhs : VALUES) {
+                int expected = Integer.signum(lhs.compareTo(rhs));
+                assertThat(Integer.signum(MutableInt128.of(lhs).compareTo(MutableInt128.of(rhs)))).isEqualTo(expected);
+                assertThat(Integer.signum(MutableInt128.of(lhs).compareTo(rhs))).isEqualTo(expected);
+                assertThat(MutableInt128.of(lhs).equals(MutableInt128.of(rhs))).isEqualTo(lhs.equals(rhs));
+            }
+            assertThat(MutableInt128.of(lhs).signum()).isEqualTo(lhs.signum());
+            assertThat(MutableInt128.of(lhs).hashCode()).isEqualTo(lhs.hashCode());
+        }
+    }
+
+    private static void assertBinaryOp(@NotNull BiFunction<MutableInt128, Int128, MutableInt128> mutable,
+                                       @NotNull BinaryOperator<Int128> immutable) {
+        for (Int128 lhs : VALUES) {
+            for (Int128 rhs : VALUES) {
+                MutableInt128 value = MutableInt128.of(lhs);
+                assertThat(mutable.apply(value, rhs)).isSameInstanceAs(value);
+                assertThat(value.toInt128()).isEqualTo(immutable.apply(lhs, rhs));
+            }
+        }
+    }
+
+    private static @NotNull List<Int128> values() {
+        List<Int128> values = new ArrayList<>(List.of(
+            Int128.ZERO, Int128.ONE, Int128.MIN_VALUE, Int128.MAX_VALUE, Int128.from(-1),
+            Int128.from(Long.MIN_VALUE), Int128.from(Long.MAX_VALUE), Int128.fromBits(0, -1), Int128.fromBits(-1, 0)
+        ));
+        Random random = new Random(0);
+        for (int i = 0; i < 40; i++) {
+            values.add(Int128.fromBits(random.nextLong(), random.nextLong()));
+            values.add(Int128.from(random.nextLong()));
+        }
+        return values;
+    }
+}
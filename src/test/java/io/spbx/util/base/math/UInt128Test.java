@@ -0,0 +1,135 @@
+package io.spbx.util.base.math;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spbx.util.testing.TestingBigIntegers.$0;
+import static io.spbx.util.testing.TestingBigIntegers.$1;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Tag("fast")
+public class UInt128Test {
+    private static final BigInteger MODULUS = $1.shiftLeft(128);
+    private static final List<BigInteger> VALUES = values();
+
+    @Test
+    public void construction() {
+        assertThat(UInt128.ZERO.toBigInteger()).isEqualTo($0);
+        assertThat(UInt128.MAX_VALUE.toBigInteger()).isEqualTo(MODULUS.subtract($1));
+        assertThat(UInt128.fromUnsigned(-1).toBigInteger()).isEqualTo($1.shiftLeft(64).subtract($1));
+        assertThat(UInt128.fromUnsigned(Int128.from(-1))).isEqualTo(UInt128.MAX_VALUE);
+        assertThat(UInt128.MAX_VALUE.toInt128Bits()).isEqualTo(Int128.from(-1));
+        for (BigInteger value : VALUES) {
+            UInt128 uint = UInt128.from(value);
+            assertThat(uint.toBigInteger()).isEqualTo(value);
+            assertThat(UInt128.fromBits(uint.toByteArray())).isEqualTo(uint);
+        }
+    }
+
+    @Test
+    public void parse_and_to_string() {
+        for (BigInteger value : VALUES) {
+            UInt128 uint = UInt128.from(value);
+            for (int radix = Character.MIN_RADIX; radix <= Character.MAX_RADIX; radix++) {
+                assertThat(uint.toString(radix)).isEqualTo(value.toString(radix));
+                assertThat(UInt128.from(value.toString(radix), radix)).isEqualTo(uint);
+            }
+            assertThat(uint.toString()).isEqualTo(value.toString());
+            assertThat(UInt128.fromHex("0x" + uint.toHexString())).isEqualTo(uint);
+            assertThat(uint.toHexString()).hasLength(32);
+        }
+    }
+
+    @Test
+    public void parse_invalid() {
+        assertThrows(NumberFormatException.class, () -> UInt128.from(""));
+        assertThrows(NumberFormatException.class, () -> UInt128.from("+"));
+        assertThrows(NumberFormatException.class, () -> UInt128.from("-1"));
+        assertThrows(NumberFormatException.class, () -> UInt128.from("12a"));
+        assertThrows(NumberFormatException.class, () -> UInt128.from(MODULUS.toString()));
+        assertThrows(NumberFormatException.class, () -> UInt128.from(MODULUS.toString(16), 16));
+        assertThrows(NumberFormatException.class, () -> UInt128.from(MODULUS.multiply($1.shiftLeft(64)).toString()));
+        assertThat(UInt128.from("+" + MODULUS.subtract($1))).isEqualTo(UInt128.MAX_VALUE);
+    }
+
+    @Test
+    public void arithmetic_same_as_big_integer() {
+        assertBinaryOp(UInt128::add, BigInteger::add);
+        assertBinaryOp(UInt128::subtract, BigInteger::subtract);
+        assertBinaryOp(UInt128::multiply, BigInteger::multiply);
+        for (BigInteger lhs : VALUES) {
+            UInt128 value = UInt128.from(lhs);
+            assertThat(value.increment().toBigInteger()).isEqualTo(lhs.add($1).mod(MODULUS));
+            assertThat(value.decrement().toBigInteger()).isEqualTo(lhs.subtract($1).mod(MODULUS));
+        }
+    }
+
+    @Test
+    public void divide_and_remainder_same_as_big_integer() {
+        for (BigInteger lhs : VALUES) {
+            for (BigInteger rhs : VALUES) {
+                if (rhs.signum() == 0) {
+                    continue;
+                }
+                UInt128 a = UInt128.from(lhs);
+                UInt128 b = UInt128.from(rhs);
+                assertThat(a.divide(b).toBigInteger()).isEqualTo(lhs.divide(rhs));
+                assertThat(a.remainder(b).toBigInteger()).isEqualTo(lhs.remainder(rhs));
+                assertThat(a.divideAndRemainder(b)).asList().containsExactly(a.divide(b), a.remainder(b)).inOrder();
+                if (b.is64BitUnsigned()) {
+                    assertThat(a.divideUnsigned(b.longValue())).isEqualTo(a.divide(b));
+                    assertThat(a.remainderUnsigned(b.longValue())).isEqualTo(a.remainder(b).longValue());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void compare_and_bits() {
+        for (BigInteger lhs : VALUES) {
+            for (BigInteger rhs : VALUES) {
+                int expected = Integer.signum(lhs.compareTo(rhs));
+                assertThat(Integer.signum(UInt128.from(lhs).compareTo(UInt128.from(rhs)))).isEqualTo(expected);
+                assertThat(UInt128.from(lhs).equals(UInt128.from(rhs))).isEqualTo(lhs.equals(rhs));
+            }
+            UInt128 value = UInt128.from(lhs);
+            assertThat(value.bitCount()).isEqualTo(lhs.bitCount());
+            assertThat(value.numberOfLeadingZeros()).isEqualTo(128 - lhs.bitLength());
+            for (int len = 0; len < 128; len++) {
+                assertThat(value.shiftLeft(len).toBigInteger()).isEqualTo(lhs.shiftLeft(len).mod(MODULUS));
+                assertThat(value.shiftRight(len).toBigInteger()).isEqualTo(lhs.shiftRight(len));
+            }
+        }
+    }
+
+    private static void assertBinaryOp(@NotNull BinaryOperator<UInt128> op,
+                                       @NotNull BiFunction<BigInteger, BigInteger, BigInteger> expected) {
+        for (BigInteger lhs : VALUES) {
+            for (BigInteger rhs : VALUES) {
+                UInt128 actual = op.apply(UInt128.from(lhs), UInt128.from(rhs));
+                assertThat(actual.toBigInteger()).isEqualTo(expected.apply(lhs, rhs).mod(MODULUS));
+            }
+        }
+    }
+
+    private static @NotNull List<BigInteger> values() {
+        List<BigInteger> values = new ArrayList<>(List.of(
+            $0, $1, BigInteger.TEN, MODULUS.subtract($1), $1.shiftLeft(63), $1.shiftLeft(64), $1.shiftLeft(127),
+            $1.shiftLeft(64).subtract($1), $1.shiftLeft(127).subtract($1)
+        ));
+        Random random = new Random(0);
+        for (int i = 0; i < 40; i++) {
+            values.add(new BigInteger(1 + random.nextInt(128), random));
+        }
+        return values;
+    }
+}
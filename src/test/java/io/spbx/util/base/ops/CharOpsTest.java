@@ -65,4 +65,12 @@ public class CharOpsTest {
         assertThat(CharOps.range('a', 'b')).asList().containsExactly('a');
         assertThat(CharOps.range('a', 'f')).asList().containsExactly('a', 'b', 'c', 'd', 'e');
     }
+
+    @Test
+    public void eq_lt_gt_unsigned() {
+        char[] array = { 'a', 0x7fff, 0x8000, 0xffff };
+        assertThat(CharOps.eq(array, 'a')).asList().containsExactly(true, false, false, false).inOrder();
+        assertThat(CharOps.lt(array, (char) 0x8000)).asList().containsExactly(true, true, false, false).inOrder();
+        assertThat(CharOps.gt(array, (char) 0x8000)).asList().containsExactly(false, false, false, true).inOrder();
+    }
 }
@@ -23,6 +23,9 @@ import java.util.concurrent.TimeUnit;
 public class IntOpsJmhBenchmark {
     private static final int[] ARRAY = IntOps.fill(1000_000, i -> i);
     private static final int LOOP = 2000;
+    private static final int LAST = ARRAY[ARRAY.length - 1];
+
+    // Scalar vs SIMD kernels: the same `IntOps` methods, the `*_simd` forks enable `SimdSupport`
 
     @Benchmark
     public void array_iter1(Blackhole blackhole) {
@@ -51,6 +54,58 @@ public class IntOpsJmhBenchmark {
         }
     }
 
+    @Benchmark
+    public void indexOf_scalar(Blackhole blackhole) {
+        blackhole.consume(IntOps.indexOf(ARRAY, LAST));
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1, jvmArgsAppend = {
+        "--add-modules=jdk.incubator.vector", "-D" + SimdSupport.PROPERTY + "=true"
+    })
+    public void indexOf_simd(Blackhole blackhole) {
+        blackhole.consume(IntOps.indexOf(ARRAY, LAST));
+    }
+
+    @Benchmark
+    public void sum_scalar(Blackhole blackhole) {
+        blackhole.consume(IntOps.sum(ARRAY));
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1, jvmArgsAppend = {
+        "--add-modules=jdk.incubator.vector", "-D" + SimdSupport.PROPERTY + "=true"
+    })
+    public void sum_simd(Blackhole blackhole) {
+        blackhole.consume(IntOps.sum(ARRAY));
+    }
+
+    @Benchmark
+    public void min_scalar(Blackhole blackhole) {
+        blackhole.consume(IntOps.min(ARRAY));
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1, jvmArgsAppend = {
+        "--add-modules=jdk.incubator.vector", "-D" + SimdSupport.PROPERTY + "=true"
+    })
+    public void min_simd(Blackhole blackhole) {
+        blackhole.consume(IntOps.min(ARRAY));
+    }
+
+    @Benchmark
+    public void add_scalar(Blackhole blackhole) {
+        blackhole.consume(IntOps.add(ARRAY, ARRAY));
+    }
+
+    @Benchmark
+    @Fork(value = 1, warmups = 1, jvmArgsAppend = {
+        "--add-modules=jdk.incubator.vector", "-D" + SimdSupport.PROPERTY + "=true"
+    })
+    public void add_simd(Blackhole blackhole) {
+        blackhole.consume(IntOps.add(ARRAY, ARRAY));
+    }
+
     public static void main(String[] args) throws RunnerException {
         System.setProperty("jmh.separateClasspathJAR", "true");
         Options options = new OptionsBuilder().include(IntOpsJmhBenchmark.class.getSimpleName()).build();
@@ -426,6 +426,47 @@ public class IntOpsTest {
         assertThrows(IllegalArgumentException.class, () -> IntOps.requirePositive(-1));
     }
 
+    /** {@link IntOps#sum} {@link IntOps#min} {@link IntOps#max} **/
+
+    @Test
+    public void sum_min_max_simple() {
+        assertThat(IntOps.sum(ints())).isEqualTo(0);
+        assertThat(IntOps.sum(ints(1, -2, 3))).isEqualTo(2);
+        assertThat(IntOps.sum(ints(Integer.MAX_VALUE, 1))).isEqualTo(Integer.MIN_VALUE);
+
+        assertThat(IntOps.min(ints(0))).isEqualTo(0);
+        assertThat(IntOps.min(ints(3, -1, 2))).isEqualTo(-1);
+        assertThat(IntOps.max(ints(0))).isEqualTo(0);
+        assertThat(IntOps.max(ints(3, -1, 2))).isEqualTo(3);
+
+        assertThrows(AssertionError.class, () -> IntOps.min(ints()));
+        assertThrows(AssertionError.class, () -> IntOps.max(ints()));
+    }
+
+    /** {@link IntOps#add(int[], int[])} {@link IntOps#and(int[], int[])} **/
+
+    @Test
+    public void add_and_simple() {
+        assertThat(IntOps.add(ints(), ints())).asList().isEmpty();
+        assertThat(IntOps.add(ints(1, 2, 3), ints(10, -20, 30))).asList().containsExactly(11, -18, 33).inOrder();
+        assertThat(IntOps.and(ints(), ints())).asList().isEmpty();
+        assertThat(IntOps.and(ints(0b110, -1), ints(0b011, 7))).asList().containsExactly(0b010, 7).inOrder();
+
+        assertThrows(AssertionError.class, () -> IntOps.add(ints(1), ints(1, 2)));
+        assertThrows(AssertionError.class, () -> IntOps.and(ints(1, 2), ints()));
+    }
+
+    /** {@link IntOps#eq(int[], int)} {@link IntOps#lt(int[], int)} {@link IntOps#gt(int[], int)} **/
+
+    @Test
+    public void eq_lt_gt_simple() {
+        assertThat(IntOps.eq(ints(), 0)).isEmpty();
+        assertThat(IntOps.eq(ints(1, 2, 3, 2), 2)).asList().containsExactly(false, true, false, true).inOrder();
+        assertThat(IntOps.lt(ints(1, 2, 3, -4), 2)).asList().containsExactly(true, false, false, true).inOrder();
+        assertThat(IntOps.gt(ints(1, 2, 3, -4), 2)).asList().containsExactly(false, false, true, false).inOrder();
+        assertThat(IntOps.lt(ints(Integer.MIN_VALUE, Integer.MAX_VALUE), 0)).asList().containsExactly(true, false);
+    }
+
     /** {@link IntOps#concat(int[], int[])} **/
 
     @Test
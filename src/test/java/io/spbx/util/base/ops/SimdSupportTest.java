@@ -0,0 +1,29 @@
+package io.spbx.util.base.ops;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@Tag("fast")
+public class SimdSupportTest {
+    @Test
+    public void scalar_by_default() {
+        assertThat(SimdSupport.isEnabled()).isFalse();
+        assertThat(SimdSupport.KERNELS).isNull();
+    }
+
+    @Test
+    public void scalar_without_vector_module() {
+        assertThat(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()).isFalse();
+
+        int[] array = IntOps.fill(100, i -> i);
+        assertThat(IntOps.indexOf(array, 99)).isEqualTo(99);
+        assertThat(IntOps.sum(array)).isEqualTo(4950);
+        assertThat(IntOps.min(array)).isEqualTo(0);
+        assertThat(IntOps.max(array)).isEqualTo(99);
+        assertThat(IntOps.add(array, array)[50]).isEqualTo(100);
+        assertThat(IntOps.and(array, array)).isEqualTo(array);
+        assertThat(DoubleOps.indexOf(new double[] { 1.0, 2.0 }, 2.0)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,110 @@
+package io.spbx.util.base.str;
+
+import com.google.common.primitives.Bytes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// Run with `-Dio.spbx.util.base.ops.simd=true` in `jvmArgsAppend` to measure the Vector API backend instead of SWAR
+@Fork(value = 1, warmups = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+public class AsciiByteArrayJmhBenchmark {
+    private static final String TEXT = "GET /index.html HTTP/1.1\r\n" +
+                                       "X-Padding: %s\r\n".formatted("0123456789abcdef".repeat(250)) +
+                                       "Content-Type: text/plain\r\n" +
+                                       "Content-Length: 128\r\n\r\n";
+    private static final byte[] BYTES = TEXT.getBytes(StandardCharsets.US_ASCII);
+    private static final AsciiByteArray ARRAY = AsciiByteArray.wrap(BYTES);
+    private static final CharArray CHARS = CharArray.of(TEXT);
+
+    private static final String TARGET = "Content-Length";
+    private static final byte[] TARGET_BYTES = TARGET.getBytes(StandardCharsets.US_ASCII);
+    private static final AsciiByteArray TARGET_ARRAY = AsciiByteArray.wrap(TARGET_BYTES);
+    private static final CharArray TARGET_CHARS = CharArray.of(TARGET);
+
+    private static final String UPPER = TEXT.toUpperCase();
+    private static final AsciiByteArray UPPER_ARRAY = AsciiByteArray.of(UPPER);
+    private static final CharArray UPPER_CHARS = CharArray.of(UPPER);
+
+    /* Single byte search: `y` first occurs in `Content-Type` after the padding */
+
+    @Benchmark
+    public void indexOf_byte_AsciiByteArray(Blackhole blackhole) {
+        blackhole.consume(ARRAY.indexOf((byte) 'y'));
+    }
+
+    @Benchmark
+    public void indexOf_byte_Guava(Blackhole blackhole) {
+        blackhole.consume(Bytes.indexOf(BYTES, (byte) 'y'));
+    }
+
+    @Benchmark
+    public void indexOf_char_CharArray(Blackhole blackhole) {
+        blackhole.consume(CHARS.indexOf('y'));
+    }
+
+    @Benchmark
+    public void indexOf_char_String(Blackhole blackhole) {
+        blackhole.consume(TEXT.indexOf('y'));
+    }
+
+    /* Substring search */
+
+    @Benchmark
+    public void indexOf_substring_AsciiByteArray(Blackhole blackhole) {
+        blackhole.consume(ARRAY.indexOf(TARGET_ARRAY));
+    }
+
+    @Benchmark
+    public void indexOf_substring_Guava(Blackhole blackhole) {
+        blackhole.consume(Bytes.indexOf(BYTES, TARGET_BYTES));
+    }
+
+    @Benchmark
+    public void indexOf_substring_CharArray(Blackhole blackhole) {
+        blackhole.consume(CHARS.indexOf(TARGET_CHARS));
+    }
+
+    @Benchmark
+    public void indexOf_substring_String(Blackhole blackhole) {
+        blackhole.consume(TEXT.indexOf(TARGET));
+    }
+
+    /* Case-insensitive equality */
+
+    @Benchmark
+    public void equalsIgnoreCase_AsciiByteArray(Blackhole blackhole) {
+        blackhole.consume(ARRAY.contentEqualsAsciiIgnoreCase(UPPER_ARRAY));
+    }
+
+    @Benchmark
+    public void equalsIgnoreCase_CharArray(Blackhole blackhole) {
+        blackhole.consume(CHARS.contentEqualsAsciiIgnoreCase(UPPER_CHARS));
+    }
+
+    @Benchmark
+    public void equalsIgnoreCase_String(Blackhole blackhole) {
+        blackhole.consume(TEXT.equalsIgnoreCase(UPPER));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        System.setProperty("jmh.separateClasspathJAR", "true");
+        Options options = new OptionsBuilder().include(AsciiByteArrayJmhBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,126 @@
+package io.spbx.util.base.str;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@Tag("fast")
+public class AsciiByteArrayTest {
+    private static final String ALPHABET = "abcABZz-_@`[{ \r\n";
+
+    /** {@link AsciiByteArray#indexOf} **/
+
+    @Test
+    public void indexOf_byte_simple() {
+        AsciiByteArray array = AsciiByteArray.of("foo-bar-baz");
+
+        assertThat(array.indexOf((byte) 'f')).isEqualTo(0);
+        assertThat(array.indexOf((byte) '-')).isEqualTo(3);
+        assertThat(array.indexOf((byte) 'z')).isEqualTo(10);
+        assertThat(array.indexOf((byte) 'w')).isEqualTo(-1);
+        assertThat(array.indexOf((byte) '-', 4)).isEqualTo(7);
+        assertThat(array.indexOf((byte) '-', 8, -2)).isEqualTo(-2);
+        assertThat(array.indexOf((byte) '-', -4)).isEqualTo(7);
+        assertThat(array.indexOf((byte) -1)).isEqualTo(-1);
+        assertThat(AsciiByteArray.of("foobar", 1, 4).indexOf((byte) 'a')).isEqualTo(-1);
+    }
+
+    @Test
+    public void indexOf_byte_same_as_string() {
+        Random random = new Random(0);
+        for (int i = 0; i < 2000; i++) {
+            String str = randomAscii(random, random.nextInt(70));
+            int start = str.isEmpty() ? 0 : random.nextInt(str.length());
+            AsciiByteArray array = AsciiByteArray.of(str, start, str.length());
+            String substr = str.substring(start);
+            for (char ch : ALPHABET.toCharArray()) {
+                int from = random.nextInt(substr.length() + 1);
+                assertThat(array.indexOf((byte) ch)).isEqualTo(substr.indexOf(ch));
+                assertThat(array.indexOf((byte) ch, from)).isEqualTo(substr.indexOf(ch, from));
+            }
+        }
+    }
+
+    @Test
+    public void indexOf_substring_same_as_string() {
+        Random random = new Random(0);
+        for (int i = 0; i < 2000; i++) {
+            String str = randomAscii(random, random.nextInt(70));
+            String target = randomAscii(random, random.nextInt(4));
+            int from = random.nextInt(str.length() + 1);
+            AsciiByteArray array = AsciiByteArray.of(str);
+            assertThat(array.indexOf(AsciiByteArray.of(target))).isEqualTo(str.indexOf(target));
+            assertThat(array.indexOf(AsciiByteArray.of(target), from)).isEqualTo(expectedIndexOf(str, target, from));
+            assertThat(array.contains(AsciiByteArray.of(target))).isEqualTo(str.contains(target));
+        }
+    }
+
+    /** {@link AsciiByteArray#contentEqualsAsciiIgnoreCase}, {@link AsciiByteArray#compareToAsciiIgnoreCase} **/
+
+    @Test
+    public void ignoreCase_same_as_string() {
+        Random random = new Random(0);
+        for (int i = 0; i < 5000; i++) {
+            String str1 = randomAscii(random, random.nextInt(40));
+            String str2 = random.nextBoolean() ? flipCase(random, str1) : randomAscii(random, random.nextInt(40));
+            AsciiByteArray array1 = AsciiByteArray.of("--" + str1, 2, str1.length() + 2);
+            AsciiByteArray array2 = AsciiByteArray.of(str2);
+            assertThat(array1.contentEqualsAsciiIgnoreCase(array2)).isEqualTo(str1.equalsIgnoreCase(str2));
+            assertThat(array1.contentEqualsAsciiIgnoreCase(array2.toString().getBytes()))
+                .isEqualTo(str1.equalsIgnoreCase(str2));
+            assertThat(Integer.signum(array1.compareToAsciiIgnoreCase(array2)))
+                .isEqualTo(Integer.signum(str1.compareToIgnoreCase(str2)));
+        }
+    }
+
+    @Test
+    public void ignoreCase_non_ascii_bytes() {
+        AsciiByteArray array1 = AsciiByteArray.wrap(new byte[] { 'a', (byte) 0xc1, 'b', 'c', 'd', 'e', 'f', 'g', 'h' });
+        AsciiByteArray array2 = AsciiByteArray.wrap(new byte[] { 'A', (byte) 0xe1, 'B', 'C', 'D', 'E', 'F', 'G', 'H' });
+        AsciiByteArray array3 = AsciiByteArray.wrap(new byte[] { 'A', (byte) 0xc1, 'B', 'C', 'D', 'E', 'F', 'G', 'H' });
+        assertThat(array1.contentEqualsAsciiIgnoreCase(array2)).isFalse();
+        assertThat(array1.contentEqualsAsciiIgnoreCase(array3)).isTrue();
+        assertThat(array1.compareToAsciiIgnoreCase(array2)).isLessThan(0);
+    }
+
+    /** {@link AsciiByteArray#compareTo(CharSequence)}, {@link AsciiByteArray#contentEquals(CharSequence)} **/
+
+    @Test
+    public void compareTo_char_sequence_same_as_string() {
+        Random random = new Random(0);
+        for (int i = 0; i < 2000; i++) {
+            String str1 = randomAscii(random, random.nextInt(20));
+            String str2 = random.nextInt(4) == 0 ? str1 : randomAscii(random, random.nextInt(20));
+            AsciiByteArray array = AsciiByteArray.of(str1);
+            CharSequence seq = new StringBuilder(str2);
+            assertThat(array.compareTo(seq)).isEqualTo(CharSequence.compare(str1, str2));
+            assertThat(array.compareTo((CharSequence) AsciiByteArray.of(str2)))
+                .isEqualTo(CharSequence.compare(str1, str2));
+            assertThat(array.contentEquals(seq)).isEqualTo(str1.equals(str2));
+        }
+    }
+
+    private static int expectedIndexOf(@NotNull String str, @NotNull String target, int from) {
+        return target.isEmpty() ? from : str.indexOf(target, from);
+    }
+
+    private static @NotNull String randomAscii(@NotNull Random random, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return builder.toString();
+    }
+
+    private static @NotNull String flipCase(@NotNull Random random, @NotNull String str) {
+        StringBuilder builder = new StringBuilder(str.length());
+        for (char ch : str.toCharArray()) {
+            builder.append(random.nextBoolean() ? Character.toUpperCase(ch) : Character.toLowerCase(ch));
+        }
+        return builder.toString();
+    }
+}
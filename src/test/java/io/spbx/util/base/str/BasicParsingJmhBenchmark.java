@@ -0,0 +1,124 @@
+package io.spbx.util.base.str;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@Fork(value = 1, warmups = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+public class BasicParsingJmhBenchmark {
+    // The numbers as they come in a request: the JDK parsers need a `String` extracted first
+    private static final String INTS = "Content-Length: 1048576\r\nX-Offset: -2147483648\r\nX-Id: 7\r\n";
+    private static final String DOUBLES = "[3.141592653589793,-0.001,6.02214076e23,1e-300,42,0.1]";
+
+    private static final byte[] INT_BYTES = INTS.getBytes(StandardCharsets.US_ASCII);
+    private static final char[] INT_CHARS = INTS.toCharArray();
+    private static final ByteBuffer INT_BUFFER = ByteBuffer.allocateDirect(INT_BYTES.length).put(INT_BYTES).flip();
+    private static final int[] INT_RANGES = ranges(INTS, "1048576", "-2147483648", "7");
+
+    private static final byte[] DOUBLE_BYTES = DOUBLES.getBytes(StandardCharsets.US_ASCII);
+    private static final char[] DOUBLE_CHARS = DOUBLES.toCharArray();
+    private static final int[] DOUBLE_RANGES =
+        ranges(DOUBLES, "3.141592653589793", "-0.001", "6.02214076e23", "1e-300", "42", "0.1");
+
+    /* Integer */
+
+    @Benchmark
+    public void parseInt_bytes(Blackhole blackhole) {
+        for (int i = 0; i < INT_RANGES.length; i += 2) {
+            int from = INT_RANGES[i];
+            blackhole.consume(BasicParsing.parseInt(INT_BYTES, from, INT_RANGES[i + 1] - from, BasicParsing.DECIMAL));
+        }
+    }
+
+    @Benchmark
+    public void parseInt_chars(Blackhole blackhole) {
+        for (int i = 0; i < INT_RANGES.length; i += 2) {
+            int from = INT_RANGES[i];
+            blackhole.consume(BasicParsing.parseInt(INT_CHARS, from, INT_RANGES[i + 1] - from, BasicParsing.DECIMAL));
+        }
+    }
+
+    @Benchmark
+    public void parseInt_direct_buffer(Blackhole blackhole) {
+        for (int i = 0; i < INT_RANGES.length; i += 2) {
+            ByteBuffer buffer = INT_BUFFER.duplicate().position(INT_RANGES[i]).limit(INT_RANGES[i + 1]);
+            blackhole.consume(BasicParsing.parseInt(buffer));
+        }
+    }
+
+    @Benchmark
+    public void parseInt_jdk_substring(Blackhole blackhole) {
+        for (int i = 0; i < INT_RANGES.length; i += 2) {
+            blackhole.consume(Integer.parseInt(INTS.substring(INT_RANGES[i], INT_RANGES[i + 1])));
+        }
+    }
+
+    @Benchmark
+    public void parseInt_jdk_char_sequence(Blackhole blackhole) {
+        for (int i = 0; i < INT_RANGES.length; i += 2) {
+            blackhole.consume(Integer.parseInt(INTS, INT_RANGES[i], INT_RANGES[i + 1], BasicParsing.DECIMAL));
+        }
+    }
+
+    /* Double */
+
+    @Benchmark
+    public void parseDouble_bytes(Blackhole blackhole) {
+        for (int i = 0; i < DOUBLE_RANGES.length; i += 2) {
+            int from = DOUBLE_RANGES[i];
+            int length = DOUBLE_RANGES[i + 1] - from;
+            blackhole.consume(BasicParsing.parseDouble(DOUBLE_BYTES, from, length, BasicParsing.ParseMode.STRICT));
+        }
+    }
+
+    @Benchmark
+    public void parseDouble_chars(Blackhole blackhole) {
+        for (int i = 0; i < DOUBLE_RANGES.length; i += 2) {
+            int from = DOUBLE_RANGES[i];
+            int length = DOUBLE_RANGES[i + 1] - from;
+            blackhole.consume(BasicParsing.parseDouble(DOUBLE_CHARS, from, length, BasicParsing.ParseMode.STRICT));
+        }
+    }
+
+    @Benchmark
+    public void parseDouble_jdk_substring(Blackhole blackhole) {
+        for (int i = 0; i < DOUBLE_RANGES.length; i += 2) {
+            blackhole.consume(Double.parseDouble(DOUBLES.substring(DOUBLE_RANGES[i], DOUBLE_RANGES[i + 1])));
+        }
+    }
+
+    // The `[from, to)` ranges of the `values` in the `str`
+    private static int[] ranges(String str, String... values) {
+        int[] ranges = new int[2 * values.length];
+        int from = 0;
+        for (int i = 0; i < values.length; i++) {
+            from = str.indexOf(values[i], from);
+            ranges[2 * i] = from;
+            ranges[2 * i + 1] = from + values[i].length();
+        }
+        return ranges;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        System.setProperty("jmh.separateClasspathJAR", "true");
+        Options options = new OptionsBuilder().include(BasicParsingJmhBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+}
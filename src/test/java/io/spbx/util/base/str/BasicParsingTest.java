@@ -1,8 +1,20 @@
 package io.spbx.util.base.str;
 
+import io.spbx.util.base.math.Int128;
+import io.spbx.util.base.str.BasicParsing.ParseMode;
+import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
 import static com.google.common.truth.Truth.assertThat;
 import static io.spbx.util.base.str.BasicParsing.*;
 import static io.spbx.util.testing.AssertFailure.assertFailure;
@@ -381,4 +393,209 @@ public class BasicParsingTest {
         assertThat(BasicParsing.isValidFloat("")).isFalse();
         assertThat(BasicParsing.isValidFloat("foo")).isFalse();
     }
+
+    @Test
+    public void parseInt_ranges_and_views() {
+        assertThat(BasicParsing.parseInt(asBytes("xx-123yy"), 2, 4, DECIMAL)).isEqualTo(-123);
+        assertThat(BasicParsing.parseInt("xx-123yy".toCharArray(), 2, 4, DECIMAL)).isEqualTo(-123);
+        assertThat(BasicParsing.parseInt(asBytes("xx-7fyy"), 2, 3, HEXADECIMAL)).isEqualTo(-127);
+        assertThat(BasicParsing.parseInt(ByteBuffer.wrap(asBytes("xx-123yy"), 2, 4).slice())).isEqualTo(-123);
+        assertThat(BasicParsing.parseInt(CharArray.of("xx-123yy", 2, 6))).isEqualTo(-123);
+        assertThat(BasicParsing.parseInt(AsciiByteArray.of("xx-123yy", 2, 6))).isEqualTo(-123);
+        assertThat(BasicParsing.parseLong(asBytes("xx-123yy"), 2, 4, DECIMAL)).isEqualTo(-123);
+        assertThat(BasicParsing.parseLong(AsciiByteArray.of("xx-123yy", 2, 6))).isEqualTo(-123);
+
+        ByteBuffer buffer = directBuffer("xx-123yy").position(2).limit(6);
+        assertThat(BasicParsing.parseInt(buffer)).isEqualTo(-123);
+        assertThat(BasicParsing.parseLong(buffer)).isEqualTo(-123);
+        assertThat(buffer.position()).isEqualTo(2);
+
+        assertFailure(() -> BasicParsing.parseInt(asBytes("xx-123yy"), 2, 5, DECIMAL)).throwsNumberFormatException();
+        assertFailure(() -> BasicParsing.parseInt(asBytes("123"), 1, 3, DECIMAL))
+            .throwsType(IndexOutOfBoundsException.class);
+        assertFailure(() -> BasicParsing.parseInt("1", 37)).throwsNumberFormatException();
+    }
+
+    @Test
+    public void parseInt_lenient() {
+        assertThat(BasicParsing.parseInt(" \t 123\r\n", DECIMAL, ParseMode.LENIENT)).isEqualTo(123);
+        assertThat(BasicParsing.parseInt(asBytes(" -1 "), 0, 4, DECIMAL, ParseMode.LENIENT)).isEqualTo(-1);
+        assertThat(BasicParsing.parseLong(" +9 ", DECIMAL, ParseMode.LENIENT)).isEqualTo(9);
+        assertFailure(() -> BasicParsing.parseInt(" 123", DECIMAL, ParseMode.STRICT)).throwsNumberFormatException();
+        assertFailure(() -> BasicParsing.parseInt(" 1 2 ", DECIMAL, ParseMode.LENIENT)).throwsNumberFormatException();
+        assertFailure(() -> BasicParsing.parseInt("  ", DECIMAL, ParseMode.LENIENT)).throwsNumberFormatException();
+    }
+
+    @Test
+    public void parseInt_parseLong_same_as_jdk() {
+        Random random = new Random(0);
+        int[] radixes = { BINARY, OCTAL, DECIMAL, HEXADECIMAL, Character.MAX_RADIX };
+        for (int i = 0; i < 20000; i++) {
+            String str = randomString(random, "0123456789abcdefz+- \u0663", random.nextInt(24));
+            int radix = radixes[random.nextInt(radixes.length)];
+            assertSameAsJdk(() -> Integer.parseInt(str, radix), input -> BasicParsing.parseInt(input, radix), str);
+            assertSameAsJdk(() -> Long.parseLong(str, radix), input -> BasicParsing.parseLong(input, radix), str);
+            assertSameAsJdk(() -> Integer.parseInt(str.trim(), radix),
+                            input -> BasicParsing.parseInt(input, radix, ParseMode.LENIENT), str);
+        }
+        for (long value : new long[] { Integer.MIN_VALUE, Integer.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE }) {
+            for (long delta = -1; delta <= 1; delta++) {
+                String str = BigInteger.valueOf(value).add(BigInteger.valueOf(delta)).toString();
+                assertSameAsJdk(() -> Integer.parseInt(str), BasicParsing::parseInt, str);
+                assertSameAsJdk(() -> Long.parseLong(str), BasicParsing::parseLong, str);
+            }
+        }
+    }
+
+    @Test
+    public void parseInt128_same_as_big_integer() {
+        BigInteger max = BigInteger.ONE.shiftLeft(127);
+        List<BigInteger> values = new ArrayList<>(List.of(
+            BigInteger.ZERO, max, max.subtract(BigInteger.ONE), max.negate(), max.negate().subtract(BigInteger.ONE),
+            BigInteger.ONE.shiftLeft(128), BigInteger.ONE.shiftLeft(64), BigInteger.ONE.shiftLeft(128).negate()
+        ));
+        Random random = new Random(0);
+        for (int i = 0; i < 500; i++) {
+            BigInteger value = new BigInteger(random.nextInt(130), random);
+            values.add(random.nextBoolean() ? value : value.negate());
+        }
+        for (BigInteger value : values) {
+            for (int radix : new int[] { BINARY, DECIMAL, HEXADECIMAL, Character.MAX_RADIX }) {
+                String str = value.toString(radix);
+                Supplier<Object> expected = () -> {
+                    if (value.bitLength() >= Int128.BITS) {
+                        throw new NumberFormatException();
+                    }
+                    return Int128.from(value);
+                };
+                assertSameAsJdk(expected, input -> BasicParsing.parseInt128(input, radix, ParseMode.STRICT), str);
+            }
+        }
+        assertThat(BasicParsing.parseInt128(" +123 ", DECIMAL, ParseMode.LENIENT)).isEqualTo(Int128.from(123));
+        assertFailure(() -> BasicParsing.parseInt128("")).throwsNumberFormatException();
+        assertFailure(() -> BasicParsing.parseInt128("-")).throwsNumberFormatException();
+        assertFailure(() -> BasicParsing.parseInt128("1_0")).throwsNumberFormatException();
+    }
+
+    @Test
+    public void parseInt128_overflow_boundaries() {
+        List<BigInteger> values = new ArrayList<>();
+        for (int bits : new int[] { 127, 128, 129 }) {
+            BigInteger power = BigInteger.ONE.shiftLeft(bits);
+            for (long delta = -2; delta <= 2; delta++) {
+                values.add(power.add(BigInteger.valueOf(delta)));
+                values.add(power.add(BigInteger.valueOf(delta)).negate());
+            }
+        }
+        values.add(new BigInteger("340282366920938463467986293450195599369"));
+        // `0x5555555555555555AAAAAAAAAAAAAAAA` followed by the digit `2` in radix 3
+        BigInteger prefix = new BigInteger("5555555555555555AAAAAAAAAAAAAAAA", HEXADECIMAL);
+        values.add(prefix.multiply(BigInteger.valueOf(3)).add(BigInteger.TWO));
+        for (BigInteger value : values) {
+            for (int radix : new int[] { 3, DECIMAL, Character.MAX_RADIX }) {
+                String str = value.toString(radix);
+                Supplier<Object> expected = () -> {
+                    if (value.bitLength() >= Int128.BITS) {
+                        throw new NumberFormatException();
+                    }
+                    return Int128.from(value);
+                };
+                assertSameAsJdk(expected, input -> BasicParsing.parseInt128(input, radix, ParseMode.STRICT), str);
+            }
+        }
+        assertFailure(() -> BasicParsing.parseInt128("340282366920938463467986293450195599369"))
+            .throwsNumberFormatException();
+    }
+
+    @Test
+    public void parseDouble_edge_cases() {
+        for (String str : new String[] {
+            "0", "-0", "0.0", "-0.0", ".5", "5.", "+1", "1e0", "1E+2", "1e-2", "00000.00001e5", "NaN", "-NaN",
+            "Infinity", "-Infinity", "+Infinity", "0.1", "0.3", "123.456", "1e22", "1e23", "8.41e21",
+            "9007199254740993", "9007199254740992.5", "4.9e-324", "2.4703282292062327e-324",
+            "2.4703282292062328e-324", "1e-400",
+            "2.2250738585072011e-308", "2.2250738585072012e-308", "1.7976931348623157e308", "1.7976931348623159e308",
+            "1e309", "1e999999999999", "1e-999999999999", "3.4028235e38", "3.4028236e38", "1.4e-45", "7.006492e-46",
+            "0.1000000000000000055511151231257827021181583404541015625",
+            "0.1000000000000000055511151231257827021181583404541015624",
+            "0.1000000000000000055511151231257827021181583404541015626",
+            "1.00000005960464477539062499", "1.00000005960464477539062500", "1.00000005960464477539062501",
+            "123456789012345678901234567890", "0.000000000000000000000000000123456789012345678901234567890",
+        }) {
+            assertSameAsJdk(() -> Double.parseDouble(str), BasicParsing::parseDouble, str);
+            assertSameAsJdk(() -> Float.parseFloat(str), BasicParsing::parseFloat, str);
+        }
+    }
+
+    @Test
+    public void parseDouble_same_as_jdk() {
+        Random random = new Random(0);
+        for (int i = 0; i < 20000; i++) {
+            String str = switch (random.nextInt(5)) {
+                case 0 -> Double.toString(Double.longBitsToDouble(random.nextLong()));
+                case 1 -> Float.toString(Float.intBitsToFloat(random.nextInt()));
+                case 2 -> randomString(random, "0123456789", 1 + random.nextInt(30)) + "e" +
+                          (random.nextInt(700) - 350);
+                case 3 -> randomString(random, "0123456789", random.nextInt(25)) + "." +
+                          randomString(random, "0123456789", random.nextInt(25));
+                default -> randomString(random, "0123456789.eE+-", random.nextInt(10));
+            };
+            assertSameAsJdk(() -> Double.parseDouble(str), BasicParsing::parseDouble, str);
+            assertSameAsJdk(() -> Float.parseFloat(str), BasicParsing::parseFloat, str);
+        }
+    }
+
+    @Test
+    public void parseDouble_strict_and_lenient() {
+        for (String str : new String[] { " 1.5", "1.5 ", "1.5d", "1.5F", "0x1p3", "", ".", "e5", "1e", "1e+", "-",
+                                         "NaN1", "Infinit", "1..2", "1e5.5", "\u0661" }) {
+            assertFailure(() -> BasicParsing.parseDouble(str)).throwsNumberFormatException();
+            assertFailure(() -> BasicParsing.parseFloat(str)).throwsNumberFormatException();
+            assertSameAsJdk(() -> Double.parseDouble(str),
+                            input -> BasicParsing.parseDouble(input, ParseMode.LENIENT), str);
+            assertSameAsJdk(() -> Float.parseFloat(str),
+                            input -> BasicParsing.parseFloat(input, ParseMode.LENIENT), str);
+        }
+        assertThat(BasicParsing.parseDouble(asBytes("x-2.5e1y"), 1, 6, ParseMode.STRICT)).isEqualTo(-25.0);
+        assertThat(BasicParsing.parseDouble("x-2.5e1y".toCharArray(), 1, 6, ParseMode.STRICT)).isEqualTo(-25.0);
+        assertThat(BasicParsing.parseDouble(directBuffer("x-2.5e1y").position(1).limit(7))).isEqualTo(-25.0);
+        assertThat(BasicParsing.parseFloat(directBuffer("\t1.5f\n"), ParseMode.LENIENT)).isEqualTo(1.5f);
+    }
+
+    private static void assertSameAsJdk(@NotNull Supplier<Object> expected,
+                                        @NotNull Function<CharSequence, Object> actual,
+                                        @NotNull String str) {
+        Object result;
+        try {
+            result = expected.get();
+        } catch (NumberFormatException e) {
+            result = e;
+        }
+        byte[] bytes = ("<" + str + ">").getBytes(StandardCharsets.ISO_8859_1);
+        for (CharSequence input : List.of(str, new StringBuilder(str),
+                                          CharArray.of("<" + str + ">", 1, str.length() + 1),
+                                          AsciiByteArray.wrap(bytes, 1, str.length() + 1))) {
+            if (input instanceof AsciiByteArray && !StandardCharsets.US_ASCII.newEncoder().canEncode(str)) {
+                continue;
+            }
+            if (result instanceof NumberFormatException) {
+                assertFailure(() -> actual.apply(input)).throwsNumberFormatException();
+            } else {
+                assertThat(actual.apply(input)).isEqualTo(result);
+            }
+        }
+    }
+
+    private static @NotNull String randomString(@NotNull Random random, @NotNull String alphabet, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+
+    private static @NotNull ByteBuffer directBuffer(@NotNull String str) {
+        byte[] bytes = str.getBytes(StandardCharsets.US_ASCII);
+        return ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+    }
 }
@@ -0,0 +1,101 @@
+package io.spbx.util.base.str;
+
+import com.google.common.base.Splitter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+@Fork(value = 1, warmups = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+public class BasicSplitJmhBenchmark {
+    private static final String CSV = "2024-12-01T10:15:30Z,INFO,io.spbx.server.Handler,GET,/api/v1/items,200,12.5ms," +
+                                      "user-agent=curl/8.4.0,,request-id=9f1c2a7e,bytes=1024,region=eu-west-1";
+    private static final String LOG = CSV.replace(",", " || ");
+    private static final AsciiByteArray CSV_ASCII = AsciiByteArray.of(CSV);
+    private static final Splitter COMMA_SPLITTER = Splitter.on(',');
+    private static final Splitter PIPES_SPLITTER = Splitter.on(" || ");
+
+    /* Single char separator */
+
+    @Benchmark
+    public void comma_String_split(Blackhole blackhole) {
+        blackhole.consume(CSV.split(","));
+    }
+
+    @Benchmark
+    public void comma_Guava_splitToList(Blackhole blackhole) {
+        blackhole.consume(COMMA_SPLITTER.splitToList(CSV));
+    }
+
+    @Benchmark
+    public void comma_BasicSplit_on(Blackhole blackhole) {
+        blackhole.consume(BasicSplit.of(CSV).on(',').toList());
+    }
+
+    @Benchmark
+    public void comma_BasicSplit_toViewsOn(Blackhole blackhole) {
+        blackhole.consume(BasicSplit.of(CSV).toViewsOn(',').toList());
+    }
+
+    @Benchmark
+    public void comma_BasicSplit_toAsciiViewsOn(Blackhole blackhole) {
+        blackhole.consume(BasicSplit.of(CSV_ASCII).toAsciiViewsOn(',').toList());
+    }
+
+    @Benchmark
+    public void comma_BasicSplit_forEachAsciiOn(Blackhole blackhole) {
+        BasicSplit.of(CSV_ASCII).forEachAsciiOn(',', blackhole::consume);
+    }
+
+    @Benchmark
+    public void comma_BasicSplit_forEachRangeOn(Blackhole blackhole) {
+        BasicSplit.of(CSV).forEachRangeOn(',', (start, end) -> blackhole.consume(end - start));
+    }
+
+    /* Multi-char separator */
+
+    @Benchmark
+    public void pipes_String_split(Blackhole blackhole) {
+        blackhole.consume(LOG.split(" \\|\\| "));
+    }
+
+    @Benchmark
+    public void pipes_Guava_splitToList(Blackhole blackhole) {
+        blackhole.consume(PIPES_SPLITTER.splitToList(LOG));
+    }
+
+    @Benchmark
+    public void pipes_BasicSplit_on(Blackhole blackhole) {
+        blackhole.consume(BasicSplit.of(LOG).on(" || ").toList());
+    }
+
+    @Benchmark
+    public void pipes_BasicSplit_toViewsOn(Blackhole blackhole) {
+        blackhole.consume(BasicSplit.of(LOG).toViewsOn(" || ").toList());
+    }
+
+    @Benchmark
+    public void pipes_BasicSplit_forEachRangeOn(Blackhole blackhole) {
+        BasicSplit.of(LOG).forEachRangeOn(" || ", (start, end) -> blackhole.consume(end - start));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        System.setProperty("jmh.separateClasspathJAR", "true");
+        Options options = new OptionsBuilder().include(BasicSplitJmhBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+}
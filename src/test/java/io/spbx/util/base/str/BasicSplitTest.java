@@ -1,8 +1,15 @@
 package io.spbx.util.base.str;
 
+import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static com.google.common.truth.Truth.assertThat;
 import static io.spbx.util.testing.AssertFailure.assertFailure;
 import static io.spbx.util.testing.AssertStreamer.assertStream;
 
@@ -309,4 +316,116 @@ public class BasicSplitTest {
         assertStream(BasicSplit.of(input).on('*')).containsExactly("foo", "bar");
         assertStream(BasicSplit.of(input).skipEmpty().on('*')).containsExactly("foo", "bar");
     }
+
+    /** {@link BasicSplit#toViewsOn}, {@link BasicSplit#forEachOn}, {@link BasicSplit#forEachRangeOn} **/
+
+    @Test
+    public void zero_copy_simple() {
+        String input = "foo,,bar";
+
+        assertThat(BasicSplit.of(input).toViewsOn(',').toList())
+            .containsExactly(CharArray.of("foo"), CharArray.of(""), CharArray.of("bar")).inOrder();
+        assertThat(BasicSplit.of(AsciiByteArray.of(input)).skipEmpty().toAsciiViewsOn(',').toList())
+            .containsExactly(AsciiByteArray.of("foo"), AsciiByteArray.of("bar")).inOrder();
+        assertThat(BasicSplit.of("a::b::").toViewsOn("::").toList())
+            .containsExactly(CharArray.of("a"), CharArray.of("b"), CharArray.of("")).inOrder();
+
+        List<String> ranges = new ArrayList<>();
+        BasicSplit.of(input).forEachRangeOn(',', (start, end) -> ranges.add(start + ":" + end));
+        assertThat(ranges).containsExactly("0:3", "4:4", "5:8").inOrder();
+    }
+
+    @Test
+    public void zero_copy_views_share_input() {
+        AsciiByteArray input = AsciiByteArray.of("--foo,bar--", 2, -2);
+        List<AsciiByteArray> views = BasicSplit.of(input).toAsciiViewsOn(',').toList();
+        assertThat(views).containsExactly(AsciiByteArray.of("foo"), AsciiByteArray.of("bar")).inOrder();
+        assertThat(views.get(0)._bytes()).isSameInstanceAs(input._bytes());
+        assertThat(views.get(1).start()).isEqualTo(6);
+    }
+
+    @Test
+    public void zero_copy_reuses_view() {
+        List<MutableCharArray> views = new ArrayList<>();
+        List<String> tokens = new ArrayList<>();
+        BasicSplit.of("foo, bar, baz").forEachOn(", ", view -> {
+            views.add(view);
+            tokens.add(view.toString());
+        });
+        assertThat(tokens).containsExactly("foo", "bar", "baz").inOrder();
+        assertThat(views.get(0)).isSameInstanceAs(views.get(2));
+    }
+
+    @Test
+    public void zero_copy_same_as_on_all_modes() {
+        Random random = new Random(0);
+        for (int i = 0; i < 3000; i++) {
+            String input = randomInput(random);
+            String separator = random.nextBoolean() ? "," : random.nextBoolean() ? ",;" : ";;";
+            int limit = random.nextInt(4);
+            int exact = 1 + random.nextInt(4);
+            for (Function<CharSequence, BasicSplit> mode : List.<Function<CharSequence, BasicSplit>>of(
+                BasicSplit::of,
+                str -> BasicSplit.of(str).skipEmpty(),
+                str -> BasicSplit.of(str).limit(limit),
+                str -> BasicSplit.of(str).limit(limit).skipEmpty(),
+                str -> BasicSplit.of(str).limit(limit).includeRestAfterLimit(),
+                str -> BasicSplit.of(str).limit(limit).includeRestAfterLimit().skipEmpty(),
+                str -> BasicSplit.of(str).exactly(exact)
+            )) {
+                assertSameAsOn(input, separator, mode);
+            }
+        }
+    }
+
+    private static void assertSameAsOn(@NotNull String input, @NotNull String separator,
+                                       @NotNull Function<CharSequence, BasicSplit> mode) {
+        List<String> expected;
+        try {
+            expected = mode.apply(input).on(separator).toList();
+        } catch (AssertionError e) {
+            assertFailure(() -> mode.apply(input).toViewsOn(separator)).throwsAssertion();
+            assertFailure(() -> mode.apply(AsciiByteArray.of(input)).toAsciiViewsOn(separator)).throwsAssertion();
+            return;
+        }
+        char first = separator.charAt(0);
+        if (separator.length() == 1) {
+            assertThat(toStrings(mode.apply(input).toViewsOn(first).toList())).isEqualTo(expected);
+            assertThat(toStrings(mode.apply(AsciiByteArray.of(input)).toAsciiViewsOn(first).toList()))
+                .isEqualTo(expected);
+        }
+        assertThat(toStrings(mode.apply(input).toViewsOn(separator).toList())).isEqualTo(expected);
+        assertThat(toStrings(mode.apply(new StringBuilder(input)).toViewsOn(separator).toList())).isEqualTo(expected);
+        assertThat(toStrings(mode.apply(CharArray.of("[" + input + "]", 1, -1)).toViewsOn(separator).toList()))
+            .isEqualTo(expected);
+        assertThat(toStrings(mode.apply(AsciiByteArray.of(input)).toAsciiViewsOn(separator).toList()))
+            .isEqualTo(expected);
+
+        List<String> tokens = new ArrayList<>();
+        mode.apply(input).forEachOn(separator, view -> tokens.add(view.toString()));
+        mode.apply(AsciiByteArray.of("[" + input + "]", 1, -1))
+            .forEachAsciiOn(separator, view -> tokens.add(view.toString()));
+        mode.apply(input).forEachRangeOn(separator, (start, end) -> tokens.add(input.substring(start, end)));
+        assertThat(tokens).isEqualTo(repeat(expected, 3));
+    }
+
+    private static @NotNull String randomInput(@NotNull Random random) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0, length = random.nextInt(12); i < length; i++) {
+            builder.append("ab,;".charAt(random.nextInt(4)));
+        }
+        return builder.toString();
+    }
+
+    private static @NotNull List<String> toStrings(@NotNull List<? extends CharSequence> list) {
+        return list.stream().map(CharSequence::toString).toList();
+    }
+
+    private static @NotNull List<String> repeat(@NotNull List<String> list, int times) {
+        List<String> result = new ArrayList<>();
+        for (int i = 0; i < times; i++) {
+            result.addAll(list);
+        }
+        return result;
+    }
 }
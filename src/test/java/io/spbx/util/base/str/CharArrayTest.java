@@ -1495,6 +1495,32 @@ public class CharArrayTest {
         assertThat(CharArray.of("foo").contentEqualsIgnoreCase("")).isFalse();
     }
 
+    /** {@link CharArray#contentEqualsAsciiIgnoreCase}, {@link CharArray#compareToAsciiIgnoreCase} **/
+
+    @Test
+    public void contentEqualsAsciiIgnoreCase_simple() {
+        assertThat(CharArray.of("").contentEqualsAsciiIgnoreCase(CharArray.of(""))).isTrue();
+        assertThat(CharArray.of("foo").contentEqualsAsciiIgnoreCase(CharArray.of("FoO"))).isTrue();
+        assertThat(CharArray.of("foo").contentEqualsAsciiIgnoreCase("-FOO-".toCharArray())).isFalse();
+        assertThat(CharArray.of("-foo-", 1, 4).contentEqualsAsciiIgnoreCase("FOO".toCharArray())).isTrue();
+        assertThat(CharArray.of("Content-Length").contentEqualsAsciiIgnoreCase(CharArray.of("CONTENT-LENGTH"))).isTrue();
+
+        assertThat(CharArray.of("foo").contentEqualsAsciiIgnoreCase(CharArray.of("fo"))).isFalse();
+        assertThat(CharArray.of("foo").contentEqualsAsciiIgnoreCase(CharArray.of("fo_"))).isFalse();
+        assertThat(CharArray.of("@").contentEqualsAsciiIgnoreCase(CharArray.of("`"))).isFalse();
+        assertThat(CharArray.of("\u00e9").contentEqualsAsciiIgnoreCase(CharArray.of("\u00c9"))).isFalse();  // not ASCII
+    }
+
+    @Test
+    public void compareToAsciiIgnoreCase_simple() {
+        assertThat(CharArray.of("foo").compareToAsciiIgnoreCase(CharArray.of("FOO"))).isEqualTo(0);
+        assertThat(CharArray.of("foo").compareToAsciiIgnoreCase(CharArray.of("FOOBAR"))).isLessThan(0);
+        assertThat(CharArray.of("foobar").compareToAsciiIgnoreCase(CharArray.of("FOO"))).isGreaterThan(0);
+        assertThat(CharArray.of("abc").compareToAsciiIgnoreCase(CharArray.of("ABD"))).isLessThan(0);
+        assertThat(CharArray.of("_").compareToAsciiIgnoreCase(CharArray.of("A"))).isLessThan(0);
+        assertThat(CharArray.of("_").compareTo(CharArray.of("A"))).isGreaterThan(0);
+    }
+
     /** Test utils **/
 
     // Checks whether @NotNull runtime checks are in the byte-code:
@@ -0,0 +1,67 @@
+package io.spbx.util.base.str;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spbx.util.testing.AssertFailure.assertFailure;
+
+@Tag("fast")
+public class StringPoolTest {
+    @Test
+    public void intern_returns_the_same_instance() {
+        StringPool pool = new StringPool();
+        String foo = pool.intern("xfoox".toCharArray(), 1, 4);
+        assertThat(foo).isEqualTo("foo");
+        assertThat(pool.intern("foo".toCharArray())).isSameInstanceAs(foo);
+        assertThat(pool.internAscii("foo".getBytes(StandardCharsets.US_ASCII))).isSameInstanceAs(foo);
+        assertThat(pool.internAscii("<foo>".getBytes(StandardCharsets.US_ASCII), 1, 4)).isSameInstanceAs(foo);
+        assertThat(pool.intern(new StringBuilder("foo"))).isSameInstanceAs(foo);
+
+        assertThat(pool.intern("".toCharArray())).isEqualTo("");
+        assertThat(pool.internAscii(new byte[] { (byte) 0xe9 })).isEqualTo("\u00e9");
+        assertThat(pool.intern("fo".toCharArray())).isEqualTo("fo");
+    }
+
+    @Test
+    public void intern_lossy_on_collisions() {
+        StringPool pool = new StringPool(1);
+        assertThat(pool.capacity()).isEqualTo(1);
+        String foo = pool.intern("foo");
+        assertThat(pool.intern("bar".toCharArray())).isEqualTo("bar");
+        String another = pool.intern("foo".toCharArray());
+        assertThat(another).isEqualTo("foo");
+        assertThat(another).isNotSameInstanceAs(foo);
+
+        pool.clear();
+        assertThat(pool.intern("foo")).isSameInstanceAs(pool.intern("foo".toCharArray()));
+        assertThat(new StringPool(1000).capacity()).isEqualTo(1024);
+        assertFailure(() -> new StringPool(0)).throwsIllegalArgument();
+    }
+
+    @Test
+    public void intern_concurrently() throws Exception {
+        StringPool pool = new StringPool(64);
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 100_000; i++) {
+                        String expected = "token" + (i % 200);
+                        assertThat(pool.intern(expected.toCharArray())).isEqualTo(expected);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+    }
+}
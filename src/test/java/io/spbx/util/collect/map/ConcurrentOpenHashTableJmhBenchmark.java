@@ -0,0 +1,97 @@
+package io.spbx.util.collect.map;
+
+import io.spbx.util.base.ops.ObjArrayOps;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the read/write mix throughput of the concurrent maps.
+ * The {@link #main} runs the suite with the number of threads doubling from 1 to the number of available cores.
+ */
+@Fork(value = 1, warmups = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ConcurrentOpenHashTableJmhBenchmark {
+    private static final int OPS = 1000;
+
+    @Param({"100000"})
+    private int size;
+
+    @Param({"100", "90", "50"})
+    private int readPercent;
+
+    private String[] keys;
+    private ConcurrentHashMap<String, String> hashMap;
+    private ConcurrentOpenHashTable<String, String> table;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        keys = ObjArrayOps.fill(new String[size * 2], String::valueOf);  // half of the keys are missing initially
+        hashMap = new ConcurrentHashMap<>();
+        table = new ConcurrentOpenHashTable<>();
+        for (int i = 0; i < size; i++) {
+            hashMap.put(keys[i], keys[i]);
+            table.put(keys[i], keys[i]);
+        }
+    }
+
+    @Benchmark
+    public void mixed_ConcurrentHashMap(Blackhole blackhole) {
+        runMixed(hashMap, blackhole);
+    }
+
+    @Benchmark
+    public void mixed_ConcurrentOpenHashTable(Blackhole blackhole) {
+        runMixed(table, blackhole);
+    }
+
+    private void runMixed(Map<String, String> map, Blackhole blackhole) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < OPS; i++) {
+            String key = keys[random.nextInt(keys.length)];
+            int dice = random.nextInt(100);
+            if (dice < readPercent) {
+                blackhole.consume(map.get(key));
+            } else if ((dice & 1) == 0) {
+                blackhole.consume(map.put(key, key));
+            } else {
+                blackhole.consume(map.remove(key));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        System.setProperty("jmh.separateClasspathJAR", "true");
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            Options options = new OptionsBuilder()
+                .include(ConcurrentOpenHashTableJmhBenchmark.class.getSimpleName())
+                .threads(threads)
+                .build();
+            new Runner(options).run();
+        }
+    }
+}
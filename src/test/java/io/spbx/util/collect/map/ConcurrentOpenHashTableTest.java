@@ -0,0 +1,210 @@
+package io.spbx.util.collect.map;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spbx.util.testing.AssertFailure.assertFailure;
+import static io.spbx.util.testing.TestingBasics.mapOf;
+import static io.spbx.util.testing.concurrent.TestingThreads.joinAll;
+import static io.spbx.util.testing.concurrent.TestingThreads.startAll;
+
+@Tag("fast")
+public class ConcurrentOpenHashTableTest {
+    @Test
+    public void ops_simple() {
+        ConcurrentOpenHashTable<String, Integer> table = new ConcurrentOpenHashTable<>();
+        assertThat(table).isEmpty();
+        assertThat(table.get("foo")).isNull();
+
+        assertThat(table.put("foo", 1)).isNull();
+        assertThat(table.put("foo", 2)).isEqualTo(1);
+        assertThat(table.put("bar", 3)).isNull();
+        assertThat(table).containsExactly("foo", 2, "bar", 3);
+        assertThat(table.size()).isEqualTo(2);
+        assertThat(table.containsKey("foo")).isTrue();
+        assertThat(table.containsValue(3)).isTrue();
+        assertThat(table.containsValue(1)).isFalse();
+
+        assertThat(table.remove("foo")).isEqualTo(2);
+        assertThat(table.remove("foo")).isNull();
+        assertThat(table).containsExactly("bar", 3);
+
+        table.clear();
+        assertThat(table).isEmpty();
+        assertThat(table.isNotEmpty()).isFalse();
+    }
+
+    @Test
+    public void ops_conditional() {
+        ConcurrentOpenHashTable<String, Integer> table = new ConcurrentOpenHashTable<>();
+        assertThat(table.putIfAbsent("foo", 1)).isNull();
+        assertThat(table.putIfAbsent("foo", 2)).isEqualTo(1);
+        assertThat(table.replace("bar", 3)).isNull();
+        assertThat(table.replace("foo", 3)).isEqualTo(1);
+        assertThat(table.replace("foo", 1, 4)).isFalse();
+        assertThat(table.replace("foo", 3, 4)).isTrue();
+        assertThat(table.remove("foo", 3)).isFalse();
+        assertThat(table.remove("foo", null)).isFalse();
+        assertThat(table).containsExactly("foo", 4);
+        assertThat(table.remove("foo", 4)).isTrue();
+        assertThat(table).isEmpty();
+    }
+
+    @Test
+    public void ops_compute() {
+        ConcurrentOpenHashTable<String, Integer> table = new ConcurrentOpenHashTable<>();
+        assertThat(table.computeIfAbsent("foo", String::length)).isEqualTo(3);
+        assertThat(table.computeIfAbsent("foo", key -> 0)).isEqualTo(3);
+        assertThat(table.computeIfAbsent("bar", key -> null)).isNull();
+        assertThat(table.merge("foo", 2, Integer::sum)).isEqualTo(5);
+        assertThat(table.compute("baz", (key, val) -> val == null ? 1 : val + 1)).isEqualTo(1);
+        assertThat(table.computeIfPresent("baz", (key, val) -> null)).isNull();
+        assertThat(table).containsExactly("foo", 5);
+    }
+
+    @Test
+    public void nulls_not_allowed() {
+        ConcurrentOpenHashTable<String, Integer> table = new ConcurrentOpenHashTable<>();
+        assertFailure(() -> table.put(null, 1)).throwsNPE();
+        assertFailure(() -> table.put("foo", null)).throwsNPE();
+        assertFailure(() -> table.get(null)).throwsNPE();
+        assertFailure(() -> table.remove(null)).throwsNPE();
+    }
+
+    @Test
+    public void segments_and_resize() {
+        ConcurrentOpenHashTable<Integer, Integer> table = new ConcurrentOpenHashTable<>(0, 0.5, 5);
+        assertThat(table.segments()).isEqualTo(8);
+        for (int i = 0; i < 10_000; i++) {
+            table.put(i, -i);
+        }
+        assertThat(table.size()).isEqualTo(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(table.get(i)).isEqualTo(-i);
+        }
+        assertThat(new ConcurrentOpenHashTable<>(0, 0.5, 1).segments()).isEqualTo(1);
+        assertThat(new ConcurrentOpenHashTable<>(0, 0.5, 64).segments()).isEqualTo(64);
+    }
+
+    @Test
+    public void invalid_arguments() {
+        assertFailure(() -> new ConcurrentOpenHashTable<>(-1)).throwsType(IllegalArgumentException.class);
+        assertFailure(() -> new ConcurrentOpenHashTable<>(0, 1, 1)).throwsType(IllegalArgumentException.class);
+        assertFailure(() -> new ConcurrentOpenHashTable<>(0, 0.5, 0)).throwsType(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void iterator_weakly_consistent() {
+        ConcurrentOpenHashTable<Integer, Integer> table = new ConcurrentOpenHashTable<>(0, 0.75, 4);
+        for (int i = 0; i < 100; i++) {
+            table.put(i, i);
+        }
+        int visited = 0;
+        Iterator<Map.Entry<Integer, Integer>> iterator = table.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, Integer> entry = iterator.next();
+            visited++;
+            table.put(entry.getKey() + 1000, 0);  // no ConcurrentModificationException
+            if (entry.getKey() % 2 == 0) {
+                iterator.remove();
+            } else {
+                entry.setValue(-entry.getValue());
+            }
+        }
+        assertThat(visited).isAtLeast(100);
+        for (int i = 0; i < 100; i++) {
+            assertThat(table.get(i)).isEqualTo(i % 2 == 0 ? null : -i);
+        }
+    }
+
+    @Test
+    public void map_semantics() {
+        ConcurrentOpenHashTable<String, Integer> table = new ConcurrentOpenHashTable<>(mapOf("foo", 1, "bar", 2));
+        assertThat(table).isEqualTo(mapOf("bar", 2, "foo", 1));
+        assertThat(table.hashCode()).isEqualTo(mapOf("bar", 2, "foo", 1).hashCode());
+        assertThat(table.entrySet()).contains(Map.entry("foo", 1));
+        assertThat(table.entrySet().remove(Map.entry("foo", 2))).isFalse();
+        assertThat(table.entrySet().remove(Map.entry("foo", 1))).isTrue();
+        assertThat(table.keySet()).containsExactly("bar");
+        assertThat(table.values()).containsExactly(2);
+    }
+
+    @Test
+    public void random_ops_match_hash_map() {
+        Random random = new Random(0);
+        ConcurrentOpenHashTable<Integer, Integer> table = new ConcurrentOpenHashTable<>(0, 0.9, 4);
+        HashMap<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 50_000; i++) {
+            int key = random.nextInt(2000);
+            switch (random.nextInt(3)) {
+                case 0, 1 -> assertThat(table.put(key, i)).isEqualTo(expected.put(key, i));
+                default -> assertThat(table.remove(key)).isEqualTo(expected.remove(key));
+            }
+        }
+        assertThat(table).containsExactlyEntriesIn(expected);
+    }
+
+    @Test
+    public void concurrent_readers_never_miss_stable_keys() {
+        // The writers churn the keys colliding with the stable ones, so that the stable keys get shifted around
+        ConcurrentOpenHashTable<Collider, Integer> table = new ConcurrentOpenHashTable<>(0, 0.9, 2);
+        int stable = 500;
+        for (int i = 0; i < stable; i++) {
+            table.put(new Collider(i, i), i);
+        }
+
+        AtomicReference<String> failure = new AtomicReference<>();
+        AtomicInteger writersDone = new AtomicInteger();
+        Thread[] writers = new Thread[4];
+        for (int w = 0; w < writers.length; w++) {
+            int offset = (w + 1) * 100_000;
+            writers[w] = new Thread(() -> {
+                for (int round = 0; round < 50; round++) {
+                    for (int i = 0; i < 2 * stable; i++) {
+                        table.put(new Collider(offset + i, i % stable), i);
+                    }
+                    for (int i = 0; i < 2 * stable; i++) {
+                        table.remove(new Collider(offset + i, i % stable));
+                    }
+                }
+                writersDone.incrementAndGet();
+            });
+        }
+        Thread[] readers = new Thread[4];
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = new Thread(() -> {
+                while (writersDone.get() < writers.length && failure.get() == null) {
+                    for (int i = 0; i < stable; i++) {
+                        Integer value = table.get(new Collider(i, i));
+                        if (value == null || value != i) {
+                            failure.set("Key=%d value=%s".formatted(i, value));
+                        }
+                    }
+                }
+            });
+        }
+
+        startAll(writers);
+        startAll(readers);
+        joinAll(writers);
+        joinAll(readers);
+
+        assertThat(failure.get()).isNull();
+        assertThat(table.size()).isEqualTo(stable);
+    }
+
+    private record Collider(int id, int hash) {
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
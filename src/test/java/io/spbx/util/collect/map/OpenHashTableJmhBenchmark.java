@@ -1,12 +1,18 @@
 package io.spbx.util.collect.map;
 
+import com.carrotsearch.hppc.ObjectObjectHashMap;
 import io.spbx.util.base.ops.ObjArrayOps;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.infra.Blackhole;
 import org.openjdk.jmh.runner.Runner;
@@ -15,38 +21,143 @@ import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 
 import java.util.HashMap;
+import java.util.Random;
 import java.util.concurrent.TimeUnit;
 
-@Fork(value = 1, warmups = 1)
+@Fork(value = 1, warmups = 1, jvmArgsAppend = "-Xmx4g")
 @BenchmarkMode(Mode.Throughput)
 @OutputTimeUnit(TimeUnit.SECONDS)
 @Warmup(iterations = 3, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
 @Measurement(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
 public class OpenHashTableJmhBenchmark {
-    private static final String[] STRINGS = ObjArrayOps.fill(new String[1000], String::valueOf);
+    @Param({"1000", "1000000", "10000000"})
+    private int size;
+
+    private String[] keys;
+    private String[] misses;
+    private HashMap<String, String> hashMap;
+    private ObjectObjectHashMap<String, String> hppcMap;
+    private OpenHashTable<String, String> table;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(0);
+        keys = ObjArrayOps.fill(new String[size], i -> Long.toHexString(random.nextLong()));
+        misses = ObjArrayOps.fill(new String[size], i -> Integer.toString(i));
+        hashMap = new HashMap<>();
+        hppcMap = new ObjectObjectHashMap<>();
+        table = new OpenHashTable<>();
+        for (String key : keys) {
+            hashMap.put(key, key);
+            hppcMap.put(key, key);
+            table.put(key, key);
+        }
+    }
+
+    @Benchmark
+    public void put_HashMap(Blackhole blackhole) {
+        HashMap<String, String> map = new HashMap<>();
+        for (String key : keys) {
+            map.put(key, key);
+        }
+        blackhole.consume(map);
+    }
+
+    @Benchmark
+    public void put_HppcMap(Blackhole blackhole) {
+        ObjectObjectHashMap<String, String> map = new ObjectObjectHashMap<>();
+        for (String key : keys) {
+            map.put(key, key);
+        }
+        blackhole.consume(map);
+    }
+
+    @Benchmark
+    public void put_OpenHashTable(Blackhole blackhole) {
+        OpenHashTable<String, String> map = new OpenHashTable<>();
+        for (String key : keys) {
+            map.put(key, key);
+        }
+        blackhole.consume(map);
+    }
+
+    @Benchmark
+    public void get_hit_HashMap(Blackhole blackhole) {
+        for (String key : keys) {
+            blackhole.consume(hashMap.get(key));
+        }
+    }
+
+    @Benchmark
+    public void get_hit_HppcMap(Blackhole blackhole) {
+        for (String key : keys) {
+            blackhole.consume(hppcMap.get(key));
+        }
+    }
+
+    @Benchmark
+    public void get_hit_OpenHashTable(Blackhole blackhole) {
+        for (String key : keys) {
+            blackhole.consume(table.get(key));
+        }
+    }
+
+    @Benchmark
+    public void get_miss_HashMap(Blackhole blackhole) {
+        for (String key : misses) {
+            blackhole.consume(hashMap.get(key));
+        }
+    }
+
+    @Benchmark
+    public void get_miss_HppcMap(Blackhole blackhole) {
+        for (String key : misses) {
+            blackhole.consume(hppcMap.get(key));
+        }
+    }
+
+    @Benchmark
+    public void get_miss_OpenHashTable(Blackhole blackhole) {
+        for (String key : misses) {
+            blackhole.consume(table.get(key));
+        }
+    }
+
+    @Benchmark
+    public void put_remove_HashMap(Blackhole blackhole) {
+        HashMap<String, String> map = new HashMap<>(size);
+        for (String key : keys) {
+            map.put(key, key);
+        }
+        for (String key : keys) {
+            map.remove(key);
+        }
+        blackhole.consume(map);
+    }
 
     @Benchmark
-    public void HashMap_put_get(Blackhole blackhole) {
-        HashMap<String, String> hashMap = new HashMap<>(10000);
-        for (String s : STRINGS) {
-            hashMap.put(s, s);
+    public void put_remove_HppcMap(Blackhole blackhole) {
+        ObjectObjectHashMap<String, String> map = new ObjectObjectHashMap<>(size);
+        for (String key : keys) {
+            map.put(key, key);
         }
-        for (String s : STRINGS) {
-            hashMap.get(s);
+        for (String key : keys) {
+            map.remove(key);
         }
-        blackhole.consume(hashMap);
+        blackhole.consume(map);
     }
 
     @Benchmark
-    public void OpenHashTable_put_get(Blackhole blackhole) {
-        OpenHashTable<String, String> table = new OpenHashTable<>(10000);
-        for (String s : STRINGS) {
-            table.put(s, s);
+    public void put_remove_OpenHashTable(Blackhole blackhole) {
+        OpenHashTable<String, String> map = new OpenHashTable<>(size);
+        for (String key : keys) {
+            map.put(key, key);
         }
-        for (String s : STRINGS) {
-            table.get(s);
+        for (String key : keys) {
+            map.remove(key);
         }
-        blackhole.consume(table);
+        blackhole.consume(map);
     }
 
     public static void main(String[] args) throws RunnerException {
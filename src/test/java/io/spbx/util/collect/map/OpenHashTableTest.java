@@ -6,9 +6,14 @@ import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Random;
 
 import static com.google.common.truth.Truth.assertThat;
+import static io.spbx.util.testing.AssertFailure.assertFailure;
 import static io.spbx.util.testing.TestingBasics.mapOf;
 
 @Tag("fast")
@@ -37,6 +42,167 @@ public class OpenHashTableTest {
         assertTable(table).hasSize(3).hasContent("foo", null, "bar", 3, null, 4, "baz", 5);
     }
 
+    @Test
+    public void ops_containsKey_null_values() {
+        OpenHashTable<String, Integer> table = new OpenHashTable<>();
+        table.put("foo", null);
+        assertThat(table.containsKey("foo")).isTrue();
+        assertThat(table.containsKey("bar")).isFalse();
+        assertThat(table.containsKey(null)).isFalse();
+        assertThat(table.containsValue(null)).isTrue();
+        assertThat(table.getOrDefault("foo", 1)).isNull();
+        assertThat(table.getOrDefault("bar", 1)).isEqualTo(1);
+
+        table.put(null, 1);
+        assertThat(table.containsKey(null)).isTrue();
+        assertThat(table.containsValue(1)).isTrue();
+        assertThat(table.remove(null)).isEqualTo(1);
+        assertThat(table.containsKey(null)).isFalse();
+        assertTable(table).hasSize(1).matches(mapOf("foo", null));
+    }
+
+    @Test
+    public void ops_put_remove_return_values() {
+        OpenHashTable<String, Integer> table = new OpenHashTable<>();
+        assertThat(table.put("foo", 1)).isNull();
+        assertThat(table.put("foo", 2)).isEqualTo(1);
+        assertThat(table.remove("bar")).isNull();
+        assertThat(table.remove("foo")).isEqualTo(2);
+        assertThat(table.remove("foo")).isNull();
+        assertTable(table).hasSize(0).isEmpty().matches(mapOf());
+    }
+
+    @Test
+    public void collisions_backward_shift() {
+        OpenHashTable<Collider, Integer> table = new OpenHashTable<>(16);
+        for (int i = 0; i < 10; i++) {
+            table.put(new Collider(i, i % 2), i);
+        }
+        assertThat(table.remove(new Collider(0, 0))).isEqualTo(0);
+        assertThat(table.remove(new Collider(3, 1))).isEqualTo(3);
+        assertThat(table.remove(new Collider(8, 0))).isEqualTo(8);
+        assertTable(table).hasSize(7).matches(mapOf(
+            new Collider(1, 1), 1, new Collider(2, 0), 2, new Collider(4, 0), 4, new Collider(5, 1), 5,
+            new Collider(6, 0), 6, new Collider(7, 1), 7, new Collider(9, 1), 9
+        ));
+    }
+
+    @Test
+    public void resize_keeps_content() {
+        OpenHashTable<Integer, Integer> table = new OpenHashTable<>(0, 0.5);
+        assertThat(table.capacity()).isEqualTo(4);
+        for (int i = 0; i < 1000; i++) {
+            table.put(i, -i);
+        }
+        assertThat(table.capacity()).isEqualTo(2048);
+        assertThat(table.loadFactor()).isEqualTo(0.5);
+        assertTable(table).hasSize(1000).hasContent(0, 0, 999, -999, 1000, null);
+    }
+
+    @Test
+    public void capacity_expected_size() {
+        assertThat(new OpenHashTable<>(0).capacity()).isEqualTo(4);
+        assertThat(new OpenHashTable<>(3).capacity()).isEqualTo(4);
+        assertThat(new OpenHashTable<>(4).capacity()).isEqualTo(8);
+        assertThat(new OpenHashTable<>(12).capacity()).isEqualTo(16);
+        assertThat(new OpenHashTable<>(13).capacity()).isEqualTo(32);
+        assertThat(new OpenHashTable<>(100, 0.9).capacity()).isEqualTo(128);
+    }
+
+    @Test
+    public void invalid_arguments() {
+        assertFailure(() -> new OpenHashTable<>(-1)).throwsType(IllegalArgumentException.class);
+        assertFailure(() -> new OpenHashTable<>(16, 0)).throwsType(IllegalArgumentException.class);
+        assertFailure(() -> new OpenHashTable<>(16, 1)).throwsType(IllegalArgumentException.class);
+        assertFailure(() -> new OpenHashTable<>(Integer.MAX_VALUE)).throwsType(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void iterator_remove_all_collisions() {
+        OpenHashTable<Collider, Integer> table = new OpenHashTable<>(16);
+        for (int i = 0; i < 12; i++) {
+            table.put(new Collider(i, i % 3), i);
+        }
+        HashMap<Collider, Integer> visited = new HashMap<>();
+        Iterator<Map.Entry<Collider, Integer>> iterator = table.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Collider, Integer> entry = iterator.next();
+            assertThat(visited.put(entry.getKey(), entry.getValue())).isNull();
+            if (entry.getValue() % 2 == 0) {
+                iterator.remove();
+            }
+        }
+        assertThat(visited).hasSize(12);
+        assertThat(table.keySet()).containsExactly(
+            new Collider(1, 1), new Collider(3, 0), new Collider(5, 2),
+            new Collider(7, 1), new Collider(9, 0), new Collider(11, 2)
+        );
+    }
+
+    @Test
+    public void iterator_fail_fast() {
+        OpenHashTable<String, Integer> table = new OpenHashTable<>();
+        table.put("foo", 1);
+        table.put("bar", 2);
+        Iterator<String> iterator = table.keySet().iterator();
+        iterator.next();
+        table.put("baz", 3);
+        assertFailure(iterator::next).throwsType(ConcurrentModificationException.class);
+        assertFailure(() -> table.forEach((k, v) -> table.remove(k))).throwsType(ConcurrentModificationException.class);
+    }
+
+    @Test
+    public void entry_setValue() {
+        OpenHashTable<String, Integer> table = new OpenHashTable<>();
+        table.put("foo", 1);
+        table.put("bar", 2);
+        table.entrySet().forEach(entry -> entry.setValue(entry.getValue() * 10));
+        assertTable(table).hasSize(2).matches(mapOf("foo", 10, "bar", 20));
+    }
+
+    @Test
+    public void map_semantics() {
+        OpenHashTable<String, Integer> table = new OpenHashTable<>(mapOf("foo", 1, "bar", 2));
+        assertThat(table).isEqualTo(mapOf("bar", 2, "foo", 1));
+        assertThat(table.hashCode()).isEqualTo(mapOf("bar", 2, "foo", 1).hashCode());
+        assertThat(table.values()).containsExactly(1, 2);
+        assertThat(table.entrySet()).contains(Map.entry("foo", 1));
+        assertThat(table.entrySet().remove(Map.entry("foo", 2))).isFalse();
+        assertThat(table.entrySet().remove(Map.entry("foo", 1))).isTrue();
+        assertThat(table.computeIfAbsent("baz", String::length)).isEqualTo(3);
+        assertThat(table.merge("bar", 5, Integer::sum)).isEqualTo(7);
+        assertTable(table).hasSize(2).matches(mapOf("bar", 7, "baz", 3));
+
+        table.clear();
+        assertTable(table).hasSize(0).isEmpty().matches(mapOf());
+    }
+
+    @Test
+    public void random_ops_match_hash_map() {
+        Random random = new Random(0);
+        OpenHashTable<Integer, Integer> table = new OpenHashTable<>(0, 0.9);
+        HashMap<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 50_000; i++) {
+            int key = random.nextInt(2000);
+            switch (random.nextInt(4)) {
+                case 0, 1 -> assertThat(table.put(key, i)).isEqualTo(expected.put(key, i));
+                case 2 -> assertThat(table.remove(key)).isEqualTo(expected.remove(key));
+                default -> {
+                    table.entrySet().removeIf(entry -> entry.getKey() % 97 == key % 97);
+                    expected.entrySet().removeIf(entry -> entry.getKey() % 97 == key % 97);
+                }
+            }
+        }
+        assertTable(table).hasSize(expected.size()).matches(expected);
+    }
+
+    private record Collider(int id, int hash) {
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
     @CheckReturnValue
     private static <K, V> @NotNull OpenHashTableSubject<K, V> assertTable(@NotNull OpenHashTable<K, V> table) {
         return new OpenHashTableSubject<>(table);
@@ -72,6 +238,13 @@ public class OpenHashTableTest {
             return this;
         }
 
+        public @NotNull OpenHashTableSubject<K, V> matches(@NotNull Map<K, V> map) {
+            assertThat(table).containsExactlyEntriesIn(map);
+            assertThat(table.keySet()).containsExactlyElementsIn(map.keySet());
+            assertThat(table.entrySet()).containsExactlyElementsIn(map.entrySet());
+            return hasContent(map);
+        }
+
         public @NotNull OpenHashTableSubject<K, V> hasContent(@NotNull Map<K, V> map) {
             for (Map.Entry<K, V> entry : map.entrySet()) {
                 assertThat(table.get(entry.getKey())).isEqualTo(entry.getValue());
@@ -0,0 +1,121 @@
+package io.spbx.util.collect.map;
+
+import io.spbx.util.base.str.StringPool;
+import io.spbx.util.extern.trove.TroveHashMaps.StringContentHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Looks up the header-like names directly from a request buffer, i.e. the keys come as `byte[]` ranges
+@Fork(value = 1, warmups = 1, jvmArgsAppend = "-Xmx4g")
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class StringContentHashTableJmhBenchmark {
+    @Param({"100", "10000"})
+    private int size;
+
+    private byte[] buffer;
+    private int[] offsets;  // `size + 1` offsets of the keys in the `buffer`
+    private HashMap<String, Integer> hashMap;
+    private StringContentHashMap<Integer> troveMap;
+    private StringContentHashTable<Integer> table;
+    private StringPool pool;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(0);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        offsets = new int[size + 1];
+        hashMap = new HashMap<>();
+        troveMap = StringContentHashMap.newMap();
+        table = new StringContentHashTable<>();
+        pool = new StringPool(2 * size);
+        for (int i = 0; i < size; i++) {
+            String key = "X-Header-" + Long.toHexString(random.nextLong());
+            output.writeBytes(key.getBytes(StandardCharsets.US_ASCII));
+            offsets[i + 1] = output.size();
+            hashMap.put(key, i);
+            troveMap.put(key, i);
+            table.put(key, i);
+        }
+        buffer = output.toByteArray();
+    }
+
+    @Benchmark
+    public void getAscii_HashMap_new_String(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            String key = new String(buffer, offsets[i], offsets[i + 1] - offsets[i], StandardCharsets.US_ASCII);
+            blackhole.consume(hashMap.get(key));
+        }
+    }
+
+    @Benchmark
+    public void getAscii_HashMap_StringPool(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(hashMap.get(pool.internAscii(buffer, offsets[i], offsets[i + 1])));
+        }
+    }
+
+    @Benchmark
+    public void getAscii_TroveStringContentHashMap(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(troveMap.getAscii(buffer, offsets[i], offsets[i + 1]));
+        }
+    }
+
+    @Benchmark
+    public void getAscii_StringContentHashTable(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(table.getAscii(buffer, offsets[i], offsets[i + 1]));
+        }
+    }
+
+    @Benchmark
+    public void put_HashMap(Blackhole blackhole) {
+        HashMap<String, Integer> map = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put(new String(buffer, offsets[i], offsets[i + 1] - offsets[i], StandardCharsets.US_ASCII), i);
+        }
+        blackhole.consume(map);
+    }
+
+    @Benchmark
+    public void put_StringContentHashTable(Blackhole blackhole) {
+        StringContentHashTable<Integer> map = new StringContentHashTable<>();
+        for (int i = 0; i < size; i++) {
+            map.putAscii(buffer, offsets[i], offsets[i + 1], i);
+        }
+        blackhole.consume(map);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        System.setProperty("jmh.separateClasspathJAR", "true");
+        Options options = new OptionsBuilder()
+            .include(StringContentHashTableJmhBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
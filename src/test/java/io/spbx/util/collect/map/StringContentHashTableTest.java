@@ -0,0 +1,152 @@
+package io.spbx.util.collect.map;
+
+import io.spbx.util.base.str.CharArray;
+import io.spbx.util.base.str.StringPool;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spbx.util.testing.AssertFailure.assertFailure;
+import static io.spbx.util.testing.TestingBasics.mapOf;
+
+@Tag("fast")
+public class StringContentHashTableTest {
+    @Test
+    public void content_equivalent_keys() {
+        StringContentHashTable<String> table = StringContentHashTable.newMap();
+        table.put("foo", "bar");
+        assertThat(table.get((Object) "foo")).isEqualTo("bar");
+        assertThat(table.get((CharSequence) "foo")).isEqualTo("bar");
+        assertThat(table.get("foo".toCharArray())).isEqualTo("bar");
+        assertThat(table.get((Object) "foo".toCharArray())).isEqualTo("bar");
+        assertThat(table.get("xfoox".toCharArray(), 1, 4)).isEqualTo("bar");
+        assertThat(table.getAscii(ascii("foo"))).isEqualTo("bar");
+        assertThat(table.getAscii(ascii("xfoox"), 1, 4)).isEqualTo("bar");
+        assertThat(table.get((Object) ascii("foo"))).isEqualTo("bar");
+        assertThat(table.get(CharArray.of("foobar").substringUntil(3))).isEqualTo("bar");
+        assertThat(table.get(new StringBuilder("foo"))).isEqualTo("bar");
+        assertThat(table.get(new Object() { public String toString() { return "foo"; } })).isEqualTo("bar");
+
+        assertThat(table.get("Foo")).isNull();
+        assertThat(table.get("fo")).isNull();
+        assertThat(table.get("xfoox".toCharArray(), 1, 3)).isNull();
+        assertThat(table.get((Object) null)).isNull();
+        assertThat(table.containsKey(null)).isFalse();
+
+        assertThat(table.put("xfoox".toCharArray(), 1, 4, "baz")).isEqualTo("bar");
+        assertThat(table.putAscii(ascii("bar"), "qux")).isNull();
+        assertThat(table).containsExactly("foo", "baz", "bar", "qux");
+        assertThat(table).isEqualTo(mapOf("foo", "baz", "bar", "qux"));
+    }
+
+    @Test
+    public void ignore_case() {
+        StringContentHashTable<Integer> table = StringContentHashTable.newIgnoreCaseMap();
+        table.put("Content-Type", 1);
+        assertThat(table.get("content-type")).isEqualTo(1);
+        assertThat(table.get("CONTENT-TYPE".toCharArray())).isEqualTo(1);
+        assertThat(table.getAscii(ascii("cOnTeNt-TyPe"))).isEqualTo(1);
+        assertThat(table.get("Content_Type")).isNull();
+
+        assertThat(table.put("CONTENT-TYPE", 2)).isEqualTo(1);
+        assertThat(table).hasSize(1);
+        assertThat(table.keySet()).containsExactly("Content-Type");
+        assertThat(table.remove("content-TYPE")).isEqualTo(2);
+        assertThat(table).isEmpty();
+    }
+
+    @Test
+    public void null_keys_and_values() {
+        StringContentHashTable<String> table = StringContentHashTable.newMap();
+        table.put("foo", null);
+        table.put("", null);
+        assertThat(table.containsKey("foo")).isTrue();
+        assertThat(table.containsKey("")).isTrue();
+        assertThat(table.containsValue(null)).isTrue();
+        assertThat(table.getOrDefault("foo", "bar")).isNull();
+        assertThat(table.getOrDefault("baz", "bar")).isEqualTo("bar");
+        assertFailure(() -> table.put((CharSequence) null, "bar")).throwsNPE();
+    }
+
+    @Test
+    public void same_as_hash_map() {
+        Random random = new Random(0);
+        StringContentHashTable<Integer> table = new StringContentHashTable<>(0);
+        Map<String, Integer> expected = new HashMap<>();
+        List<String> keys = List.of("", "a", "b", "ab", "ba", "abc", "Content-Length", "Content-Type", "x".repeat(100));
+        for (int i = 0; i < 50000; i++) {
+            String key = random.nextBoolean() ? keys.get(random.nextInt(keys.size())) : "k" + random.nextInt(500);
+            char[] padded = ("<" + key + ">").toCharArray();
+            switch (random.nextInt(6)) {
+                case 0 -> assertThat(table.put(key, i)).isEqualTo(expected.put(key, i));
+                case 1 -> assertThat(table.put(padded, 1, padded.length - 1, i)).isEqualTo(expected.put(key, i));
+                case 2 -> assertThat(table.putAscii(ascii(key), i)).isEqualTo(expected.put(key, i));
+                case 3 -> assertThat(table.remove(key)).isEqualTo(expected.remove(key));
+                case 4 -> assertThat(table.get(padded, 1, padded.length - 1)).isEqualTo(expected.get(key));
+                default -> assertThat(table.getAscii(ascii(key))).isEqualTo(expected.get(key));
+            }
+            assertThat(table.size()).isEqualTo(expected.size());
+            if (i % 1000 == 0) {
+                assertThat(table).isEqualTo(expected);
+                assertThat(expected).isEqualTo(table);
+                assertThat(table.hashCode()).isEqualTo(expected.hashCode());
+            }
+        }
+        table.clear();
+        assertThat(table).isEmpty();
+        assertThat(table.get("a")).isNull();
+    }
+
+    @Test
+    public void iterator_remove() {
+        StringContentHashTable<Integer> table = new StringContentHashTable<>();
+        Map<String, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            table.put("key" + i, i);
+            expected.put("key" + i, i);
+        }
+        Iterator<Map.Entry<CharSequence, Integer>> iterator = table.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<CharSequence, Integer> entry = iterator.next();
+            if (entry.getValue() % 3 == 0) {
+                iterator.remove();
+                expected.remove(entry.getKey().toString());
+            } else if (entry.getValue() % 3 == 1) {
+                entry.setValue(-entry.getValue());
+                expected.put(entry.getKey().toString(), entry.getValue());
+            }
+        }
+        assertThat(table).isEqualTo(expected);
+
+        Iterator<CharSequence> keys = table.keySet().iterator();
+        keys.next();
+        table.put("new", 0);
+        assertFailure(keys::next).throwsType(ConcurrentModificationException.class);
+    }
+
+    @Test
+    public void key_pool() {
+        StringPool pool = new StringPool();
+        StringContentHashTable<Integer> table1 = new StringContentHashTable<>(4, 0.5, false, pool);
+        StringContentHashTable<Integer> table2 = new StringContentHashTable<>(4, 0.5, false, pool);
+        table1.put("foo", 1);
+        table2.put("foo".toCharArray(), 2);
+        CharSequence key1 = table1.keySet().iterator().next();
+        CharSequence key2 = table2.keySet().iterator().next();
+        assertThat(key1).isEqualTo("foo");
+        assertThat(key1).isSameInstanceAs(key2);
+    }
+
+    private static byte @NotNull[] ascii(@NotNull String str) {
+        return str.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,79 @@
+package io.spbx.util.collect.pool;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Measures the checkout throughput of the pool: the plain round-robin rotation ({@code cooldownNanos=0})
+ * vs. the rate-limited objects going through the cooldown heap.
+ * The {@link #main} runs the suite with the number of threads doubling from 1 to the number of available cores.
+ */
+@Fork(value = 1, warmups = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ExpirablePoolJmhBenchmark {
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Param({"16", "1024"})
+    private int size;
+
+    @Param({"0", "1000", "100000"})
+    private long cooldownNanos;
+
+    private ExpirablePool<String> pool;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        List<String> objects = IntStream.range(0, size).mapToObj(String::valueOf).toList();
+        pool = new ExpirablePool<>(objects, Duration.ofNanos(cooldownNanos));
+    }
+
+    @Benchmark
+    public void take_return(Blackhole blackhole) throws InterruptedException {
+        String object = pool.nextAvailable(TIMEOUT);
+        blackhole.consume(object);
+        pool.returnBackSuccess(object);
+    }
+
+    @Benchmark
+    public void lease(Blackhole blackhole) throws InterruptedException {
+        try (ExpirablePool.Lease<String> lease = pool.lease()) {
+            blackhole.consume(lease.get());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        System.setProperty("jmh.separateClasspathJAR", "true");
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            Options options = new OptionsBuilder()
+                .include(ExpirablePoolJmhBenchmark.class.getSimpleName())
+                .threads(threads)
+                .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -1,17 +1,32 @@
 package io.spbx.util.collect.pool;
 
 import com.google.common.collect.Sets;
+import io.spbx.util.collect.pool.ExpirablePool.ExpirationInfo;
 import io.spbx.util.collect.pool.ExpirablePool.Status;
+import io.spbx.util.concurrent.Uninterrupted;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
 
 import static com.google.common.truth.Truth.assertThat;
+import static io.spbx.util.testing.concurrent.TestingThreads.joinAll;
+import static io.spbx.util.testing.concurrent.TestingThreads.startAll;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Tag("fast")
@@ -82,6 +97,38 @@ public class ExpirablePoolTest {
         assertPool(pool).allTaken();
     }
 
+    @Test
+    public void return_back_twice_ignored() {
+        ExpirablePool<String> pool = ExpirablePool.of("foo", "bar");
+        assertThat(pool.nextAvailable()).isEqualTo("foo");
+        pool.returnBackSuccess("foo");
+        pool.returnBackExpired("foo");
+        assertPool(pool).containsAvailable("foo", "bar");
+        assertThat(pool.getStats("foo").callsInThisSession()).isEqualTo(1);
+        assertThat(pool.getStats("foo").status()).isEqualTo(Status.WORKING);
+    }
+
+    @Test
+    public void return_back_expired_twice_ignored() {
+        ExpirablePool<String> pool = ExpirablePool.of("foo", "bar");
+        assertThat(pool.nextAvailable()).isEqualTo("foo");
+        pool.returnBackExpired("foo");
+        pool.returnBackSuccess("foo");
+        assertPool(pool).containsAvailable("bar");
+        assertThat(pool.getStats("foo").callsInThisSession()).isEqualTo(1);
+        assertThat(pool.getStats("foo").status()).isEqualTo(Status.EXPIRED);
+    }
+
+    @Test
+    public void return_back_unknown_object_ignored() {
+        ExpirablePool<String> pool = ExpirablePool.of("foo", "bar");
+        assertThat(pool.nextAvailable()).isEqualTo("foo");
+        pool.returnBackSuccess("baz");
+        pool.returnBackExpired("baz");
+        assertPool(pool).containsAvailable("bar");
+        assertThat(pool.working()).isEqualTo(2);
+    }
+
     @Test
     public void rotation() {
         ExpirablePool<String> pool = ExpirablePool.of("foo", "bar");
@@ -182,6 +229,326 @@ public class ExpirablePoolTest {
         }
     }
 
+    @Test
+    public void concurrent_take_return_no_double_checkout() {
+        List<String> all = IntStream.range(0, 8).mapToObj(String::valueOf).toList();
+        ExpirablePool<String> pool = ExpirablePool.of(all);
+        Set<String> inUse = ConcurrentHashMap.newKeySet();
+        AtomicInteger failures = new AtomicInteger();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    if (pool.hasAvailable()) {
+                        try {
+                            String s = pool.nextAvailable();
+                            if (!inUse.add(s)) {
+                                failures.incrementAndGet();
+                            }
+                            inUse.remove(s);
+                            pool.returnBackSuccess(s);
+                        } catch (IllegalStateException ignore) {
+                            // Taken by another thread in between
+                        }
+                    }
+                }
+            });
+        }
+        startAll(threads);
+        joinAll(threads);
+
+        assertThat(failures.get()).isEqualTo(0);
+        assertPool(pool).containsAvailable(all.toArray(String[]::new));
+    }
+
+    @Test
+    public void nextAvailable_timeout_all_taken() throws InterruptedException {
+        ExpirablePool<String> pool = ExpirablePool.of("foo");
+        assertThat(pool.nextAvailable(Duration.ofMillis(1))).isEqualTo("foo");
+        assertThat(pool.nextAvailable(Duration.ofMillis(1))).isNull();
+        pool.returnBackSuccess("foo");
+        assertPool(pool).containsAvailable("foo");
+    }
+
+    @Test
+    public void nextAvailable_timeout_no_working() {
+        ExpirablePool<String> pool = ExpirablePool.of("foo");
+        pool.returnBackExpired(pool.nextAvailable());
+        assertThrows(IllegalStateException.class, () -> pool.nextAvailable(Duration.ofMillis(1)));
+    }
+
+    @Test
+    public void nextAvailable_blocks_until_returned() throws InterruptedException {
+        ExpirablePool<String> pool = ExpirablePool.of("foo");
+        assertThat(pool.nextAvailable()).isEqualTo("foo");
+
+        AtomicReference<String> result = new AtomicReference<>();
+        Thread thread = Thread.ofVirtual().start(() -> {
+            Uninterrupted.runRethrow(() -> result.set(pool.nextAvailable(Duration.ofSeconds(10))));
+        });
+        while (pool.waiting() == 0) {
+            Thread.onSpinWait();
+        }
+        pool.returnBackSuccess("foo");
+        thread.join();
+
+        assertThat(result.get()).isEqualTo("foo");
+        assertPool(pool).allTaken();
+    }
+
+    @Test
+    public void nextAvailableAsync_fifo_hand_over() {
+        ExpirablePool<String> pool = ExpirablePool.of("foo", "bar");
+        CompletableFuture<String> first = pool.nextAvailableAsync();
+        CompletableFuture<String> second = pool.nextAvailableAsync();
+        assertThat(first.getNow(null)).isEqualTo("foo");
+        assertThat(second.getNow(null)).isEqualTo("bar");
+
+        CompletableFuture<String> third = pool.nextAvailableAsync();
+        CompletableFuture<String> fourth = pool.nextAvailableAsync();
+        assertThat(third.isDone()).isFalse();
+        assertThat(fourth.isDone()).isFalse();
+        assertThat(pool.waiting()).isEqualTo(2);
+
+        pool.returnBackSuccess("bar");
+        assertThat(third.getNow(null)).isEqualTo("bar");
+        assertThat(fourth.isDone()).isFalse();
+        assertPool(pool).allTaken();
+
+        pool.returnBackSuccess("foo");
+        assertThat(fourth.getNow(null)).isEqualTo("foo");
+        assertThat(pool.waiting()).isEqualTo(0);
+        assertPool(pool).allTaken();
+    }
+
+    @Test
+    public void nextAvailable_does_not_overtake_waiters() {
+        ExpirablePool<String> pool = ExpirablePool.of("foo", "bar");
+        Instant refresh = Instant.now().plusMillis(50);
+        pool.returnBackExpired(pool.nextAvailable(), ExpirablePool.refreshKnown(refresh));
+        pool.returnBackExpired(pool.nextAvailable(), ExpirablePool.refreshKnown(refresh));
+
+        // Both objects are revived by the same timer, the first waiter is completed while the second is still queued
+        AtomicReference<Throwable> overtake = new AtomicReference<>();
+        CompletableFuture<String> first = pool.nextAvailableAsync();
+        first.thenRun(() -> overtake.set(assertThrows(IllegalStateException.class, pool::nextAvailable)));
+        CompletableFuture<String> second = pool.nextAvailableAsync();
+        assertThat(pool.waiting()).isEqualTo(2);
+
+        assertThat(first.join()).isEqualTo("foo");
+        assertThat(second.completeOnTimeout("none", 1, TimeUnit.SECONDS).join()).isEqualTo("bar");
+        assertThat(overtake.get()).isInstanceOf(IllegalStateException.class);
+        assertPool(pool).allTaken();
+    }
+
+    @Test
+    public void nextAvailableAsync_cancelled_waiter_skipped() {
+        ExpirablePool<String> pool = ExpirablePool.of("foo");
+        assertThat(pool.nextAvailable()).isEqualTo("foo");
+        CompletableFuture<String> cancelled = pool.nextAvailableAsync();
+        CompletableFuture<String> waiting = pool.nextAvailableAsync();
+        assertThat(cancelled.cancel(false)).isTrue();
+
+        pool.returnBackSuccess("foo");
+        assertThat(waiting.getNow(null)).isEqualTo("foo");
+        pool.returnBackSuccess("foo");
+        assertPool(pool).containsAvailable("foo");
+    }
+
+    @Test
+    public void nextAvailableAsync_last_expired_fails_waiters() {
+        ExpirablePool<String> pool = ExpirablePool.of("foo");
+        assertThat(pool.nextAvailable()).isEqualTo("foo");
+        CompletableFuture<String> waiting = pool.nextAvailableAsync();
+
+        pool.returnBackExpired("foo");
+        assertThat(waiting.isCompletedExceptionally()).isTrue();
+        assertThat(pool.nextAvailableAsync().isCompletedExceptionally()).isTrue();
+        assertThat(pool.waiting()).isEqualTo(0);
+    }
+
+    @Test
+    public void lease_returns_back_on_close() throws InterruptedException {
+        ExpirablePool<String> pool = ExpirablePool.of("foo", "bar");
+        try (ExpirablePool.Lease<String> lease = pool.lease()) {
+            assertThat(lease.get()).isEqualTo("foo");
+            assertPool(pool).containsAvailable("bar");
+        }
+        assertPool(pool).containsAvailable("foo", "bar");
+
+        try (ExpirablePool.Lease<String> lease = pool.lease()) {
+            assertThat(lease.get()).isEqualTo("bar");
+            lease.expire();
+            assertThrows(IllegalStateException.class, lease::get);
+        }
+        assertPool(pool).containsAvailable("foo");
+        assertThat(pool.getStats("bar").status()).isEqualTo(Status.EXPIRED);
+    }
+
+    @Test
+    public void lease_timeout() throws InterruptedException {
+        ExpirablePool<String> pool = ExpirablePool.of("foo");
+        try (ExpirablePool.Lease<String> lease = pool.lease(Duration.ofMillis(1))) {
+            assertThat(lease).isNotNull();
+            assertThat(pool.lease(Duration.ofMillis(1))).isNull();
+        }
+        assertPool(pool).containsAvailable("foo");
+    }
+
+    @Test
+    public void concurrent_waiters_saturate_pool() throws InterruptedException {
+        ExpirablePool<String> pool = ExpirablePool.of("foo", "bar");
+        Set<String> inUse = ConcurrentHashMap.newKeySet();
+        AtomicInteger failures = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+        Thread[] threads = new Thread[16];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = Thread.ofVirtual().unstarted(() -> {
+                for (int i = 0; i < 200; i++) {
+                    Uninterrupted.runRethrow(() -> {
+                        try (ExpirablePool.Lease<String> lease = pool.lease()) {
+                            if (!inUse.add(lease.get())) {
+                                failures.incrementAndGet();
+                            }
+                            Thread.yield();
+                            inUse.remove(lease.get());
+                        }
+                    });
+                    completed.incrementAndGet();
+                }
+            });
+        }
+        startAll(threads);
+        joinAll(threads);
+
+        assertThat(failures.get()).isEqualTo(0);
+        assertThat(completed.get()).isEqualTo(16 * 200);
+        assertThat(pool.waiting()).isEqualTo(0);
+        assertPool(pool).containsAvailable("foo", "bar");
+    }
+
+    @Test
+    public void cooldown_rate_limits_each_object() throws InterruptedException {
+        ExpirablePool<String> pool = new ExpirablePool<>(List.of("foo", "bar"), Duration.ofMillis(50));
+        assertThat(pool.nextAvailable()).isEqualTo("foo");
+        pool.returnBackSuccess("foo");
+        assertThat(pool.cooling()).isEqualTo(1);
+        assertThat(pool.working()).isEqualTo(2);
+        assertThat(pool.allWorking()).containsExactly("bar");
+        assertPool(pool).containsAvailable("bar");
+
+        assertThat(pool.nextAvailable()).isEqualTo("bar");
+        pool.returnBackSuccess("bar");
+        assertPool(pool).allTaken();
+
+        assertThat(pool.nextAvailable(Duration.ofSeconds(10))).isEqualTo("foo");  // the soonest-ready one
+        assertThat(pool.nextAvailable(Duration.ofSeconds(10))).isEqualTo("bar");
+        assertThat(pool.cooling()).isEqualTo(0);
+        assertThat(pool.taken()).isEqualTo(2);
+    }
+
+    @Test
+    public void cooldown_expired_resurrected_after_refresh() throws InterruptedException {
+        ExpirablePool<String> pool = ExpirablePool.of("foo");
+        assertThat(pool.nextAvailable()).isEqualTo("foo");
+        pool.returnBackExpired("foo", ExpirablePool.refreshKnown(Instant.now().plusMillis(50)));
+        assertThat(pool.working()).isEqualTo(1);
+        assertThat(pool.cooling()).isEqualTo(1);
+        assertThat(pool.allWorking()).isEmpty();
+        assertThat(pool.getStats("foo").status()).isEqualTo(Status.EXPIRED);
+        assertPool(pool).allTaken();
+
+        assertThat(pool.nextAvailable(Duration.ofSeconds(10))).isEqualTo("foo");
+        assertThat(pool.getStats("foo").status()).isEqualTo(Status.WORKING);
+        assertThat(pool.getStats("foo").callsInThisSession()).isEqualTo(0);
+        assertThat(pool.getStats("foo").expirationInfo()).isEqualTo(ExpirablePool.NO_INFO);
+    }
+
+    @Test
+    public void cooldown_timer_holds_pool_weakly() {
+        ExpirablePool<String> pool = ExpirablePool.of("foo");
+        ExpirablePool.CooldownTimer timer = new ExpirablePool.CooldownTimer(pool, 0);
+        assertThat(timer.pool.get()).isSameInstanceAs(pool);
+        for (Field field : ExpirablePool.CooldownTimer.class.getDeclaredFields()) {
+            assertThat(field.getType()).isAnyOf(WeakReference.class, long.class);
+        }
+
+        timer.pool.clear();
+        timer.run();  // the collected pool is skipped
+    }
+
+    @Test
+    public void cooldown_no_calls_left_waits_for_refresh() {
+        ExpirablePool<String> pool = ExpirablePool.of("foo");
+        assertThat(pool.nextAvailable()).isEqualTo("foo");
+        CompletableFuture<String> waiting = pool.nextAvailableAsync();
+        pool.returnBackSuccess("foo", new ExpirationInfo(0, null, Instant.now().plusMillis(50)));
+        assertThat(pool.cooling()).isEqualTo(1);
+        assertThat(waiting.isDone()).isFalse();
+
+        assertThat(waiting.join()).isEqualTo("foo");  // completed by the timer
+        assertThat(pool.cooling()).isEqualTo(0);
+        assertThat(pool.waiting()).isEqualTo(0);
+    }
+
+    @Test
+    public void cooldown_refresh_in_the_past_available_immediately() {
+        ExpirablePool<String> pool = ExpirablePool.of("foo");
+        assertThat(pool.nextAvailable()).isEqualTo("foo");
+        pool.returnBackExpired("foo", ExpirablePool.refreshKnown(Instant.now().minusSeconds(1)));
+        assertPool(pool).containsAvailable("foo");
+        assertThat(pool.cooling()).isEqualTo(0);
+    }
+
+    @Test
+    public void cooldown_soonest_ready_first() throws InterruptedException {
+        ExpirablePool<String> pool = ExpirablePool.of("foo", "bar", "baz");
+        Instant now = Instant.now();
+        pool.returnBackExpired(pool.nextAvailable(), ExpirablePool.refreshKnown(now.plusMillis(150)));
+        pool.returnBackExpired(pool.nextAvailable(), ExpirablePool.refreshKnown(now.plusMillis(50)));
+        pool.returnBackExpired(pool.nextAvailable(), ExpirablePool.refreshKnown(now.plusMillis(100)));
+        assertThat(pool.cooling()).isEqualTo(3);
+
+        assertThat(pool.nextAvailable(Duration.ofSeconds(10))).isEqualTo("bar");
+        assertThat(pool.nextAvailable(Duration.ofSeconds(10))).isEqualTo("baz");
+        assertThat(pool.nextAvailable(Duration.ofSeconds(10))).isEqualTo("foo");
+        assertThat(pool.taken()).isEqualTo(3);
+    }
+
+    @Test
+    public void concurrent_waiters_with_cooldown() {
+        ExpirablePool<String> pool = new ExpirablePool<>(List.of("foo", "bar"), Duration.ofNanos(10_000));
+        Set<String> inUse = ConcurrentHashMap.newKeySet();
+        AtomicInteger failures = new AtomicInteger();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = Thread.ofVirtual().unstarted(() -> {
+                for (int i = 0; i < 200; i++) {
+                    Uninterrupted.runRethrow(() -> {
+                        try (ExpirablePool.Lease<String> lease = pool.lease()) {
+                            if (!inUse.add(lease.get())) {
+                                failures.incrementAndGet();
+                            }
+                            inUse.remove(lease.get());
+                        }
+                    });
+                }
+            });
+        }
+        startAll(threads);
+        joinAll(threads);
+
+        assertThat(failures.get()).isEqualTo(0);
+        assertThat(pool.waiting()).isEqualTo(0);
+        assertThat(pool.taken()).isEqualTo(0);
+        assertThat(pool.working()).isEqualTo(2);
+    }
+
+    @Test
+    public void cooldown_negative_not_allowed() {
+        assertThrows(IllegalArgumentException.class, () -> new ExpirablePool<>(List.of("foo"), Duration.ofMillis(-1)));
+    }
+
     private static @NotNull ExpirablePoolSubject assertPool(@NotNull ExpirablePool<String> pool) {
         return new ExpirablePoolSubject(pool);
     }
@@ -191,7 +558,7 @@ public class ExpirablePoolTest {
             assertThat(pool.allAvailable()).containsExactlyElementsIn(expected);
             assertThat(pool.hasAvailable()).isEqualTo(expected.length > 0);
             assertThat(pool.available()).isEqualTo(expected.length);
-            assertThat(pool.taken()).isEqualTo(pool.working() - expected.length);
+            assertThat(pool.taken()).isEqualTo(pool.working() - pool.cooling() - expected.length);
             for (String s : expected) {
                 assertThat(pool.getStats(s).status()).isEqualTo(Status.WORKING);
             }
@@ -0,0 +1,154 @@
+package io.spbx.util.collect.pool;
+
+import io.spbx.util.collect.pool.PoolMetrics.Histogram;
+import io.spbx.util.collect.pool.PoolMetrics.ObjectSnapshot;
+import io.spbx.util.concurrent.Uninterrupted;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spbx.util.testing.concurrent.TestingThreads.joinAll;
+import static io.spbx.util.testing.concurrent.TestingThreads.startAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Tag("fast")
+public class PoolMetricsTest {
+    @Test
+    public void checkouts_and_returns() {
+        ExpirablePool<String> pool = ExpirablePool.of("foo", "bar");
+        PoolMetrics<String> metrics = PoolMetrics.attachTo(pool);
+
+        pool.returnBackSuccess(pool.nextAvailable());
+        pool.returnBackSuccess(pool.nextAvailable());
+        pool.returnBackSuccess(pool.nextAvailable());
+
+        assertThat(metrics.checkouts()).isEqualTo(3);
+        assertThat(metrics.checkoutLatency().count()).isEqualTo(3);
+        assertThat(metrics.holdTime().count()).isEqualTo(3);
+        assertThat(metrics.waitTime().count()).isEqualTo(0);
+        assertThat(metrics.expirations()).isEqualTo(0);
+        assertThat(metrics.objectStats("foo").checkouts()).isEqualTo(2);
+        assertThat(metrics.objectStats("bar").checkouts()).isEqualTo(1);
+        assertThat(metrics.utilization()).isAtMost(1.0);
+        assertThat(metrics.currentUtilization()).isEqualTo(0.0);
+    }
+
+    @Test
+    public void expirations_per_object() {
+        ExpirablePool<String> pool = ExpirablePool.of("foo", "bar");
+        PoolMetrics<String> metrics = PoolMetrics.attachTo(pool);
+
+        pool.returnBackSuccess(pool.nextAvailable(), ExpirablePool.callsLeftKnown(5));
+        pool.returnBackExpired(pool.nextAvailable(), ExpirablePool.callsLeftKnown(0));
+        pool.returnBackSuccess(pool.nextAvailable(), ExpirablePool.callsLeftKnown(4));
+
+        assertThat(metrics.expirations()).isEqualTo(1);
+        assertThat(metrics.objectStats("foo")).isEqualTo(new ObjectSnapshot(2, 0, ExpirablePool.callsLeftKnown(4)));
+        assertThat(metrics.objectStats("bar")).isEqualTo(new ObjectSnapshot(1, 1, ExpirablePool.callsLeftKnown(0)));
+        assertThat(metrics.objectStats("bar").expirationRate()).isEqualTo(1.0);
+
+        HashMap<String, ObjectSnapshot> exported = new HashMap<>();
+        metrics.forEachObject(exported::put);
+        assertThat(exported.keySet()).containsExactly("foo", "bar");
+        assertThrows(IllegalArgumentException.class, () -> metrics.objectStats("baz"));
+    }
+
+    @Test
+    public void rejected_returns_not_counted() {
+        ExpirablePool<String> pool = ExpirablePool.of("foo", "bar");
+        PoolMetrics<String> metrics = PoolMetrics.attachTo(pool);
+
+        String object = pool.nextAvailable();
+        pool.returnBackSuccess(object);
+        pool.returnBackExpired(object);
+        pool.returnBackExpired("baz");
+
+        assertThat(metrics.holdTime().count()).isEqualTo(1);
+        assertThat(metrics.expirations()).isEqualTo(0);
+        assertThat(metrics.objectStats("foo")).isEqualTo(new ObjectSnapshot(1, 0, ExpirablePool.NO_INFO));
+    }
+
+    @Test
+    public void waits_and_cooldowns() {
+        ExpirablePool<String> pool = ExpirablePool.of("foo");
+        PoolMetrics<String> metrics = PoolMetrics.attachTo(pool);
+
+        assertThat(pool.nextAvailable()).isEqualTo("foo");
+        CompletableFuture<String> cancelled = pool.nextAvailableAsync();
+        CompletableFuture<String> waiting = pool.nextAvailableAsync();
+        cancelled.cancel(false);
+        assertThat(metrics.currentUtilization()).isEqualTo(1.0);
+
+        pool.returnBackSuccess("foo", new ExpirablePool.ExpirationInfo(0, null, Instant.now().plusMillis(10)));
+        assertThat(waiting.join()).isEqualTo("foo");
+
+        assertThat(metrics.checkouts()).isEqualTo(2);
+        assertThat(metrics.waitTime().count()).isEqualTo(1);
+        assertThat(metrics.abandonedWaits()).isEqualTo(1);
+        assertThat(metrics.cooldowns()).isEqualTo(1);
+    }
+
+    @Test
+    public void detached_listener_no_events() {
+        ExpirablePool<String> pool = ExpirablePool.of("foo");
+        PoolMetrics<String> metrics = PoolMetrics.attachTo(pool);
+        assertThat(pool.nextAvailable()).isEqualTo("foo");
+        pool.setListener(null);
+        pool.returnBackSuccess("foo");
+        pool.setListener(metrics);
+        pool.returnBackSuccess(pool.nextAvailable());
+
+        assertThat(metrics.checkouts()).isEqualTo(2);
+        assertThat(metrics.holdTime().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void concurrent_counters_consistent() {
+        List<String> all = IntStream.range(0, 4).mapToObj(String::valueOf).toList();
+        ExpirablePool<String> pool = ExpirablePool.of(all);
+        PoolMetrics<String> metrics = PoolMetrics.attachTo(pool);
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = Thread.ofVirtual().unstarted(() -> {
+                for (int i = 0; i < 500; i++) {
+                    Uninterrupted.runRethrow(() -> pool.lease().close());
+                }
+            });
+        }
+        startAll(threads);
+        joinAll(threads);
+
+        assertThat(metrics.checkouts()).isEqualTo(8 * 500);
+        assertThat(metrics.holdTime().count()).isEqualTo(8 * 500);
+        long perObject = all.stream().mapToLong(s -> metrics.objectStats(s).checkouts()).sum();
+        assertThat(perObject).isEqualTo(8 * 500);
+        assertThat(metrics.contention()).isAtLeast(0);
+    }
+
+    @Test
+    public void histogram_percentiles() {
+        Histogram histogram = new Histogram();
+        assertThat(histogram.percentileNanos(0.5)).isEqualTo(0);
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        histogram.record(Duration.ofMillis(1).toNanos());
+        assertThat(histogram.count()).isEqualTo(101);
+        assertThat(histogram.maxNanos()).isEqualTo(1_000_000);
+        assertThat(histogram.percentileNanos(0)).isEqualTo(1);
+        assertThat(histogram.percentileNanos(0.5)).isEqualTo(63);
+        assertThat(histogram.percentileNanos(0.9)).isEqualTo(127);
+        assertThat(histogram.percentileNanos(1)).isEqualTo(1_000_000);
+        assertThat(Histogram.bucketOf(0)).isEqualTo(0);
+        assertThat(Histogram.bucketOf(1)).isEqualTo(1);
+        assertThat(Histogram.bucketOf(Long.MAX_VALUE)).isEqualTo(63);
+        assertThrows(IllegalArgumentException.class, () -> histogram.percentileNanos(1.5));
+    }
+}
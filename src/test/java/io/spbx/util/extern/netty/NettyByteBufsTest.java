@@ -2,6 +2,9 @@ package io.spbx.util.extern.netty;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.spbx.util.io.SegmentPool;
+import io.spbx.util.io.SegmentedOutputStream;
+import io.spbx.util.text.FastFormat;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -12,6 +15,7 @@ import static com.google.common.truth.Truth.assertThat;
 import static io.spbx.util.base.str.BasicParsing.DECIMAL;
 import static io.spbx.util.testing.AssertFailure.assertFailure;
 import static io.spbx.util.testing.TestingBytes.asByteBuf;
+import static io.spbx.util.testing.TestingBytes.asBytes;
 import static io.spbx.util.testing.TestingBytes.assertBytes;
 
 @Tag("fast")
@@ -90,6 +94,32 @@ public class NettyByteBufsTest {
         assertFailure(() -> NettyByteBufs.parseInt(asByteBuf("1+2"), DECIMAL)).throwsNumberFormatException();
     }
 
+    @Test
+    public void parseInt_parseLong_offsets_and_direct() {
+        ByteBuf heap = Unpooled.wrappedBuffer(asBytes("xx-123yy"), 1, 6).skipBytes(1).writerIndex(5);
+        assertThat(NettyByteBufs.parseInt(heap)).isEqualTo(-123);
+        assertThat(NettyByteBufs.parseLong(heap, DECIMAL)).isEqualTo(-123);
+        assertThat(heap.readerIndex()).isEqualTo(1);
+
+        ByteBuf direct = Unpooled.directBuffer().writeBytes(asBytes("x7fffffff")).skipBytes(1);
+        assertThat(NettyByteBufs.parseInt(direct, 16)).isEqualTo(Integer.MAX_VALUE);
+        assertThat(NettyByteBufs.parseLong(direct, 16)).isEqualTo(Integer.MAX_VALUE);
+
+        ByteBuf composite = Unpooled.wrappedBuffer(asByteBuf("7f"), asByteBuf("ff"));
+        assertThat(NettyByteBufs.parseInt(composite, 16)).isEqualTo(0x7fff);
+    }
+
+    @Test
+    public void parseDouble_simple() {
+        assertThat(NettyByteBufs.parseDouble(asByteBuf("0"))).isEqualTo(0.0);
+        assertThat(NettyByteBufs.parseDouble(asByteBuf("-1.5e3"))).isEqualTo(-1500.0);
+        assertThat(NettyByteBufs.parseDouble(Unpooled.directBuffer().writeBytes(asBytes("0.1")))).isEqualTo(0.1);
+        assertThat(NettyByteBufs.parseDouble(Unpooled.wrappedBuffer(asByteBuf("1."), asByteBuf("5")))).isEqualTo(1.5);
+        assertFailure(() -> NettyByteBufs.parseDouble(asByteBuf(""))).throwsNumberFormatException();
+        assertFailure(() -> NettyByteBufs.parseDouble(asByteBuf("1.5d"))).throwsNumberFormatException();
+        assertThat(NettyByteBufs.parseDoubleSafe(asByteBuf("foo"), -1)).isEqualTo(-1.0);
+    }
+
     @Test
     public void parseInt_plus_or_minus() {
         assertThat(NettyByteBufs.parseInt(asByteBuf("+0"), DECIMAL)).isEqualTo(0);
@@ -250,6 +280,30 @@ public class NettyByteBufsTest {
         assertBytes(withNewBuffer(content -> NettyByteBufs.writeLongString(-101, content))).isEqualTo("-101");
     }
 
+    @Test
+    public void writeFormatted_simple() {
+        FastFormat format = FastFormat.ff("%s: %s");
+        assertBytes(withNewBuffer(buf -> NettyByteBufs.writeFormatted(buf, format, -101))).isEqualTo("-101: -101");
+        assertBytes(withNewBuffer(buf -> NettyByteBufs.writeFormatted(buf, format, 1, 2))).isEqualTo("1: 2");
+        assertBytes(withNewBuffer(buf -> NettyByteBufs.writeFormatted(buf, format, "foo"))).isEqualTo("foo: foo");
+        assertBytes(withNewBuffer(buf -> NettyByteBufs.writeFormatted(buf, format, true))).isEqualTo("true: true");
+        assertBytes(withNewBuffer(buf -> NettyByteBufs.writeFormattedAll(buf, format, "a", 'b'))).isEqualTo("a: b");
+        assertBytes(withNewBuffer(buf -> NettyByteBufs.writeFormatted(buf, format, null))).isEqualTo("null: null");
+    }
+
+    @Test
+    public void wrapSegments_simple() {
+        for (SegmentPool pool : new SegmentPool[] { SegmentPool.heap(4, 4), SegmentPool.direct(4, 4) }) {
+            try (SegmentedOutputStream output = new SegmentedOutputStream(pool)) {
+                assertBytes(NettyByteBufs.wrapSegments(output)).isEqualTo("");
+                output.append("foo-bar-baz");
+                ByteBuf wrapped = NettyByteBufs.wrapSegments(output);
+                assertThat(wrapped.nioBufferCount()).isEqualTo(3);
+                assertBytes(wrapped).isEqualTo("foo-bar-baz");
+            }
+        }
+    }
+
     private static @NotNull ByteBuf withNewBuffer(@NotNull Consumer<ByteBuf> consumer) {
         ByteBuf buffer = Unpooled.buffer(8);
         consumer.accept(buffer);
@@ -0,0 +1,52 @@
+package io.spbx.util.io;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spbx.util.testing.AssertFailure.assertFailure;
+
+@Tag("fast")
+public class SegmentPoolTest {
+    @Test
+    public void acquire_release_reuses_segment() {
+        SegmentPool pool = SegmentPool.heap(64, 4);
+        ByteBuffer segment = pool.acquire();
+        segment.put((byte) 1).put((byte) 2);
+        pool.release(segment);
+
+        ByteBuffer reused = pool.acquire();
+        assertThat(reused).isSameInstanceAs(segment);
+        assertThat(reused.position()).isEqualTo(0);
+        assertThat(reused.limit()).isEqualTo(64);
+        assertThat(pool.acquire()).isNotSameInstanceAs(segment);
+    }
+
+    @Test
+    public void heap_and_direct() {
+        ByteBuffer heap = SegmentPool.heap(32, 1).acquire();
+        assertThat(heap.isDirect()).isFalse();
+        assertThat(heap.capacity()).isEqualTo(32);
+
+        ByteBuffer direct = SegmentPool.direct(32, 1).acquire();
+        assertThat(direct.isDirect()).isTrue();
+        assertThat(direct.capacity()).isEqualTo(32);
+    }
+
+    @Test
+    public void release_bounded() {
+        SegmentPool pool = SegmentPool.heap(16, 0);
+        ByteBuffer segment = pool.acquire();
+        pool.release(segment);
+        assertThat(pool.acquire()).isNotSameInstanceAs(segment);
+    }
+
+    @Test
+    public void invalid_arguments() {
+        assertFailure(() -> SegmentPool.heap(0, 1)).throwsIllegalArgument();
+        assertFailure(() -> SegmentPool.heap(3, 1)).throwsIllegalArgument();
+        assertFailure(() -> SegmentPool.direct(16, -1)).throwsIllegalArgument();
+    }
+}
@@ -0,0 +1,102 @@
+package io.spbx.util.io;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.util.concurrent.TimeUnit;
+
+// Builds a multi-MB response from the small chunks and drains it to a (discarding) channel
+@Fork(value = 1, warmups = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class SegmentedOutputStreamJmhBenchmark {
+    private static final byte[] CHUNK = "{\"id\":1234567,\"name\":\"foo-bar-baz\",\"active\":true},".getBytes();
+
+    @Param({"65536", "4194304"})
+    private int size;
+
+    private final SegmentPool heapPool = SegmentPool.heap();
+    private final SegmentPool directPool = SegmentPool.direct();
+    private final DiscardingChannel channel = new DiscardingChannel();
+
+    @Benchmark
+    public void ByteArrayOutputStream(Blackhole blackhole) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        for (int written = 0; written < size; written += CHUNK.length) {
+            output.write(CHUNK);
+        }
+        channel.write(ByteBuffer.wrap(output.toByteArray()));
+        blackhole.consume(output);
+    }
+
+    @Benchmark
+    public void SegmentedOutputStream_heap(Blackhole blackhole) throws IOException {
+        build(heapPool, blackhole);
+    }
+
+    @Benchmark
+    public void SegmentedOutputStream_direct(Blackhole blackhole) throws IOException {
+        build(directPool, blackhole);
+    }
+
+    private void build(SegmentPool pool, Blackhole blackhole) throws IOException {
+        try (SegmentedOutputStream output = new SegmentedOutputStream(pool)) {
+            for (int written = 0; written < size; written += CHUNK.length) {
+                output.write(CHUNK);
+            }
+            output.writeTo(channel);
+            blackhole.consume(output.size());
+        }
+    }
+
+    private static class DiscardingChannel implements GatheringByteChannel {
+        @Override public long write(ByteBuffer[] sources, int offset, int length) {
+            long total = 0;
+            for (int i = offset; i < offset + length; i++) {
+                total += write(sources[i]);
+            }
+            return total;
+        }
+        @Override public long write(ByteBuffer[] sources) {
+            return write(sources, 0, sources.length);
+        }
+        @Override public int write(ByteBuffer source) {
+            int remaining = source.remaining();
+            source.position(source.limit());
+            return remaining;
+        }
+        @Override public boolean isOpen() {
+            return true;
+        }
+        @Override public void close() {
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        System.setProperty("jmh.separateClasspathJAR", "true");
+        Options options = new OptionsBuilder()
+            .include(SegmentedOutputStreamJmhBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,172 @@
+package io.spbx.util.io;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spbx.util.testing.TestingBytes.assertBytes;
+
+@Tag("fast")
+public class SegmentedOutputStreamTest {
+    private static final String TEXT = "0123456789abcdefghijklmnopqrstuvwxyz";
+
+    @Test
+    public void write_bytes_across_segments() {
+        SegmentPool pool = SegmentPool.heap(8, 4);
+        try (SegmentedOutputStream output = new SegmentedOutputStream(pool)) {
+            assertThat(output.isEmpty()).isTrue();
+            output.write('>');
+            output.write(TEXT.getBytes(StandardCharsets.US_ASCII));
+            output.write(ByteBuffer.wrap(TEXT.getBytes(StandardCharsets.US_ASCII), 30, 6));
+            assertThat(output.size()).isEqualTo(1 + 36 + 6);
+            assertThat(output.segments()).hasLength(6);
+            assertBytes(output.toByteArray()).isEqualTo(">" + TEXT + "uvwxyz");
+        }
+    }
+
+    @Test
+    public void write_direct_segments() {
+        SegmentPool pool = SegmentPool.direct(5, 4);
+        try (SegmentedOutputStream output = new SegmentedOutputStream(pool)) {
+            output.writeAscii(TEXT);
+            output.write(ByteBuffer.allocateDirect(3).put("!?.".getBytes(StandardCharsets.US_ASCII)).flip());
+            assertBytes(output.toByteArray()).isEqualTo(TEXT + "!?.");
+        }
+    }
+
+    @Test
+    public void append_utf8_across_segments() {
+        String text = "Gr\u00fc\u00dfe, \u043c\u0438\u0440! \ud83d\ude00 " + TEXT + " \u65e5\u672c\u8a9e";
+        for (int segmentSize : new int[] { 4, 5, 7, 16, 1024 }) {
+            try (SegmentedOutputStream output = new SegmentedOutputStream(SegmentPool.heap(segmentSize, 4))) {
+                output.append(text.substring(0, 3)).append(text, 3, text.length()).append('\u00e9').append('.');
+                byte[] expected = (text + "\u00e9.").getBytes(StandardCharsets.UTF_8);
+                assertThat(output.size()).isEqualTo(expected.length);
+                assertThat(output.toByteArray()).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    public void append_surrogate_pair_char_by_char() {
+        String emoji = "\ud83d\ude00";
+        for (int segmentSize : new int[] { 4, 5, 7 }) {
+            try (SegmentedOutputStream output = new SegmentedOutputStream(SegmentPool.heap(segmentSize, 4))) {
+                output.append('a').append(emoji.charAt(0)).append(emoji.charAt(1));
+                output.append(emoji, 0, 1).append(emoji, 1, 2).append(emoji.charAt(0)).append(emoji.substring(1));
+                byte[] expected = ("a" + emoji + emoji + emoji).getBytes(StandardCharsets.UTF_8);
+                assertThat(output.size()).isEqualTo(expected.length);
+                assertThat(output.toByteArray()).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    public void append_unpaired_surrogates() {
+        String text = "\ud83d!\ude00\ud83d\ud83d\ude00";
+        try (SegmentedOutputStream output = new SegmentedOutputStream(SegmentPool.heap(4, 4))) {
+            output.append(text);
+            assertThat(output.toByteArray()).isEqualTo(text.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void append_trailing_high_surrogate() {
+        for (String text : new String[] { "a\ud800", "\ud83d\ude00\ud83d" }) {
+            try (SegmentedOutputStream output = new SegmentedOutputStream(SegmentPool.heap(4, 4))) {
+                output.append(text);
+                byte[] expected = text.getBytes(StandardCharsets.UTF_8);
+                assertThat(output.size()).isEqualTo(expected.length);
+                assertThat(output.toByteArray()).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    public void append_high_surrogate_then_write_bytes() {
+        try (SegmentedOutputStream output = new SegmentedOutputStream(SegmentPool.heap(4, 4))) {
+            output.append('\ud83d');
+            output.write('A');
+            output.append('\ud83d');
+            output.write(new byte[] { 'B' });
+            output.append('\ud83d');
+            output.write(ByteBuffer.wrap(new byte[] { 'C' }));
+            output.append('\ud83d');
+            output.writeAscii("D");
+            output.append('x');
+            assertBytes(output.toByteArray()).isEqualTo("?A?B?C?Dx");
+        }
+    }
+
+    @Test
+    public void append_high_surrogate_then_drain() throws Exception {
+        try (SegmentedOutputStream output = new SegmentedOutputStream(SegmentPool.heap(4, 4))) {
+            output.append('a').append('\ud83d');
+            ByteArrayOutputStream streamOutput = new ByteArrayOutputStream();
+            output.writeTo(streamOutput);
+            assertBytes(streamOutput.toByteArray()).isEqualTo("a?");
+            assertThat(output.segments()).hasLength(1);
+        }
+    }
+
+    @Test
+    public void reset_drops_pending_surrogate() {
+        try (SegmentedOutputStream output = new SegmentedOutputStream(SegmentPool.heap(4, 4))) {
+            output.append('\ud83d');
+            output.reset();
+            output.append('\ude00').append('.');
+            assertBytes(output.toByteArray()).isEqualTo("?.");
+        }
+    }
+
+    @Test
+    public void segments_views_independent() {
+        try (SegmentedOutputStream output = new SegmentedOutputStream(SegmentPool.heap(16, 4))) {
+            output.writeAscii(TEXT);
+            ByteBuffer[] views = output.segments();
+            Arrays.stream(views).forEach(view -> view.position(view.limit()));
+            assertThat(output.segments()[0].remaining()).isEqualTo(16);
+            assertBytes(output.toByteArray()).isEqualTo(TEXT);
+        }
+    }
+
+    @Test
+    public void writeTo_channel_and_stream() throws Exception {
+        for (SegmentPool pool : new SegmentPool[] { SegmentPool.heap(10, 4), SegmentPool.direct(10, 4) }) {
+            try (SegmentedOutputStream output = new SegmentedOutputStream(pool)) {
+                output.writeAscii(TEXT);
+
+                ByteArrayOutputStream channelOutput = new ByteArrayOutputStream();
+                output.writeTo(Channels.newChannel(channelOutput));
+                assertBytes(channelOutput.toByteArray()).isEqualTo(TEXT);
+
+                ByteArrayOutputStream streamOutput = new ByteArrayOutputStream();
+                output.writeTo(streamOutput);
+                assertBytes(streamOutput.toByteArray()).isEqualTo(TEXT);
+            }
+        }
+    }
+
+    @Test
+    public void reset_returns_segments_to_pool() {
+        SegmentPool pool = SegmentPool.heap(8, 16);
+        SegmentedOutputStream output = new SegmentedOutputStream(pool);
+        output.writeAscii(TEXT);
+        ByteBuffer first = output.segments()[0];
+        output.reset();
+        assertThat(output.size()).isEqualTo(0);
+        assertThat(output.segments()).isEmpty();
+        assertThat(output.toByteArray()).isEmpty();
+
+        output.writeAscii("foo");
+        assertBytes(output.toByteArray()).isEqualTo("foo");
+        assertThat(output.segments()[0].array()).isSameInstanceAs(first.array());
+        output.close();
+    }
+}
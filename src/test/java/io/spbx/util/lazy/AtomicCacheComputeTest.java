@@ -1,10 +1,15 @@
 package io.spbx.util.lazy;
 
+import io.spbx.util.testing.concurrent.SingleFlightRace;
 import io.spbx.util.testing.func.MockSupplier;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
+import java.util.Collections;
+import java.util.function.Supplier;
+
 import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Tag("fast")
 public class AtomicCacheComputeTest {
@@ -21,4 +26,22 @@ public class AtomicCacheComputeTest {
         assertThat(cache.getOrCompute(mock)).isEqualTo("foo");
         assertThat(mock.timesCalled()).isEqualTo(1);
     }
+
+    @Test
+    public void get_or_compute_single_flight() {
+        AtomicCacheCompute<String> cache = new AtomicCacheCompute<>();
+        SingleFlightRace<String> race =
+            SingleFlightRace.run(16, "foo", (index, supplier) -> cache.getOrCompute(supplier));
+        assertThat(race.computations()).isEqualTo(1);
+        assertThat(race.results()).containsExactlyElementsIn(Collections.nCopies(16, "foo"));
+    }
+
+    @Test
+    public void get_or_compute_supplier_throws_retried() {
+        AtomicCacheCompute<String> cache = new AtomicCacheCompute<>();
+        Supplier<String> failing = () -> { throw new IllegalStateException(); };
+        assertThrows(IllegalStateException.class, () -> cache.getOrCompute(failing));
+        assertThat(cache.getOrCompute(() -> "bar")).isEqualTo("bar");
+        assertThat(cache.getOrCompute(() -> "baz")).isEqualTo("bar");
+    }
 }
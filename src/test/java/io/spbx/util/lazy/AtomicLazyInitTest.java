@@ -1,8 +1,12 @@
 package io.spbx.util.lazy;
 
+import io.spbx.util.testing.concurrent.SingleFlightRace;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
+import java.util.Collections;
+import java.util.function.Supplier;
+
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -63,4 +67,22 @@ public class AtomicLazyInitTest {
         assertThat(lazy.getOrDie()).isEqualTo("foo");
         assertThat(lazy.initializeIfNotYet(() -> "bar")).isEqualTo("foo");
     }
+
+    @Test
+    public void initialize_if_not_yet_single_flight() {
+        AtomicLazyInit<String> lazy = new AtomicLazyInit<>(null);
+        SingleFlightRace<String> race =
+            SingleFlightRace.run(16, "foo", (index, supplier) -> lazy.initializeIfNotYet(supplier));
+        assertThat(race.computations()).isEqualTo(1);
+        assertThat(race.results()).containsExactlyElementsIn(Collections.nCopies(16, "foo"));
+    }
+
+    @Test
+    public void initialize_if_not_yet_supplier_throws_retried() {
+        AtomicLazyInit<String> lazy = new AtomicLazyInit<>(null);
+        Supplier<String> failing = () -> { throw new IllegalStateException(); };
+        assertThrows(IllegalStateException.class, () -> lazy.initializeIfNotYet(failing));
+        assertThat(lazy.initializeIfNotYet(() -> "bar")).isEqualTo("bar");
+        assertThat(lazy.initializeIfNotYet(() -> "baz")).isEqualTo("bar");
+    }
 }
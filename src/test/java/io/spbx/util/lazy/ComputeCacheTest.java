@@ -0,0 +1,193 @@
+package io.spbx.util.lazy;
+
+import io.spbx.util.lazy.ComputeCache.Stats;
+import io.spbx.util.testing.concurrent.SingleFlightRace;
+import io.spbx.util.testing.func.MockSupplier;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Tag("fast")
+public class ComputeCacheTest {
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    public void hits_and_misses() {
+        ComputeCache<String, String> cache = ComputeCache.<String, String>builder().build();
+        MockSupplier<String> mock = MockSupplier.mock("foo", "bar");
+
+        assertThat(cache.getOrCompute("a", mock)).isEqualTo("foo");
+        assertThat(cache.getOrCompute("a", mock)).isEqualTo("foo");
+        assertThat(cache.getOrCompute("b", mock)).isEqualTo("bar");
+        assertThat(cache.getIfPresent("b")).isEqualTo("bar");
+        assertThat(cache.getIfPresent("c")).isNull();
+
+        assertThat(mock.timesCalled()).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.stats()).isEqualTo(new Stats(2, 3, 0, 0, 0, 0));
+        assertThat(cache.stats().hitRate()).isEqualTo(0.4);
+    }
+
+    @Test
+    public void put_and_invalidate() {
+        ComputeCache<String, String> cache = ComputeCache.<String, String>builder().build();
+        cache.put("a", "foo");
+        assertThat(cache.getOrCompute("a", () -> "bar")).isEqualTo("foo");
+        cache.put("a", "baz");
+        assertThat(cache.getIfPresent("a")).isEqualTo("baz");
+
+        cache.invalidate("a");
+        assertThat(cache.getIfPresent("a")).isNull();
+        assertThat(cache.getOrCompute("a", () -> "bar")).isEqualTo("bar");
+
+        cache.invalidateAll();
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void supplier_throws_not_cached() {
+        ComputeCache<String, String> cache = ComputeCache.<String, String>builder().build();
+        assertThrows(IOException.class, () -> cache.getOrComputeThrow("a", () -> { throw new IOException(); }));
+        assertThat(cache.size()).isEqualTo(0);
+        assertThat(cache.getOrComputeThrow("a", () -> "foo")).isEqualTo("foo");
+        assertThat(cache.stats().failures()).isEqualTo(1);
+    }
+
+    @Test
+    public void single_flight_per_key() {
+        ComputeCache<Integer, String> cache = ComputeCache.<Integer, String>builder().build();
+        SingleFlightRace<String> race =
+            SingleFlightRace.run(32, "foo", (index, supplier) -> cache.getOrCompute(index % 2, supplier));
+        assertThat(race.computations()).isEqualTo(2);
+        assertThat(race.results()).containsExactlyElementsIn(Collections.nCopies(32, "foo"));
+    }
+
+    @Test
+    public void expire_after_write() {
+        ComputeCache<String, String> cache = ComputeCache.<String, String>builder()
+            .expireAfterWrite(Duration.ofNanos(100))
+            .nanoClock(nanos::get)
+            .build();
+        MockSupplier<String> mock = MockSupplier.mock("foo", "bar");
+
+        assertThat(cache.getOrCompute("a", mock)).isEqualTo("foo");
+        nanos.set(99);
+        assertThat(cache.getOrCompute("a", mock)).isEqualTo("foo");
+        nanos.set(100);
+        assertThat(cache.getIfPresent("a")).isNull();
+        assertThat(cache.getOrCompute("a", mock)).isEqualTo("bar");
+        assertThat(cache.stats().expirations()).isEqualTo(1);
+
+        nanos.set(1000);
+        cache.cleanUp();
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void refresh_after_write() {
+        ComputeCache<String, String> cache = ComputeCache.<String, String>builder()
+            .refreshAfterWrite(Duration.ofNanos(10))
+            .expireAfterWrite(Duration.ofNanos(100))
+            .nanoClock(nanos::get)
+            .refreshExecutor(Runnable::run)
+            .build();
+        MockSupplier<String> mock = MockSupplier.mock("foo", "bar");
+
+        assertThat(cache.getOrCompute("a", mock)).isEqualTo("foo");
+        nanos.set(10);
+        assertThat(cache.getOrCompute("a", mock)).isEqualTo("foo");  // stale, the refresh is triggered
+        assertThat(cache.getOrCompute("a", mock)).isEqualTo("bar");
+        nanos.set(19);
+        assertThat(cache.getOrCompute("a", mock)).isEqualTo("bar");
+
+        assertThat(mock.timesCalled()).isEqualTo(2);
+        assertThat(cache.stats().refreshes()).isEqualTo(1);
+    }
+
+    @Test
+    public void refresh_does_not_overwrite_put() {
+        ArrayList<Runnable> refreshes = new ArrayList<>();
+        ComputeCache<String, String> cache = ComputeCache.<String, String>builder()
+            .refreshAfterWrite(Duration.ofNanos(10))
+            .nanoClock(nanos::get)
+            .refreshExecutor(refreshes::add)
+            .build();
+
+        assertThat(cache.getOrCompute("a", () -> "foo")).isEqualTo("foo");
+        nanos.set(10);
+        assertThat(cache.getOrCompute("a", () -> "foo")).isEqualTo("foo");  // the refresh is scheduled
+        cache.put("a", "bar");
+        refreshes.forEach(Runnable::run);
+
+        assertThat(cache.getIfPresent("a")).isEqualTo("bar");
+        assertThat(cache.stats().refreshes()).isEqualTo(0);
+    }
+
+    @Test
+    public void refresh_does_not_overwrite_invalidated() {
+        ArrayList<Runnable> refreshes = new ArrayList<>();
+        ComputeCache<String, String> cache = ComputeCache.<String, String>builder()
+            .refreshAfterWrite(Duration.ofNanos(10))
+            .nanoClock(nanos::get)
+            .refreshExecutor(refreshes::add)
+            .build();
+
+        assertThat(cache.getOrCompute("a", () -> "foo")).isEqualTo("foo");
+        nanos.set(10);
+        assertThat(cache.getOrCompute("a", () -> "foo")).isEqualTo("foo");  // the refresh is scheduled
+        cache.invalidate("a");
+        assertThat(cache.getOrCompute("a", () -> "bar")).isEqualTo("bar");
+        refreshes.forEach(Runnable::run);
+
+        assertThat(cache.getIfPresent("a")).isEqualTo("bar");
+        assertThat(cache.stats().refreshes()).isEqualTo(0);
+    }
+
+    @Test
+    public void recursive_computation_fails() {
+        ComputeCache<String, String> cache = ComputeCache.<String, String>builder().build();
+        Supplier<String> recursive = () -> cache.getOrCompute("a", () -> "foo");
+        assertThrows(IllegalStateException.class, () -> cache.getOrCompute("a", recursive));
+        assertThat(cache.size()).isEqualTo(0);
+        assertThat(cache.getOrCompute("a", () -> cache.getOrCompute("b", () -> "foo"))).isEqualTo("foo");
+    }
+
+    @Test
+    public void maximum_size_clock_eviction() {
+        ComputeCache<String, String> cache = ComputeCache.<String, String>builder().maximumSize(3).build();
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.put("c", "3");
+        assertThat(cache.getIfPresent("a")).isEqualTo("1");
+        assertThat(cache.getIfPresent("c")).isEqualTo("3");
+
+        cache.put("d", "4");  // `a` gets the second chance, `b` is evicted
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(cache.getIfPresent("b")).isNull();
+        assertThat(cache.getIfPresent("a")).isEqualTo("1");
+
+        cache.put("e", "5");  // `c` and `a` get the second chance, `d` is evicted
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(cache.getIfPresent("d")).isNull();
+        assertThat(cache.stats().evictions()).isEqualTo(2);
+    }
+
+    @Test
+    public void invalid_builder() {
+        assertThrows(IllegalArgumentException.class, () -> ComputeCache.builder().maximumSize(0));
+        assertThrows(IllegalArgumentException.class, () -> ComputeCache.builder().expireAfterWrite(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> ComputeCache.builder()
+            .expireAfterWrite(Duration.ofSeconds(1))
+            .refreshAfterWrite(Duration.ofSeconds(2))
+            .build());
+    }
+}
@@ -0,0 +1,111 @@
+package io.spbx.util.lazy;
+
+import com.google.common.base.Suppliers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Measures the cost of the reads after the initialization, compared to the Guava {@code Suppliers.memoize()}
+ * and the plain field read.
+ * The {@link #main} runs the suite with the number of threads doubling from 1 to the number of available cores.
+ */
+@Fork(value = 1, warmups = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class LazyInitJmhBenchmark {
+    private static final int OPS = 1000;
+    private static final Supplier<String> SUPPLIER = () -> "foo";
+
+    private String field;
+    private LazyInit<String> lazyInit;
+    private CacheCompute<String> cacheCompute;
+    private Lazy<String> lazy;
+    private com.google.common.base.Supplier<String> memoize;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        field = SUPPLIER.get();
+        lazyInit = AtomicLazyInit.createUninitialized();
+        lazyInit.initializeIfNotYet(SUPPLIER);
+        cacheCompute = AtomicCacheCompute.createEmpty();
+        cacheCompute.getOrCompute(SUPPLIER);
+        lazy = Lazy.of(SUPPLIER);
+        lazy.get();
+        memoize = Suppliers.memoize(SUPPLIER::get);
+        memoize.get();
+    }
+
+    @Benchmark
+    public void get_field(Blackhole blackhole) {
+        for (int i = 0; i < OPS; i++) {
+            blackhole.consume(field);
+        }
+    }
+
+    @Benchmark
+    public void get_AtomicLazyInit(Blackhole blackhole) {
+        for (int i = 0; i < OPS; i++) {
+            blackhole.consume(lazyInit.get());
+        }
+    }
+
+    @Benchmark
+    public void initializeIfNotYet_AtomicLazyInit(Blackhole blackhole) {
+        for (int i = 0; i < OPS; i++) {
+            blackhole.consume(lazyInit.initializeIfNotYet(SUPPLIER));
+        }
+    }
+
+    @Benchmark
+    public void getOrCompute_AtomicCacheCompute(Blackhole blackhole) {
+        for (int i = 0; i < OPS; i++) {
+            blackhole.consume(cacheCompute.getOrCompute(SUPPLIER));
+        }
+    }
+
+    @Benchmark
+    public void get_Lazy(Blackhole blackhole) {
+        for (int i = 0; i < OPS; i++) {
+            blackhole.consume(lazy.get());
+        }
+    }
+
+    @Benchmark
+    public void get_Suppliers_memoize(Blackhole blackhole) {
+        for (int i = 0; i < OPS; i++) {
+            blackhole.consume(memoize.get());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        System.setProperty("jmh.separateClasspathJAR", "true");
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            Options options = new OptionsBuilder()
+                .include(LazyInitJmhBenchmark.class.getSimpleName())
+                .threads(threads)
+                .build();
+            new Runner(options).run();
+        }
+    }
+}
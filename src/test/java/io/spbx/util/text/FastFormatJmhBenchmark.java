@@ -1,18 +1,22 @@
 package io.spbx.util.text;
 
 import com.google.common.base.Strings;
+import io.spbx.util.base.str.MutableCharArray;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 
+import java.text.MessageFormat;
 import java.util.concurrent.TimeUnit;
 
 @Fork(value = 1, warmups = 0)
@@ -20,9 +24,17 @@ import java.util.concurrent.TimeUnit;
 @OutputTimeUnit(TimeUnit.SECONDS)
 @Warmup(iterations = 1, time = 3000, timeUnit = TimeUnit.MILLISECONDS)
 @Measurement(iterations = 5, time = 5000, timeUnit = TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
 public class FastFormatJmhBenchmark {
     private static final int LOOPS = 1000;
 
+    private static final FastFormat FF1 = FastFormat.ff("What do you get if you multiply %s?");
+    private static final FastFormat FF3 = FastFormat.ff("What do you get if you multiply %s and %s and %s?");
+    private static final MessageFormat MF1 = new MessageFormat("What do you get if you multiply {0}?");
+    private static final MessageFormat MF3 = new MessageFormat("What do you get if you multiply {0} and {1} and {2}?");
+    private final StringBuilder builder = new StringBuilder(128);
+    private final MutableCharArray buffer = MutableCharArray.wrap(new char[128]);
+
     @Benchmark
     public int str1_std() {
         int counter = 0;
@@ -63,6 +75,45 @@ public class FastFormatJmhBenchmark {
         return counter;
     }
 
+    @Benchmark
+    public int str1_msg() {
+        int counter = 0;
+        for (int i = 0; i < LOOPS; i++) {
+            String s = MF1.format(new Object[] { counter });
+            counter += s.length();
+        }
+        return counter;
+    }
+
+    @Benchmark
+    public int str1_ff() {
+        int counter = 0;
+        for (int i = 0; i < LOOPS; i++) {
+            String s = FF1.formatted(counter);
+            counter += s.length();
+        }
+        return counter;
+    }
+
+    @Benchmark
+    public int str1_ff_builder() {
+        int counter = 0;
+        for (int i = 0; i < LOOPS; i++) {
+            builder.setLength(0);
+            counter += FF1.formatTo(builder, counter).length();
+        }
+        return counter;
+    }
+
+    @Benchmark
+    public int str1_ff_buffer() {
+        int counter = 0;
+        for (int i = 0; i < LOOPS; i++) {
+            counter += FF1.formatTo(buffer, counter).length();
+        }
+        return counter;
+    }
+
     @Benchmark
     public int str2_std() {
         int counter = 0;
@@ -123,6 +174,36 @@ public class FastFormatJmhBenchmark {
         return counter;
     }
 
+    @Benchmark
+    public int str3_msg() {
+        int counter = 0;
+        for (int i = 0; i < LOOPS; i++) {
+            String s = MF3.format(new Object[] { counter, counter, counter });
+            counter += s.length();
+        }
+        return counter;
+    }
+
+    @Benchmark
+    public int str3_ff() {
+        int counter = 0;
+        for (int i = 0; i < LOOPS; i++) {
+            String s = FF3.formattedAll(counter, counter, counter);
+            counter += s.length();
+        }
+        return counter;
+    }
+
+    @Benchmark
+    public int str3_ff_builder() {
+        int counter = 0;
+        for (int i = 0; i < LOOPS; i++) {
+            builder.setLength(0);
+            counter += FF3.formatAllTo(builder, counter, counter, counter).length();
+        }
+        return counter;
+    }
+
     @Benchmark
     public int only_specs_std() {
         int counter = 0;
@@ -1,11 +1,17 @@
 package io.spbx.util.text;
 
+import io.spbx.util.base.str.MutableCharArray;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+
 import static com.google.common.truth.Truth.assertThat;
+import static io.spbx.util.text.FastFormat.ff;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Tag("fast")
 public class FastFormatTest {
@@ -62,33 +68,110 @@ public class FastFormatTest {
         assertFormat("foo %s bar %s", NULL, NULL);
     }
 
+    @Test
+    public void single_null_not_spread() {
+        assertThat(ff("x=%s").formatted(null)).isEqualTo("x=null");
+        assertThat(ff("%s-%s").formatted(null)).isEqualTo("null-null");
+        assertThat(ff("x=%s").formatTo(new StringBuilder(), null).toString()).isEqualTo("x=null");
+        assertThat(ff("x=%s").formatTo(newBuffer(), null).toString()).isEqualTo("x=null");
+    }
+
+    @Test
+    public void single_array_not_spread() {
+        String[] array = { "foo", "bar" };
+        assertThat(ff("%s-%s").formatted(array)).isEqualTo(array + "-" + array);
+        assertThat(ff("%s-%s").formatTo(new StringBuilder(), array).toString()).isEqualTo(array + "-" + array);
+        assertThat(ff("%s-%s").formattedAll((Object[]) array)).isEqualTo("foo-bar");
+    }
+
+    @Test
+    public void precompiled_slots() {
+        assertThat(ff("").slots()).isEqualTo(0);
+        assertThat(ff("foo").slots()).isEqualTo(0);
+        assertThat(ff("%s").slots()).isEqualTo(1);
+        assertThat(ff("%s%s").slots()).isEqualTo(2);
+        assertThat(ff("%%s %s").slots()).isEqualTo(2);
+        assertThat(ff("foo %s bar %s").pattern()).isEqualTo("foo %s bar %s");
+    }
+
+    @Test
+    public void precompiled_missing_and_extra_args() {
+        assertThat(ff("%s-%s-%s").formattedAll(1, 2)).isEqualTo("1-2-%s");
+        assertThat(ff("%s-%s").formattedAll(1, 2, 3)).isEqualTo("1-2");
+        assertThat(ff("%s-%s-%s").formatTo(new StringBuilder(), 1L, 2L).toString()).isEqualTo("1-2-%s");
+        assertThat(ff("%s").formatTo(new StringBuilder(), 1L, 2L).toString()).isEqualTo("1");
+        assertThat(ff("%s-%s-%s").formatTo((Appendable) new StringBuilder(), 1L, 2L).toString()).isEqualTo("1-2-%s");
+        assertThat(ff("%s-%s").formatted(5)).isEqualTo("5-5");
+    }
+
+    @Test
+    public void precompiled_reusable_buffer() {
+        MutableCharArray buffer = MutableCharArray.wrap(new char[32]);
+        assertThat(ff("foo %s").formatTo(buffer, 12345L).toString()).isEqualTo("foo 12345");
+        assertThat(ff("%s-%s").formatTo(buffer, -1L, 2L).toString()).isEqualTo("-1-2");
+        assertThat(ff("[%s]").formatTo(buffer, "bar").toString()).isEqualTo("[bar]");
+        assertThat(ff("%s").formatTo(buffer, true).toString()).isEqualTo("true");
+        assertThrows(BufferOverflowException.class, () -> ff("%s %s %s").formatTo(buffer, "0123456789abcdef"));
+    }
+
+    @Test
+    public void appendDecimal_edge_cases() throws IOException {
+        long[] values = { 0, 1, -1, 9, 10, -10, 99, 100, 123456789, -987654321, Integer.MIN_VALUE, Integer.MAX_VALUE,
+                          999_999_999_999_999_999L, 1_000_000_000_000_000_000L, Long.MAX_VALUE, Long.MIN_VALUE };
+        for (long value : values) {
+            StringBuilder builder = new StringBuilder();
+            FastFormat.appendDecimal(builder, value);
+            assertThat(builder.toString()).isEqualTo(Long.toString(value));
+        }
+    }
+
     private static void assertFormat(@NotNull String pattern, @Nullable Object arg) {
         String formatted = FastFormat.format(pattern, arg);
         String expected = pattern.formatted(arg);
         assertThat(formatted).isEqualTo(expected);
+        assertThat(ff(pattern).formatted(arg)).isEqualTo(expected);
+        assertThat(ff(pattern).formatTo((Appendable) new StringBuilder(), arg).toString()).isEqualTo(expected);
+        assertThat(ff(pattern).formatTo(newBuffer(), arg).toString()).isEqualTo(expected);
     }
 
     private static void assertFormat(@NotNull String pattern, int arg) {
         String formatted = FastFormat.format(pattern, arg);
         String expected = pattern.formatted(arg);
         assertThat(formatted).isEqualTo(expected);
+        assertThat(ff(pattern).formatted(arg)).isEqualTo(expected);
+        assertThat(ff(pattern).formatTo((Appendable) new StringBuilder(), arg).toString()).isEqualTo(expected);
+        assertThat(ff(pattern).formatTo(newBuffer(), arg).toString()).isEqualTo(expected);
     }
 
     private static void assertFormat(@NotNull String pattern, long arg) {
         String formatted = FastFormat.format(pattern, arg);
         String expected = pattern.formatted(arg);
         assertThat(formatted).isEqualTo(expected);
+        assertThat(ff(pattern).formatted(arg)).isEqualTo(expected);
+        assertThat(ff(pattern).formatTo((Appendable) new StringBuilder(), arg).toString()).isEqualTo(expected);
+        assertThat(ff(pattern).formatTo(newBuffer(), arg).toString()).isEqualTo(expected);
     }
 
     private static void assertFormat(@NotNull String pattern, boolean arg) {
         String formatted = FastFormat.format(pattern, arg);
         String expected = pattern.formatted(arg);
         assertThat(formatted).isEqualTo(expected);
+        assertThat(ff(pattern).formatted(arg)).isEqualTo(expected);
+        assertThat(ff(pattern).formatTo((Appendable) new StringBuilder(), arg).toString()).isEqualTo(expected);
+        assertThat(ff(pattern).formatTo(newBuffer(), arg).toString()).isEqualTo(expected);
     }
 
     private static void assertFormat(@NotNull String pattern, @Nullable Object @NotNull ... args) {
         String formatted = FastFormat.format(pattern, args);
         String expected = pattern.formatted(args);
         assertThat(formatted).isEqualTo(expected);
+        assertThat(ff(pattern).formattedAll(args)).isEqualTo(expected);
+        assertThat(ff(pattern).formatAllTo(new StringBuilder(), args).toString()).isEqualTo(expected);
+        assertThat(ff(pattern).formatAllTo((Appendable) new StringBuilder(), args).toString()).isEqualTo(expected);
+        assertThat(ff(pattern).formatAllTo(newBuffer(), args).toString()).isEqualTo(expected);
+    }
+
+    private static @NotNull MutableCharArray newBuffer() {
+        return MutableCharArray.wrap(new char[64], 10, 20);  // the window is reset to the end of the array
     }
 }
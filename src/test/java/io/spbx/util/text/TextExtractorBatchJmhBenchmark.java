@@ -0,0 +1,111 @@
+package io.spbx.util.text;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the {@link TextExtractor#extractAll} throughput over the corpus of the small documents,
+ * compared to the sequential {@link TextExtractor#extract}.
+ * The {@link #main} runs the suite with the parallelism doubling from 1 to the number of available cores.
+ */
+@Fork(value = 1, warmups = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class TextExtractorBatchJmhBenchmark {
+    private static final int DOCUMENTS = 10_000;
+
+    @Param({"1"})
+    private int parallelism;
+
+    private List<String> corpus;
+    private TextExtractor extractor;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(0);
+        corpus = new ArrayList<>(DOCUMENTS);
+        for (int i = 0; i < DOCUMENTS; i++) {
+            corpus.add(generateDocument(i, random));
+        }
+        extractor = TextExtractor.of(
+            TextExtractor.skipTo("<body>"),
+            TextExtractor.captureBetween("<h1>", "</h1>").named("title"),
+            TextExtractor.captureBetween("<span class=\"price\">", "</span>").named("price").orElseIgnore(),
+            TextExtractor.captureBetween("<p>", "</p>").named("text")
+        );
+        executor = Executors.newFixedThreadPool(parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.close();
+    }
+
+    @Benchmark
+    public long extract_sequential() {
+        long total = 0;
+        for (String document : corpus) {
+            total += extractor.extract(document).map().size();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long extractAll() {
+        LongAdder total = new LongAdder();
+        extractor.extractAll(corpus, executor, parallelism, (document, map) -> total.add(map.map().size()));
+        return total.sum();
+    }
+
+    private static String generateDocument(int index, Random random) {
+        StringBuilder builder = new StringBuilder(2048);
+        builder.append("<html><head><title>Document</title></head><body><h1>Document #").append(index).append("</h1>");
+        if (random.nextInt(10) > 0) {
+            builder.append("<span class=\"price\">").append(random.nextInt(1000)).append("</span>");
+        }
+        builder.append("<p>");
+        for (int j = 500 + random.nextInt(1500); j > 0; j--) {
+            builder.append((char) ('a' + random.nextInt(26)));
+        }
+        return builder.append("</p></body></html>").toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        System.setProperty("jmh.separateClasspathJAR", "true");
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int parallelism = 1; parallelism <= cores; parallelism *= 2) {
+            Options options = new OptionsBuilder()
+                .include(TextExtractorBatchJmhBenchmark.class.getSimpleName())
+                .param("parallelism", String.valueOf(parallelism))
+                .build();
+            new Runner(options).run();
+        }
+    }
+}
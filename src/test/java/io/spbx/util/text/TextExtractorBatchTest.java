@@ -0,0 +1,114 @@
+package io.spbx.util.text;
+
+import io.spbx.util.text.TextExtractor.ExtractedMap;
+import io.spbx.util.text.TextExtractorBatch.ActionStats;
+import io.spbx.util.text.TextExtractorBatch.Stats;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Tag("fast")
+public class TextExtractorBatchTest {
+    private final TextExtractor extractor = TextExtractor.of(
+        TextExtractor.captureBetween("[", "]").named("A").orElseIgnore(),
+        TextExtractor.captureBetween("(", ")").named("B").orElseThrow()
+    );
+
+    @Test
+    public void extract_all_same_as_extract() {
+        List<String> documents = IntStream.range(0, 1000).mapToObj("[%1$d] (%1$d)"::formatted).toList();
+        Map<String, Map<String, String>> results = new ConcurrentHashMap<>();
+
+        Stats stats;
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            stats = extractor.extractAll(documents, executor, 4,
+                                         (doc, map) -> results.put(doc.toString(), toMap(map)));
+        }
+
+        assertThat(stats.documents()).isEqualTo(1000);
+        assertThat(stats.failedDocuments()).isEqualTo(0);
+        assertThat(results).hasSize(1000);
+        for (String document : documents) {
+            assertThat(results.get(document)).isEqualTo(toMap(extractor.extract(document)));
+        }
+    }
+
+    @Test
+    public void extract_all_stream() {
+        Map<String, Map<String, String>> results = new ConcurrentHashMap<>();
+        Stats stats = extractor.extractAll(IntStream.range(0, 100).mapToObj("[%1$d] (%1$d)"::formatted),
+                                           (doc, map) -> results.put(doc.toString(), toMap(map)));
+
+        assertThat(stats.documents()).isEqualTo(100);
+        assertThat(results.get("[7] (7)")).containsExactly("A", "7", "B", "7");
+    }
+
+    @Test
+    public void extract_all_stats_fallbacks() {
+        List<String> consumed = new ArrayList<>();
+        Stats stats = extractor.extractAll(List.of("[1](2)", "(2)", "[1]", ""), Runnable::run, 1,
+                                           (doc, map) -> consumed.add(doc.toString()));
+
+        assertThat(consumed).containsExactly("[1](2)", "(2)");
+        assertThat(stats.documents()).isEqualTo(4);
+        assertThat(stats.failedDocuments()).isEqualTo(2);
+
+        ActionStats first = stats.actions().get(0);
+        assertThat(first.name()).isEqualTo("A");
+        assertThat(first.calls()).isEqualTo(4);
+        assertThat(first.fallbacks()).isEqualTo(2);
+        assertThat(first.aborts()).isEqualTo(0);
+
+        ActionStats second = stats.actions().get(1);
+        assertThat(second.name()).isEqualTo("B");
+        assertThat(second.calls()).isEqualTo(4);
+        assertThat(second.fallbacks()).isEqualTo(2);
+        assertThat(second.aborts()).isEqualTo(2);
+    }
+
+    @Test
+    public void extract_all_consumer_throws() {
+        List<String> documents = IntStream.range(0, 100).mapToObj("[%1$d] (%1$d)"::formatted).toList();
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            assertThrows(UnsupportedOperationException.class,
+                         () -> extractor.extractAll(documents, executor, 2, (doc, map) -> {
+                             throw new UnsupportedOperationException();
+                         }));
+        }
+    }
+
+    @Test
+    public void extract_all_failure_after_fallback_not_aborted() {
+        TextExtractor extractor = TextExtractor.of(TextExtractor.repeat(
+            TextExtractor.captureBetween("[", "]").named("A").orElseIgnore(),
+            TextExtractor.captureBetween("(", ")").named("B").convertVia(value -> {
+                throw new UnsupportedOperationException();
+            })
+        ));
+        assertThrows(UnsupportedOperationException.class,
+                     () -> extractor.extractAll(List.of("(2)"), Runnable::run, 1, (doc, map) -> {}));
+    }
+
+    @Test
+    public void extract_all_invalid_parallelism() {
+        assertThrows(IllegalArgumentException.class,
+                     () -> extractor.extractAll(List.of(), Runnable::run, 0, (doc, map) -> {}));
+    }
+
+    private static @NotNull Map<String, String> toMap(@NotNull ExtractedMap map) {
+        return map.map().entrySet().stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().captured().toString()));
+    }
+}
@@ -0,0 +1,96 @@
+package io.spbx.util.text;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.StringReader;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link TextExtractor#extract} interpreter and the {@link CompiledTextExtractor} (in memory and
+ * streaming from the {@code Reader}) on the synthetic HTML pages of different sizes: the header, then the long
+ * list of items, each followed by the noise.
+ */
+@Fork(value = 1, warmups = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class TextExtractorJmhBenchmark {
+    @Param({"10000", "1000000", "5000000"})
+    private int size;
+
+    private String page;
+    private TextExtractor extractor;
+    private CompiledTextExtractor compiled;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        page = generatePage(size, new Random(0));
+        extractor = TextExtractor.of(
+            TextExtractor.skipTo("<body>"),
+            TextExtractor.captureBetween("<h1>", "</h1>").named("title"),
+            TextExtractor.repeat(
+                TextExtractor.captureBetween("<li class=\"item\">", "</li>").named("item").orElseIgnore(),
+                TextExtractor.captureBetween("<span class=\"price\">", "</span>").named("price").orElseIgnore()
+            )
+        );
+        compiled = extractor.compile();
+    }
+
+    @Benchmark
+    public int extract_interpreted() {
+        return extractor.extract(page).map().size();
+    }
+
+    @Benchmark
+    public int extract_compiled() {
+        return compiled.extract(page).map().size();
+    }
+
+    @Benchmark
+    public int extract_streaming() {
+        int[] counter = { 0 };
+        compiled.extract(new StringReader(page), (name, extracted) -> counter[0]++);
+        return counter[0];
+    }
+
+    private static String generatePage(int size, Random random) {
+        StringBuilder builder = new StringBuilder(size + 256);
+        builder.append("<html><head><title>Items</title></head><body><div><h1>The list</h1><ul>\n");
+        for (int i = 0; builder.length() < size; i++) {
+            builder.append("<li class=\"item\">Item #").append(i).append("</li>");
+            builder.append("<span class=\"price\">").append(random.nextInt(1000)).append("</span>\n");
+            builder.append("<div class=\"noise\"><a href=\"/item/").append(i).append("\">link</a><p>");
+            for (int j = random.nextInt(200); j > 0; j--) {
+                builder.append((char) ('a' + random.nextInt(26)));
+            }
+            builder.append("</p></div>\n");
+        }
+        return builder.append("</ul></div></body></html>").toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        System.setProperty("jmh.separateClasspathJAR", "true");
+        Options options = new OptionsBuilder()
+            .include(TextExtractorJmhBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -7,6 +7,7 @@ import io.spbx.util.base.str.MutableCharArray;
 import io.spbx.util.collect.stream.Streamer;
 import io.spbx.util.testing.ext.LoggingCapture;
 import io.spbx.util.testing.func.MockConsumer;
+import io.spbx.util.text.TextExtractor.ExtractCallback;
 import io.spbx.util.text.TextExtractor.Extracted;
 import io.spbx.util.text.TextExtractor.ExtractedMap;
 import io.spbx.util.text.TextExtractor.Fallback;
@@ -20,6 +21,17 @@ import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import java.util.regex.Pattern;
 
 import static com.google.common.truth.Truth.assertThat;
@@ -683,11 +695,216 @@ public class TextExtractorTest {
         assertExtractedMap(map).toCaptured().containsExactly("[a]", "  <body>TheBody</body> \n");
     }
 
+    /** {@link TextExtractor#compile} **/
+
+    @Test
+    public void compile_same_as_extract_capture_sequence() {
+        TextExtractor extractor = TextExtractor.of(
+            TextExtractor.captureBetween("[", "]"),
+            TextExtractor.captureBetween("(", ")"),
+            TextExtractor.captureBetween("{", "}")
+        );
+
+        assertThat(extractor.compile().compiledActions()).isEqualTo(3);
+        assertCompiledSameAsExtract(extractor, "[](){}", "[1] (2) {3}", "(1) [2] {3}", "(1) {2} [3]");
+        assertCompiledSameAsExtract(extractor, "[", "]", "][", "[[[", "]]]", "]]]]][[[[[");
+        assertCompiledSameAsExtract(extractor, "() {} () ][", "] ()()()(){}{}{} [", "[[[[1]]]]", "[(1){2}]");
+        assertCompiledSameAsExtract(extractor, "(1){[2}]] (3}{4) {[5)}", "(1){2} [3] ((4)) ](}[) {[5]} (6)[(7)]");
+    }
+
+    @Test
+    public void compile_same_as_extract_similar_and_duplicate_substrings() {
+        TextExtractor extractor = TextExtractor.of(
+            TextExtractor.captureBetween("aaa", "aaa"),
+            TextExtractor.captureBetween("aa", "aa")
+        );
+
+        for (int i = 0; i < 16; i++) {
+            assertCompiledSameAsExtract(extractor, "a".repeat(i), "a".repeat(i) + "b" + "a".repeat(i));
+        }
+    }
+
+    @Test
+    public void compile_same_as_extract_skip_and_repeat() {
+        TextExtractor extractor = TextExtractor.of(
+            TextExtractor.skipTo("<ul>").orElseIgnore(),
+            TextExtractor.repeat(
+                TextExtractor.captureBetween("<li>", "</li>").named("A"),
+                TextExtractor.captureBetween("<i>", "</i>").named("B")
+            ).maxIterations(3),
+            TextExtractor.captureBetween("<", ">").named("C")
+        );
+
+        assertThat(extractor.compile().compiledActions()).isEqualTo(3);
+        assertCompiledSameAsExtract(extractor, "", "<ul>", "<li>1</li><i>2</i>", "<i>2</i><li>1</li><ul><li>3</li>");
+        assertCompiledSameAsExtract(extractor, "<ul><li>1</li><i>2</i><li>3</li><li>4</li><i>5</i><li>6</li><b>");
+        assertCompiledSameAsExtract(extractor, "<ul><li><i></i></li><li></li></ul>", "<li><ul><li></li><i></i>");
+    }
+
+    @Test
+    public void compile_same_as_extract_random_inputs() {
+        TextExtractor extractor = TextExtractor.of(
+            TextExtractor.skipTo("ab").orElseIgnore(),
+            TextExtractor.repeat(
+                TextExtractor.captureBetween("ba", "abb").named("A"),
+                TextExtractor.captureBetween("b", "bab").named("B")
+            )
+        );
+
+        Random random = new Random(0);
+        for (int i = 0; i < 2000; i++) {
+            char[] chars = new char[random.nextInt(40)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = "abc".charAt(random.nextInt(3));
+            }
+            assertCompiledSameAsExtract(extractor, new String(chars));
+        }
+    }
+
+    @Test
+    public void compile_interpreted_suffix() {
+        TextExtractor extractor = TextExtractor.of(
+            TextExtractor.skipTo("<body>"),
+            TextExtractor.capturePattern(Pattern.compile("\\d+")).named("A"),
+            TextExtractor.captureBetween("<b>", "</b>").named("B")
+        );
+
+        assertThat(extractor.compile().compiledActions()).isEqualTo(1);
+        assertCompiledSameAsExtract(extractor, "1 <body> 2 <b>3</b>", "<b>1</b> <body> <b>2</b> 3");
+    }
+
+    @Test
+    public void compile_non_ascii_marks() {
+        String open = "\u00ab";  // the guillemets
+        String close = "\u00bb";
+        TextExtractor extractor = TextExtractor.of(
+            TextExtractor.captureBetween(open, close).named("A"),
+            TextExtractor.captureBetween(open, close).named("B")
+        );
+
+        assertCompiledSameAsExtract(extractor,
+                                    open + "foo" + close,
+                                    open + "foo" + close + " " + open + "bar" + close,
+                                    close + open + "foo" + open + "bar" + close + close + open + "baz" + close,
+                                    open);
+    }
+
+    @Test
+    public void compile_fallback_throw() {
+        TextExtractor extractor = TextExtractor.of(
+            TextExtractor.captureBetween("[", "]").orElseThrow()
+        );
+
+        IllegalStateException expected = assertThrows(IllegalStateException.class, () -> extractor.extract("[foo"));
+        CompiledTextExtractor compiled = extractor.compile();
+        IllegalStateException actual = assertThrows(IllegalStateException.class, () -> compiled.extract("[foo"));
+        assertThat(actual).hasMessageThat().isEqualTo(expected.getMessage());
+    }
+
+    @Test
+    public void stream_large_input_small_reads() {
+        TextExtractor extractor = TextExtractor.of(
+            TextExtractor.skipTo("<ul>"),
+            TextExtractor.repeat(
+                TextExtractor.captureBetween("<li>", "</li>").named("A").orElseIgnore(),
+                TextExtractor.captureBetween("<i>", "</i>").named("B").orElseIgnore()
+            ).maxIterations(3000)
+        );
+
+        StringBuilder builder = new StringBuilder("<html><ul>");
+        Random random = new Random(0);
+        for (int i = 0; i < 2000; i++) {
+            builder.append("<li>").append(i).append("</li>").append("-".repeat(random.nextInt(100)));
+            builder.append("<i>").append("#".repeat(random.nextInt(100) < 2 ? 30000 : 10)).append("</i>");
+        }
+        String input = builder.append("</ul></html>").toString();
+
+        Map<String, String> expected = capturedMap(extractor.extract(input));
+        assertThat(expected).hasSize(4000);
+        assertThat(extractStreaming(extractor, new ChunkedReader(input, new Random(1)))).isEqualTo(expected);
+    }
+
+    @Test
+    public void stream_byte_buffers_utf8_split() {
+        TextExtractor extractor = TextExtractor.of(
+            TextExtractor.repeat(TextExtractor.captureBetween("\u00ab", "\u00bb").named("A"))
+        );
+        String foo = "\u0444\u0443";  // 2-byte chars in UTF-8
+        String bar = "\u0431\u0430\u0440";
+        String euro = "\u20ac";  // 3-byte char in UTF-8
+        String input = "\u00ab%s\u00bb \u00ab%s\u00bb \u00ab%s\u00bb".formatted(foo, bar, euro);
+        byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+        List<ByteBuffer> chunks = new ArrayList<>();
+        for (int i = 0; i < bytes.length; i += 3) {
+            chunks.add(ByteBuffer.wrap(bytes, i, Math.min(3, bytes.length - i)));
+        }
+
+        Map<String, String> actual = new LinkedHashMap<>();
+        extractor.compile().extract(chunks, StandardCharsets.UTF_8,
+                                    (name, extr) -> actual.put(name, extr.captured().toString()));
+        assertThat(actual).containsExactly("A:0", foo, "A:1", bar, "A:2", euro).inOrder();
+    }
+
+    @Test
+    public void stream_input_stream_interpreted_suffix() {
+        TextExtractor extractor = TextExtractor.of(
+            TextExtractor.skipTo("<body>"),
+            TextExtractor.capturePattern(Pattern.compile("\\d+")).named("A"),
+            TextExtractor.captureBetween("<b>", "</b>").named("B")
+        );
+        String input = "1 <body> 2 <b>3</b>";
+
+        Map<String, String> actual = new LinkedHashMap<>();
+        extractor.compile().extract(new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII)),
+                                    StandardCharsets.US_ASCII,
+                                    (name, extr) -> actual.put(name, extr.captured().toString()));
+        assertThat(actual).containsExactlyEntriesIn(capturedMap(extractor.extract(input))).inOrder();
+    }
+
     /* Testing Helpers **/
 
+    private static void assertCompiledSameAsExtract(@NotNull TextExtractor extractor,
+                                                    @NotNull String @NotNull ... inputs) {
+        CompiledTextExtractor compiled = extractor.compile();
+        for (String input : inputs) {
+            ExtractedMap expected = extractor.extract(input);
+            assertExtractedMap(compiled.extract(input)).toCaptured()
+                .containsExactlyEntriesIn(capturedMap(expected)).inOrder();
+            assertExtractedMap(compiled.extract(CharArray.of(input))).toCaptured()
+                .containsExactlyEntriesIn(capturedMap(expected)).inOrder();
+            assertThat(extractStreaming(extractor, new ChunkedReader(input, new Random(0))))
+                .containsExactlyEntriesIn(capturedMap(expected)).inOrder();
+        }
+    }
+
+    private static @NotNull Map<String, String> extractStreaming(@NotNull TextExtractor extractor,
+                                                                 @NotNull Reader reader) {
+        Map<String, String> result = new LinkedHashMap<>();
+        extractor.extract(reader, (name, extracted) -> result.put(name, extracted.captured().toString()));
+        return result;
+    }
+
+    // Returns the random number of chars on each read, from 1 to 64
+    private static class ChunkedReader extends StringReader {
+        private final Random random;
+
+        public ChunkedReader(@NotNull String input, @NotNull Random random) {
+            super(input);
+            this.random = random;
+        }
+
+        @Override public int read(char @NotNull[] buffer, int offset, int length) throws IOException {
+            return super.read(buffer, offset, Math.min(length, random.nextInt(64) + 1));
+        }
+    }
+
+    private static @NotNull Map<String, String> capturedMap(@NotNull ExtractedMap map) {
+        return Streamer.of(map.map()).mapValues(extr -> extr.captured().toString()).toOrderedMap();
+    }
+
     private static @NotNull TextExtractor.MatchCapture captureCurrent(@NotNull String name) {
         return new MatchCapture(name) {
-            @Override @NotNull CharArray captureFrom(@NotNull MutableCharArray array) {
+            @Override @NotNull CharArray captureFrom(@NotNull MutableCharArray array, @NotNull ExtractCallback ignore) {
                 return array;
             }
         };
@@ -703,7 +920,7 @@ public class TextExtractorTest {
         }
 
         public @NotNull MapSubject toCaptured() {
-            return assertThat(Streamer.of(map.map()).mapValues(extr -> extr.captured().toString()).toOrderedMap());
+            return assertThat(capturedMap(map));
         }
 
         public @NotNull MapSubject toConverted() {
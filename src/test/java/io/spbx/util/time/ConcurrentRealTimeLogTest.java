@@ -0,0 +1,118 @@
+package io.spbx.util.time;
+
+import com.carrotsearch.hppc.LongArrayList;
+import io.spbx.util.testing.random.MoreRandomArrays;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spbx.util.testing.concurrent.TestingThreads.joinAll;
+import static io.spbx.util.testing.concurrent.TestingThreads.startAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Tag("fast")
+public class ConcurrentRealTimeLogTest {
+    @Test
+    public void ordered_same_as_heap_log() {
+        long[] values = MoreRandomArrays.of(0).nextIncreasingLongs(10_000, 300);
+        ConcurrentRealTimeLog log = ConcurrentRealTimeLog.allocate(4, 8, 10);
+        RealTimeLog8 expected = RealTimeLog8.allocate(8);
+        for (long value : values) {
+            log.append(value);
+            expected.append(value);
+        }
+        assertThat(log.size()).isEqualTo(expected.size());
+        assertThat(log.toArrayList()).isEqualTo(expected.toArrayList());
+        assertThat(log.toReverseArrayList()).isEqualTo(expected.toReverseArrayList());
+        assertThat(log.countGreaterThan(values[5000])).isEqualTo(expected.countGreaterThan(values[5000]));
+        assertThat(log.countInRange(values[100], values[200])).isEqualTo(expected.countInRange(values[100], values[200]));
+    }
+
+    @Test
+    public void out_of_order_within_tolerance_stored_exactly() {
+        ConcurrentRealTimeLog log = ConcurrentRealTimeLog.allocate(1, 4, 5);
+        log.append(10);
+        log.append(8);
+        log.append(9);
+        assertThat(log.toArrayList()).isEqualTo(LongArrayList.from(8, 9, 10));
+        log.append(7);      // still within the tolerance of 10
+        log.append(20);
+        log.append(16);
+        assertThat(log.toArrayList()).isEqualTo(LongArrayList.from(7, 8, 9, 10, 16, 20));
+        assertThat(log.countGreaterThan(9)).isEqualTo(4);  // inclusive
+        assertThat(log.countInRange(8, 16)).isEqualTo(4);
+    }
+
+    @Test
+    public void late_beyond_tolerance_clamped() {
+        ConcurrentRealTimeLog log = ConcurrentRealTimeLog.allocate(1, 4, 0);
+        log.append(10);
+        assertThat(log.size()).isEqualTo(1);
+        log.append(5);
+        assertThat(log.toArrayList()).isEqualTo(LongArrayList.from(10, 10));
+        assertThat(log.countGreaterThan(10)).isEqualTo(2);
+    }
+
+    @Test
+    public void iterate_stops_early() {
+        ConcurrentRealTimeLog log = ConcurrentRealTimeLog.allocate(1, 4, 100);
+        for (int i = 1; i <= 10; i++) {
+            log.append(i);
+        }
+        AtomicInteger visited = new AtomicInteger();
+        log.iterate(value -> visited.incrementAndGet() < 3);
+        assertThat(visited.get()).isEqualTo(3);
+        visited.set(0);
+        log.reverseIterate(value -> visited.incrementAndGet() < 4);
+        assertThat(visited.get()).isEqualTo(4);
+    }
+
+    @Test
+    public void invalid_arguments() {
+        assertThrows(IllegalArgumentException.class, () -> ConcurrentRealTimeLog.allocate(0, 8, 0));
+        assertThrows(IllegalArgumentException.class, () -> ConcurrentRealTimeLog.allocate(-1));
+        assertThat(ConcurrentRealTimeLog.allocate(5, 8, 0).stripes()).isEqualTo(8);
+        assertThat(ConcurrentRealTimeLog.allocate(1, 8, 0).stripes()).isEqualTo(1);
+    }
+
+    @Test
+    public void concurrent_writers_and_readers() {
+        ConcurrentRealTimeLog log = ConcurrentRealTimeLog.allocate(4, 8, 1_000_000);
+        AtomicLong clock = new AtomicLong();
+        AtomicInteger failures = new AtomicInteger();
+        AtomicInteger writersDone = new AtomicInteger();
+        Thread[] writers = new Thread[8];
+        for (int t = 0; t < writers.length; t++) {
+            writers[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    log.append(clock.incrementAndGet());
+                }
+                writersDone.incrementAndGet();
+            });
+        }
+        Thread reader = new Thread(() -> {
+            int lastCount = 0;
+            while (writersDone.get() < writers.length) {
+                int count = log.countGreaterThan(0);
+                if (count < lastCount) {
+                    failures.incrementAndGet();
+                }
+                lastCount = count;
+            }
+        });
+        startAll(writers);
+        startAll(reader);
+        joinAll(writers);
+        joinAll(reader);
+
+        assertThat(failures.get()).isEqualTo(0);
+        assertThat(log.size()).isEqualTo(80_000);
+        LongArrayList all = log.toArrayList();
+        for (int i = 0; i < all.size(); i++) {
+            assertThat(all.get(i)).isEqualTo(i + 1);
+        }
+    }
+}
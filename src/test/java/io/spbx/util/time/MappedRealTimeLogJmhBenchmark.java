@@ -0,0 +1,103 @@
+package io.spbx.util.time;
+
+import io.spbx.util.testing.random.MoreRandomArrays;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the query speed of the heap {@link RealTimeLog8} and the memory-mapped {@link MappedRealTimeLog}.
+ * The queries count the values in the last 1% and the last 50% of the log.
+ */
+@Fork(value = 1, warmups = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class MappedRealTimeLogJmhBenchmark {
+    @Param({"100000", "10000000"})
+    private int size;
+
+    @Param({"8", "32"})
+    private int blockSize;
+
+    private Path path;
+    private RealTimeLog8 heapLog;
+    private MappedRealTimeLog mappedLog;
+    private long recent;
+    private long median;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        long[] values = MoreRandomArrays.of(0).nextIncreasingLongs(size, 20);
+        path = Files.createTempFile("rtl", ".log");
+        heapLog = RealTimeLog8.allocate(blockSize);
+        mappedLog = MappedRealTimeLog.open(path, blockSize);
+        for (long value : values) {
+            heapLog.append(value);
+            mappedLog.append(value);
+        }
+        recent = values[size - size / 100];
+        median = values[size / 2];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        mappedLog.close();
+        Files.deleteIfExists(path);
+    }
+
+    @Benchmark
+    public void count_recent_RealTimeLog8(Blackhole blackhole) {
+        blackhole.consume(heapLog.countGreaterThan(recent));
+    }
+
+    @Benchmark
+    public void count_recent_MappedRealTimeLog(Blackhole blackhole) {
+        blackhole.consume(mappedLog.countGreaterThan(recent));
+    }
+
+    @Benchmark
+    public void count_half_RealTimeLog8(Blackhole blackhole) {
+        blackhole.consume(heapLog.countInRange(median, Long.MAX_VALUE));
+    }
+
+    @Benchmark
+    public void count_half_MappedRealTimeLog(Blackhole blackhole) {
+        blackhole.consume(mappedLog.countInRange(median, Long.MAX_VALUE));
+    }
+
+    @Benchmark
+    public void reopen_MappedRealTimeLog(Blackhole blackhole) {
+        try (MappedRealTimeLog log = MappedRealTimeLog.open(path, blockSize)) {
+            blackhole.consume(log.size());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        System.setProperty("jmh.separateClasspathJAR", "true");
+        Options options = new OptionsBuilder().include(MappedRealTimeLogJmhBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,169 @@
+package io.spbx.util.time;
+
+import io.spbx.util.testing.ext.TempDirectoryExtension;
+import io.spbx.util.testing.random.MoreRandomArrays;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Tag("fast")
+public class MappedRealTimeLogTest {
+    @RegisterExtension private final TempDirectoryExtension tempDir = TempDirectoryExtension.withCleanup();
+
+    @Test
+    public void append_simple() {
+        try (MappedRealTimeLog log = MappedRealTimeLog.open(file(), 4)) {
+            assertThat(log.size()).isEqualTo(0);
+            assertThat(log.toArrayList().toArray()).isEmpty();
+
+            log.append(10);
+            log.append(10);
+            log.append(20);
+            log.append(1000);   // a new span
+            log.append(1001);
+            log.append(1002);
+            log.append(1003);
+            log.append(1004);   // a new block
+
+            assertThat(log.size()).isEqualTo(8);
+            assertThat(log.toArrayList().toArray()).asList()
+                .containsExactly(10L, 10L, 20L, 1000L, 1001L, 1002L, 1003L, 1004L).inOrder();
+            assertThat(log.toReverseArrayList().toArray()).asList()
+                .containsExactly(1004L, 1003L, 1002L, 1001L, 1000L, 20L, 10L, 10L).inOrder();
+            assertThat(log.countGreaterThan(20)).isEqualTo(6);
+            assertThat(log.countInRange(10, 1001)).isEqualTo(5);
+        }
+    }
+
+    @Test
+    public void same_as_heap_log() {
+        for (int blockSize : new int[] { 1, 2, 4, 8, 16, 32, 128 }) {
+            for (long bound : new long[] { 2, 20, 100, 300 }) {
+                long[] values = MoreRandomArrays.of(bound).nextIncreasingLongs(5_000, bound);
+                RealTimeLog8 expected = RealTimeLog8.allocate(blockSize);
+                Path path = file();
+                try (MappedRealTimeLog log = MappedRealTimeLog.open(path, blockSize)) {
+                    for (long value : values) {
+                        expected.append(value);
+                        log.append(value);
+                    }
+                    assertSameLog(log, expected);
+                }
+                try (MappedRealTimeLog log = MappedRealTimeLog.open(path, blockSize)) {
+                    assertSameLog(log, expected);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void reopen_and_continue() {
+        Path path = file();
+        try (MappedRealTimeLog log = MappedRealTimeLog.open(path, 8)) {
+            log.append(100);
+            log.append(105);
+        }
+        try (MappedRealTimeLog log = MappedRealTimeLog.open(path)) {
+            assertThat(log.blockSize()).isEqualTo(8);
+            assertThat(log.size()).isEqualTo(2);
+            log.append(106);
+            log.append(2000);
+        }
+        try (MappedRealTimeLog log = MappedRealTimeLog.open(path, 8)) {
+            assertThat(log.toArrayList().toArray()).asList().containsExactly(100L, 105L, 106L, 2000L).inOrder();
+        }
+    }
+
+    @Test
+    public void grows_beyond_initial_mapping() {
+        try (MappedRealTimeLog log = MappedRealTimeLog.open(file(), 1)) {
+            long initialSize = log.fileSize();
+            for (int i = 0; i < 10_000; i++) {
+                log.append(i);
+            }
+            assertThat(log.fileSize()).isGreaterThan(initialSize);
+            assertThat(log.size()).isEqualTo(10_000);
+            assertThat(log.countGreaterThan(9_000)).isEqualTo(1_000);
+        }
+    }
+
+    @Test
+    public void torn_header_rolls_back_to_previous_append() throws IOException {
+        Path path = file();
+        try (MappedRealTimeLog log = MappedRealTimeLog.open(path, 8)) {
+            log.append(1);
+            log.append(2);
+            log.append(3);
+        }
+        corruptLatestSlot(path);
+        try (MappedRealTimeLog log = MappedRealTimeLog.open(path, 8)) {
+            assertThat(log.toArrayList().toArray()).asList().containsExactly(1L, 2L).inOrder();
+            log.append(4);
+            assertThat(log.toArrayList().toArray()).asList().containsExactly(1L, 2L, 4L).inOrder();
+        }
+    }
+
+    @Test
+    public void invalid_files() throws IOException {
+        Path garbage = file();
+        Files.write(garbage, new byte[100]);
+        assertThrows(UncheckedIOException.class, () -> MappedRealTimeLog.open(garbage, 8));
+
+        Path path = file();
+        MappedRealTimeLog.open(path, 8).close();
+        assertThrows(IllegalArgumentException.class, () -> MappedRealTimeLog.open(path, 16));
+        assertThrows(IllegalArgumentException.class, () -> MappedRealTimeLog.open(file(), 3));
+
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            for (int offset = 16; offset < MappedRealTimeLog.HEADER_SIZE; offset++) {
+                file.seek(offset);
+                file.write(0x5a);
+            }
+        }
+        assertThrows(UncheckedIOException.class, () -> MappedRealTimeLog.open(path, 8));
+    }
+
+    private static void assertSameLog(MappedRealTimeLog log, RealTimeLog8 expected) {
+        assertThat(log.size()).isEqualTo(expected.size());
+        assertThat(log.toArrayList()).isEqualTo(expected.toArrayList());
+        assertThat(log.toReverseArrayList()).isEqualTo(expected.toReverseArrayList());
+        long last = expected.toReverseArrayList().get(0);
+        for (long threshold = 0; threshold <= last + 1; threshold += Math.max(1, last / 50)) {
+            assertThat(log.countGreaterThan(threshold)).isEqualTo(expected.countGreaterThan(threshold));
+            long from = threshold / 2;
+            assertThat(log.countInRange(from, threshold)).isEqualTo(expected.countInRange(from, threshold));
+        }
+    }
+
+    // Simulates the torn write of the latest header slot
+    private static void corruptLatestSlot(Path path) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            long seq0 = Long.reverseBytes(readLong(file, 16));
+            long seq1 = Long.reverseBytes(readLong(file, 40));
+            file.seek(seq0 > seq1 ? 16 + 8 : 40 + 8);
+            file.writeInt(0x7fffffff);
+        }
+    }
+
+    private static long readLong(RandomAccessFile file, long offset) throws IOException {
+        file.seek(offset);
+        return file.readLong();
+    }
+
+    private Path file() {
+        try {
+            return Files.createTempFile(tempDir.currentTempDir(), "rtl", ".log");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.spbx.util.time;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link RateLimiter#tryAcquire} throughput over 1M keys.
+ * The memory per key is reported by {@link #main} before running the suite.
+ */
+@Fork(value = 1, warmups = 1, jvmArgsAppend = "-Xmx4g")
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class RateLimiterJmhBenchmark {
+    private static final int KEYS = 1_000_000;
+
+    @Param({"10", "100"})
+    private int limit;
+
+    private RateLimiter<Integer> limiter;
+    private Integer[] keys;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        limiter = RateLimiter.of(limit, Duration.ofSeconds(1));
+        keys = new Integer[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = i;
+            limiter.tryAcquire(keys[i]);
+        }
+    }
+
+    @Benchmark
+    public void tryAcquire_random_key(Blackhole blackhole) {
+        Integer key = keys[ThreadLocalRandom.current().nextInt(KEYS)];
+        blackhole.consume(limiter.tryAcquire(key));
+    }
+
+    @Benchmark
+    public void tryAcquire_hot_key(Blackhole blackhole) {
+        blackhole.consume(limiter.tryAcquire(keys[0]));
+    }
+
+    private static long memoryPerKey(int limit) {
+        Runtime runtime = Runtime.getRuntime();
+        Integer[] keys = new Integer[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = i;
+        }
+        System.gc();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+        RateLimiter<Integer> limiter = RateLimiter.of(limit, Duration.ofMinutes(1));
+        for (int round = 0; round < limit; round++) {
+            for (Integer key : keys) {
+                limiter.tryAcquire(key);
+            }
+        }
+        System.gc();
+        long after = runtime.totalMemory() - runtime.freeMemory();
+        assert limiter.size() == KEYS : "Unexpected size: " + limiter.size();
+        return (after - before) / KEYS;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int limit : new int[] { 1, 10, 100 }) {
+            System.out.printf("RateLimiter limit=%d: %d bytes per key (full window)%n", limit, memoryPerKey(limit));
+        }
+        System.setProperty("jmh.separateClasspathJAR", "true");
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            Options options = new OptionsBuilder()
+                .include(RateLimiterJmhBenchmark.class.getSimpleName())
+                .threads(threads)
+                .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package io.spbx.util.time;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spbx.util.testing.concurrent.TestingThreads.joinAll;
+import static io.spbx.util.testing.concurrent.TestingThreads.startAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Tag("fast")
+public class RateLimiterTest {
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    @Test
+    public void tryAcquire_limit_per_window() {
+        RateLimiter<String> limiter = newLimiter(3, 1000, 10);
+        assertThat(limiter.tryAcquire("foo")).isTrue();
+        assertThat(limiter.tryAcquire("foo")).isTrue();
+        assertThat(limiter.tryAcquire("bar")).isTrue();
+        assertThat(limiter.tryAcquire("foo")).isTrue();
+        assertThat(limiter.tryAcquire("foo")).isFalse();
+        assertThat(limiter.acquired("foo")).isEqualTo(3);
+        assertThat(limiter.available("foo")).isEqualTo(0);
+        assertThat(limiter.available("bar")).isEqualTo(2);
+        assertThat(limiter.available("baz")).isEqualTo(3);
+        assertThat(limiter.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void tryAcquire_sliding_window() {
+        RateLimiter<String> limiter = newLimiter(2, 1000, 10);
+        assertThat(limiter.tryAcquire("foo")).isTrue();      // t=0
+        clock.addAndGet(500);
+        assertThat(limiter.tryAcquire("foo")).isTrue();      // t=500
+        assertThat(limiter.tryAcquire("foo")).isFalse();
+        clock.addAndGet(490);
+        assertThat(limiter.tryAcquire("foo")).isFalse();     // t=990: both are still in the window
+        clock.addAndGet(10);
+        assertThat(limiter.tryAcquire("foo")).isTrue();      // t=1000: the first one is out
+        assertThat(limiter.tryAcquire("foo")).isFalse();
+        clock.addAndGet(500);
+        assertThat(limiter.acquired("foo")).isEqualTo(1);    // t=1500: only t=1000 is left
+    }
+
+    @Test
+    public void log_trimmed_to_window() {
+        RateLimiter<String> limiter = newLimiter(5, 100, 1);
+        for (int i = 0; i < 1000; i++) {
+            limiter.tryAcquire("foo");
+            clock.addAndGet(7);
+            assertThat(limiter.logSize("foo")).isAtMost(10);
+        }
+        assertThat(limiter.acquired("foo")).isEqualTo(5);
+    }
+
+    @Test
+    public void evict_idle_keys() {
+        RateLimiter<Integer> limiter = newLimiter(1, 1000, 10);
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire(i);
+        }
+        clock.addAndGet(500);
+        limiter.tryAcquire(1000);
+        assertThat(limiter.evictIdle()).isEqualTo(0);
+
+        clock.addAndGet(600);
+        assertThat(limiter.evictIdle()).isEqualTo(100);
+        assertThat(limiter.size()).isEqualTo(1);
+        assertThat(limiter.tryAcquire(0)).isTrue();
+        assertThat(limiter.tryAcquire(1000)).isFalse();
+    }
+
+    @Test
+    public void automatic_sweep() {
+        RateLimiter<Integer> limiter = newLimiter(1, 1000, 10);
+        for (int i = 0; i < 5000; i++) {
+            limiter.tryAcquire(i);
+        }
+        clock.addAndGet(2000);
+        for (int i = 0; i < 5000; i++) {
+            limiter.tryAcquire(-1);
+        }
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void automatic_sweep_is_incremental() {
+        RateLimiter<Integer> limiter = newLimiter(1, 1000, 10);
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire(i);
+        }
+        clock.addAndGet(2000);
+        for (int i = 0; i < 64; i++) {
+            limiter.tryAcquire(-1);
+        }
+        assertThat(limiter.size()).isAtLeast(10_000 - 128);
+        assertThat(limiter.size()).isLessThan(10_000);
+    }
+
+    @Test
+    public void clock_goes_backwards() {
+        RateLimiter<String> limiter = newLimiter(3, 1000, 10);
+        assertThat(limiter.tryAcquire("foo")).isTrue();
+        clock.addAndGet(-100);
+        assertThat(limiter.tryAcquire("foo")).isTrue();
+        assertThat(limiter.acquired("foo")).isEqualTo(2);
+    }
+
+    @Test
+    public void invalid_arguments() {
+        assertThrows(IllegalArgumentException.class, () -> newLimiter(0, 1000, 10));
+        assertThrows(IllegalArgumentException.class, () -> newLimiter(1, 1000, 0));
+        assertThrows(IllegalArgumentException.class, () -> newLimiter(1, 10, 1000));
+    }
+
+    @Test
+    public void concurrent_acquires_respect_limit() {
+        RateLimiter<Integer> limiter = newLimiter(100, 1000, 10);
+        AtomicInteger acquired = new AtomicInteger();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    if (limiter.tryAcquire(i % 10)) {
+                        acquired.incrementAndGet();
+                    }
+                }
+            });
+        }
+        startAll(threads);
+        joinAll(threads);
+        assertThat(acquired.get()).isEqualTo(10 * 100);
+    }
+
+    private <K> RateLimiter<K> newLimiter(int limit, long windowMillis, long resolutionMillis) {
+        Duration window = Duration.ofMillis(windowMillis);
+        return new RateLimiter<>(limit, window, Duration.ofMillis(resolutionMillis), clock::get);
+    }
+}
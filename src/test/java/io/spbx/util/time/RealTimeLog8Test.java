@@ -0,0 +1,88 @@
+package io.spbx.util.time;
+
+import com.carrotsearch.hppc.LongArrayList;
+import io.spbx.util.testing.random.MoreRandomArrays;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@Tag("fast")
+public class RealTimeLog8Test {
+    @Test
+    public void truncateBefore_whole_blocks() {
+        RealTimeLog8 log = RealTimeLog8.allocate(4);
+        for (long value : new long[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 }) {
+            log.append(value);
+        }
+        assertThat(log.truncateBefore(0)).isEqualTo(0);
+        assertThat(log.truncateBefore(6)).isEqualTo(4);     // [1, 4] is dropped, [5, 8] is kept partially
+        assertThat(log.toArrayList()).isEqualTo(LongArrayList.from(5, 6, 7, 8, 9, 10));
+        assertThat(log.size()).isEqualTo(6);
+        assertThat(log.truncateBefore(9)).isEqualTo(4);     // [5, 8] is dropped
+        assertThat(log.toArrayList()).isEqualTo(LongArrayList.from(9, 10));
+        assertThat(log.truncateBefore(100)).isEqualTo(0);   // the latest block is kept
+        assertThat(log.toReverseArrayList()).isEqualTo(LongArrayList.from(10, 9));
+
+        log.append(11);
+        log.append(12);
+        log.append(1000);
+        assertThat(log.toArrayList()).isEqualTo(LongArrayList.from(9, 10, 11, 12, 1000));
+    }
+
+    @Test
+    public void truncateBefore_sparse_blocks() {
+        RealTimeLog8 log = RealTimeLog8.allocate(8);
+        for (long value : new long[] { 1, 300, 600, 601, 900 }) {
+            log.append(value);                              // each big jump starts a new block
+        }
+        assertThat(log.truncateBefore(600)).isEqualTo(2);
+        assertThat(log.toArrayList()).isEqualTo(LongArrayList.from(600, 601, 900));
+        assertThat(log.countGreaterThan(601)).isEqualTo(2);
+    }
+
+    @Test
+    public void truncateBefore_random_matches_filter() {
+        for (int blockSize : new int[] { 1, 2, 4, 8, 32 }) {
+            long[] values = MoreRandomArrays.of(blockSize).nextIncreasingLongs(5_000, 300);
+            RealTimeLog8 log = RealTimeLog8.allocate(blockSize);
+            for (long value : values) {
+                log.append(value);
+            }
+            for (int i = 0; i < values.length; i += 250) {
+                long threshold = values[i];
+                int before = log.size();
+                int dropped = log.truncateBefore(threshold);
+                assertThat(log.size()).isEqualTo(before - dropped);
+                assertThat(log.countGreaterThan(threshold)).isEqualTo(countAtLeast(values, threshold));
+                assertThat(log.toArrayList().get(log.size() - 1)).isEqualTo(values[values.length - 1]);
+            }
+            assertThat(log.historyCapacity()).isLessThan(5_000 * blockSize / 4 + 64);
+        }
+    }
+
+    @Test
+    public void retention_keeps_memory_bounded() {
+        RealTimeLog8 log = RealTimeLog8.allocate(8, 1000);
+        int maxCapacity = 0;
+        for (long value = 0; value < 1_000_000; value += 3) {
+            log.append(value);
+            maxCapacity = Math.max(maxCapacity, log.historyCapacity());
+            if (value >= 1000) {
+                assertThat(log.countGreaterThan(value - 1000)).isEqualTo(1000 / 3 + 1);
+            }
+        }
+        assertThat(maxCapacity).isAtMost(2048);
+        assertThat(log.size()).isLessThan(1000);
+    }
+
+    private static int countAtLeast(long[] values, long threshold) {
+        int count = 0;
+        for (long value : values) {
+            if (value >= threshold) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
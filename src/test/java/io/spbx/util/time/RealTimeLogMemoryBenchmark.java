@@ -4,10 +4,13 @@ import io.spbx.util.base.lang.DataSize;
 import io.spbx.util.base.tuple.Tuple;
 import io.spbx.util.collect.iter.BasicIterables;
 import io.spbx.util.collect.tab.RowListTabular;
+import io.spbx.util.testing.concurrent.TestingThreads;
 import io.spbx.util.testing.random.MoreRandomArrays;
 import org.jetbrains.annotations.NotNull;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.function.LongPredicate;
 import java.util.function.ToIntFunction;
 
 import static io.spbx.util.collect.tab.TabularFormatter.BORDERLESS_FORMATTER;
@@ -34,6 +37,56 @@ public class RealTimeLogMemoryBenchmark {
         }
 
         System.out.println(BORDERLESS_FORMATTER.formatIntoTableString(RowListTabular.ofTuples(tuples)));
+
+        List<Tuple> throughput = BasicIterables.newMutableList();
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            throughput.add(Tuple.of("Synchronized RealTimeLog8", threads,
+                                    benchmark.appendsPerSecond(new SynchronizedLog(RealTimeLog8.allocate()), threads)));
+            throughput.add(Tuple.of("ConcurrentRealTimeLog", threads,
+                                    benchmark.appendsPerSecond(ConcurrentRealTimeLog.allocate(1000), threads)));
+        }
+        System.out.println(BORDERLESS_FORMATTER.formatIntoTableString(RowListTabular.ofTuples(throughput)));
+
+        List<Tuple> steadyState = BasicIterables.newMutableList();
+        long[] retentions = { -1, Duration.ofHours(1).toMillis(), Duration.ofMinutes(10).toMillis() };
+        for (long retention : retentions) {
+            long[] footprint = benchmark.dayStreamFootprint(RealTimeLog8.allocate(16, retention));
+            steadyState.add(Tuple.of("RealTimeLog8", retention < 0 ? "none" : Duration.ofMillis(retention),
+                                     DataSize.ofBytes(footprint[0]), DataSize.ofBytes(footprint[1])));
+        }
+        System.out.println(BORDERLESS_FORMATTER.formatIntoTableString(RowListTabular.ofTuples(steadyState)));
+    }
+
+    // Appends the millisecond timestamps of a simulated 24h stream (10 events per second on average)
+    // and returns the peak and the final memory footprint
+    private long[] dayStreamFootprint(@NotNull RealTimeLog8 log) {
+        long[] timestamps = MoreRandomArrays.of(0).nextIncreasingLongs(86_400 * 10, Duration.ofDays(1).toMillis());
+        long peak = 0;
+        for (long value : timestamps) {
+            log.append(value);
+            peak = Math.max(peak, RTL_8.size(log));
+        }
+        return new long[] { peak, RTL_8.size(log) };
+    }
+
+    // Appends the microsecond timestamps from the writer threads and returns the total number of appends per second
+    private long appendsPerSecond(@NotNull RealTimeLog log, int threads) {
+        int appendsPerThread = 2_000_000;
+        long start = System.nanoTime();
+        Thread[] writers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            writers[i] = new Thread(() -> {
+                for (int j = 0; j < appendsPerThread; j++) {
+                    log.append((System.nanoTime() - start) / 1000);
+                }
+            });
+        }
+        TestingThreads.startAll(writers);
+        TestingThreads.joinAll(writers);
+        long elapsed = System.nanoTime() - start;
+        assert log.size() == appendsPerThread * threads : "Lost appends: " + log.size();
+        return (long) appendsPerThread * threads * 1_000_000_000L / elapsed;
     }
 
     private <RTL extends RealTimeLog> double avgMemorySizeOf(@NotNull RtlProvider<RTL> provider, int num, long bound) {
@@ -58,6 +111,29 @@ public class RealTimeLogMemoryBenchmark {
         int size(RTL instance);
     }
 
+    // The baseline: the lock around every call, the out-of-order values are clamped to the last one
+    private static class SynchronizedLog implements RealTimeLog {
+        private final RealTimeLog8 delegate;
+        private long last = 0;
+
+        SynchronizedLog(@NotNull RealTimeLog8 delegate) {
+            this.delegate = delegate;
+        }
+        @Override public synchronized int size() {
+            return delegate.size();
+        }
+        @Override public synchronized void append(long value) {
+            last = Math.max(last, value);
+            delegate.append(last);
+        }
+        @Override public synchronized <P extends LongPredicate> @NotNull P iterate(@NotNull P predicate) {
+            return delegate.iterate(predicate);
+        }
+        @Override public synchronized <P extends LongPredicate> @NotNull P reverseIterate(@NotNull P predicate) {
+            return delegate.reverseIterate(predicate);
+        }
+    }
+
     private static class Rtl8 implements RtlProvider<RealTimeLog8> {
         @Override public RealTimeLog8 create(int num) {
             return RealTimeLog8.allocate(num);
@@ -0,0 +1,51 @@
+package io.spbx.util.testing.concurrent;
+
+import io.spbx.util.base.annotate.CheckReturnValue;
+import io.spbx.util.concurrent.Uninterrupted;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static io.spbx.util.testing.concurrent.TestingThreads.joinAll;
+import static io.spbx.util.testing.concurrent.TestingThreads.startAll;
+
+/**
+ * Races the virtual threads which compute the same value, to verify that the computation runs once ("single flight").
+ * <p>
+ * Each thread passes the same supplier to the code under test. The supplier counts the computations and blocks
+ * until all threads have arrived, so that the rest of the threads hit the code under test while it's in flight.
+ */
+@CheckReturnValue
+public record SingleFlightRace<T>(int computations, @NotNull List<T> results) {
+    public interface Call<T> {
+        T call(int index, @NotNull Supplier<T> supplier);
+    }
+
+    public static <T> @NotNull SingleFlightRace<T> run(int threads, @NotNull T value, @NotNull Call<T> call) {
+        CountDownLatch arrived = new CountDownLatch(threads);
+        AtomicInteger computations = new AtomicInteger();
+        Supplier<T> supplier = () -> {
+            computations.incrementAndGet();
+            Uninterrupted.runRethrow(arrived::await);
+            return value;
+        };
+
+        List<T> results = new ArrayList<>(Collections.nCopies(threads, null));
+        Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            int index = i;
+            workers[i] = Thread.ofVirtual().unstarted(() -> {
+                arrived.countDown();
+                results.set(index, call.call(index, supplier));
+            });
+        }
+        startAll(workers);
+        joinAll(workers);
+        return new SingleFlightRace<>(computations.get(), results);
+    }
+}